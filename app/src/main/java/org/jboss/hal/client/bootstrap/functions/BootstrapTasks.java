@@ -28,14 +28,16 @@ public class BootstrapTasks {
             final FindDomainController findDomainController,
             final RegisterStaticCapabilities registerStaticCapabilities,
             final LoadSettings loadSettings,
-            final ReadExtensions readExtensions) {
+            final ReadExtensions readExtensions,
+            final LoadMetadataCache loadMetadataCache) {
         this.functions = new BootstrapTask[]{
                 readEnvironment,
                 readAuthentication,
                 findDomainController,
                 registerStaticCapabilities,
                 loadSettings,
-                readExtensions
+                readExtensions,
+                loadMetadataCache
         };
     }
 
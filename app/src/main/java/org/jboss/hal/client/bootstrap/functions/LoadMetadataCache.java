@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.client.bootstrap.functions;
+
+import java.util.Set;
+import javax.inject.Inject;
+
+import org.jboss.hal.config.Environment;
+import org.jboss.hal.config.Role;
+import org.jboss.hal.config.Settings;
+import org.jboss.hal.config.User;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.flow.Control;
+import org.jboss.hal.flow.FlowContext;
+import org.jboss.hal.meta.cache.MetadataCache;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.jboss.hal.config.Settings.Key.METADATA_CACHE;
+import static org.jboss.hal.config.Settings.Key.RUN_AS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.EXTENSION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+
+/**
+ * Restores the resource descriptions from the {@link MetadataCache}. The fingerprint of the cache is built from the
+ * management version, the product version, the installed extensions and the roles of the current user (or the run-as
+ * roles). If the cache is disabled, the entries of earlier sessions are removed. Must run after {@link
+ * ReadEnvironment} and {@link LoadSettings}. Failures are logged, but never abort the bootstrap process.
+ */
+public class LoadMetadataCache implements BootstrapTask {
+
+    private final Dispatcher dispatcher;
+    private final Environment environment;
+    private final User user;
+    private final Settings settings;
+    private final MetadataCache metadataCache;
+
+    @Inject
+    public LoadMetadataCache(Dispatcher dispatcher, Environment environment, User user, Settings settings,
+            MetadataCache metadataCache) {
+        this.dispatcher = dispatcher;
+        this.environment = environment;
+        this.user = user;
+        this.settings = settings;
+        this.metadataCache = metadataCache;
+    }
+
+    @Override
+    public void execute(FlowContext context, Control control) {
+        logStart();
+        if (!settings.get(METADATA_CACHE).asBoolean()) {
+            logger.info("{}: Metadata cache is disabled", name());
+            metadataCache.clear().onErrorComplete().subscribe(() -> {
+                logDone();
+                control.proceed();
+            });
+            return;
+        }
+
+        Operation operation = new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_NAMES_OPERATION)
+                .param(CHILD_TYPE, EXTENSION)
+                .build();
+        dispatcher.execute(operation)
+                .flatMapCompletable(result -> {
+                    Set<String> roles = settings.get(RUN_AS).asSet();
+                    if (roles.isEmpty()) {
+                        roles = user.getRoles().stream().map(Role::getName).collect(toSet());
+                    }
+                    String fingerprint = MetadataCache.fingerprint(String.valueOf(environment.getManagementVersion()),
+                            environment.getInstanceInfo().productVersion(),
+                            result.asList().stream().map(ModelNode::asString).collect(toList()), roles);
+                    return metadataCache.load(fingerprint);
+                })
+                .subscribe(() -> {
+                    logger.info("{}: {}", name(), metadataCache);
+                    logDone();
+                    control.proceed();
+                }, error -> {
+                    logger.error("{}: Unable to load metadata cache: {}", name(), error.getMessage());
+                    control.proceed();
+                });
+    }
+
+    @Override
+    public String name() {
+        return "Bootstrap[LoadMetadataCache]";
+    }
+}
@@ -23,9 +23,14 @@ import org.jboss.hal.config.Settings;
 import org.jboss.hal.flow.Control;
 import org.jboss.hal.flow.FlowContext;
 
+import static org.jboss.hal.config.Settings.Key.BATCH_WINDOW;
+import static org.jboss.hal.config.Settings.Key.BINARY_TRANSPORT;
 import static org.jboss.hal.config.Settings.Key.COLLECT_USER_DATA;
+import static org.jboss.hal.config.Settings.Key.COMPACT_METADATA;
 import static org.jboss.hal.config.Settings.Key.LOCALE;
+import static org.jboss.hal.config.Settings.Key.METADATA_CACHE;
 import static org.jboss.hal.config.Settings.Key.PAGE_SIZE;
+import static org.jboss.hal.config.Settings.Key.RESPONSE_CACHE;
 import static org.jboss.hal.config.Settings.Key.RUN_AS;
 
 /**
@@ -47,9 +52,14 @@ public class LoadSettings implements BootstrapTask {
     public void execute(FlowContext context, Control control) {
         logStart();
 
+        settings.load(BATCH_WINDOW, Settings.BATCH_WINDOW_OFF);
+        settings.load(BINARY_TRANSPORT, false);
         settings.load(COLLECT_USER_DATA, environment.getHalBuild() == Build.COMMUNITY);
+        settings.load(COMPACT_METADATA, true);
         settings.load(LOCALE, Settings.DEFAULT_LOCALE);
+        settings.load(METADATA_CACHE, false);
         settings.load(PAGE_SIZE, Settings.DEFAULT_PAGE_SIZE);
+        settings.load(RESPONSE_CACHE, Settings.RESPONSE_CACHE_OFF);
         settings.load(RUN_AS, null);
 
         logDone();
@@ -28,6 +28,7 @@ import org.jboss.hal.core.mbui.form.ModelNodeForm;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Property;
 import org.jboss.hal.meta.Metadata;
+import org.jboss.hal.meta.description.ResourceDescription;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.resources.Resources;
 
@@ -63,9 +64,10 @@ class DriverStep extends WizardStep<Context, State> {
             newAttributes.get(property.getName()).set(value);
         }
 
-        metadata.getDescription().remove(ATTRIBUTES);
-        metadata.getDescription().get(ATTRIBUTES).set(newAttributes);
-        return metadata;
+        ResourceDescription description = new ResourceDescription(metadata.getDescription());
+        description.remove(ATTRIBUTES);
+        description.get(ATTRIBUTES).set(newAttributes);
+        return metadata.customResourceDescription(description);
     }
 
     @Override
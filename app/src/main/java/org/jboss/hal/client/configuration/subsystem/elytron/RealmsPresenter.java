@@ -366,7 +366,7 @@ public class RealmsPresenter extends MbuiPresenter<RealmsPresenter.MyView, Realm
     }
 
     void addLdapRealm() {
-        Metadata metadata = metadataRegistry.lookup(LDAP_REALM_TEMPLATE);
+        Metadata metadata = metadataRegistry.lookup(LDAP_REALM_TEMPLATE).copy();
         Metadata imMetadata = metadata.forComplexAttribute(IDENTITY_MAPPING, true);
         imMetadata.copyComplexAttributeAttributes(asList(RDN_IDENTIFIER, SEARCH_BASE_DN, USE_RECURSIVE_SEARCH),
                 metadata);
@@ -500,7 +500,7 @@ public class RealmsPresenter extends MbuiPresenter<RealmsPresenter.MyView, Realm
     // ------------------------------------------------------  properties realm
 
     void addPropertiesRealm() {
-        Metadata metadata = metadataRegistry.lookup(PROPERTIES_REALM_TEMPLATE);
+        Metadata metadata = metadataRegistry.lookup(PROPERTIES_REALM_TEMPLATE).copy();
         Metadata upMetadata = metadata.forComplexAttribute(USERS_PROPERTIES, true);
         upMetadata.copyComplexAttributeAttributes(asList(PATH, RELATIVE_TO), metadata);
 
@@ -25,6 +25,7 @@ import java.util.Set;
 import javax.inject.Inject;
 
 import com.google.web.bindery.event.shared.EventBus;
+import com.google.web.bindery.event.shared.HandlerRegistration;
 import com.gwtplatform.mvp.shared.proxy.PlaceRequest;
 import elemental2.dom.HTMLElement;
 import org.jboss.hal.ballroom.dialog.Dialog;
@@ -41,6 +42,7 @@ import org.jboss.hal.core.finder.ItemDisplay;
 import org.jboss.hal.core.finder.ItemMonitor;
 import org.jboss.hal.core.mbui.form.ModelNodeForm;
 import org.jboss.hal.core.mvp.Places;
+import org.jboss.hal.core.polling.PollingScheduler;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
@@ -57,8 +59,6 @@ import org.jboss.hal.spi.Message;
 import org.jboss.hal.spi.MessageEvent;
 import org.jboss.hal.spi.Requires;
 
-import static elemental2.dom.DomGlobal.clearInterval;
-import static elemental2.dom.DomGlobal.setInterval;
 import static java.util.Arrays.asList;
 import static org.jboss.hal.client.runtime.subsystem.batch.AddressTemplates.BATCH_DEPLOYMENT_ADDRESS;
 import static org.jboss.hal.client.runtime.subsystem.batch.AddressTemplates.BATCH_DEPLOYMENT_JOB_TEMPLATE;
@@ -74,8 +74,9 @@ public class JobColumn extends FinderColumn<JobNode> {
     private final EventBus eventBus;
     private final Dispatcher dispatcher;
     private final MetadataRegistry metadataRegistry;
+    private final PollingScheduler pollingScheduler;
     private final Resources resources;
-    private final Map<String, Double> intervalHandles;
+    private final Map<String, HandlerRegistration> pollingRegistrations;
 
     @Inject
     public JobColumn(Finder finder,
@@ -87,6 +88,7 @@ public class JobColumn extends FinderColumn<JobNode> {
             EventBus eventBus,
             Dispatcher dispatcher,
             MetadataRegistry metadataRegistry,
+            PollingScheduler pollingScheduler,
             Resources resources) {
 
         super(new Builder<JobNode>(finder, Ids.JOB, Names.JOB)
@@ -98,19 +100,20 @@ public class JobColumn extends FinderColumn<JobNode> {
         this.eventBus = eventBus;
         this.dispatcher = dispatcher;
         this.metadataRegistry = metadataRegistry;
+        this.pollingScheduler = pollingScheduler;
         this.resources = resources;
-        this.intervalHandles = new HashMap<>();
+        this.pollingRegistrations = new HashMap<>();
 
         setItemsProvider((context, callback) -> deploymentResources.readChildren(BATCH_JBERET, JOB, JobNode::new, jobs -> {
             callback.onSuccess(jobs);
 
             // turn progress animation on/off
-            clearIntervals();
+            stopPolling();
             for (JobNode job : jobs) {
                 String jobId = Ids.job(job.getDeployment(), job.getSubdeployment(), job.getName());
                 if (job.getRunningExecutions() > 0) {
                     ItemMonitor.startProgress(jobId);
-                    intervalHandles.put(jobId, setInterval(o -> pollJob(job), POLLING_INTERVAL));
+                    pollingRegistrations.put(jobId, pollJob(job));
                 } else {
                     ItemMonitor.stopProgress(jobId);
                 }
@@ -193,24 +196,20 @@ public class JobColumn extends FinderColumn<JobNode> {
         setPreviewCallback(itm -> new JobPreview(this, itm, finderPathFactory, places, resources));
     }
 
-    private void pollJob(JobNode job) {
+    private HandlerRegistration pollJob(JobNode job) {
         Operation operation = new Operation.Builder(job.getAddress(), READ_ATTRIBUTE_OPERATION)
                 .param(NAME, RUNNING_EXECUTIONS)
                 .build();
         String jobId = Ids.job(job.getDeployment(), job.getSubdeployment(), job.getName());
-        dispatcher.execute(operation,
-                result -> {
-                    if (result.asInt() == 0) {
-                        ItemMonitor.stopProgress(jobId);
-                        if (intervalHandles.containsKey(jobId)) {
-                            double handle = intervalHandles.remove(jobId);
-                            clearInterval(handle);
-                        }
-                        JobColumn.this.refresh(RESTORE_SELECTION);
-                    }
-                },
-                (o, failure) -> ItemMonitor.stopProgress(jobId),
-                (o, exception) -> ItemMonitor.stopProgress(jobId));
+        return pollingScheduler.register(POLLING_INTERVAL, () -> operation, result -> {
+            if (result.asInt() == 0) {
+                ItemMonitor.stopProgress(jobId);
+                if (pollingRegistrations.containsKey(jobId)) {
+                    pollingRegistrations.remove(jobId).removeHandler();
+                }
+                JobColumn.this.refresh(RESTORE_SELECTION);
+            }
+        });
     }
 
     private void startJob(JobNode job) {
@@ -267,13 +266,13 @@ public class JobColumn extends FinderColumn<JobNode> {
     @Override
     public void detach() {
         super.detach();
-        clearIntervals();
+        stopPolling();
     }
 
-    private void clearIntervals() {
-        for (Double handle : intervalHandles.values()) {
-            clearInterval(handle);
+    private void stopPolling() {
+        for (HandlerRegistration registration : pollingRegistrations.values()) {
+            registration.removeHandler();
         }
-        intervalHandles.clear();
+        pollingRegistrations.clear();
     }
 }
@@ -19,6 +19,7 @@ import javax.inject.Inject;
 
 import com.google.gwt.safehtml.shared.SafeHtml;
 import com.google.web.bindery.event.shared.EventBus;
+import com.google.web.bindery.event.shared.HandlerRegistration;
 import com.gwtplatform.mvp.client.annotations.NameToken;
 import com.gwtplatform.mvp.client.annotations.ProxyCodeSplit;
 import com.gwtplatform.mvp.client.proxy.ProxyPlace;
@@ -29,6 +30,8 @@ import org.jboss.hal.core.finder.FinderPathFactory;
 import org.jboss.hal.core.mvp.ApplicationFinderPresenter;
 import org.jboss.hal.core.mvp.HalView;
 import org.jboss.hal.core.mvp.HasPresenter;
+import org.jboss.hal.core.polling.PollingScheduler;
+import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
@@ -45,6 +48,7 @@ import static org.jboss.hal.client.runtime.subsystem.batch.AddressTemplates.BATC
 import static org.jboss.hal.client.runtime.subsystem.batch.AddressTemplates.BATCH_SUBDEPLOYMENT_JOB_TEMPLATE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 import static org.jboss.hal.meta.token.NameTokens.JOB;
+import static org.jboss.hal.resources.UIConstants.POLLING_INTERVAL;
 
 public class JobPresenter extends ApplicationFinderPresenter<JobPresenter.MyView, JobPresenter.MyProxy> {
 
@@ -63,7 +67,9 @@ public class JobPresenter extends ApplicationFinderPresenter<JobPresenter.MyView
     private final FinderPathFactory finderPathFactory;
     private final Dispatcher dispatcher;
     private final StatementContext statementContext;
+    private final PollingScheduler pollingScheduler;
     private final Resources resources;
+    private HandlerRegistration polling;
     private String deployment;
     private String subdeployment;
     private String job;
@@ -76,11 +82,13 @@ public class JobPresenter extends ApplicationFinderPresenter<JobPresenter.MyView
             final FinderPathFactory finderPathFactory,
             final Dispatcher dispatcher,
             final StatementContext statementContext,
+            final PollingScheduler pollingScheduler,
             final Resources resources) {
         super(eventBus, view, myProxy, finder);
         this.finderPathFactory = finderPathFactory;
         this.dispatcher = dispatcher;
         this.statementContext = statementContext;
+        this.pollingScheduler = pollingScheduler;
         this.resources = resources;
     }
 
@@ -90,6 +98,12 @@ public class JobPresenter extends ApplicationFinderPresenter<JobPresenter.MyView
         getView().setPresenter(this);
     }
 
+    @Override
+    protected void onHide() {
+        super.onHide();
+        stopPolling();
+    }
+
     @Override
     public void prepareFromRequest(final PlaceRequest request) {
         super.prepareFromRequest(request);
@@ -107,12 +121,33 @@ public class JobPresenter extends ApplicationFinderPresenter<JobPresenter.MyView
 
     @Override
     protected void reload() {
-        ResourceAddress address = jobAddress();
-        Operation operation = new Operation.Builder(address, READ_RESOURCE_OPERATION)
+        dispatcher.execute(jobOperation(), this::update);
+    }
+
+    private Operation jobOperation() {
+        return new Operation.Builder(jobAddress(), READ_RESOURCE_OPERATION)
                 .param(INCLUDE_RUNTIME, true)
                 .param(RECURSIVE, true)
                 .build();
-        dispatcher.execute(operation, result -> getView().update(new JobNode(address, result)));
+    }
+
+    private void update(ModelNode result) {
+        JobNode jobNode = new JobNode(jobAddress(), result);
+        getView().update(jobNode);
+        if (jobNode.getRunningExecutions() > 0) {
+            if (polling == null) {
+                polling = pollingScheduler.register(POLLING_INTERVAL, this::jobOperation, this::update);
+            }
+        } else {
+            stopPolling();
+        }
+    }
+
+    private void stopPolling() {
+        if (polling != null) {
+            polling.removeHandler();
+            polling = null;
+        }
     }
 
     void restartExecution(ExecutionNode execution) {
@@ -29,11 +29,9 @@ import org.jboss.hal.resources.Ids;
 import org.jboss.hal.resources.Names;
 import org.jboss.hal.resources.Resources;
 
-import static elemental2.dom.DomGlobal.setTimeout;
 import static java.util.Comparator.comparing;
 import static org.jboss.hal.client.runtime.subsystem.batch.AddressTemplates.EXECUTION_TEMPLATE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
-import static org.jboss.hal.resources.UIConstants.POLLING_INTERVAL;
 
 public class JobView extends HalViewImpl implements JobPresenter.MyView {
 
@@ -80,9 +78,6 @@ public class JobView extends HalViewImpl implements JobPresenter.MyView {
     @Override
     public void update(JobNode job) {
         dataProvider.update(job.getExecutions());
-        if (job.getRunningExecutions() > 0) {
-            setTimeout(o -> presenter.reload(), POLLING_INTERVAL);
-        }
     }
 
     private void refresh() {
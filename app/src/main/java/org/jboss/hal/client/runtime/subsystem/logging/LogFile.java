@@ -25,7 +25,7 @@ import static org.jboss.hal.dmr.ModelNodeHelper.failSafeDate;
 class LogFile extends ModelNode {
 
     private static final String FILE_NAME = "file-name";
-    private static final String FILE_SIZE = "file-size";
+    static final String FILE_SIZE = "file-size";
     private static final String LAST_MODIFIED_DATE = "last-modified-date";
     private static final String LAST_MODIFIED_TIMESTAMP = "last-modified-timestamp";
 
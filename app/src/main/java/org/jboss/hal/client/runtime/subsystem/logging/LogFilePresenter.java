@@ -19,6 +19,7 @@ import java.util.List;
 import javax.inject.Inject;
 
 import com.google.web.bindery.event.shared.EventBus;
+import com.google.web.bindery.event.shared.HandlerRegistration;
 import com.gwtplatform.mvp.client.annotations.NameToken;
 import com.gwtplatform.mvp.client.annotations.ProxyCodeSplit;
 import com.gwtplatform.mvp.client.proxy.ProxyPlace;
@@ -29,6 +30,7 @@ import org.jboss.hal.core.finder.FinderPathFactory;
 import org.jboss.hal.core.mvp.ApplicationFinderPresenter;
 import org.jboss.hal.core.mvp.HalView;
 import org.jboss.hal.core.mvp.HasPresenter;
+import org.jboss.hal.core.polling.PollingScheduler;
 import org.jboss.hal.dmr.Composite;
 import org.jboss.hal.dmr.CompositeResult;
 import org.jboss.hal.dmr.ModelNode;
@@ -43,15 +45,15 @@ import org.jboss.hal.spi.Message;
 import org.jboss.hal.spi.MessageEvent;
 import org.jboss.hal.spi.Requires;
 
-import static elemental2.dom.DomGlobal.clearInterval;
 import static elemental2.dom.DomGlobal.clearTimeout;
-import static elemental2.dom.DomGlobal.setInterval;
 import static elemental2.dom.DomGlobal.setTimeout;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.client.runtime.subsystem.logging.AddressTemplates.LOG_FILE_ADDRESS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.LOGGING;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
 import static org.jboss.hal.meta.token.NameTokens.LOG_FILE;
@@ -68,6 +70,7 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
         void loading();
         void show(LogFile logFile, int lines, String content);
         void refresh(int lines, String content);
+        void append(List<String> lines, int maxLines);
         int visibleLines();
     }
     // @formatter:on
@@ -78,10 +81,13 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
     private final FinderPathFactory finderPathFactory;
     private final Dispatcher dispatcher;
     private final StatementContext statementContext;
+    private final PollingScheduler pollingScheduler;
     private final Resources resources;
     private String logFileName;
     private LogFile logFile;
-    private double intervalHandle;
+    private HandlerRegistration tailMode;
+    private LogTail logTail;
+    private boolean tailInFlight;
 
     @Inject
     public LogFilePresenter(final EventBus eventBus,
@@ -91,16 +97,18 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
             final FinderPathFactory finderPathFactory,
             final Dispatcher dispatcher,
             final StatementContext statementContext,
+            final PollingScheduler pollingScheduler,
             final Resources resources) {
         super(eventBus, view, myProxy, finder);
         this.finderPathFactory = finderPathFactory;
         this.dispatcher = dispatcher;
         this.statementContext = statementContext;
+        this.pollingScheduler = pollingScheduler;
         this.resources = resources;
 
         this.logFileName = null;
         this.logFile = null;
-        this.intervalHandle = -1;
+        this.tailMode = null;
     }
 
     @Override
@@ -162,19 +170,15 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
 
     void reloadFile() {
         if (logFile != null) {
-            int linesToRead = inTailMode() ? getView().visibleLines() : LogFiles.LINES;
+            if (inTailMode()) {
+                reloadTail();
+                return;
+            }
             double handle = setTimeout((o) -> getView().loading(), UIConstants.MEDIUM_TIMEOUT);
-            ResourceAddress address = AddressTemplates.LOG_FILE_TEMPLATE.resolve(statementContext, logFileName);
-            //noinspection HardCodedStringLiteral
-            Operation operation = new Operation.Builder(address, "read-log-file")
-                    .param("lines", linesToRead)
-                    .param("tail", true)
-                    .build();
-            dispatcher.execute(operation, result -> {
+            dispatcher.execute(readLogFile(LogFiles.LINES), result -> {
                         clearTimeout(handle);
-                        List<ModelNode> linesRead = result.asList();
-                        String content = linesRead.stream().map(ModelNode::asString).collect(joining("\n"));
-                        getView().refresh(linesRead.size(), content);
+                        List<String> lines = lines(result);
+                        getView().refresh(lines.size(), String.join("\n", lines));
                     },
                     (op, failure) -> {
                         clearTimeout(handle);
@@ -195,11 +199,18 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
         if (logFile != null) {
             if (on) {
                 if (!inTailMode()) {
-                    intervalHandle = setInterval((o) -> reloadFile(), REFRESH_INTERVAL);
+                    logTail = new LogTail(LogFiles.LINES);
+                    // only the file size is polled; polling pauses while the log file view is not attached
+                    tailMode = pollingScheduler.register(REFRESH_INTERVAL, this::readFileSize, this::onFileSize,
+                            asElement());
+                    reloadTail();
                 }
             } else {
-                clearInterval(intervalHandle);
-                intervalHandle = -1;
+                if (tailMode != null) {
+                    tailMode.removeHandler();
+                    tailMode = null;
+                    logTail = null;
+                }
                 reloadFile();
             }
         } else {
@@ -208,6 +219,78 @@ public class LogFilePresenter extends ApplicationFinderPresenter<LogFilePresente
     }
 
     private boolean inTailMode() {
-        return intervalHandle != -1;
+        return tailMode != null;
+    }
+
+
+    // ------------------------------------------------------ incremental tail
+
+    /** Reads the file size and the visible lines and replaces the content of the view. */
+    private void reloadTail() {
+        LogTail tail = logTail;
+        tailInFlight = true;
+        // read the file size first: lines written in between are picked up by the next poll
+        dispatcher.execute(new Composite(readFileSize(), readLogFile(getView().visibleLines())),
+                (CompositeResult result) -> {
+                    tailInFlight = false;
+                    if (tail == logTail) {
+                        List<String> lines = lines(result.step(1).get(RESULT));
+                        tail.reset(lines, result.step(0).get(RESULT).asLong());
+                        getView().refresh(lines.size(), String.join("\n", lines));
+                    }
+                },
+                (operation, failure) -> tailInFlight = false,
+                (operation, exception) -> tailInFlight = false);
+    }
+
+    private void onFileSize(ModelNode result) {
+        LogTail tail = logTail;
+        long fileSize = result.asLong();
+        if (tail == null || tailInFlight || tail.unchanged(fileSize)) {
+            return; // nothing to read and nothing to render
+        }
+        if (tail.truncated(fileSize)) {
+            reloadTail();
+            return;
+        }
+
+        int linesToRead = tail.estimateLines(fileSize);
+        tailInFlight = true;
+        dispatcher.execute(readLogFile(linesToRead),
+                result -> {
+                    tailInFlight = false;
+                    if (tail == logTail) {
+                        List<String> added = tail.merge(lines(result));
+                        if (added != null) {
+                            tail.setFileSize(fileSize);
+                            getView().append(added, tail.getCapacity());
+                        } else {
+                            // more lines than estimated were added or the file was rotated
+                            reloadTail();
+                        }
+                    }
+                },
+                (operation, failure) -> tailInFlight = false,
+                (operation, exception) -> tailInFlight = false);
+    }
+
+    private Operation readFileSize() {
+        ResourceAddress address = AddressTemplates.LOG_FILE_TEMPLATE.resolve(statementContext, logFileName);
+        return new Operation.Builder(address, READ_ATTRIBUTE_OPERATION)
+                .param(NAME, LogFile.FILE_SIZE)
+                .build();
+    }
+
+    private Operation readLogFile(int lines) {
+        ResourceAddress address = AddressTemplates.LOG_FILE_TEMPLATE.resolve(statementContext, logFileName);
+        //noinspection HardCodedStringLiteral
+        return new Operation.Builder(address, "read-log-file")
+                .param("lines", lines)
+                .param("tail", true)
+                .build();
+    }
+
+    private List<String> lines(ModelNode result) {
+        return result.asList().stream().map(ModelNode::asString).collect(toList());
     }
 }
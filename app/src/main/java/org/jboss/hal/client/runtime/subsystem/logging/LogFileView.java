@@ -16,6 +16,7 @@
 package org.jboss.hal.client.runtime.subsystem.logging;
 
 import java.util.Date;
+import java.util.List;
 import javax.annotation.PostConstruct;
 
 import com.google.common.base.Strings;
@@ -28,6 +29,7 @@ import org.jboss.hal.ballroom.Format;
 import org.jboss.hal.ballroom.Search;
 import org.jboss.hal.ballroom.Tooltip;
 import org.jboss.hal.ballroom.editor.AceEditor;
+import org.jboss.hal.ballroom.editor.Document;
 import org.jboss.hal.ballroom.editor.Options;
 import org.jboss.hal.ballroom.form.SwitchBridge;
 import org.jboss.hal.config.Environment;
@@ -205,6 +207,21 @@ public abstract class LogFileView extends HalViewImpl implements LogFilePresente
         editor.getEditor().gotoLine(lines, 0, false);
     }
 
+    @Override
+    public void append(final List<String> lines, final int maxLines) {
+        if (!lines.isEmpty()) {
+            Document editorDocument = editor.getEditor().getSession().getDocument();
+            editorDocument.insertFullLines(editorDocument.getLength(), lines.toArray(new String[lines.size()]));
+            int overflow = editorDocument.getLength() - maxLines;
+            if (overflow > 0) {
+                editorDocument.removeFullLines(0, overflow - 1);
+            }
+            int length = editorDocument.getLength();
+            statusUpdate(length);
+            editor.getEditor().gotoLine(length, 0, false);
+        }
+    }
+
     @Override
     public int visibleLines() {
         int lineHeight = 15;
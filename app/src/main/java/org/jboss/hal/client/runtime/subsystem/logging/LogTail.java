@@ -0,0 +1,137 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.logging;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Bounded buffer with the lines shown in tail mode. Used to fetch and render only the lines which were added since the
+ * last poll:
+ * <ol>
+ * <li>The size of the log file is polled. If it didn't change, nothing is read or rendered.</li>
+ * <li>Otherwise the number of new lines is {@linkplain #estimateLines(long) estimated} based on the average line
+ * length and the last lines of the file are read.</li>
+ * <li>The lines are {@linkplain #merge(List) merged} into the buffer: The last lines of the buffer are used as an
+ * anchor to find the new lines. If the anchor is not found (e.g. because the file was rotated or more lines than
+ * estimated were added), the caller has to reload the tail.</li>
+ * </ol>
+ */
+class LogTail {
+
+    /** The number of lines used to find the position of the last known line in the lines read from the file. */
+    static final int ANCHOR = 3;
+    private static final int DEFAULT_LINE_LENGTH = 120;
+
+    private final int capacity;
+    private final Deque<String> lines;
+    private long fileSize;
+    private long characters;
+
+    LogTail(int capacity) {
+        this.capacity = capacity;
+        this.lines = new ArrayDeque<>();
+        this.fileSize = -1;
+    }
+
+    /** Replaces the lines in the buffer. */
+    void reset(List<String> lines, long fileSize) {
+        this.lines.clear();
+        this.characters = 0;
+        this.fileSize = fileSize;
+        append(lines);
+    }
+
+    /**
+     * Merges the last lines of the log file into the buffer.
+     *
+     * @param tail the last lines of the log file
+     *
+     * @return the lines which were added to the buffer or {@code null} if the tail doesn't contain the anchor
+     */
+    List<String> merge(List<String> tail) {
+        int anchor = Math.min(ANCHOR, Math.min(lines.size(), tail.size()));
+        if (anchor == 0) {
+            return null;
+        }
+        String[] last = new String[anchor];
+        Iterator<String> iterator = lines.descendingIterator();
+        for (int i = anchor - 1; i >= 0; i--) {
+            last[i] = iterator.next();
+        }
+        // prefer the last match: if lines repeat, it's better to miss a line than to show it twice
+        for (int position = tail.size(); position >= anchor; position--) {
+            if (matches(tail, position - anchor, last)) {
+                List<String> added = tail.subList(position, tail.size());
+                append(added);
+                return added;
+            }
+        }
+        return null;
+    }
+
+    private boolean matches(List<String> tail, int from, String[] last) {
+        for (int i = 0; i < last.length; i++) {
+            if (!last[i].equals(tail.get(from + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void append(List<String> added) {
+        for (String line : added) {
+            lines.addLast(line);
+            characters += line.length() + 1;
+        }
+        while (lines.size() > capacity) {
+            characters -= lines.removeFirst().length() + 1;
+        }
+    }
+
+    /**
+     * @return the number of lines to read if the log file has grown to the specified size: twice the estimated
+     * number of new lines plus the anchor, but at most the capacity
+     */
+    int estimateLines(long newFileSize) {
+        long averageLength = lines.isEmpty() ? DEFAULT_LINE_LENGTH : Math.max(1, characters / lines.size());
+        long estimated = (Math.max(0, newFileSize - fileSize) + averageLength - 1) / averageLength;
+        return (int) Math.min(capacity, 2 * estimated + ANCHOR);
+    }
+
+    /** @return whether the log file was truncated or rotated */
+    boolean truncated(long newFileSize) {
+        return newFileSize < fileSize;
+    }
+
+    boolean unchanged(long newFileSize) {
+        return newFileSize == fileSize;
+    }
+
+    void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    int size() {
+        return lines.size();
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+}
@@ -32,7 +32,6 @@ import org.jboss.hal.core.finder.ColumnActionFactory;
 import org.jboss.hal.core.finder.Finder;
 import org.jboss.hal.core.finder.FinderColumn;
 import org.jboss.hal.core.finder.FinderPathFactory;
-import org.jboss.hal.core.finder.FinderSegment;
 import org.jboss.hal.core.finder.ItemAction;
 import org.jboss.hal.core.finder.ItemActionFactory;
 import org.jboss.hal.core.finder.ItemDisplay;
@@ -61,7 +60,6 @@ import static org.jboss.hal.client.runtime.subsystem.messaging.AddressTemplates.
 import static org.jboss.hal.client.runtime.subsystem.messaging.AddressTemplates.MESSAGING_SERVER_TEMPLATE;
 import static org.jboss.hal.client.runtime.subsystem.messaging.Destination.Type.DEPLOYMENT_RESOURCES;
 import static org.jboss.hal.client.runtime.subsystem.messaging.Destination.Type.SUBSYSTEM_RESOURCES;
-import static org.jboss.hal.core.Strings.substringAfterLast;
 import static org.jboss.hal.core.finder.FinderColumn.RefreshMode.RESTORE_SELECTION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 import static org.jboss.hal.resources.CSS.fontAwesome;
@@ -99,14 +97,9 @@ public class DestinationColumn extends FinderColumn<Destination> {
 
         ItemsProvider<Destination> itemsProvider = (context, callback) -> {
 
-            // extract server name from the finder path
-            Optional<String> optional = stream(context.getPath().spliterator(), false)
-                    .filter(segment -> Ids.MESSAGING_SERVER_RUNTIME.equals(segment.getColumnId()))
-                    .findAny()
-                    .map(FinderSegment::getItemId);
+            Optional<String> optional = DestinationProvider.server(context);
             if (optional.isPresent()) {
-                // Extract the server name from the item id "msg-server-<server name>"
-                String server = substringAfterLast(optional.get(), Ids.MESSAGING_SERVER + "-");
+                String server = optional.get();
                 List<Operation> operations = new ArrayList<>();
                 for (Type type : SUBSYSTEM_RESOURCES) {
                     ResourceAddress address = MESSAGING_SERVER_TEMPLATE.append(type.resource + "=*")
@@ -139,7 +132,8 @@ public class DestinationColumn extends FinderColumn<Destination> {
 
 
         };
-        setItemsProvider(itemsProvider);
+        // there might be thousands of destinations: load them page by page
+        setPagedItemsProvider(new DestinationProvider(dispatcher, statementContext));
         setBreadcrumbItemsProvider(
                 (context, callback) -> itemsProvider.get(context, new AsyncCallback<List<Destination>>() {
                     @Override
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.messaging;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.gwt.user.client.rpc.AsyncCallback;
+import org.jboss.hal.client.runtime.subsystem.messaging.Destination.Type;
+import org.jboss.hal.core.finder.FinderContext;
+import org.jboss.hal.core.finder.FinderSegment;
+import org.jboss.hal.core.finder.PagedItemsProvider;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.meta.StatementContext;
+import org.jboss.hal.resources.Ids;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.StreamSupport.stream;
+import static org.jboss.hal.client.runtime.subsystem.messaging.AddressTemplates.MESSAGING_DEPLOYMENT_TEMPLATE;
+import static org.jboss.hal.client.runtime.subsystem.messaging.AddressTemplates.MESSAGING_SERVER_TEMPLATE;
+import static org.jboss.hal.client.runtime.subsystem.messaging.Destination.Type.DEPLOYMENT_RESOURCES;
+import static org.jboss.hal.client.runtime.subsystem.messaging.Destination.Type.SUBSYSTEM_RESOURCES;
+import static org.jboss.hal.core.Strings.substringAfterLast;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+
+/**
+ * Loads the destinations of a messaging server page by page. The keys are the addresses of the destinations sorted by
+ * name. They're read using {@code read-children-names} for the destinations of the server and using a wildcard {@code
+ * read-resource} w/o runtime attributes for the destinations of deployments (which cannot be addressed by {@code
+ * read-children-names}). The runtime attributes are only read for the destinations of the current page.
+ */
+class DestinationProvider implements PagedItemsProvider<Destination> {
+
+    /** @return the messaging server selected in the finder */
+    static Optional<String> server(FinderContext context) {
+        return stream(context.getPath().spliterator(), false)
+                .filter(segment -> Ids.MESSAGING_SERVER_RUNTIME.equals(segment.getColumnId()))
+                .findAny()
+                .map(FinderSegment::getItemId)
+                // Extract the server name from the item id "msg-server-<server name>"
+                .map(itemId -> substringAfterLast(itemId, Ids.MESSAGING_SERVER + "-"));
+    }
+
+
+    private final Dispatcher dispatcher;
+    private final StatementContext statementContext;
+    private final Map<String, ResourceAddress> addresses;
+    private String server;
+
+    DestinationProvider(Dispatcher dispatcher, StatementContext statementContext) {
+        this.dispatcher = dispatcher;
+        this.statementContext = statementContext;
+        this.addresses = new HashMap<>();
+    }
+
+    @Override
+    public void keys(FinderContext context, AsyncCallback<List<String>> callback) {
+        Optional<String> server = server(context);
+        if (!server.isPresent()) {
+            callback.onSuccess(emptyList());
+            return;
+        }
+
+        this.server = server.get();
+        ResourceAddress serverAddress = MESSAGING_SERVER_TEMPLATE.resolve(statementContext, server.get());
+        List<Operation> operations = new ArrayList<>();
+        for (Type type : SUBSYSTEM_RESOURCES) {
+            operations.add(new Operation.Builder(serverAddress, READ_CHILDREN_NAMES_OPERATION)
+                    .param(CHILD_TYPE, type.resource)
+                    .build());
+        }
+        for (Type type : DEPLOYMENT_RESOURCES) {
+            ResourceAddress address = MESSAGING_DEPLOYMENT_TEMPLATE.append(type.resource + "=*")
+                    .resolve(statementContext);
+            operations.add(new Operation.Builder(address, READ_RESOURCE_OPERATION).build());
+        }
+        dispatcher.execute(new Composite(operations), (CompositeResult result) -> {
+            List<ResourceAddress> destinations = new ArrayList<>();
+            int index = 0;
+            for (ModelNode step : result) {
+                if (!step.isFailure()) {
+                    if (index < SUBSYSTEM_RESOURCES.length) {
+                        for (ModelNode name : step.get(RESULT).asList()) {
+                            destinations.add(new ResourceAddress(serverAddress)
+                                    .add(SUBSYSTEM_RESOURCES[index].resource, name.asString()));
+                        }
+                    } else {
+                        for (ModelNode node : step.get(RESULT).asList()) {
+                            destinations.add(new ResourceAddress(node.get(ADDRESS)));
+                        }
+                    }
+                }
+                index++;
+            }
+            destinations.sort(Comparator.comparing(ResourceAddress::lastValue));
+
+            addresses.clear();
+            List<String> keys = new ArrayList<>();
+            for (ResourceAddress address : destinations) {
+                String key = address.toString();
+                addresses.put(key, address);
+                keys.add(key);
+            }
+            callback.onSuccess(keys);
+        }, (operation, failure) -> callback.onFailure(new RuntimeException(failure)),
+                (operation, exception) -> callback.onFailure(exception));
+    }
+
+    @Override
+    public void items(FinderContext context, List<String> keys, AsyncCallback<List<Destination>> callback) {
+        List<ResourceAddress> destinations = keys.stream()
+                .map(addresses::get)
+                .filter(address -> address != null)
+                .collect(toList());
+        if (destinations.isEmpty()) {
+            callback.onSuccess(emptyList());
+            return;
+        }
+
+        List<Operation> operations = destinations.stream()
+                .map(address -> new Operation.Builder(address, READ_RESOURCE_OPERATION)
+                        .param(INCLUDE_RUNTIME, true)
+                        .build())
+                .collect(toList());
+        dispatcher.execute(new Composite(operations), (CompositeResult result) -> {
+            List<Destination> items = new ArrayList<>();
+            int index = 0;
+            for (ModelNode step : result) {
+                // the destination might have been removed in the meantime
+                if (!step.isFailure()) {
+                    items.add(new Destination(destinations.get(index), step.get(RESULT)));
+                }
+                index++;
+            }
+            callback.onSuccess(items);
+        }, (operation, failure) -> callback.onFailure(new RuntimeException(failure)),
+                (operation, exception) -> callback.onFailure(exception));
+    }
+
+    @Override
+    public String key(Destination item) {
+        return item.getAddress().toString();
+    }
+
+    /** @return the name of the destination: Every key contains the server address and "messaging". */
+    @Override
+    public String filterData(String key) {
+        ResourceAddress address = addresses.get(key);
+        return address != null ? address.lastValue() : key;
+    }
+
+    /** @return the same id as {@code DestinationColumn}'s item renderer, so that deep links load the right page */
+    @Override
+    public String itemId(String key) {
+        ResourceAddress address = addresses.get(key);
+        if (address != null && server != null) {
+            Destination destination = new Destination(address, new ModelNode());
+            return Ids.destination(destination.getDeployment(), destination.getSubdeployment(), server,
+                    destination.type.name(), destination.getName());
+        }
+        return null;
+    }
+}
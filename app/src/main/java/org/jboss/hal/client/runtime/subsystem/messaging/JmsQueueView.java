@@ -39,6 +39,7 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 public class JmsQueueView extends HalViewImpl implements JmsQueuePresenter.MyView {
 
     private static final String TOO_MANY_MESSAGES = "tooManyMessages";
+    private static final int MESSAGE_HEIGHT = 62; // height of a collapsed list item
 
     private final Resources resources;
     private final DataProvider<JmsMessage> dataProvider;
@@ -59,7 +60,7 @@ public class JmsQueueView extends HalViewImpl implements JmsQueuePresenter.MyVie
                 .build();
         listView = new ModelNodeListView.Builder<>(Ids.JMS_MESSAGE_LIST, metadata, dataProvider,
                 item -> new JmsMessageDisplay(item, presenter, resources))
-
+                .virtual(MESSAGE_HEIGHT) // queues can hold thousands of messages
                 .toolbarAttribute(new Attribute<>(JMS_MESSAGE_ID, JMS_MESSAGE_ID,
                         (model, filter) -> model.getMessageId().contains(filter),
                         comparing(JmsMessage::getMessageId)))
@@ -24,6 +24,7 @@ import com.gwtplatform.mvp.shared.proxy.PlaceRequest;
 import elemental2.dom.HTMLElement;
 import org.jboss.gwt.elemento.core.IsElement;
 import org.jboss.hal.ballroom.PatternFly;
+import org.jboss.hal.client.tools.DiagnosticsDialog;
 import org.jboss.hal.client.tools.MacroEditorPresenter;
 import org.jboss.hal.client.tools.MacroOptionsDialog;
 import org.jboss.hal.config.Endpoints;
@@ -34,12 +35,14 @@ import org.jboss.hal.core.expression.ExpressionDialog;
 import org.jboss.hal.core.expression.ExpressionResolver;
 import org.jboss.hal.core.mvp.HalView;
 import org.jboss.hal.core.mvp.HasPresenter;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.dmr.macro.MacroFinishedEvent;
 import org.jboss.hal.dmr.macro.MacroFinishedEvent.MacroFinishedHandler;
 import org.jboss.hal.dmr.macro.MacroOperationEvent;
 import org.jboss.hal.dmr.macro.MacroOperationEvent.MacroOperationHandler;
 import org.jboss.hal.dmr.macro.Macros;
 import org.jboss.hal.dmr.macro.Recording;
+import org.jboss.hal.meta.cache.MetadataCache;
 import org.jboss.hal.meta.token.NameTokens;
 import org.jboss.hal.resources.Resources;
 import org.jboss.hal.spi.Message;
@@ -63,7 +66,9 @@ public class FooterPresenter extends PresenterWidget<FooterPresenter.MyView>
     private final PlaceManager placeManager;
     private final Settings settings;
     private final Macros macros;
+    private final Dispatcher dispatcher;
     private final ExpressionResolver expressionResolver;
+    private final MetadataCache metadataCache;
     private final Resources resources;
     private final AboutDialog aboutDialog;
     private final CheckForUpdate checkForUpdate;
@@ -78,14 +83,18 @@ public class FooterPresenter extends PresenterWidget<FooterPresenter.MyView>
             final PlaceManager placeManager,
             final Settings settings,
             final Macros macros,
+            final Dispatcher dispatcher,
             final ExpressionResolver expressionResolver,
+            final MetadataCache metadataCache,
             final Resources resources) {
         super(eventBus, view);
         this.environment = environment;
         this.placeManager = placeManager;
         this.settings = settings;
         this.macros = macros;
+        this.dispatcher = dispatcher;
         this.expressionResolver = expressionResolver;
+        this.metadataCache = metadataCache;
         this.resources = resources;
         this.aboutDialog = new AboutDialog(environment, endpoints, resources);
         this.checkForUpdate = new CheckForUpdate(environment);
@@ -124,6 +133,10 @@ public class FooterPresenter extends PresenterWidget<FooterPresenter.MyView>
         new ExpressionDialog(expressionResolver, environment, resources).show();
     }
 
+    void onDiagnostics() {
+        new DiagnosticsDialog(dispatcher, resources).show();
+    }
+
     void onMacroRecording() {
         if (recording) {
             recording = false;
@@ -166,6 +179,6 @@ public class FooterPresenter extends PresenterWidget<FooterPresenter.MyView>
     }
 
     void onSettings() {
-        new SettingsDialog(environment, settings, resources).show();
+        new SettingsDialog(environment, settings, metadataCache, resources).show();
     }
 }
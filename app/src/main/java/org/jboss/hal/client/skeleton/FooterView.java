@@ -68,6 +68,7 @@ public abstract class FooterView extends HalViewImpl implements FooterPresenter.
     @DataElement HTMLElement expressionResolver;
     @DataElement HTMLElement macroRecorder;
     @DataElement HTMLElement macroEditor;
+    @DataElement HTMLElement diagnostics;
     @DataElement HTMLElement recordingContainer;
     @DataElement HTMLElement steps;
     @DataElement HTMLElement recording;
@@ -84,6 +85,7 @@ public abstract class FooterView extends HalViewImpl implements FooterPresenter.
         bind(expressionResolver, click, event -> presenter.onExpressionResolver());
         bind(macroRecorder, click, event -> presenter.onMacroRecording());
         bind(macroEditor, click, event -> presenter.onMacroEditor());
+        bind(diagnostics, click, event -> presenter.onDiagnostics());
         bind(settings, click, event -> presenter.onSettings());
     }
 
@@ -29,6 +29,7 @@ import org.jboss.hal.core.mbui.form.ModelNodeForm;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Property;
 import org.jboss.hal.meta.Metadata;
+import org.jboss.hal.meta.cache.MetadataCache;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.resources.Resources;
 
@@ -49,7 +50,8 @@ class SettingsDialog {
     private final boolean multipleLocales;
     private boolean changes;
 
-    SettingsDialog(final Environment environment, final Settings settings, final Resources resources) {
+    SettingsDialog(final Environment environment, final Settings settings, final MetadataCache metadataCache,
+            final Resources resources) {
         this.settings = settings;
         this.changes = false;
 
@@ -88,8 +90,10 @@ class SettingsDialog {
                 },
                 () -> {
                     if (changes) {
+                        // cached resource descriptions might not match the new settings (e.g. the locale)
                         DialogFactory.showConfirmation(resources.constants().settings(),
-                                resources.messages().reloadSettings(), window.location::reload);
+                                resources.messages().reloadSettings(),
+                                () -> metadataCache.clear().onErrorComplete().subscribe(window.location::reload));
                     }
                 });
     }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.client.tools;
+
+import java.util.Date;
+
+import elemental2.dom.HTMLElement;
+import org.jboss.gwt.elemento.core.Elements;
+import org.jboss.hal.ballroom.Format;
+import org.jboss.hal.ballroom.dialog.Dialog;
+import org.jboss.hal.dmr.dispatch.DispatchCall;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.dmr.dispatch.DispatcherMetrics;
+import org.jboss.hal.dmr.dispatch.OperationMetrics;
+import org.jboss.hal.resources.Resources;
+
+import static org.jboss.gwt.elemento.core.Elements.*;
+import static org.jboss.hal.resources.CSS.table;
+import static org.jboss.hal.resources.CSS.tableBordered;
+import static org.jboss.hal.resources.CSS.tableStriped;
+
+/**
+ * Dialog which shows the {@linkplain DispatcherMetrics metrics} of the dispatcher: Histograms per operation and
+ * address template and the most recent calls. Use it to find out whether a slow console is caused by the network, the
+ * server, decoding the responses or rendering.
+ */
+@SuppressWarnings("HardCodedStringLiteral")
+public class DiagnosticsDialog {
+
+    private static final String NOT_AVAILABLE = "-";
+
+    private final DispatcherMetrics metrics;
+    private final HTMLElement operations;
+    private final HTMLElement recent;
+    private final Dialog dialog;
+
+    public DiagnosticsDialog(final Dispatcher dispatcher, final Resources resources) {
+        this.metrics = dispatcher.getMetrics();
+
+        HTMLElement operationsTable = table().css(table, tableBordered, tableStriped)
+                .add(thead().add(tr()
+                        .add(th().textContent("Operation"))
+                        .add(th().textContent("Address"))
+                        .add(th().textContent("Calls"))
+                        .add(th().textContent("Failures"))
+                        .add(th().textContent("Total p50"))
+                        .add(th().textContent("Total p95"))
+                        .add(th().textContent("Time to first byte"))
+                        .add(th().textContent("Transfer"))
+                        .add(th().textContent("Decode"))
+                        .add(th().textContent("Callback"))
+                        .add(th().textContent("Request size"))
+                        .add(th().textContent("Response size"))))
+                .add(operations = tbody().asElement())
+                .asElement();
+        HTMLElement recentTable = table().css(table, tableBordered, tableStriped)
+                .add(thead().add(tr()
+                        .add(th().textContent("Time"))
+                        .add(th().textContent("Operation"))
+                        .add(th().textContent("Address"))
+                        .add(th().textContent("Total"))
+                        .add(th().textContent("Time to first byte"))
+                        .add(th().textContent("Transfer"))
+                        .add(th().textContent("Decode"))
+                        .add(th().textContent("Callback"))
+                        .add(th().textContent("Response size"))))
+                .add(recent = tbody().asElement())
+                .asElement();
+
+        dialog = new Dialog.Builder(resources.constants().diagnostics())
+                .size(Dialog.Size.MAX)
+                .add(h(2).textContent(resources.constants().operations()).asElement(), operationsTable)
+                .add(h(2).textContent(resources.constants().recentCalls()).asElement(), recentTable)
+                .closeOnly()
+                .primary(resources.constants().refresh(), () -> {
+                    update();
+                    return false;
+                })
+                .secondary(-1, resources.constants().reset(), () -> {
+                    metrics.reset();
+                    update();
+                    return false;
+                })
+                .build();
+    }
+
+    public void show() {
+        update();
+        dialog.show();
+    }
+
+    private void update() {
+        Elements.removeChildrenFrom(operations);
+        for (OperationMetrics om : metrics.getOperations()) {
+            operations.appendChild(tr()
+                    .add(td().textContent(om.getOperation()))
+                    .add(td().textContent(om.getAddressTemplate()))
+                    .add(td().textContent(String.valueOf(om.getCount())))
+                    .add(td().textContent(String.valueOf(om.getFailures())))
+                    .add(td().textContent(millis(om.getTotalTime().percentile(50))))
+                    .add(td().textContent(millis(om.getTotalTime().percentile(95))))
+                    .add(td().textContent(millis(om.getTimeToFirstByte().getMean())))
+                    .add(td().textContent(millis(om.getTransferTime().getMean())))
+                    .add(td().textContent(millis(om.getDecodeTime().getMean())))
+                    .add(td().textContent(millis(om.getCallbackTime().getMean())))
+                    .add(td().textContent(bytes(om.getRequestSize().getMean())))
+                    .add(td().textContent(bytes(om.getResponseSize().getMean())))
+                    .asElement());
+        }
+
+        Elements.removeChildrenFrom(recent);
+        for (DispatchCall call : metrics.getRecent()) {
+            recent.appendChild(tr()
+                    .add(td().textContent(Format.time(new Date((long) call.getTimestamp()))))
+                    .add(td().textContent(call.getOperation() + (call.isFailed() ? " (failed)" : "")))
+                    .add(td().textContent(call.getAddressTemplate()))
+                    .add(td().textContent(millis(call.getTotalTime())))
+                    .add(td().textContent(millis(call.getTimeToFirstByte())))
+                    .add(td().textContent(millis(call.getTransferTime())))
+                    .add(td().textContent(millis(call.getDecodeTime())))
+                    .add(td().textContent(millis(call.getCallbackTime())))
+                    .add(td().textContent(bytes(call.getResponseSize())))
+                    .asElement());
+        }
+    }
+
+    private String millis(double value) {
+        return value < 0 ? NOT_AVAILABLE : Math.round(value * 10) / 10.0 + " ms";
+    }
+
+    private String bytes(double value) {
+        return value < 0 ? NOT_AVAILABLE : Format.humanReadableFileSize(Math.round(value));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.client.runtime.subsystem.logging;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class LogTailTest {
+
+    private LogTail logTail;
+
+    @Before
+    public void setUp() {
+        logTail = new LogTail(5);
+        logTail.reset(asList("a", "b", "c", "d"), 100);
+    }
+
+    @Test
+    public void newLines() {
+        List<String> added = logTail.merge(asList("b", "c", "d", "e", "f"));
+        assertEquals(asList("e", "f"), added);
+        assertEquals(5, logTail.size());
+    }
+
+    @Test
+    public void noNewLines() {
+        assertEquals(emptyList(), logTail.merge(asList("c", "d")));
+        assertEquals(4, logTail.size());
+    }
+
+    @Test
+    public void anchorNotFound() {
+        assertNull(logTail.merge(asList("x", "y", "z")));
+        assertNull(logTail.merge(asList("d", "e", "f")));
+        assertEquals(4, logTail.size());
+    }
+
+    @Test
+    public void repeatedLines() {
+        logTail.reset(asList("x", "x", "x"), 100);
+        assertEquals(asList("y"), logTail.merge(asList("x", "x", "x", "x", "y")));
+    }
+
+    @Test
+    public void bounded() {
+        logTail.merge(asList("b", "c", "d", "e", "f", "g", "h"));
+        assertEquals(5, logTail.size());
+        assertEquals(asList("i"), logTail.merge(asList("f", "g", "h", "i")));
+    }
+
+    @Test
+    public void fileSize() {
+        assertTrue(logTail.unchanged(100));
+        assertTrue(logTail.truncated(99));
+        assertFalse(logTail.truncated(101));
+
+        // 4 lines with 2 characters each (including the line break)
+        assertEquals(logTail.getCapacity(), logTail.estimateLines(110));
+        logTail = new LogTail(100);
+        logTail.reset(asList("a", "b", "c", "d"), 100);
+        assertEquals(2 * 5 + LogTail.ANCHOR, logTail.estimateLines(110));
+        assertEquals(logTail.getCapacity(), logTail.estimateLines(100000));
+    }
+}
@@ -149,15 +149,25 @@ public class Pager<T> implements Display<T>, IsElement<HTMLElement> {
                                                         .asElement())))))
                 .asElement();
 
+        int pageSize = dataProvider.getPageInfo().getPageSize();
+        boolean customPageSize = true;
         for (int i = 0; i < Settings.PAGE_SIZE_VALUES.length; i++) {
             String pageLength = String.valueOf(Settings.PAGE_SIZE_VALUES[i]);
             pageSizeSelect.appendChild(option().apply(o -> o.value = pageLength)
                     .textContent(pageLength)
                     .asElement());
+            customPageSize &= Settings.PAGE_SIZE_VALUES[i] != pageSize;
+        }
+        if (customPageSize) {
+            // e.g. the big pages of virtual list views
+            String pageLength = String.valueOf(pageSize);
+            pageSizeSelect.appendChild(option().apply(o -> o.value = pageLength)
+                    .textContent(pageLength)
+                    .asElement());
         }
 
         // initial reset
-        pageSizeSelect.value = String.valueOf(dataProvider.getPageInfo().getPageSize());
+        pageSizeSelect.value = String.valueOf(pageSize);
         pageInput.value = "1";
     }
 
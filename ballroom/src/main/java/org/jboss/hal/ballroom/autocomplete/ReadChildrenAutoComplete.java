@@ -16,6 +16,7 @@
 package org.jboss.hal.ballroom.autocomplete;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterables;
@@ -30,13 +31,32 @@ import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.StatementContext;
 
 import static java.util.Collections.singleton;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.StreamSupport.stream;
+import static org.jboss.hal.ballroom.form.SuggestHandler.SHOW_ALL_VALUE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 
+/**
+ * Auto complete for the names of child resources. The names are read once and kept in a {@link SuggestionCache}, so
+ * that the suggestions for the following keystrokes come back without a round trip to the management endpoint.
+ */
 public class ReadChildrenAutoComplete extends AutoComplete {
 
     private static final String ERROR_MESSAGE = "Unable to read child resource suggestions for {}: {}";
+    private static SuggestionCache suggestionCache;
+
+    /**
+     * One cache is shared by all auto completes. It's created lazily and registered to be notified about write
+     * operations by the response cache of the dispatcher.
+     */
+    private static SuggestionCache suggestionCache(Dispatcher dispatcher) {
+        if (suggestionCache == null) {
+            suggestionCache = new SuggestionCache(System::currentTimeMillis, SuggestionCache.DEFAULT_TTL);
+            dispatcher.getResponseCache().addInvalidationHandler(suggestionCache::invalidate);
+        }
+        return suggestionCache;
+    }
 
     public ReadChildrenAutoComplete(final Dispatcher dispatcher, final StatementContext statementContext,
             final AddressTemplate template) {
@@ -47,7 +67,7 @@ public class ReadChildrenAutoComplete extends AutoComplete {
             final Iterable<AddressTemplate> templates) {
         verifyTemplates(templates);
 
-        ResultProcessor resultProcessor;
+        ReadChildrenProcessor resultProcessor;
         ItemRenderer<JsonObject> itemRenderer;
         int numberOfTemplates = Iterables.size(templates);
 
@@ -68,44 +88,56 @@ public class ReadChildrenAutoComplete extends AutoComplete {
             itemRenderer = new ReadChildrenRenderer();
         }
 
+        SuggestionCache cache = suggestionCache(dispatcher);
         Options options = new OptionsBuilder<JsonObject>(
                 (query, response) -> {
                     List<Operation> operations = stream(templates.spliterator(), false)
                             .map(template -> template.resolve(statementContext))
                             .map(address -> operation(address, numberOfTemplates))
                             .collect(toList());
-                    if (operations.size() == 1) {
-                        dispatcher.execute(operations.get(0),
-                                result -> response.response(resultProcessor.process(query, result)),
-                                (operation, failure) -> {
-                                    logger.error(ERROR_MESSAGE, templates, failure);
-                                    response.response(new JsonObject[0]);
-
-                                },
-                                (operation, exception) -> {
-                                    logger.error(ERROR_MESSAGE, templates, exception.getMessage());
-                                    response.response(new JsonObject[0]);
-                                });
-
-                    } else {
-                        dispatcher.execute(new Composite(operations),
-                                (CompositeResult result) -> response.response(resultProcessor.process(query, result)),
-                                (operation, failure) -> {
-                                    logger.error(ERROR_MESSAGE, templates, failure);
-                                    response.response(new JsonObject[0]);
-
-                                },
-                                (operation, exception) -> {
-                                    logger.error(ERROR_MESSAGE, templates, exception.getMessage());
-                                    response.response(new JsonObject[0]);
-                                });
-                    }
+                    String key = operations.stream().map(Operation::asCli).collect(joining(";"));
+                    List<ResourceAddress> addresses = operations.stream()
+                            .map(Operation::getAddress)
+                            .collect(toList());
+                    SuggestionCache.Loader loader = (success, failure) ->
+                            load(dispatcher, templates, operations, resultProcessor, success, failure);
+                    cache.suggest(key, addresses, loader,
+                            index -> response.response(resultProcessor.asJson(index.query(query))));
                 })
                 .renderItem(itemRenderer)
                 .build();
         init(options);
     }
 
+    /** Reads all child resources, the query is applied to the {@link SuggestionIndex}. */
+    private void load(Dispatcher dispatcher, Iterable<AddressTemplate> templates, List<Operation> operations,
+            ReadChildrenProcessor resultProcessor, Consumer<List<ReadChildrenResult>> success, Runnable failure) {
+        if (operations.size() == 1) {
+            dispatcher.execute(operations.get(0),
+                    result -> success.accept(resultProcessor.processToModel(SHOW_ALL_VALUE, result)),
+                    (operation, error) -> {
+                        logger.error(ERROR_MESSAGE, templates, error);
+                        failure.run();
+                    },
+                    (operation, exception) -> {
+                        logger.error(ERROR_MESSAGE, templates, exception.getMessage());
+                        failure.run();
+                    });
+
+        } else {
+            dispatcher.execute(new Composite(operations),
+                    (CompositeResult result) -> success.accept(resultProcessor.processToModel(SHOW_ALL_VALUE, result)),
+                    (operation, error) -> {
+                        logger.error(ERROR_MESSAGE, templates, error);
+                        failure.run();
+                    },
+                    (operation, exception) -> {
+                        logger.error(ERROR_MESSAGE, templates, exception.getMessage());
+                        failure.run();
+                    });
+        }
+    }
+
     private void verifyTemplates(final Iterable<AddressTemplate> templates) {
         if (Iterables.isEmpty(templates)) {
             throw new IllegalArgumentException("Templates must not be empty in ReadChildrenAutoComplete");
@@ -129,7 +161,9 @@ public class ReadChildrenAutoComplete extends AutoComplete {
             ResourceAddress parent = address.getParent();
             String childName = address.lastName();
             operation = new Operation.Builder(parent, READ_CHILDREN_NAMES_OPERATION)
-                    .param(CHILD_TYPE, childName).build();
+                    .param(CHILD_TYPE, childName)
+                    .uncached() // the suggestion cache takes care of caching
+                    .build();
 
         } else {
             // The address is something like /foo=*/bar=*
@@ -144,6 +178,7 @@ public class ReadChildrenAutoComplete extends AutoComplete {
                     .param(INCLUDE_DEFAULTS, false)
                     .param(INCLUDE_RUNTIME, false)
                     .param(PROXIES, false)
+                    .uncached()
                     .build();
         }
 
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.ballroom.autocomplete;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import org.jboss.hal.dmr.ResourceAddress;
+
+/**
+ * Cache for the suggestions of {@link ReadChildrenAutoComplete}. The suggestions are stored as {@link
+ * SuggestionIndex} per operation. The first query loads the suggestions, all further queries are answered from the
+ * index without a round trip to the management endpoint.
+ * <p>
+ * After the {@linkplain #DEFAULT_TTL time to live} the cached suggestions are still returned, but refreshed in the
+ * background. Write operations {@linkplain #invalidate(ResourceAddress) evict} the entries whose address is a prefix
+ * of the modified address or which start with the modified address. The next query for such an entry loads the
+ * suggestions again.
+ * <p>
+ * The number of entries is limited to {@value #MAX_ENTRIES}. If the limit is exceeded, the least recently used entry
+ * is removed.
+ */
+class SuggestionCache {
+
+    /** Loads the suggestions. Calls either {@code success} or {@code failure}. */
+    @FunctionalInterface
+    interface Loader {
+
+        void load(Consumer<List<ReadChildrenResult>> success, Runnable failure);
+    }
+
+
+    /** The default time to live in milliseconds */
+    static final long DEFAULT_TTL = 30000;
+    static final int MAX_ENTRIES = 100;
+
+    private final LongSupplier clock;
+    private final long ttl;
+    private final Map<String, Entry> entries;
+    private int hits;
+    private int loads;
+
+    /**
+     * @param clock provides the current time in milliseconds
+     * @param ttl   the time to live in milliseconds
+     */
+    SuggestionCache(LongSupplier clock, long ttl) {
+        this.clock = clock;
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+    }
+
+    /**
+     * Passes the suggestions for the specified key to the callback. If there are no suggestions yet, they're loaded
+     * using the loader. Concurrent requests for the same key share one load.
+     *
+     * @param key       identifies the suggestions (e.g. the operation used to load them)
+     * @param addresses the addresses read by the loader; used to evict the entry on write operations
+     * @param loader    loads the suggestions
+     * @param callback  receives the suggestions
+     */
+    void suggest(String key, List<ResourceAddress> addresses, Loader loader, Consumer<SuggestionIndex> callback) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(addresses);
+            entries.put(key, entry);
+            entry.callbacks.add(callback);
+            load(key, entry, loader);
+
+        } else if (entry.index == null) {
+            // the first load is still in progress
+            entry.callbacks.add(callback);
+
+        } else {
+            hits++;
+            callback.accept(entry.index);
+            if (clock.getAsLong() >= entry.expires && !entry.loading) {
+                load(key, entry, loader);
+            }
+        }
+    }
+
+    private void load(String key, Entry entry, Loader loader) {
+        entry.loading = true;
+        loads++;
+        loader.load(results -> {
+            entry.loading = false;
+            SuggestionIndex index = new SuggestionIndex(results);
+            // don't store the results if the entry was evicted by a write operation in the meantime
+            if (entries.get(key) == entry) {
+                entry.index = index;
+                entry.expires = clock.getAsLong() + ttl;
+            }
+            entry.flush(index);
+        }, () -> {
+            entry.loading = false;
+            if (entry.index == null && entries.get(key) == entry) {
+                entries.remove(key);
+            }
+            entry.flush(entry.index != null ? entry.index : SuggestionIndex.EMPTY);
+        });
+    }
+
+    /**
+     * Evicts all entries whose address is a prefix of the specified address or which start with the specified
+     * address.
+     */
+    void invalidate(ResourceAddress address) {
+        for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().affectedBy(address)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /** @return the number of queries answered from the cache */
+    int getHits() {
+        return hits;
+    }
+
+    /** @return the number of loads including background refreshes */
+    int getLoads() {
+        return loads;
+    }
+
+    int getSize() {
+        return entries.size();
+    }
+
+
+    private static class Entry {
+
+        final List<ResourceAddress> addresses;
+        final List<Consumer<SuggestionIndex>> callbacks;
+        SuggestionIndex index;
+        long expires;
+        boolean loading;
+
+        Entry(List<ResourceAddress> addresses) {
+            this.addresses = addresses;
+            this.callbacks = new ArrayList<>();
+        }
+
+        void flush(SuggestionIndex index) {
+            List<Consumer<SuggestionIndex>> pending = new ArrayList<>(callbacks);
+            callbacks.clear();
+            pending.forEach(callback -> callback.accept(index));
+        }
+
+        boolean affectedBy(ResourceAddress address) {
+            for (ResourceAddress entryAddress : addresses) {
+                if (address.startsWith(entryAddress) || entryAddress.startsWith(address)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
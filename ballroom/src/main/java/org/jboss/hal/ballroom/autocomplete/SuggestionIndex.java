@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.ballroom.autocomplete;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.jboss.hal.ballroom.form.SuggestHandler;
+
+import static com.google.common.base.Strings.isNullOrEmpty;
+
+/**
+ * Sorted index over the suggestions of a {@link ReadChildrenAutoComplete}. The suggestions are sorted by their lower
+ * case name. Suggestions which start with the query are found using a binary search and are returned first, followed
+ * by the suggestions which contain the query.
+ */
+class SuggestionIndex {
+
+    static final SuggestionIndex EMPTY = new SuggestionIndex(Collections.emptyList());
+
+    private final List<ReadChildrenResult> results;
+    private final String[] keys;
+
+    SuggestionIndex(List<ReadChildrenResult> results) {
+        this.results = new ArrayList<>(results);
+        this.results.sort(Comparator.comparing((ReadChildrenResult result) -> result.name.toLowerCase())
+                .thenComparing(result -> result.name));
+        this.keys = new String[this.results.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = this.results.get(i).name.toLowerCase();
+        }
+    }
+
+    /**
+     * @return the suggestions for the specified query: none for an empty query, all for {@link
+     * SuggestHandler#SHOW_ALL_VALUE} and otherwise the suggestions which start with the query followed by the
+     * suggestions which contain the query (case insensitive).
+     */
+    List<ReadChildrenResult> query(String query) {
+        if (isNullOrEmpty(query)) {
+            return Collections.emptyList();
+        } else if (SuggestHandler.SHOW_ALL_VALUE.equals(query)) {
+            return Collections.unmodifiableList(results);
+        }
+
+        String lowerCaseQuery = query.toLowerCase();
+        List<ReadChildrenResult> matches = new ArrayList<>();
+        int from = lowerBound(lowerCaseQuery);
+        int to = from;
+        while (to < keys.length && keys[to].startsWith(lowerCaseQuery)) {
+            matches.add(results.get(to));
+            to++;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if ((i < from || i >= to) && keys[i].contains(lowerCaseQuery)) {
+                matches.add(results.get(i));
+            }
+        }
+        return matches;
+    }
+
+    /** @return the index of the first key which is greater than or equal to the specified key */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    int size() {
+        return results.size();
+    }
+}
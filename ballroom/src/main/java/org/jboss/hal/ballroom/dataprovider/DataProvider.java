@@ -15,43 +15,49 @@
  */
 package org.jboss.hal.ballroom.dataprovider;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collector;
-import java.util.stream.Stream;
 
-import com.google.common.collect.Lists;
 import org.jboss.hal.ballroom.listview.ListView;
 import org.jboss.hal.config.Settings;
 
 import static java.lang.Math.min;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
 import static org.jboss.hal.config.Settings.DEFAULT_PAGE_SIZE;
 import static org.jboss.hal.config.Settings.Key.PAGE_SIZE;
 
 /**
  * Holds items and state for displays like {@link ListView}. Changes to the state is reflected in the connected
  * displays.
+ * <p>
+ * The items are stored once in a list. Filtering and sorting only rearrange a reusable index array, which is
+ * allocated when the items are {@linkplain #update(Iterable) updated}. The filtered and visible items are views
+ * backed by this array. So filtering is O(n), sorting O(n log n) and paging O(1) w/o copying any items or
+ * allocating maps.
  */
 public class DataProvider<T> {
 
     private final Function<T, String> identifier;
     private final PageInfo pageInfo;
     private final SelectionInfo<T> selectionInfo;
-    private final Map<String, T> allItems;
+    private final List<T> allItems;
+    private final Map<String, Integer> indexById;
     private final Map<String, FilterValue<T>> filterValues;
     private final List<Display<T>> displays;
+    private final List<T> filteredItems;
+    private final List<T> visibleItems;
     private List<SelectHandler<T>> selectHandler;
-    private Map<String, T> filteredItems;
-    private Map<String, T> visibleItems;
+    private Integer[] indices; // boxed once per update to avoid boxing while filtering
+    private Integer[] order; // indices of the filtered and sorted items
+    private int[] positions; // position of an item in 'order' or -1 if the item is filtered out
+    private int filtered;
+    private int visibleFrom;
+    private int visibleTo;
     private Comparator<T> comparator;
 
     public DataProvider(Function<T, String> identifier, boolean multiSelect) {
@@ -62,12 +68,16 @@ public class DataProvider<T> {
         this.identifier = identifier;
         this.pageInfo = new PageInfo(pageSize);
         this.selectionInfo = new SelectionInfo<>(identifier, multiSelect);
-        this.allItems = new LinkedHashMap<>();
-        this.filteredItems = new LinkedHashMap<>();
-        this.visibleItems = new LinkedHashMap<>();
+        this.allItems = new ArrayList<>();
+        this.indexById = new HashMap<>();
         this.filterValues = new HashMap<>();
         this.selectHandler = new ArrayList<>();
         this.displays = new ArrayList<>();
+        this.filteredItems = new IndexedItems(true);
+        this.visibleItems = new IndexedItems(false);
+        this.indices = new Integer[0];
+        this.order = new Integer[0];
+        this.positions = new int[0];
 
         reset();
     }
@@ -79,19 +89,37 @@ public class DataProvider<T> {
     public void update(Iterable<T> items) {
         reset();
         for (T item : items) {
-            allItems.put(getId(item), item);
+            String id = getId(item);
+            Integer index = indexById.get(id);
+            if (index != null) {
+                allItems.set(index, item); // same semantics as a map: last one wins
+            } else {
+                indexById.put(id, allItems.size());
+                allItems.add(item);
+            }
+        }
+        indices = new Integer[allItems.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
         }
+        order = new Integer[allItems.size()];
+        positions = new int[allItems.size()];
         applyFilterSortAndPaging();
         showItems();
         updateSelection();
     }
 
     public boolean contains(T item) {
-        return allItems.containsKey(identifier.apply(item));
+        return indexById.containsKey(identifier.apply(item));
     }
 
     public boolean isVisible(T item) {
-        return visibleItems.containsKey(identifier.apply(item));
+        Integer index = indexById.get(identifier.apply(item));
+        if (index != null) {
+            int position = positions[index];
+            return position >= visibleFrom && position < visibleTo;
+        }
+        return false;
     }
 
     public String getId(T item) {
@@ -99,58 +127,71 @@ public class DataProvider<T> {
     }
 
     public Iterable<T> getAllItems() {
-        return allItems.values();
+        return allItems;
     }
 
+    /** @return a view of the filtered and sorted items; the view reflects subsequent changes */
     public Iterable<T> getFilteredItems() {
-        return filteredItems.values();
+        return filteredItems;
     }
 
+    /** @return a view of the items on the current page; the view reflects subsequent changes */
     public Iterable<T> getVisibleItems() {
-        return visibleItems.values();
+        return visibleItems;
     }
 
     private void reset() {
         allItems.clear();
+        indexById.clear();
         pageInfo.reset();
         selectionInfo.reset();
     }
 
     private void applyFilterSortAndPaging() {
-        Stream<T> stream = allItems.values().stream();
-        if (!filterValues.isEmpty()) {
-            Predicate<T> predicate = null;
-            for (FilterValue<T> filterValue : filterValues.values()) {
-                if (predicate == null) {
-                    predicate = i -> filterValue.getFilter().test(i, filterValue.getValue());
-                } else {
-                    predicate = predicate.and(i -> filterValue.getFilter().test(i, filterValue.getValue()));
-                }
+        applyFilterAndSort();
+        applyPaging();
+    }
+
+    private void applyFilterAndSort() {
+        // filter: O(n)
+        filtered = 0;
+        for (int i = 0; i < allItems.size(); i++) {
+            if (matches(allItems.get(i))) {
+                order[filtered++] = indices[i];
             }
-            stream = stream.filter(predicate);
         }
-        if (comparator != null) {
-            stream = stream.sorted(comparator);
+
+        // sort: O(n log n), but only the indices are moved
+        if (comparator != null && filtered > 1) {
+            Arrays.sort(order, 0, filtered, (i1, i2) -> comparator.compare(allItems.get(i1), allItems.get(i2)));
+        }
+        Arrays.fill(positions, -1);
+        for (int position = 0; position < filtered; position++) {
+            positions[order[position]] = position;
         }
-        List<T> values = stream.collect(toList());
-        if (values.size() > pageInfo.getPageSize()) {
-            filteredItems = values.stream().collect(toLinkedMap(identifier, identity()));
-            values = paged(values);
-            visibleItems = values.stream().collect(toLinkedMap(identifier, identity()));
+    }
+
+    private void applyPaging() {
+        // O(1): the visible items are a range of the index array
+        pageInfo.setTotal(filtered); // total first!
+        if (filtered > pageInfo.getPageSize()) {
+            int page = min(pageInfo.getPage(), pageInfo.getPages() - 1);
+            visibleFrom = page * pageInfo.getPageSize();
+            visibleTo = min(filtered, visibleFrom + pageInfo.getPageSize());
         } else {
-            filteredItems = visibleItems = values.stream().collect(toLinkedMap(identifier, identity()));
+            visibleFrom = 0;
+            visibleTo = filtered;
         }
-        pageInfo.setTotal(filteredItems.size()); // total first!
-        pageInfo.setVisible(visibleItems.size());
+        pageInfo.setVisible(visibleTo - visibleFrom);
     }
 
-    private Collector<T, ?, Map<String, T>> toLinkedMap(Function<? super T, ? extends String> keyMapper,
-            Function<? super T, ? extends T> valueMapper) {
-        return toMap(keyMapper, valueMapper,
-                (u, v) -> {
-                    throw new IllegalStateException("Duplicate key " + u); //NON-NLS
-                },
-                LinkedHashMap::new);
+    private boolean matches(T item) {
+        for (FilterValue<T> filterValue : filterValues.values()) {
+            if (!filterValue.getFilter().test(item, filterValue.getValue())) {
+                return false;
+            }
+        }
+        return true;
     }
 
 
@@ -163,7 +204,7 @@ public class DataProvider<T> {
     /** Selects all items if {@ocde multiSelect == true}. Does not fire selection events */
     public void selectAll() {
         if (selectionInfo.isMultiSelect()) {
-            filteredItems.forEach((id, item) -> selectInternal(id, item, true));
+            filteredItems.forEach(item -> selectInternal(getId(item), item, true));
             updateSelection();
         }
     }
@@ -171,7 +212,7 @@ public class DataProvider<T> {
     /** Selects all visible items if {@ocde multiSelect == true}. Does not fire selection events */
     public void selectVisible() {
         if (selectionInfo.isMultiSelect()) {
-            visibleItems.forEach((id, item) -> selectInternal(id, item, true));
+            visibleItems.forEach(item -> selectInternal(getId(item), item, true));
             updateSelection();
         }
     }
@@ -179,7 +220,7 @@ public class DataProvider<T> {
     /** Clears the selection for all items */
     public void clearAllSelection() {
         if (selectionInfo.hasSelection()) {
-            filteredItems.forEach((id, item) -> selectInternal(id, item, false));
+            filteredItems.forEach(item -> selectInternal(getId(item), item, false));
             updateSelection();
         }
     }
@@ -187,7 +228,7 @@ public class DataProvider<T> {
     /** Clears the selection for all visible items */
     public void clearVisibleSelection() {
         if (selectionInfo.hasSelection()) {
-            visibleItems.forEach((id, item) -> selectInternal(id, item, false));
+            visibleItems.forEach(item -> selectInternal(getId(item), item, false));
             updateSelection();
         }
     }
@@ -277,7 +318,7 @@ public class DataProvider<T> {
         int oldPageSize = pageInfo.getPageSize();
         pageInfo.setPageSize(pageSize);
         if (oldPageSize != pageInfo.getPageSize()) {
-            applyFilterSortAndPaging();
+            applyPaging();
             showItems();
             updateSelection();
         }
@@ -303,7 +344,7 @@ public class DataProvider<T> {
         int oldPage = pageInfo.getPage();
         pageInfo.setPage(page);
         if (oldPage != pageInfo.getPage()) {
-            applyFilterSortAndPaging();
+            applyPaging();
             showItems();
             updateSelection();
         }
@@ -313,12 +354,6 @@ public class DataProvider<T> {
         return pageInfo;
     }
 
-    private List<T> paged(List<T> values) {
-        List<List<T>> pages = Lists.partition(values, pageInfo.getPageSize());
-        return pages.get(min(pageInfo.getPage(), pages.size() - 1));
-    }
-
-
     // ------------------------------------------------------ displays
 
     public void addDisplay(Display<T> display) {
@@ -327,7 +362,8 @@ public class DataProvider<T> {
 
     private void showItems() {
         for (Display<T> display : displays) {
-            display.showItems(visibleItems.values(), pageInfo);
+            // pass a snapshot: the view changes with the next filter, sort or page operation
+            display.showItems(new ArrayList<>(visibleItems), pageInfo);
         }
     }
 
@@ -336,4 +372,29 @@ public class DataProvider<T> {
             display.updateSelection(selectionInfo);
         }
     }
+
+
+    /** Read-only view of the filtered or visible items backed by the index array. */
+    private class IndexedItems extends AbstractList<T> {
+
+        private final boolean all;
+
+        private IndexedItems(boolean all) {
+            this.all = all;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size()); //NON-NLS
+            }
+            int offset = all ? 0 : visibleFrom;
+            return allItems.get(order[offset + index]);
+        }
+
+        @Override
+        public int size() {
+            return all ? filtered : visibleTo - visibleFrom;
+        }
+    }
 }
@@ -27,4 +27,6 @@ public class Session {
     public native String getValue();
 
     public native int getLength();
+
+    public native Document getDocument();
 }
@@ -15,10 +15,12 @@
  */
 package org.jboss.hal.ballroom.listview;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.google.common.collect.Lists;
 import elemental2.dom.HTMLDivElement;
 import elemental2.dom.HTMLElement;
 import org.jboss.gwt.elemento.core.Elements;
@@ -28,11 +30,16 @@ import org.jboss.hal.ballroom.dataprovider.DataProvider;
 import org.jboss.hal.ballroom.dataprovider.Display;
 import org.jboss.hal.ballroom.dataprovider.PageInfo;
 import org.jboss.hal.ballroom.dataprovider.SelectionInfo;
+import org.jboss.hal.resources.CSS;
 
 import static org.jboss.gwt.elemento.core.Elements.div;
+import static org.jboss.gwt.elemento.core.EventType.bind;
+import static org.jboss.gwt.elemento.core.EventType.scroll;
 import static org.jboss.hal.resources.CSS.active;
+import static org.jboss.hal.resources.CSS.listHalVirtual;
 import static org.jboss.hal.resources.CSS.listPf;
 import static org.jboss.hal.resources.CSS.listPfStacked;
+import static org.jboss.hal.resources.CSS.px;
 
 /**
  * PatternFly list view. The list view does not manage data by itself. Instead you have to use a {@link DataProvider}
@@ -46,16 +53,33 @@ import static org.jboss.hal.resources.CSS.listPfStacked;
  * dataProvider.setItems(...);
  * </pre>
  *
+ * <p>
+ * For very large item sets, the list view can be switched to a {@linkplain #virtual(int) virtual mode}. In this
+ * mode only the items in the viewport (plus a few above and below) are rendered. The root element becomes the
+ * scroll container: The CSS class {@value CSS#listHalVirtual} limits its height and adds a vertical scrollbar. If the
+ * height of the root element is changed later on, call {@link #updateViewport()}.
+ *
  * @see <a href="http://www.patternfly.org/pattern-library/content-views/list-view/">http://www.patternfly.org/pattern-library/content-views/list-view/</a>
  */
 public class ListView<T> implements Display<T>, IsElement<HTMLElement> {
 
+    private static final int OVERSCAN = 5;
+    private static final int DEFAULT_VIEWPORT_ITEMS = 20;
+
     private final DataProvider<T> dataProvider;
     private final ItemRenderer<T> itemRenderer;
     private final boolean multiSelect;
     private final String[] contentWidths;
     private final HTMLElement root;
     private final Map<String, ListItem<T>> currentListItems;
+    private boolean virtual;
+    private int itemHeight;
+    private List<T> items;
+    private HTMLElement topSpacer;
+    private HTMLElement bottomSpacer;
+    private int first;
+    private int last;
+    private int page;
 
     public ListView(String id, DataProvider<T> dataProvider, ItemRenderer<T> itemRenderer,
             boolean stacked, boolean multiSelect) {
@@ -69,6 +93,7 @@ public class ListView<T> implements Display<T>, IsElement<HTMLElement> {
         this.multiSelect = multiSelect;
         this.contentWidths = contentWidths;
         this.currentListItems = new HashMap<>();
+        this.items = new ArrayList<>();
 
         HtmlContentBuilder<HTMLDivElement> div = div().id(id).css(listPf);
         if (stacked) {
@@ -82,16 +107,90 @@ public class ListView<T> implements Display<T>, IsElement<HTMLElement> {
         return root;
     }
 
+    /**
+     * Switches to the virtual mode. Only the items in the viewport are rendered. Should be called before any items
+     * are shown.
+     *
+     * @param itemHeight the (estimated) height of one item in pixel
+     */
+    public void virtual(int itemHeight) {
+        this.virtual = true;
+        this.itemHeight = Math.max(1, itemHeight);
+        this.topSpacer = div().asElement();
+        this.bottomSpacer = div().asElement();
+        root.classList.add(listHalVirtual);
+        bind(root, scroll, event -> renderViewport(false));
+    }
+
+    /** Renders the items which are visible now. Call this method if the height of the root element has changed. */
+    public void updateViewport() {
+        if (virtual) {
+            renderViewport(false);
+        }
+    }
+
     @Override
     public void showItems(Iterable<T> items, PageInfo pageInfo) {
+        if (virtual) {
+            this.items = items instanceof List ? (List<T>) items : Lists.newArrayList(items);
+            if (pageInfo.getPage() != page) {
+                page = pageInfo.getPage();
+                root.scrollTop = 0;
+            }
+            renderViewport(true);
+
+        } else {
+            currentListItems.clear();
+            Elements.removeChildrenFrom(root);
+            for (T item : items) {
+                renderItem(item);
+            }
+        }
+    }
+
+    private void renderViewport(boolean force) {
+        int[] range = range(items.size(), itemHeight, (int) root.clientHeight, (int) root.scrollTop);
+        if (!force && range[0] == first && range[1] == last) {
+            return;
+        }
+
+        first = range[0];
+        last = range[1];
         currentListItems.clear();
         Elements.removeChildrenFrom(root);
-        for (T item : items) {
-            ItemDisplay<T> display = itemRenderer.render(item);
-            ListItem<T> listItem = new ListItem<>(this, item, multiSelect, display, contentWidths);
-            currentListItems.put(listItem.id, listItem);
-            root.appendChild(listItem.asElement());
+        topSpacer.style.height = CSS.height(px(first * itemHeight));
+        bottomSpacer.style.height = CSS.height(px((items.size() - last) * itemHeight));
+        root.appendChild(topSpacer);
+        for (T item : items.subList(first, last)) {
+            renderItem(item);
         }
+        root.appendChild(bottomSpacer);
+        if (!force) {
+            updateSelection(dataProvider.getSelectionInfo());
+        }
+    }
+
+    /**
+     * Calculates the items to render in the virtual mode.
+     *
+     * @param size         the number of items
+     * @param itemHeight   the height of one item
+     * @param clientHeight the height of the scroll container or 0 if it's not yet known
+     * @param scrollTop    the scroll position of the scroll container
+     *
+     * @return the index of the first item (inclusive) and the last item (exclusive)
+     */
+    static int[] range(int size, int itemHeight, int clientHeight, int scrollTop) {
+        int visibleItems = clientHeight > 0 ? (clientHeight + itemHeight - 1) / itemHeight : DEFAULT_VIEWPORT_ITEMS;
+        int firstVisible = Math.min(scrollTop / itemHeight, Math.max(0, size - visibleItems));
+        return new int[]{Math.max(0, firstVisible - OVERSCAN), Math.min(size, firstVisible + visibleItems + OVERSCAN)};
+    }
+
+    private void renderItem(T item) {
+        ItemDisplay<T> display = itemRenderer.render(item);
+        ListItem<T> listItem = new ListItem<>(this, item, multiSelect, display, contentWidths);
+        currentListItems.put(listItem.id, listItem);
+        root.appendChild(listItem.asElement());
     }
 
     @Override
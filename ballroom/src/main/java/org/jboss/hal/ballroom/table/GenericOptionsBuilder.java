@@ -233,6 +233,7 @@ public abstract class GenericOptionsBuilder<B extends GenericOptionsBuilder<B, T
             }
         }
         options.columns = columns.toArray(new Column[columns.size()]);
+        options.deferRender = true; // create the DOM nodes of a row only when the row is drawn
         options.keys = keys;
         options.paging = paging;
         options.pageLength = pageLength;
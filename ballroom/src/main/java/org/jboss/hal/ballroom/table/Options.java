@@ -34,6 +34,7 @@ public class Options<T> {
 
     public Api.Buttons<T> buttons;
     public Column<T>[] columns;
+    public boolean deferRender;
     public String dom;
     public boolean keys;
     public boolean paging;
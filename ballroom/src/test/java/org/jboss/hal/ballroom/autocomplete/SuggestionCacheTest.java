@@ -0,0 +1,155 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.ballroom.autocomplete;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class SuggestionCacheTest {
+
+    private static final String KEY = "/subsystem=datasources:read-children-names(child-type=data-source)";
+    private static final List<ResourceAddress> ADDRESSES = singletonList(
+            new ResourceAddress().add("subsystem", "datasources"));
+
+    private long now;
+    private SuggestionCache cache;
+    private List<Consumer<List<ReadChildrenResult>>> pendingLoads;
+    private List<Runnable> pendingFailures;
+    private SuggestionIndex index;
+
+    @Before
+    public void setUp() {
+        now = 0;
+        cache = new SuggestionCache(() -> now, 1000);
+        pendingLoads = new ArrayList<>();
+        pendingFailures = new ArrayList<>();
+        index = null;
+    }
+
+    @Test
+    public void firstQueryLoads() {
+        suggest();
+        assertNull(index);
+        respond("ExampleDS");
+        assertNotNull(index);
+        assertEquals(1, index.size());
+
+        suggest();
+        assertTrue(pendingLoads.isEmpty());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getLoads());
+    }
+
+    @Test
+    public void concurrentQueriesShareLoad() {
+        List<SuggestionIndex> indices = new ArrayList<>();
+        cache.suggest(KEY, ADDRESSES, this::load, indices::add);
+        cache.suggest(KEY, ADDRESSES, this::load, indices::add);
+        assertEquals(1, pendingLoads.size());
+        respond("ExampleDS");
+        assertEquals(2, indices.size());
+        assertSame(indices.get(0), indices.get(1));
+    }
+
+    @Test
+    public void staleWhileRefresh() {
+        suggest();
+        respond("ExampleDS");
+        now = 1000;
+
+        suggest();
+        // stale index returned immediately, refresh in the background
+        assertEquals(1, index.size());
+        assertEquals(1, pendingLoads.size());
+        suggest();
+        assertEquals(1, pendingLoads.size());
+
+        respond("ExampleDS", "OtherDS");
+        suggest();
+        assertEquals(2, index.size());
+        assertEquals(2, cache.getLoads());
+    }
+
+    @Test
+    public void writeOnParentEvicts() {
+        suggest();
+        respond("ExampleDS");
+        cache.invalidate(new ResourceAddress().add("subsystem", "datasources").add("data-source", "OtherDS"));
+        assertEquals(0, cache.getSize());
+
+        index = null;
+        suggest();
+        assertNull(index);
+        assertEquals(1, pendingLoads.size());
+    }
+
+    @Test
+    public void unrelatedWriteKeeps() {
+        suggest();
+        respond("ExampleDS");
+        cache.invalidate(new ResourceAddress().add("subsystem", "logging"));
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void evictedDuringLoad() {
+        suggest();
+        cache.invalidate(new ResourceAddress().add("subsystem", "datasources"));
+        respond("ExampleDS");
+        // the waiting query gets the result, but it's not cached
+        assertEquals(1, index.size());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void failure() {
+        suggest();
+        pendingFailures.remove(0).run();
+        assertSame(SuggestionIndex.EMPTY, index);
+        assertEquals(0, cache.getSize());
+    }
+
+    private void suggest() {
+        cache.suggest(KEY, ADDRESSES, this::load, result -> index = result);
+    }
+
+    private void load(Consumer<List<ReadChildrenResult>> success, Runnable failure) {
+        pendingLoads.add(success);
+        pendingFailures.add(failure);
+    }
+
+    private void respond(String... names) {
+        List<ReadChildrenResult> results = new ArrayList<>();
+        for (String name : names) {
+            results.add(new ReadChildrenResult(name));
+        }
+        pendingFailures.remove(0);
+        pendingLoads.remove(0).accept(results);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.ballroom.autocomplete;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class SuggestionIndexTest {
+
+    private SuggestionIndex index;
+
+    @Before
+    public void setUp() {
+        index = new SuggestionIndex(asList(
+                new ReadChildrenResult("public"),
+                new ReadChildrenResult("management"),
+                new ReadChildrenResult("unsecure"),
+                new ReadChildrenResult("private"),
+                new ReadChildrenResult("Public-HTTPS")));
+    }
+
+    @Test
+    public void emptyQuery() {
+        assertTrue(index.query(null).isEmpty());
+        assertTrue(index.query("").isEmpty());
+    }
+
+    @Test
+    public void showAll() {
+        assertEquals(asList("management", "private", "public", "Public-HTTPS", "unsecure"), names("*"));
+    }
+
+    @Test
+    public void prefix() {
+        assertEquals(asList("private", "public", "Public-HTTPS"), names("p"));
+        assertEquals(asList("public", "Public-HTTPS"), names("PUB"));
+    }
+
+    @Test
+    public void prefixFirst() {
+        // 'unsecure' starts with 'u', 'public' and 'Public-HTTPS' contain it
+        assertEquals(asList("unsecure", "public", "Public-HTTPS"), names("u"));
+        assertEquals(asList("management", "private"), names("a"));
+    }
+
+    @Test
+    public void noMatch() {
+        assertTrue(index.query("xyz").isEmpty());
+        assertTrue(index.query("zzz").isEmpty());
+        assertTrue(SuggestionIndex.EMPTY.query("a").isEmpty());
+    }
+
+    private List<String> names(String query) {
+        return index.query(query).stream().map(result -> result.name).collect(toList());
+    }
+}
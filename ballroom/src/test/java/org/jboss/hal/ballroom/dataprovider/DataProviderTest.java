@@ -445,6 +445,28 @@ public class DataProviderTest {
         verify(display).showItems(itemsMatcher(sorted), eq(new PageInfo(PAGE_SIZE, 0, 4, 4)));
     }
 
+    @Test
+    public void sortAndPage() throws Exception {
+        int[] items = items(23);
+        single.update(asList(items));
+        single.setComparator(Comparator.<Integer>naturalOrder().reversed());
+        single.gotoLastPage();
+        assertArrayEquals(new int[]{2, 1, 0}, toArray(single.getVisibleItems()));
+        assertTrue(single.isVisible(0));
+        assertFalse(single.isVisible(22));
+
+        single.setComparator(naturalOrder());
+        assertArrayEquals(new int[]{20, 21, 22}, toArray(single.getVisibleItems()));
+        assertTrue(single.isVisible(22));
+        assertFalse(single.isVisible(0));
+    }
+
+    @Test
+    public void duplicateIds() throws Exception {
+        single.update(asList(new int[]{1, 2, 1}));
+        assertVisibleFilteredAll(single, new int[]{1, 2}, new int[]{1, 2}, new int[]{1, 2});
+    }
+
 
     // ------------------------------------------------------ helper methods
 
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.ballroom.listview;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ListViewTest {
+
+    private static final int SIZE = 150;
+    private static final int ITEM_HEIGHT = 62;
+    private static final int CLIENT_HEIGHT = 620; // 10 visible items
+
+    @Test
+    public void top() throws Exception {
+        assertRange(0, 15, ListView.range(SIZE, ITEM_HEIGHT, CLIENT_HEIGHT, 0));
+    }
+
+    @Test
+    public void middle() throws Exception {
+        assertRange(65, 85, ListView.range(SIZE, ITEM_HEIGHT, CLIENT_HEIGHT, 70 * ITEM_HEIGHT + 10));
+    }
+
+    @Test
+    public void bottom() throws Exception {
+        int scrollTop = SIZE * ITEM_HEIGHT - CLIENT_HEIGHT;
+        assertRange(135, SIZE, ListView.range(SIZE, ITEM_HEIGHT, CLIENT_HEIGHT, scrollTop));
+    }
+
+    @Test
+    public void scrolledBeyondBottom() throws Exception {
+        assertRange(135, SIZE, ListView.range(SIZE, ITEM_HEIGHT, CLIENT_HEIGHT, 2 * SIZE * ITEM_HEIGHT));
+    }
+
+    @Test
+    public void unknownHeight() throws Exception {
+        assertRange(0, 25, ListView.range(SIZE, ITEM_HEIGHT, 0, 0));
+    }
+
+    @Test
+    public void fewItems() throws Exception {
+        assertRange(0, 3, ListView.range(3, ITEM_HEIGHT, CLIENT_HEIGHT, 0));
+    }
+
+    private void assertRange(int first, int last, int[] range) {
+        assertEquals(first, range[0]);
+        assertEquals(last, range[1]);
+    }
+}
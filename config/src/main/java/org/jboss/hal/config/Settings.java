@@ -32,19 +32,34 @@ public class Settings {
 
     @SuppressWarnings("DuplicateStringLiteralInspection")
     public enum Key {
+        BATCH_WINDOW("batch-window", true), // opt-in: window in ms to batch read operations into composites, -1 = off
+        BINARY_TRANSPORT("binary-transport", true), // opt-in: exchange raw DMR bytes instead of base64
         COLLECT_USER_DATA("collect-user-data", true),
+        COMPACT_METADATA("compact-metadata", true), // opt-out: keep resource descriptions as protected, compact nodes
         LOCALE("locale", true),
+        METADATA_CACHE("metadata-cache", true), // opt-in: keep the metadata across page loads
         PAGE_SIZE("page-size", true),
+        RESPONSE_CACHE("response-cache", true), // opt-in: time to live in ms of cached read responses, 0 = off
         RUN_AS("run-as", false); // can contain multiple roles separated by ","
 
         public static Key from(@NonNls String key) {
             switch (key) {
+                case "batch-window":
+                    return BATCH_WINDOW;
+                case "binary-transport":
+                    return BINARY_TRANSPORT;
                 case "collect-user-data":
                     return COLLECT_USER_DATA;
+                case "compact-metadata":
+                    return COMPACT_METADATA;
                 case "locale":
                     return LOCALE;
+                case "metadata-cache":
+                    return METADATA_CACHE;
                 case "page-size":
                     return PAGE_SIZE;
+                case "response-cache":
+                    return RESPONSE_CACHE;
                 case "run-as":
                     return RUN_AS;
                 default:
@@ -110,9 +125,11 @@ public class Settings {
 
     @Inject
     public static Settings INSTANCE; // use only if no DI is available!
+    public static final int BATCH_WINDOW_OFF = -1;
     public static final String DEFAULT_LOCALE = "en";
     public static final int DEFAULT_PAGE_SIZE = 10;
     public static final int[] PAGE_SIZE_VALUES = new int[]{10, 20, 50};
+    public static final int RESPONSE_CACHE_OFF = 0;
     private static final int EXPIRES = 365; // days
 
     private final Map<Key, Value> values;
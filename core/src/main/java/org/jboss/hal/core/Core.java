@@ -41,6 +41,7 @@ import org.jboss.hal.meta.Metadata;
 import org.jboss.hal.meta.MetadataRegistry;
 import org.jboss.hal.meta.StatementContext;
 import org.jboss.hal.meta.processing.MetadataProcessor;
+import org.jboss.hal.meta.search.ModelIndex;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.spi.EsParam;
 import org.jboss.hal.spi.EsReturn;
@@ -66,6 +67,7 @@ public class Core {
     private final ExtensionRegistry extensionRegistry;
     private final MetadataProcessor metadataProcessor;
     private final MetadataRegistry metadataRegistry;
+    private final ModelIndex modelIndex;
     private final StatementContext statementContext;
     private final TableButtonFactory tableButtonFactory;
 
@@ -79,6 +81,7 @@ public class Core {
             final ExtensionRegistry extensionRegistry,
             final MetadataProcessor metadataProcessor,
             final MetadataRegistry metadataRegistry,
+            final ModelIndex modelIndex,
             final StatementContext statementContext,
             final TableButtonFactory tableButtonFactory) {
         this.crud = crud;
@@ -89,6 +92,7 @@ public class Core {
         this.extensionRegistry = extensionRegistry;
         this.metadataProcessor = metadataProcessor;
         this.metadataRegistry = metadataRegistry;
+        this.modelIndex = modelIndex;
         this.statementContext = statementContext;
         this.tableButtonFactory = tableButtonFactory;
     }
@@ -154,6 +158,14 @@ public class Core {
         return metadataRegistry;
     }
 
+    /**
+     * @return model index
+     */
+    @JsProperty(name = "modelIndex")
+    public ModelIndex modelIndex() {
+        return modelIndex;
+    }
+
     /**
      * @return statement context
      */
@@ -517,7 +517,8 @@ public class CrudOperations {
 
     /**
      * Executes a recursive {@link org.jboss.hal.dmr.ModelDescriptionConstants#READ_RESOURCE_OPERATION} on the
-     * specified address and passes the result to the specified callback.
+     * specified address and passes the result to the specified callback. Since recursive results can be large, the
+     * nested resources of the result are {@linkplain Operation.Builder#lazy() decoded on demand}.
      *
      * @param address  the fq address for the {@code read-resource} operation
      * @param callback the callback which gets the result of the {@code read-resource} operation
@@ -527,6 +528,7 @@ public class CrudOperations {
         read(new Operation.Builder(address, READ_RESOURCE_OPERATION)
                         .param(INCLUDE_ALIASES, true)
                         .param(RECURSIVE, true)
+                        .lazy()
                         .build(),
                 callback);
     }
@@ -74,7 +74,24 @@ public class ColumnRegistry {
 
     void lookup(String id, LookupCallback callback) {
         if (resolvedColumns.containsKey(id)) {
-            callback.found(resolvedColumns.get(id));
+            if (!requiredResources.getResources(id).isEmpty()) {
+                // the metadata might have been evicted in the meantime: read it again if necessary
+                metadataProcessor.process(id, progress.get(), new AsyncCallback<Void>() {
+                    @Override
+                    public void onFailure(final Throwable throwable) {
+                        //noinspection HardCodedStringLiteral
+                        callback.error("Unable to load required resources for column '" + id +
+                                ((throwable != null) ? "': " + throwable.getMessage() : "'"));
+                    }
+
+                    @Override
+                    public void onSuccess(final Void aVoid) {
+                        callback.found(resolvedColumns.get(id));
+                    }
+                });
+            } else {
+                callback.found(resolvedColumns.get(id));
+            }
 
         } else {
             logger.debug("Try to lookup column '{}'", id);
@@ -103,6 +120,15 @@ public class ColumnRegistry {
         }
     }
 
+    /** Keeps the metadata of the column's required resources as long as the column is part of the finder. */
+    void pin(String id) {
+        metadataProcessor.pin(id);
+    }
+
+    void unpin(String id) {
+        metadataProcessor.unpin(id);
+    }
+
     @SuppressWarnings("unchecked")
     private void lookupInternal(String id, LookupCallback callback) {
         if (columns.containsKey(id)) {
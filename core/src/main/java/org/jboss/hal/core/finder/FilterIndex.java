@@ -0,0 +1,234 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.finder;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index over the filter data of the items of a {@link FinderColumn}. The filter data is normalized once when an item
+ * is added. Filters with at least {@value #GRAM} characters are resolved using the posting lists of the trigrams in
+ * the filter. Shorter filters scan the normalized filter data. In both cases the candidates are verified using {@link
+ * String#contains(CharSequence)}, so the result is the same as for a plain substring match.
+ * <p>
+ * If a filter extends the previous filter (the usual case when typing), only the previous matches are considered as
+ * candidates.
+ * <p>
+ * The index addresses items by position. Positions are assigned in the order the items are added and stay stable
+ * until the index is {@linkplain #clear() cleared}. Items without filter data always match.
+ */
+class FilterIndex {
+
+    static final int GRAM = 3;
+
+    private final List<String> ids;
+    private final List<String> data;
+    private final Map<String, Integer> positions;
+    private final Map<String, Postings> postings;
+    private final BitSet present;
+    private String lastFilter;
+    private BitSet lastMatches;
+
+    FilterIndex() {
+        this.ids = new ArrayList<>();
+        this.data = new ArrayList<>();
+        this.positions = new HashMap<>();
+        this.postings = new HashMap<>();
+        this.present = new BitSet();
+    }
+
+    /**
+     * Adds an item to the index. If there's already an item with the same id, it is replaced.
+     *
+     * @return the position of the item
+     */
+    int add(String id, String filterData) {
+        remove(id);
+        int position = ids.size();
+        String normalized = filterData != null ? normalize(filterData) : null;
+        ids.add(id);
+        data.add(normalized);
+        positions.put(id, position);
+        present.set(position);
+        if (normalized != null) {
+            for (String gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(position);
+            }
+        }
+        resetLastFilter();
+        return position;
+    }
+
+    /**
+     * Removes an item from the index. The posting lists are not touched; removed positions are skipped when
+     * matching.
+     */
+    void remove(String id) {
+        Integer position = positions.remove(id);
+        if (position != null) {
+            present.clear(position);
+            resetLastFilter();
+        }
+    }
+
+    void clear() {
+        ids.clear();
+        data.clear();
+        positions.clear();
+        postings.clear();
+        present.clear();
+        resetLastFilter();
+    }
+
+    /**
+     * @return the positions of the items which match the specified filter. An empty filter matches all items.
+     */
+    BitSet match(String filter) {
+        String normalized = filter != null ? normalize(filter) : "";
+        if (normalized.isEmpty()) {
+            return (BitSet) present.clone();
+        }
+
+        BitSet matches = new BitSet(ids.size());
+        if (lastFilter != null && normalized.contains(lastFilter)) {
+            verify(lastMatches, normalized, matches);
+        } else if (normalized.length() >= GRAM) {
+            BitSet candidates = candidates(normalized);
+            verify(candidates, normalized, matches);
+        } else {
+            verify(present, normalized, matches);
+        }
+
+        lastFilter = normalized;
+        lastMatches = matches;
+        return (BitSet) matches.clone();
+    }
+
+    /** @return the id of the item at the specified position */
+    String id(int position) {
+        return ids.get(position);
+    }
+
+    /** @return the number of items in the index */
+    int size() {
+        return positions.size();
+    }
+
+    private BitSet candidates(String normalized) {
+        // items w/o filter data always match
+        BitSet candidates = new BitSet(ids.size());
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            if (data.get(i) == null) {
+                candidates.set(i);
+            }
+        }
+
+        List<Postings> lists = new ArrayList<>();
+        for (String gram : grams(normalized)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return candidates;
+            }
+            lists.add(list);
+        }
+        lists.sort((l1, l2) -> Integer.compare(l1.size, l2.size));
+
+        Postings shortest = lists.get(0);
+        for (int i = 0; i < shortest.size; i++) {
+            int position = shortest.positions[i];
+            boolean all = true;
+            for (int j = 1; j < lists.size() && all; j++) {
+                all = lists.get(j).contains(position);
+            }
+            if (all) {
+                candidates.set(position);
+            }
+        }
+        return candidates;
+    }
+
+    private void verify(BitSet candidates, String normalized, BitSet matches) {
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (present.get(i)) {
+                String value = data.get(i);
+                if (value == null || value.contains(normalized)) {
+                    matches.set(i);
+                }
+            }
+        }
+    }
+
+    private void resetLastFilter() {
+        lastFilter = null;
+        lastMatches = null;
+    }
+
+    static String normalize(String value) {
+        return value.trim().toLowerCase();
+    }
+
+    /** @return the distinct trigrams of the specified value */
+    static List<String> grams(String value) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            String gram = value.substring(i, i + GRAM);
+            if (!grams.contains(gram)) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+
+
+    /** Ascending list of positions. Uses a plain int array to keep the memory footprint small. */
+    private static class Postings {
+
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                int[] copy = new int[size * 2];
+                System.arraycopy(positions, 0, copy, 0, size);
+                positions = copy;
+            }
+            positions[size++] = position;
+        }
+
+        boolean contains(int position) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int value = positions[middle];
+                if (value < position) {
+                    low = middle + 1;
+                } else if (value > position) {
+                    high = middle - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
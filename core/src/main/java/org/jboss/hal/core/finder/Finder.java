@@ -90,18 +90,18 @@ public class Finder implements IsElement, Attachable {
             });
         }
 
-        private void selectItem(FinderColumn column, FlowContext context, Control control) {
-            if (column.contains(segment.getItemId())) {
-                column.markSelected(segment.getItemId());
-                column.row(segment.getItemId()).asElement().scrollIntoView(false);
-                updateContext();
-                context.push(column);
-                control.proceed();
-            } else {
-                //noinspection HardCodedStringLiteral
-                control.abort("Error in Finder.SelectTask: Unable to select item '" +
-                        segment.getItemId() + "' in column '" + segment.getColumnId() + "'");
-            }
+        private void selectItem(FinderColumn<?> column, FlowContext context, Control control) {
+            column.select(segment.getItemId(), row -> {
+                if (row != null) {
+                    updateContext();
+                    context.push(column);
+                    control.proceed();
+                } else {
+                    //noinspection HardCodedStringLiteral
+                    control.abort("Error in Finder.SelectTask: Unable to select item '" +
+                            segment.getItemId() + "' in column '" + segment.getColumnId() + "'");
+                }
+            });
         }
     }
 
@@ -136,16 +136,17 @@ public class Finder implements IsElement, Attachable {
             }
         }
 
-        private void selectItem(FinderColumn column, FlowContext context, Control control) {
-            if (column.contains(segment.getItemId())) {
-                column.markSelected(segment.getItemId());
-                context.push(column);
-                control.proceed();
-            } else {
-                //noinspection HardCodedStringLiteral
-                control.abort("Error in Finder.RefreshTask: Unable to select item '" +
-                        segment.getItemId() + "' in column '" + segment.getColumnId() + "'");
-            }
+        private void selectItem(FinderColumn<?> column, FlowContext context, Control control) {
+            column.select(segment.getItemId(), row -> {
+                if (row != null) {
+                    context.push(column);
+                    control.proceed();
+                } else {
+                    //noinspection HardCodedStringLiteral
+                    control.abort("Error in Finder.RefreshTask: Unable to select item '" +
+                            segment.getItemId() + "' in column '" + segment.getColumnId() + "'");
+                }
+            });
         }
     }
 
@@ -261,6 +262,7 @@ public class Finder implements IsElement, Attachable {
         Elements.setVisible(column.asElement(), true);
 
         columns.put(column.getId(), column);
+        columnRegistry.pin(column.getId());
         if (visibleColumns() >= MAX_VISIBLE_COLUMNS) {
             int index = 0;
             int hideUntilHere = columns.size() - MAX_VISIBLE_COLUMNS;
@@ -322,6 +324,7 @@ public class Finder implements IsElement, Attachable {
             FinderColumn removeColumn = columns.remove(element.id);
             iterator.remove();
             removeColumn.detach();
+            columnRegistry.unpin(element.id);
         }
     }
 
@@ -340,6 +343,7 @@ public class Finder implements IsElement, Attachable {
                 FinderColumn removeColumn = columns.remove(element.id);
                 iterator.remove();
                 removeColumn.detach();
+                columnRegistry.unpin(element.id);
             }
         }
         Elements.setVisible(column.asElement(), true);
@@ -454,6 +458,7 @@ public class Finder implements IsElement, Attachable {
 
         for (FinderColumn column : columns.values()) {
             column.detach();
+            columnRegistry.unpin(column.getId());
         }
         columns.clear();
         while (root.firstChild != previewColumn) {
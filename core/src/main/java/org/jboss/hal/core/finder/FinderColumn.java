@@ -16,13 +16,14 @@
 package org.jboss.hal.core.finder;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import com.google.common.collect.Iterables;
 import com.google.gwt.core.client.GWT;
@@ -55,6 +56,8 @@ import org.jetbrains.annotations.NonNls;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static elemental2.dom.DomGlobal.clearTimeout;
+import static elemental2.dom.DomGlobal.setTimeout;
 import static java.util.stream.Collectors.toList;
 import static org.jboss.gwt.elemento.core.Elements.*;
 import static org.jboss.gwt.elemento.core.Elements.header;
@@ -62,11 +65,11 @@ import static org.jboss.gwt.elemento.core.EventType.bind;
 import static org.jboss.gwt.elemento.core.EventType.click;
 import static org.jboss.gwt.elemento.core.EventType.keydown;
 import static org.jboss.gwt.elemento.core.EventType.keyup;
+import static org.jboss.gwt.elemento.core.EventType.scroll;
 import static org.jboss.gwt.elemento.core.InputType.text;
 import static org.jboss.gwt.elemento.core.Key.ArrowUp;
 import static org.jboss.gwt.elemento.core.Key.Escape;
 import static org.jboss.hal.core.finder.Finder.DATA_BREADCRUMB;
-import static org.jboss.hal.core.finder.Finder.DATA_FILTER;
 import static org.jboss.hal.resources.CSS.*;
 import static org.jboss.hal.resources.Names.NOT_AVAILABLE;
 import static org.jboss.hal.resources.UIConstants.GROUP;
@@ -105,6 +108,7 @@ public class FinderColumn<T> implements IsElement, Attachable {
         private boolean firstActionAsBreadcrumbHandler;
         private List<T> items;
         private ItemsProvider<T> itemsProvider;
+        private PagedItemsProvider<T> pagedItemsProvider;
         private BreadcrumbItemsProvider<T> breadcrumbItemsProvider;
         private ItemSelectionHandler<T> selectionHandler;
 
@@ -159,6 +163,16 @@ public class FinderColumn<T> implements IsElement, Attachable {
             return this;
         }
 
+        /**
+         * Loads the items page by page. Takes precedence over {@link #itemsProvider(ItemsProvider)}. Please note that
+         * you need to specify a {@linkplain #breadcrumbItemsProvider(BreadcrumbItemsProvider) breadcrumb items
+         * provider} if the column should support the breadcrumb dropdown.
+         */
+        public Builder<T> pagedItemsProvider(PagedItemsProvider<T> pagedItemsProvider) {
+            this.pagedItemsProvider = pagedItemsProvider;
+            return this;
+        }
+
         public Builder<T> breadcrumbItemsProvider(BreadcrumbItemsProvider<T> breadcrumbItemsProvider) {
             this.breadcrumbItemsProvider = breadcrumbItemsProvider;
             return this;
@@ -206,6 +220,10 @@ public class FinderColumn<T> implements IsElement, Attachable {
     public enum RefreshMode {CLEAR_SELECTION, RESTORE_SELECTION}
 
 
+    /** Time in milliseconds to wait after the last keystroke before the filter is applied */
+    static final double FILTER_DELAY = UIConstants.SHORT_TIMEOUT;
+    /** Distance in pixels to the end of the column which triggers loading the next page */
+    private static final int LOAD_MORE_THRESHOLD = 100;
     private static final Constants CONSTANTS = GWT.create(Constants.class);
     @NonNls private static final Logger logger = LoggerFactory.getLogger(FinderColumn.class);
 
@@ -225,11 +243,19 @@ public class FinderColumn<T> implements IsElement, Attachable {
     private final ItemSelectionHandler<T> selectionHandler;
     private final List<HandlerRegistration> handlers;
     private final Map<String, FinderRow<T>> rows;
+    private final FilterIndex filterIndex;
     private final FinderColumnStorage storage;
+    private BitSet filtered;
+    private double filterHandle;
+    private List<String> pendingKeys;
+    private Map<String, Integer> keyOrder;
+    private boolean pageLoading;
+    private List<Callback> pageLoadedCallbacks;
 
     private boolean asElement;
     private boolean firstActionAsBreadcrumbHandler;
     private ItemsProvider<T> itemsProvider;
+    private PagedItemsProvider<T> pagedItemsProvider;
     private ItemRenderer<T> itemRenderer;
     private PreviewCallback<T> previewCallback;
     private BreadcrumbItemsProvider<T> breadcrumbItemsProvider;
@@ -246,6 +272,7 @@ public class FinderColumn<T> implements IsElement, Attachable {
         this.pinnable = builder.pinnable;
         this.initialItems = builder.items;
         this.itemsProvider = builder.itemsProvider;
+        this.pagedItemsProvider = builder.pagedItemsProvider;
         this.itemRenderer = builder.itemRenderer;
         this.selectionHandler = builder.selectionHandler;
         this.previewCallback = builder.previewCallback;
@@ -255,6 +282,13 @@ public class FinderColumn<T> implements IsElement, Attachable {
         this.asElement = false;
 
         this.rows = new HashMap<>();
+        this.filterIndex = new FilterIndex();
+        this.filtered = new BitSet();
+        this.filterHandle = -1;
+        this.pendingKeys = new ArrayList<>();
+        this.keyOrder = new HashMap<>();
+        this.pageLoading = false;
+        this.pageLoadedCallbacks = new ArrayList<>();
         this.storage = new FinderColumnStorage(id);
         this.handlers = new ArrayList<>();
 
@@ -387,10 +421,11 @@ public class FinderColumn<T> implements IsElement, Attachable {
     private void updateHeader(int matched) {
         if (showCount) {
             String titleWithSize;
-            if (matched == rows.size()) {
-                titleWithSize = title + " (" + rows.size() + ")";
+            int size = rows.size() + pendingKeys.size();
+            if (matched == size) {
+                titleWithSize = title + " (" + size + ")";
             } else {
-                titleWithSize = title + " (" + matched + " / " + rows.size() + ")";
+                titleWithSize = title + " (" + matched + " / " + size + ")";
             }
             headerElement.textContent = titleWithSize;
             headerElement.title = titleWithSize;
@@ -401,6 +436,9 @@ public class FinderColumn<T> implements IsElement, Attachable {
     public void attach() {
         handlers.add(bind(root, keydown, this::onNavigation));
         handlers.add(bind(hiddenColumns, click, event -> finder.revealHiddenColumns(FinderColumn.this)));
+        if (pagedItemsProvider != null) {
+            handlers.add(bind(ulElement, scroll, event -> onScroll()));
+        }
         if (filterElement != null) {
             handlers.add(bind(filterElement, keydown, this::onNavigation));
             handlers.add(bind(filterElement, keyup, this::onFilter));
@@ -409,6 +447,7 @@ public class FinderColumn<T> implements IsElement, Attachable {
 
     @Override
     public void detach() {
+        clearTimeout(filterHandle);
         for (HandlerRegistration handler : handlers) {
             handler.removeHandler();
         }
@@ -419,32 +458,62 @@ public class FinderColumn<T> implements IsElement, Attachable {
     // ------------------------------------------------------ event handler
 
     private void onFilter(KeyboardEvent event) {
+        clearTimeout(filterHandle);
         if (Escape == Key.fromEvent(event)) {
             filterElement.value = "";
+            filter();
+        } else {
+            filterHandle = setTimeout(whatever -> filter(), FILTER_DELAY);
         }
+    }
 
-        int matched = 0;
-        String filter = filterElement.value;
-        for (HTMLElement li : Elements.children(ulElement)) {
-            if (li == noItems) {
-                continue;
-            }
-            Object filterData = li.dataset.get(DATA_FILTER);
-            boolean match = filter == null
-                    || filter.trim().length() == 0
-                    || filterData == null
-                    || String.valueOf(filterData).toLowerCase().contains(filter.toLowerCase());
-            Elements.setVisible(li, match);
-            if (match) {
-                matched++;
+    /**
+     * Matches the filter against the {@link FilterIndex} and shows / hides only the rows whose visibility has changed
+     * since the last filter.
+     */
+    private void filter() {
+        filterHandle = -1;
+        String filter = filterElement != null ? filterElement.value : null;
+        BitSet matches = filterIndex.match(filter);
+        BitSet changed = (BitSet) matches.clone();
+        changed.xor(filtered);
+        for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+            FinderRow<T> row = rows.get(filterIndex.id(i));
+            if (row != null) {
+                Elements.setVisible(row.asElement(), matches.get(i));
             }
         }
+        filtered = matches;
+
+        int matched = matches.cardinality();
         updateHeader(matched);
         if (matched == 0) {
             Elements.lazyAppend(ulElement, noItems);
         } else {
             Elements.failSafeRemove(ulElement, noItems);
         }
+
+        // load the pending keys which match the filter
+        if (!pendingKeys.isEmpty() && filter != null && !filter.trim().isEmpty()) {
+            String normalized = FilterIndex.normalize(filter);
+            List<String> keys = pendingKeys.stream()
+                    .filter(key -> {
+                        // keys w/o filter data always match (like rows w/o filter data)
+                        String filterData = pagedItemsProvider.filterData(key);
+                        return filterData == null || FilterIndex.normalize(filterData).contains(normalized);
+                    })
+                    .limit(pagedItemsProvider.pageSize())
+                    .collect(toList());
+            loadPage(keys, null);
+        }
+    }
+
+    private void onScroll() {
+        if (!pendingKeys.isEmpty() &&
+                ulElement.scrollTop + ulElement.clientHeight >= ulElement.scrollHeight - LOAD_MORE_THRESHOLD) {
+            int size = Math.min(pendingKeys.size(), pagedItemsProvider.pageSize());
+            loadPage(new ArrayList<>(pendingKeys.subList(0, size)), null);
+        }
     }
 
     private void onNavigation(KeyboardEvent event) {
@@ -604,6 +673,45 @@ public class FinderColumn<T> implements IsElement, Attachable {
         return rows.containsKey(itemId);
     }
 
+    /**
+     * Marks the specified item as selected and scrolls it into view. If the column is paged and the item has not been
+     * loaded so far, the page with the key of the item is loaded first. The callback gets the selected row or {@code
+     * null} if there's no such item.
+     */
+    void select(String itemId, Consumer<FinderRow<T>> callback) {
+        FinderRow<T> row = rows.get(itemId);
+        if (row != null || pendingKeys.isEmpty()) {
+            if (row != null) {
+                markSelected(itemId);
+                row.asElement().scrollIntoView(false);
+            }
+            callback.accept(row);
+
+        } else if (pageLoading) {
+            pageLoadedCallbacks.add(() -> select(itemId, callback));
+
+        } else {
+            // load the key of the item if the provider knows its item id, the next page otherwise
+            List<String> keys = pendingKeys.stream()
+                    .filter(key -> itemId.equals(pagedItemsProvider.itemId(key)))
+                    .limit(1)
+                    .collect(toList());
+            if (keys.isEmpty()) {
+                keys = new ArrayList<>(pendingKeys.subList(0,
+                        Math.min(pendingKeys.size(), pagedItemsProvider.pageSize())));
+            }
+            List<String> page = keys;
+            loadPage(page, () -> {
+                if (pendingKeys.containsAll(page)) {
+                    // loading the page failed
+                    callback.accept(rows.get(itemId));
+                } else {
+                    select(itemId, callback);
+                }
+            });
+        }
+    }
+
     void markSelected(String itemId) {
         for (Map.Entry<String, FinderRow<T>> entry : rows.entrySet()) {
             boolean select = itemId.equals(entry.getKey());
@@ -702,6 +810,43 @@ public class FinderColumn<T> implements IsElement, Attachable {
         if (!initialItems.isEmpty()) {
             setItems(initialItems, callback);
 
+        } else if (pagedItemsProvider != null) {
+            FinderContext context = finder.getContext();
+            pagedItemsProvider.keys(context, new AsyncCallback<List<String>>() {
+                @Override
+                public void onFailure(final Throwable throwable) {
+                    if (callback != null) {
+                        callback.onFailure(throwable);
+                    }
+                }
+
+                @Override
+                public void onSuccess(final List<String> keys) {
+                    keyOrder = new HashMap<>();
+                    for (String key : keys) {
+                        keyOrder.put(key, keyOrder.size());
+                    }
+                    // on refresh load (at least) as many items as before, so that the rows can be reconciled
+                    int size = Math.min(keys.size(), Math.max(pagedItemsProvider.pageSize(), rows.size()));
+                    pagedItemsProvider.items(context, new ArrayList<>(keys.subList(0, size)),
+                            new AsyncCallback<List<T>>() {
+                                @Override
+                                public void onFailure(final Throwable throwable) {
+                                    if (callback != null) {
+                                        callback.onFailure(throwable);
+                                    }
+                                }
+
+                                @Override
+                                public void onSuccess(final List<T> items) {
+                                    pendingKeys = new ArrayList<>(keys.subList(size, keys.size()));
+                                    setItems(items, callback);
+                                    fillViewport();
+                                }
+                            });
+                }
+            });
+
         } else if (itemsProvider != null) {
             itemsProvider.get(finder.getContext(), new AsyncCallback<List<T>>() {
                 @Override
@@ -722,10 +867,28 @@ public class FinderColumn<T> implements IsElement, Attachable {
         }
     }
 
+    /**
+     * Reconciles the rows with the specified items: Rows are matched by {@link ItemDisplay#getId()}. New rows are
+     * added, obsolete rows are removed and existing rows are only redrawn if their content has changed. Existing rows
+     * are moved only if necessary (see {@link Reconciliation}).
+     */
     private void setItems(List<T> items, AsyncCallback<FinderColumn> callback) {
+        Map<String, Integer> oldPositions = new HashMap<>();
+        for (HTMLElement li : Elements.children(ulElement)) {
+            if (li != noItems) {
+                oldPositions.put(li.id, oldPositions.size());
+            }
+        }
+        Map<String, FinderRow<T>> oldRows = new HashMap<>(rows);
+        FinderRow<T> selectedRow = selectedRow();
+        Reconciliation reconciliation = new Reconciliation(oldRows.size());
+
         rows.clear();
-        Elements.removeChildrenFrom(ulElement);
+        filterIndex.clear();
+        Elements.failSafeRemove(ulElement, noItems);
         if (filterElement != null) {
+            clearTimeout(filterHandle);
+            filterHandle = -1;
             filterElement.value = "";
         }
 
@@ -744,22 +907,47 @@ public class FinderColumn<T> implements IsElement, Attachable {
         } else {
             unpinnedItems.addAll(items);
         }
-        for (Iterator<T> iterator = pinnedItems.iterator(); iterator.hasNext(); ) {
-            T item = iterator.next();
-            FinderRow<T> row = new FinderRow<>(finder, this, item, true,
-                    itemRenderer.render(item), previewCallback);
-            rows.put(row.getId(), row);
-            ulElement.appendChild(row.asElement());
-            if (!iterator.hasNext()) {
-                row.asElement().classList.add(last);
-            }
+        List<FinderRow<T>> orderedRows = new ArrayList<>();
+        for (T item : pinnedItems) {
+            orderedRows.add(reconcileRow(item, true, oldRows, selectedRow, reconciliation));
         }
         for (T item : unpinnedItems) {
-            FinderRow<T> row = new FinderRow<>(finder, this, item, false,
-                    itemRenderer.render(item), previewCallback);
-            rows.put(row.getId(), row);
-            ulElement.appendChild(row.asElement());
+            orderedRows.add(reconcileRow(item, false, oldRows, selectedRow, reconciliation));
+        }
+
+        // what's left in oldRows is no longer part of the items
+        for (FinderRow<T> row : oldRows.values()) {
+            Elements.failSafeRemove(ulElement, row.asElement());
+            reconciliation.removed++;
+        }
+
+        // -1 for new rows, the old position for existing rows
+        int[] positions = new int[orderedRows.size()];
+        for (int i = 0; i < positions.length; i++) {
+            FinderRow<T> row = orderedRows.get(i);
+            Integer position = oldPositions.get(row.getId());
+            positions[i] = position != null && row.asElement().parentNode == ulElement ? position : -1;
+        }
+        BitSet stable = Reconciliation.stable(positions);
+        HTMLElement anchor = null;
+        for (int i = orderedRows.size() - 1; i >= 0; i--) {
+            HTMLElement element = orderedRows.get(i).asElement();
+            if (!stable.get(i)) {
+                if (positions[i] >= 0) {
+                    reconciliation.moved++;
+                }
+                ulElement.insertBefore(element, anchor);
+            }
+            anchor = element;
+        }
+        if (pinnable) {
+            adjustPinSeparator();
+        }
+        if (!oldPositions.isEmpty()) {
+            logger.debug("Refreshed column {}: {}", id, reconciliation);
         }
+
+        filtered = filterIndex.match(null);
         updateHeader(items.size());
         Tooltip.select("#" + id + " [data-" + UIConstants.TOGGLE + "=" + UIConstants.TOOLTIP + "]").init(); //NON-NLS
 
@@ -772,6 +960,137 @@ public class FinderColumn<T> implements IsElement, Attachable {
         }
     }
 
+    private FinderRow<T> reconcileRow(T item, boolean pinned, Map<String, FinderRow<T>> oldRows,
+            FinderRow<T> selectedRow, Reconciliation reconciliation) {
+        ItemDisplay<T> display = itemRenderer.render(item);
+        FinderRow<T> row = oldRows.remove(display.getId());
+        if (row != null) {
+            if (row.update(item, display, previewCallback)) {
+                reconciliation.updated++;
+            } else {
+                reconciliation.unchanged++;
+            }
+            row.setPinned(pinned);
+            if (row == selectedRow) {
+                // the selection is restored by the refresh callbacks
+                row.markSelected(false);
+            }
+            Elements.setVisible(row.asElement(), true);
+        } else {
+            row = new FinderRow<>(finder, this, item, pinned, display, previewCallback);
+            reconciliation.added++;
+        }
+        rows.put(row.getId(), row);
+        filterIndex.add(row.getId(), row.getDisplay().getFilterData());
+        return row;
+    }
+
+    /**
+     * Loads the items of the specified keys unless another page is being loaded. The callback is executed after the
+     * page has been loaded (successfully or not). So are the callbacks which waited for the page.
+     */
+    private void loadPage(List<String> keys, Callback callback) {
+        if (pageLoading || keys.isEmpty()) {
+            return;
+        }
+        pageLoading = true;
+        pendingKeys.removeAll(keys);
+        pagedItemsProvider.items(finder.getContext(), keys, new AsyncCallback<List<T>>() {
+            @Override
+            public void onFailure(final Throwable throwable) {
+                pageLoading = false;
+                pendingKeys.addAll(0, keys);
+                logger.error("Unable to load next page of column {}: {}", id, throwable.getMessage());
+                pageLoaded(callback);
+            }
+
+            @Override
+            public void onSuccess(final List<T> items) {
+                pageLoading = false;
+                appendItems(items);
+                pageLoaded(callback);
+            }
+        });
+    }
+
+    private void pageLoaded(Callback callback) {
+        List<Callback> callbacks = new ArrayList<>(pageLoadedCallbacks);
+        pageLoadedCallbacks.clear();
+        if (callback != null) {
+            callback.execute();
+        }
+        callbacks.forEach(Callback::execute);
+    }
+
+    /**
+     * Inserts the items of the next page in the order of their keys and applies the current filter to the new rows.
+     */
+    private void appendItems(List<T> items) {
+        Set<String> pinnedItemIds = pinnable ? storage.pinnedItems() : Collections.emptySet();
+        // the items are in key order: continue where the last unpinned row was inserted (pinned rows are rare)
+        Element nextUnpinned = ulElement.firstElementChild;
+        for (T item : items) {
+            ItemDisplay<T> display = itemRenderer.render(item);
+            FinderRow<T> row = rows.get(display.getId());
+            if (row != null) {
+                row.update(item, display, previewCallback);
+            } else {
+                boolean pinnedItem = pinnedItemIds.contains(display.getId());
+                row = new FinderRow<>(finder, this, item, pinnedItem, display, previewCallback);
+                rows.put(row.getId(), row);
+                if (pinnedItem) {
+                    insertRow(row, true, ulElement.firstElementChild);
+                } else {
+                    nextUnpinned = insertRow(row, false, nextUnpinned);
+                }
+                // new rows are visible until the filter says otherwise
+                filtered.set(filterIndex.add(row.getId(), display.getFilterData()));
+            }
+        }
+        if (pinnable) {
+            adjustPinSeparator();
+        }
+        Tooltip.select("#" + id + " [data-" + UIConstants.TOGGLE + "=" + UIConstants.TOOLTIP + "]").init(); //NON-NLS
+        filter();
+        fillViewport();
+    }
+
+    /**
+     * Inserts the row before the first row of its section which comes after it in the key order. Pinned rows are
+     * inserted before the unpinned section at the latest.
+     *
+     * @return the element the row has been inserted before
+     */
+    private Element insertRow(FinderRow<T> row, boolean pinnedRow, Element start) {
+        int order = order(row.getItem());
+        Element anchor = start;
+        while (anchor != null) {
+            FinderRow<T> other = rows.get(anchor.id);
+            if (other != null && other != row) {
+                boolean pinnedOther = anchor.classList.contains(pinned);
+                if ((pinnedRow && !pinnedOther) ||
+                        (pinnedRow == pinnedOther && order(other.getItem()) > order)) {
+                    break;
+                }
+            }
+            anchor = anchor.nextElementSibling;
+        }
+        ulElement.insertBefore(row.asElement(), anchor);
+        return anchor;
+    }
+
+    private int order(T item) {
+        Integer order = keyOrder.get(pagedItemsProvider.key(item));
+        return order != null ? order : Integer.MAX_VALUE;
+    }
+
+    /** Loads the next page if the rows don't fill the column. */
+    private void fillViewport() {
+        if (!pendingKeys.isEmpty() && ulElement.scrollHeight <= ulElement.clientHeight) {
+            onScroll();
+        }
+    }
+
     /**
      * Sometimes you need to reference {@code this} in the column action handler. This is not possible if they're
      * part of the builder which is passed to {@code super()}. In this case you can use this method to add your column
@@ -844,6 +1163,18 @@ public class FinderColumn<T> implements IsElement, Attachable {
         return itemsProvider;
     }
 
+    /**
+     * Sometimes you need to reference {@code this} in the paged items provider. In this case the paged items provider
+     * can be specified <strong>after</strong> the call to {@code super()} using this setter.
+     * <p>
+     * However make sure to call the setter <strong>before</strong> the column is used {@link #asElement()} and gets
+     * attached to the DOM!
+     */
+    protected void setPagedItemsProvider(final PagedItemsProvider<T> pagedItemsProvider) {
+        assertNotAsElement("setPagedItemsProvider()");
+        this.pagedItemsProvider = pagedItemsProvider;
+    }
+
     List<T> getInitialItems() {
         return initialItems;
     }
@@ -916,35 +1247,26 @@ public class FinderColumn<T> implements IsElement, Attachable {
                 break;
             case RESTORE_SELECTION:
                 FinderRow<T> oldRow = selectedRow();
-                refresh(() -> {
-                    if (oldRow != null) {
-                        FinderRow<T> updatedRow = rows.get(oldRow.getId());
-                        if (updatedRow != null) {
-                            updatedRow.click();
-                            updatedRow.asElement().scrollIntoView(false);
-                        } else {
-                            finder.selectPreviousColumn(id);
-                        }
-                    } else {
-                        finder.selectPreviousColumn(id);
-                    }
-                });
+                if (oldRow != null) {
+                    refresh(oldRow.getId());
+                } else {
+                    refresh(() -> finder.selectPreviousColumn(id));
+                }
                 break;
         }
     }
 
     /**
-     * Refreshes and selects and the specified item.
+     * Refreshes and selects and the specified item. In paged columns the item is loaded if necessary.
      */
     public void refresh(String selectItemId) {
-        refresh(() -> {
-            FinderRow<T> row = rows.get(selectItemId);
+        refresh(() -> select(selectItemId, row -> {
             if (row != null) {
                 row.click();
             } else {
                 finder.selectPreviousColumn(id);
             }
-        });
+        }));
     }
 
     public void refresh(Callback callback) {
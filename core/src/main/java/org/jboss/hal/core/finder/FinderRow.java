@@ -52,11 +52,12 @@ class FinderRow<T> implements IsElement {
 
     private final Finder finder;
     private final FinderColumn<T> column;
-    private final ItemDisplay<T> display;
-    private final List<ItemAction<T>> actions;
-    private final String nextColumn;
+    private ItemDisplay<T> display;
+    private List<ItemAction<T>> actions;
+    private String nextColumn;
     private ItemActionHandler<T> primaryAction;
-    private final PreviewContent<T> previewContent;
+    private PreviewContent<T> previewContent;
+    private String fingerprint;
     private String id;
     private T item;
 
@@ -73,24 +74,52 @@ class FinderRow<T> implements IsElement {
 
         this.finder = finder;
         this.column = column;
-        this.display = display;
-        this.actions = allowedActions(display.actions());
-        this.nextColumn = display.nextColumn();
-        this.id = display.getId();
-        this.primaryAction = actions.isEmpty() ? null : actions.get(0).handler;
-        this.previewContent = previewCallback != null ? previewCallback.onPreview(item) : new PreviewContent<>(
-                display.getTitle());
 
         root = li().asElement();
         folderElement = null;
         if (column.isPinnable()) {
             root.className = pinned ? CSS.pinned : unpinned;
         }
-        updateItem(item);
-        drawItem();
+        updateItem(item, display, previewCallback);
+        drawItem(display.getIcon(), display.asElement());
         bind(root, click, event -> onClick(((HTMLElement) event.target)));
     }
 
+    /**
+     * Updates this row with a new version of the item. The row is only redrawn if the {@linkplain #fingerprint
+     * fingerprint} of the new display differs from the current one. The root element and its selection state are
+     * kept in any case.
+     *
+     * @return {@code true} if the row has been redrawn, {@code false} if the DOM has not been touched
+     */
+    boolean update(final T item, final ItemDisplay<T> display, final PreviewCallback<T> previewCallback) {
+        String oldFingerprint = fingerprint;
+        HTMLElement icon = display.getIcon();
+        HTMLElement element = display.asElement();
+        updateItem(item, display, previewCallback);
+        fingerprint = fingerprint(icon, element);
+        if (!fingerprint.equals(oldFingerprint)) {
+            drawItem(icon, element);
+            if (root.classList.contains(active)) {
+                markSelected(true);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Moves this row to the pinned or unpinned section. Only the CSS classes are changed, not the position. The pin
+     * separator has to be adjusted by the column.
+     */
+    void setPinned(boolean pinned) {
+        if (column.isPinnable()) {
+            root.classList.remove(last);
+            root.classList.remove(pinned ? unpinned : CSS.pinned);
+            root.classList.add(pinned ? CSS.pinned : unpinned);
+        }
+    }
+
     private List<ItemAction<T>> allowedActions(final List<ItemAction<T>> actions) {
         return actions.stream()
                 .filter(action -> AuthorisationDecision.from(finder.environment(),
@@ -98,12 +127,40 @@ class FinderRow<T> implements IsElement {
                 .collect(toList());
     }
 
-    private void updateItem(final T item) {
+    private void updateItem(final T item, final ItemDisplay<T> display, final PreviewCallback<T> previewCallback) {
+        this.display = display;
+        this.actions = allowedActions(display.actions());
+        this.nextColumn = display.nextColumn();
         this.id = display.getId();
         this.item = item;
+        this.primaryAction = actions.isEmpty() ? null : actions.get(0).handler;
+        this.previewContent = previewCallback != null ? previewCallback.onPreview(item) : new PreviewContent<>(
+                display.getTitle());
+    }
+
+    /**
+     * Everything which goes into the DOM of this row. Two displays with the same fingerprint result in the same
+     * markup.
+     */
+    private String fingerprint(HTMLElement icon, HTMLElement element) {
+        StringBuilder builder = new StringBuilder()
+                .append(display.getId()).append('|')
+                .append(display.getTitle()).append('|')
+                .append(display.getFilterData()).append('|')
+                .append(display.getTooltip()).append('|')
+                .append(nextColumn).append('|')
+                .append(icon != null ? icon.outerHTML : "").append('|')
+                .append(element != null ? element.outerHTML : "");
+        for (ItemAction<T> action : actions) {
+            builder.append('|').append(action.title).append('|').append(action.href);
+        }
+        return builder.toString();
     }
 
-    private void drawItem() {
+    private void drawItem(HTMLElement icon, HTMLElement element) {
+        if (fingerprint == null) {
+            fingerprint = fingerprint(icon, element);
+        }
         Elements.removeChildrenFrom(root);
         root.id = display.getId();
         root.dataset.set(DATA_BREADCRUMB, display.getTitle());
@@ -112,15 +169,14 @@ class FinderRow<T> implements IsElement {
             root.dataset.set(DATA_FILTER, display.getFilterData());
         }
 
-        HTMLElement icon = display.getIcon();
         if (icon != null) {
             icon.classList.add(itemIcon);
             root.appendChild(icon);
         }
 
         HTMLElement itemElement;
-        if (display.asElement() != null) {
-            itemElement = display.asElement();
+        if (element != null) {
+            itemElement = element;
         } else if (display.getTitle() != null) {
             itemElement = span().css(itemText).textContent(display.getTitle()).asElement();
         } else {
@@ -147,6 +203,8 @@ class FinderRow<T> implements IsElement {
                     .asElement());
         }
 
+        folderElement = null;
+        buttonContainer = null;
         if (display.nextColumn() != null) {
             folderElement = span().css(folder, fontAwesome("angle-right")).asElement();
             root.appendChild(folderElement);
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.finder;
+
+import java.util.List;
+
+import com.google.gwt.user.client.rpc.AsyncCallback;
+
+/**
+ * Function to load the items of the <em>current</em> column page by page. Use it instead of an {@link ItemsProvider}
+ * if a column might contain a huge number of items.
+ * <p>
+ * The column first asks for the keys of all items (e.g. using {@code read-children-names}) and then loads the items
+ * for the first {@linkplain #pageSize() page of keys} (e.g. using a composite of {@code read-resource} operations).
+ * The first page is shown immediately. More pages are loaded when the user scrolls to the end of the column or types a
+ * filter which matches the {@linkplain #filterData(String) filter data} of keys which have not been loaded so far.
+ */
+public interface PagedItemsProvider<T> {
+
+    int DEFAULT_PAGE_SIZE = 50;
+
+    /** Loads the keys of all items in the order they should appear in the column. */
+    void keys(FinderContext context, AsyncCallback<List<String>> callback);
+
+    /**
+     * Loads the items for the specified keys. Keys which no longer resolve to an item should be skipped.
+     */
+    void items(FinderContext context, List<String> keys, AsyncCallback<List<T>> callback);
+
+    /** @return the key of the specified item. Used to insert the items of later pages in the order of the keys. */
+    String key(T item);
+
+    /**
+     * Returns the text which is matched against the filter for keys whose items have not been loaded so far. Should
+     * be the same as or a part of the filter data of the item. Keys are often addresses, so the default (the key
+     * itself) matches filters like the subsystem name for every key.
+     */
+    default String filterData(String key) {
+        return key;
+    }
+
+    /**
+     * Returns the {@linkplain ItemDisplay#getId() id} of the item for the specified key or {@code null} if it's
+     * unknown before the item has been loaded. Used to load the page of an item which should be selected (e.g. when
+     * following a deep link). If the id is unknown, pages are loaded one after another until the item shows up.
+     */
+    default String itemId(String key) {
+        return null;
+    }
+
+    default int pageSize() {
+        return DEFAULT_PAGE_SIZE;
+    }
+}
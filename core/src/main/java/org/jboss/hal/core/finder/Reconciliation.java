@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.finder;
+
+import java.util.BitSet;
+
+/**
+ * Keeps track of the DOM operations when the rows of a {@link FinderColumn} are reconciled with a new list of items.
+ * Rows are matched by {@link ItemDisplay#getId()}. Matching rows are kept and only redrawn if their content has
+ * changed. Rows which are part of the longest increasing subsequence of the old positions stay where they are, all
+ * other rows are moved.
+ */
+class Reconciliation {
+
+    /**
+     * Returns the indices of the longest strictly increasing subsequence of the specified positions. Negative
+     * positions (new rows) are never part of the subsequence.
+     */
+    static BitSet stable(int[] positions) {
+        int[] tails = new int[positions.length];
+        int[] previous = new int[positions.length];
+        int length = 0;
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (positions[tails[middle]] < positions[i]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        BitSet stable = new BitSet(positions.length);
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            stable.set(i);
+        }
+        return stable;
+    }
+
+
+    private final int before;
+    int added;
+    int updated;
+    int unchanged;
+    int moved;
+    int removed;
+
+    /** @param before the number of rows before the reconciliation */
+    Reconciliation(int before) {
+        this.before = before;
+    }
+
+    /** @return the number of DOM operations (inserts, redraws, moves and removals) of this reconciliation */
+    int operations() {
+        return added + updated + moved + removed;
+    }
+
+    /** @return the number of DOM operations a full rebuild would have needed: remove all old and insert all new rows */
+    int fullRebuild() {
+        return before + added + updated + unchanged;
+    }
+
+    /** @return the number of DOM operations saved compared to a full rebuild */
+    int saved() {
+        return fullRebuild() - operations();
+    }
+
+    @Override
+    public String toString() {
+        return added + " added, " + updated + " updated, " + unchanged + " unchanged, " + moved + " moved, " + //NON-NLS
+                removed + " removed: " + operations() + " instead of " + fullRebuild() + //NON-NLS
+                " DOM operations (" + saved() + " saved)"; //NON-NLS
+    }
+}
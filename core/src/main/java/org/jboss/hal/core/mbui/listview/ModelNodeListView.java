@@ -79,6 +79,7 @@ public class ModelNodeListView<T extends ModelNode> implements Display<T>, HasEl
         private final Map<String, EmptyState> emptyStates;
         private boolean multiSelect;
         private boolean stacked;
+        private int virtualItemHeight;
 
         public Builder(@NonNls String id, Metadata metadata, DataProvider<T> dataProvider,
                 ItemRenderer<T> itemRenderer) {
@@ -105,6 +106,16 @@ public class ModelNodeListView<T extends ModelNode> implements Display<T>, HasEl
             return this;
         }
 
+        /**
+         * Renders only the items in the viewport and uses pages of 1000 items. Use this for very large item sets.
+         *
+         * @param itemHeight the (estimated) height of one item in pixel
+         */
+        public Builder<T> virtual(int itemHeight) {
+            this.virtualItemHeight = itemHeight;
+            return this;
+        }
+
         public Builder<T> multiSelect(boolean multiSelect) {
             this.multiSelect = multiSelect;
             return this;
@@ -151,6 +162,7 @@ public class ModelNodeListView<T extends ModelNode> implements Display<T>, HasEl
     }
 
 
+    private static final int VIRTUAL_PAGE_SIZE = 1000;
     private static final Constants CONSTANTS = GWT.create(Constants.class);
     private static final Messages MESSAGES = GWT.create(Messages.class);
 
@@ -186,6 +198,11 @@ public class ModelNodeListView<T extends ModelNode> implements Display<T>, HasEl
         };
 
         // pager
+        if (builder.virtualItemHeight > 0) {
+            // big pages which are scrolled virtually. The pager is shown if there's more than one page.
+            listView.virtual(builder.virtualItemHeight);
+            dataProvider.setPageSize(VIRTUAL_PAGE_SIZE);
+        }
         pager = new Pager<>(dataProvider);
 
         // empty states
@@ -244,6 +261,7 @@ public class ModelNodeListView<T extends ModelNode> implements Display<T>, HasEl
         listView.asElement().style.height = vh(
                 applicationOffset() + toolbarHeight + pagerHeight + surroundingHeight + 2);
         listView.asElement().style.overflow = "scroll"; //NON-NLS
+        listView.updateViewport();
     }
 
     /**
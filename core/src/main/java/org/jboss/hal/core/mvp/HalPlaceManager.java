@@ -67,6 +67,7 @@ public class HalPlaceManager extends DefaultPlaceManager {
     private final Map<Tuple, Consumer<String>> selectFunctions;
     private Resources resources;
     private boolean firstRequest;
+    private String pinnedToken;
 
     @Inject
     public HalPlaceManager(EventBus eventBus,
@@ -104,6 +105,12 @@ public class HalPlaceManager extends DefaultPlaceManager {
             }
         }
 
+        // keep the metadata of the place which is about to be revealed and release the one of the previous place
+        if (pinnedToken != null && !pinnedToken.equals(request.getNameToken())) {
+            metadataProcessor.unpin(pinnedToken);
+        }
+        pinnedToken = request.getNameToken();
+        metadataProcessor.pin(pinnedToken);
         metadataProcessor.process(request.getNameToken(), progress.get(), new AsyncCallback<Void>() {
             @Override
             public void onFailure(final Throwable throwable) {
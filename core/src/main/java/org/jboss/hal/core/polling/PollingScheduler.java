@@ -0,0 +1,301 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.polling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.inject.Inject;
+
+import com.google.web.bindery.event.shared.HandlerRegistration;
+import elemental2.dom.HTMLElement;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.dispatch.DispatchFailure;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jetbrains.annotations.NonNls;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Scheduler;
+import rx.Single;
+import rx.Subscription;
+import rx.schedulers.Schedulers;
+
+import static elemental2.dom.DomGlobal.document;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+
+/**
+ * Central scheduler for components which need to poll the management model periodically. Use it instead of {@code
+ * setInterval()}.
+ * <p>
+ * The scheduler runs one timer which ticks every {@value #TICK} ms. Polling intervals are rounded to whole ticks and
+ * aligned to the tick count, so tasks with the same interval are always due at the same time. All operations which
+ * are due in one tick are sent as one {@link Composite}. The scheduler
+ * <ul>
+ * <li>skips ticks while the browser tab is hidden,</li>
+ * <li>skips tasks whose element is not attached to the DOM,</li>
+ * <li>skips ticks while the operations of the previous tick are still in flight and</li>
+ * <li>polls less often (up to {@value #MAX_BACKOFF} times) if the responses slow down. Once the responses are fast
+ * again, it speeds up step by step.</li>
+ * </ul>
+ * The timer only runs as long as there are registered tasks.
+ * <p>
+ * If one step of the composite fails, the management endpoint fails the composite as a whole. The results of the
+ * steps are still taken from the failed composite. Only the steps which have been rolled back w/o an own outcome are
+ * polled again one by one. The tick is in flight until these operations have finished as well.
+ * <p>
+ * Failed polls are logged, but don't cancel the task. Instead each failure doubles the interval of the task (up to
+ * {@value #MAX_BACKOFF} times). The first successful poll restores the interval.
+ */
+public class PollingScheduler {
+
+    /** The granularity of the polling intervals in milliseconds */
+    public static final int TICK = 1000;
+    static final int MAX_BACKOFF = 8;
+    static final int SLOW_RESPONSE = TICK / 2;
+    static final int FAST_RESPONSE = TICK / 4;
+
+    @NonNls private static final Logger logger = LoggerFactory.getLogger(PollingScheduler.class);
+
+    private static native boolean documentHidden() /*-{
+        return $doc.hidden === true;
+    }-*/;
+
+
+    private final Function<Operation, Single<ModelNode>> executor;
+    private final Scheduler scheduler;
+    private final BooleanSupplier hidden;
+    private final List<Task> tasks;
+    private Subscription timer;
+    private long tick;
+    private int backoff;
+    private boolean inFlight;
+
+    @Inject
+    public PollingScheduler(Dispatcher dispatcher) {
+        this(dispatcher::dmr, Schedulers.computation(), PollingScheduler::documentHidden);
+    }
+
+    /**
+     * @param executor  executes an operation and returns the payload (not only the result) of the response
+     * @param scheduler the scheduler which runs the timer
+     * @param hidden    whether the browser tab is currently hidden
+     */
+    PollingScheduler(Function<Operation, Single<ModelNode>> executor, Scheduler scheduler, BooleanSupplier hidden) {
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.hidden = hidden;
+        this.tasks = new ArrayList<>();
+        this.backoff = 1;
+    }
+
+    /**
+     * Polls the specified operation.
+     *
+     * @param interval  the polling interval in milliseconds; rounded to whole {@linkplain #TICK ticks}
+     * @param operation provides the operation to poll; called each time the operation is due
+     * @param result    called with the result of the operation
+     *
+     * @return a registration to stop polling
+     */
+    public HandlerRegistration register(double interval, Supplier<Operation> operation, Consumer<ModelNode> result) {
+        return register(interval, operation, result, () -> true);
+    }
+
+    /**
+     * Polls the specified operation as long as the element is attached to the DOM.
+     *
+     * @param interval  the polling interval in milliseconds; rounded to whole {@linkplain #TICK ticks}
+     * @param operation provides the operation to poll; called each time the operation is due
+     * @param result    called with the result of the operation
+     * @param element   polling is paused while this element is not attached to the DOM
+     *
+     * @return a registration to stop polling
+     */
+    public HandlerRegistration register(double interval, Supplier<Operation> operation, Consumer<ModelNode> result,
+            HTMLElement element) {
+        return register(interval, operation, result, () -> document.body.contains(element));
+    }
+
+    HandlerRegistration register(double interval, Supplier<Operation> operation, Consumer<ModelNode> result,
+            BooleanSupplier active) {
+        Task task = new Task(Math.max(1, Math.round(interval / TICK)), operation, result, active);
+        tasks.add(task);
+        if (timer == null) {
+            timer = scheduler.createWorker().schedulePeriodically(this::tick, TICK, TICK, MILLISECONDS);
+        }
+        return () -> {
+            tasks.remove(task);
+            if (tasks.isEmpty() && timer != null) {
+                timer.unsubscribe();
+                timer = null;
+                tick = 0;
+                backoff = 1;
+            }
+        };
+    }
+
+    private void tick() {
+        tick++;
+        if (inFlight || hidden.getAsBoolean()) {
+            return;
+        }
+        List<Task> due = new ArrayList<>();
+        for (Task task : tasks) {
+            if (tick % (task.ticks * backoff * task.backoff) == 0 && task.active.getAsBoolean()) {
+                due.add(task);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<Operation> operations = new ArrayList<>();
+        for (Task task : due) {
+            operations.add(task.operation.get());
+        }
+        long start = scheduler.now();
+        inFlight = true;
+        if (due.size() == 1) {
+            poll(due, operations, start);
+        } else {
+            Composite composite = new Composite(operations);
+            executor.apply(composite).subscribe(
+                    payload -> demultiplex(due, operations, payload, start),
+                    error -> {
+                        ModelNode payload = error instanceof DispatchFailure
+                                ? ((DispatchFailure) error).getPayload()
+                                : null;
+                        if (payload != null && payload.hasDefined(RESULT)) {
+                            demultiplex(due, operations, payload, start);
+                        } else if (error instanceof DispatchFailure) {
+                            // no steps to take the results from: poll the operations one by one
+                            poll(due, operations, start);
+                        } else {
+                            finished(start);
+                            logger.error("Polling {} failed: {}", composite.asCli(), error.getMessage());
+                        }
+                    });
+        }
+    }
+
+    private void demultiplex(List<Task> due, List<Operation> operations, ModelNode payload, long start) {
+        CompositeResult compositeResult = new CompositeResult(payload.get(RESULT));
+        List<Task> rolledBackTasks = new ArrayList<>();
+        List<Operation> rolledBackOperations = new ArrayList<>();
+        for (int i = 0; i < due.size(); i++) {
+            ModelNode step = compositeResult.step(i);
+            if (!step.isFailure() && step.hasDefined(OUTCOME)) {
+                due.get(i).success(step.get(RESULT));
+            } else if (step.hasDefined(FAILURE_DESCRIPTION)) {
+                due.get(i).failed(operations.get(i), step.getFailureDescription());
+            } else {
+                rolledBackTasks.add(due.get(i));
+                rolledBackOperations.add(operations.get(i));
+            }
+        }
+        if (rolledBackTasks.isEmpty()) {
+            finished(start);
+        } else {
+            poll(rolledBackTasks, rolledBackOperations, start);
+        }
+    }
+
+    /** Polls the operations one by one. The tick is finished once all operations have finished. */
+    private void poll(List<Task> tasks, List<Operation> operations, long start) {
+        int[] remaining = new int[]{tasks.size()};
+        Runnable done = () -> {
+            if (--remaining[0] == 0) {
+                finished(start);
+            }
+        };
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            Operation operation = operations.get(i);
+            executor.apply(operation).subscribe(
+                    payload -> {
+                        done.run();
+                        task.success(payload.get(RESULT));
+                    },
+                    error -> {
+                        done.run();
+                        task.failed(operation, error.getMessage());
+                    });
+        }
+    }
+
+    private void finished(long start) {
+        inFlight = false;
+        long duration = scheduler.now() - start;
+        if (duration > SLOW_RESPONSE && backoff < MAX_BACKOFF) {
+            backoff *= 2;
+            logger.debug("Responses slowed down to {} ms. Poll {} times less often", duration, backoff);
+        } else if (duration < FAST_RESPONSE && backoff > 1) {
+            backoff /= 2;
+        }
+    }
+
+    /** @return the factor by which the polling intervals are currently stretched */
+    public int getBackoff() {
+        return backoff;
+    }
+
+    /** @return the number of registered tasks */
+    public int size() {
+        return tasks.size();
+    }
+
+
+    private class Task {
+
+        private final long ticks;
+        private final Supplier<Operation> operation;
+        private final Consumer<ModelNode> result;
+        private final BooleanSupplier active;
+        private long backoff;
+
+        private Task(long ticks, Supplier<Operation> operation, Consumer<ModelNode> result, BooleanSupplier active) {
+            this.ticks = ticks;
+            this.operation = operation;
+            this.result = result;
+            this.active = active;
+            this.backoff = 1;
+        }
+
+        private void success(ModelNode value) {
+            backoff = 1;
+            // the task might have been removed while the operation was in flight
+            if (tasks.contains(this)) {
+                result.accept(value);
+            }
+        }
+
+        private void failed(Operation operation, String failure) {
+            if (backoff < MAX_BACKOFF) {
+                backoff *= 2;
+            }
+            logger.error("Polling {} failed: {}. Poll {} times less often", operation.asCli(), failure, backoff);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.finder;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the {@link FilterIndex} with the linear scan {@link FinderColumn} used before. {@code indexed} and {@code
+ * linear} apply a sequence of keystrokes as a user would type them, {@code build} measures adding all items to the
+ * index.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.mainClass=org.jboss.hal.core.finder.FilterIndexBenchmark
+ * -Dexec.classpathScope=test} or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("HardCodedStringLiteral")
+public class FilterIndexBenchmark {
+
+    private static final String[] KEYSTROKES = {
+            "d", "de", "dep", "depl", "deployment-4", "deployment-42", "deployment-421", "app9"
+    };
+
+    private static String[] data(int items) {
+        String[] data = new String[items];
+        for (int i = 0; i < items; i++) {
+            data[i] = "Deployment-" + i + " " + (i % 2 == 0 ? "war" : "ear") + " /opt/content/app" + (i * 7919 % items);
+        }
+        return data;
+    }
+
+
+    @Param({"10000", "50000"}) private int items;
+
+    private String[] data;
+    private FilterIndex index;
+
+    @Setup
+    public void setup() {
+        data = data(items);
+        index = build();
+    }
+
+    @Benchmark
+    public FilterIndex build() {
+        FilterIndex index = new FilterIndex();
+        for (int i = 0; i < data.length; i++) {
+            index.add(String.valueOf(i), data[i]);
+        }
+        return index;
+    }
+
+    @Benchmark
+    public void indexed(Blackhole blackhole) {
+        for (String filter : KEYSTROKES) {
+            blackhole.consume(index.match(filter));
+        }
+    }
+
+    @Benchmark
+    public void linear(Blackhole blackhole) {
+        for (String filter : KEYSTROKES) {
+            BitSet matches = new BitSet(data.length);
+            for (int i = 0; i < data.length; i++) {
+                if (data[i].toLowerCase().contains(filter)) {
+                    matches.set(i);
+                }
+            }
+            blackhole.consume(matches);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FilterIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
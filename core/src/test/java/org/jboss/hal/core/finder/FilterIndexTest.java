@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.finder;
+
+import java.util.BitSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class FilterIndexTest {
+
+    private FilterIndex index;
+
+    @Before
+    public void setUp() {
+        index = new FilterIndex();
+        index.add("ExampleDS", "ExampleDS java:jboss/datasources/ExampleDS");
+        index.add("OracleDS", "OracleDS java:/OracleDS");
+        index.add("PostgresDS", "PostgresDS java:/PostgresDS");
+        index.add("no-data", null);
+    }
+
+    @Test
+    public void empty() {
+        assertEquals(bits(0, 1, 2, 3), index.match(""));
+        assertEquals(bits(0, 1, 2, 3), index.match("   "));
+        assertEquals(bits(0, 1, 2, 3), index.match(null));
+    }
+
+    @Test
+    public void shortFilter() {
+        assertEquals(bits(0, 3), index.match("ex"));
+        assertEquals(bits(0, 1, 2, 3), index.match("d"));
+    }
+
+    @Test
+    public void ngrams() {
+        assertEquals(bits(0, 3), index.match("example"));
+        assertEquals(bits(1, 3), index.match("ORACLE"));
+        assertEquals(bits(0, 1, 2, 3), index.match("ds"));
+        assertEquals(bits(3), index.match("mysql"));
+    }
+
+    @Test
+    public void noFalsePositives() {
+        // all trigrams of the filter are in the data, but not the filter itself
+        index.add("abcd", "abc bcd");
+        assertFalse(index.match("abcd").get(4));
+        assertTrue(index.match("abc bcd").get(4));
+    }
+
+    @Test
+    public void refine() {
+        assertEquals(bits(1, 2, 3), index.match("java:/"));
+        assertEquals(bits(2, 3), index.match("java:/p"));
+        assertEquals(bits(2, 3), index.match("java:/post"));
+        assertEquals(bits(1, 2, 3), index.match("java:/"));
+    }
+
+    @Test
+    public void addAndRemove() {
+        index.match("ds");
+        index.remove("OracleDS");
+        assertEquals(3, index.size());
+        assertEquals(bits(0, 2, 3), index.match("ds"));
+
+        int position = index.add("MySqlDS", "MySqlDS java:/MySqlDS");
+        assertEquals(4, position);
+        assertEquals("MySqlDS", index.id(position));
+        assertEquals(bits(0, 2, 3, 4), index.match("ds"));
+        assertEquals(bits(3, 4), index.match("mysql"));
+    }
+
+    @Test
+    public void replace() {
+        index.add("ExampleDS", "foo");
+        assertEquals(4, index.size());
+        assertEquals(bits(3, 4), index.match("foo"));
+        assertEquals(bits(3), index.match("example"));
+    }
+
+    @Test
+    public void clear() {
+        index.clear();
+        assertEquals(0, index.size());
+        assertTrue(index.match("ds").isEmpty());
+        assertEquals(0, index.add("foo", "foo"));
+    }
+
+    @Test
+    public void sameAsLinearScan() {
+        int items = 1000;
+        String[] data = new String[items];
+        FilterIndex index = new FilterIndex();
+        for (int i = 0; i < items; i++) {
+            data[i] = "Deployment-" + i + " " + (i % 2 == 0 ? "war" : "ear") + " /opt/content/app" + (i * 7919 % items);
+            index.add(String.valueOf(i), data[i]);
+        }
+        for (String filter : new String[]{"d", "de", "dep", "deployment-4", "deployment-42", "app9", "ear /opt"}) {
+            BitSet expected = new BitSet(items);
+            for (int i = 0; i < items; i++) {
+                if (data[i].toLowerCase().contains(filter)) {
+                    expected.set(i);
+                }
+            }
+            assertEquals(filter, expected, index.match(filter));
+        }
+    }
+
+    private BitSet bits(int... positions) {
+        BitSet bits = new BitSet();
+        for (int position : positions) {
+            bits.set(position);
+        }
+        return bits;
+    }
+}
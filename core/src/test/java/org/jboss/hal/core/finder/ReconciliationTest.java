@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.finder;
+
+import java.util.BitSet;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class ReconciliationTest {
+
+    @Test
+    public void unchanged() {
+        assertEquals(bits(0, 1, 2, 3), Reconciliation.stable(new int[]{0, 1, 2, 3}));
+    }
+
+    @Test
+    public void empty() {
+        assertEquals(new BitSet(), Reconciliation.stable(new int[0]));
+        assertEquals(new BitSet(), Reconciliation.stable(new int[]{-1, -1}));
+    }
+
+    @Test
+    public void added() {
+        assertEquals(bits(0, 2, 4), Reconciliation.stable(new int[]{0, -1, 1, -1, 2}));
+    }
+
+    @Test
+    public void removed() {
+        assertEquals(bits(0, 1, 2), Reconciliation.stable(new int[]{0, 2, 5}));
+    }
+
+    @Test
+    public void moveToEnd() {
+        // first row moved to the end: only one row needs to be moved
+        assertEquals(bits(0, 1, 2), Reconciliation.stable(new int[]{1, 2, 3, 0}));
+    }
+
+    @Test
+    public void moveToFront() {
+        assertEquals(bits(1, 2, 3), Reconciliation.stable(new int[]{3, 0, 1, 2}));
+    }
+
+    @Test
+    public void reversed() {
+        assertEquals(1, Reconciliation.stable(new int[]{3, 2, 1, 0}).cardinality());
+    }
+
+    @Test
+    public void statistics() {
+        Reconciliation reconciliation = new Reconciliation(10);
+        reconciliation.added = 1;
+        reconciliation.updated = 2;
+        reconciliation.unchanged = 7;
+        reconciliation.moved = 1;
+        reconciliation.removed = 1;
+        assertEquals(5, reconciliation.operations());
+        assertEquals(20, reconciliation.fullRebuild());
+        assertEquals(15, reconciliation.saved());
+    }
+
+    private BitSet bits(int... indices) {
+        BitSet bits = new BitSet();
+        for (int index : indices) {
+            bits.set(index);
+        }
+        return bits;
+    }
+}
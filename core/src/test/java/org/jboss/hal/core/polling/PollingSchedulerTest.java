@@ -0,0 +1,226 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.polling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.web.bindery.event.shared.HandlerRegistration;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.DispatchFailure;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Single;
+import rx.schedulers.TestScheduler;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class PollingSchedulerTest {
+
+    /** Polling this attribute fails */
+    private static final String MISSING = "missing";
+
+    private TestScheduler scheduler;
+    private List<Operation> executed;
+    private long delay;
+    private boolean hidden;
+    private PollingScheduler pollingScheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new TestScheduler();
+        executed = new ArrayList<>();
+        delay = 0;
+        hidden = false;
+        pollingScheduler = new PollingScheduler(operation -> {
+            executed.add(operation);
+            Single<ModelNode> response = Single.just(response(operation));
+            if (delay > 0) {
+                response = response.delay(delay, TimeUnit.MILLISECONDS, scheduler);
+            }
+            return response.flatMap(payload -> payload.isFailure()
+                    ? Single.error(new DispatchFailure(operation, payload.getFailureDescription(), payload))
+                    : Single.just(payload));
+        }, scheduler, () -> hidden);
+    }
+
+    @Test
+    public void interval() {
+        List<ModelNode> results = new ArrayList<>();
+        pollingScheduler.register(3000, () -> readAttribute("foo"), results::add);
+        advance(2);
+        assertEquals(0, executed.size());
+        advance(1);
+        assertEquals(1, executed.size());
+        assertEquals("foo", results.get(0).asString());
+        advance(3);
+        assertEquals(2, executed.size());
+    }
+
+    @Test
+    public void mergeDueOperations() {
+        List<ModelNode> results = new ArrayList<>();
+        pollingScheduler.register(2000, () -> readAttribute("foo"), results::add);
+        pollingScheduler.register(2000, () -> readAttribute("bar"), results::add);
+        pollingScheduler.register(1000, () -> readAttribute("baz"), results::add);
+        advance(1);
+        assertEquals(1, executed.size());
+        advance(1);
+        assertEquals(2, executed.size());
+        assertTrue(executed.get(1) instanceof Composite);
+        assertEquals(3, ((Composite) executed.get(1)).size());
+        assertEquals(4, results.size());
+    }
+
+    @Test
+    public void hidden() {
+        pollingScheduler.register(1000, () -> readAttribute("foo"), result -> {});
+        hidden = true;
+        advance(5);
+        assertEquals(0, executed.size());
+        hidden = false;
+        advance(1);
+        assertEquals(1, executed.size());
+    }
+
+    @Test
+    public void inactive() {
+        boolean[] attached = new boolean[]{false};
+        pollingScheduler.register(1000, () -> readAttribute("foo"), result -> {}, () -> attached[0]);
+        advance(3);
+        assertEquals(0, executed.size());
+        attached[0] = true;
+        advance(1);
+        assertEquals(1, executed.size());
+    }
+
+    @Test
+    public void remove() {
+        HandlerRegistration registration = pollingScheduler.register(1000, () -> readAttribute("foo"),
+                result -> {});
+        advance(1);
+        registration.removeHandler();
+        advance(5);
+        assertEquals(1, executed.size());
+        assertEquals(0, pollingScheduler.size());
+    }
+
+    @Test
+    public void backoff() {
+        pollingScheduler.register(1000, () -> readAttribute("foo"), result -> {});
+        delay = PollingScheduler.TICK + PollingScheduler.SLOW_RESPONSE;
+        advance(1);
+        assertEquals(1, executed.size());
+        delay = 0;
+        advance(1); // skipped: the poll is still in flight
+        assertEquals(1, executed.size());
+
+        advance(1); // skipped: tick 3 is not aligned to the stretched interval
+        assertEquals(1, executed.size());
+        assertEquals(2, pollingScheduler.getBackoff());
+
+        advance(1);
+        assertEquals(2, executed.size());
+        assertEquals(1, pollingScheduler.getBackoff());
+    }
+
+    @Test
+    public void failedStep() {
+        List<ModelNode> results = new ArrayList<>();
+        pollingScheduler.register(1000, () -> readAttribute("foo"), results::add);
+        pollingScheduler.register(1000, () -> readAttribute(MISSING), results::add);
+        pollingScheduler.register(1000, () -> readAttribute("bar"), results::add);
+        advance(1);
+        // the failed composite and the rolled back operations, but not the failed operation
+        assertEquals(3, executed.size());
+        assertEquals(2, results.size());
+
+        advance(1); // the failed task polls every 2nd tick
+        assertEquals(6, executed.size());
+        assertEquals(4, results.size());
+
+        advance(1); // the failed task polls every 4th tick
+        assertEquals(7, executed.size());
+        assertEquals(2, ((Composite) executed.get(6)).size());
+        assertEquals(6, results.size());
+    }
+
+    @Test
+    public void inFlightUntilPolledAgain() {
+        pollingScheduler.register(1000, () -> readAttribute("foo"), result -> {});
+        pollingScheduler.register(1000, () -> readAttribute(MISSING), result -> {});
+        delay = PollingScheduler.TICK + PollingScheduler.SLOW_RESPONSE;
+        advance(1);
+        assertEquals(1, executed.size());
+
+        advance(2); // the composite failed after 1.5 ticks and 'foo' is polled again
+        assertEquals(2, executed.size());
+        assertEquals("foo", executed.get(1).get(NAME).asString());
+    }
+
+    private void advance(int ticks) {
+        scheduler.advanceTimeBy(ticks * PollingScheduler.TICK, TimeUnit.MILLISECONDS);
+    }
+
+    private Operation readAttribute(String name) {
+        return new Operation.Builder(ResourceAddress.root(), READ_ATTRIBUTE_OPERATION)
+                .param(NAME, name)
+                .build();
+    }
+
+    private ModelNode response(Operation operation) {
+        ModelNode payload = new ModelNode();
+        if (operation instanceof Composite) {
+            boolean failed = false;
+            int i = 1;
+            for (Operation step : (Composite) operation) {
+                ModelNode stepPayload = response(step);
+                failed = failed || stepPayload.isFailure();
+                payload.get(RESULT).get("step-" + i++).set(stepPayload);
+            }
+            if (failed) {
+                // like the management endpoint: the composite fails and the successful steps are rolled back
+                payload.get(OUTCOME).set(FAILED);
+                payload.get(FAILURE_DESCRIPTION).set("Composite operation failed and was rolled back.");
+                for (Property step : payload.get(RESULT).asPropertyList()) {
+                    if (!step.getValue().isFailure()) {
+                        ModelNode rolledBack = new ModelNode();
+                        rolledBack.get(OUTCOME).set(FAILED);
+                        rolledBack.get(ROLLED_BACK).set(true);
+                        payload.get(RESULT).get(step.getName()).set(rolledBack);
+                    }
+                }
+            } else {
+                payload.get(OUTCOME).set(SUCCESS);
+            }
+        } else if (MISSING.equals(operation.get(NAME).asString())) {
+            payload.get(OUTCOME).set(FAILED);
+            payload.get(FAILURE_DESCRIPTION).set("Attribute not found");
+        } else {
+            payload.get(OUTCOME).set(SUCCESS);
+            payload.get(RESULT).set(operation.get(NAME));
+        }
+        return payload;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+/**
+ * Data input which reads the raw DMR bytes from an {@code ArrayBuffer}, e.g. the response of an {@code
+ * XMLHttpRequest} with {@code responseType = "arraybuffer"}. The bytes are copied into a {@code byte[]} in one native
+ * call, so that primitives and strings are read using the fast paths of {@link DataInput} instead of one native call
+ * per byte. Since the bytes support random access, this data input can be used to decode model nodes {@linkplain
+ * ModelNode#fromArrayBuffer(Object, boolean) lazily}.
+ * <p>
+ * The bytes are copied rather than wrapped in a view: Typed arrays are not Java arrays and are rejected by {@link
+ * System#arraycopy(Object, int, Object, int, int)} and the array type checks.
+ */
+public class ArrayBufferDataInput extends DataInput {
+
+    public ArrayBufferDataInput(Object arrayBuffer) {
+        this(arrayBuffer, false);
+    }
+
+    /**
+     * @param lazy whether nested objects and lists should be decoded on demand
+     */
+    public ArrayBufferDataInput(Object arrayBuffer, boolean lazy) {
+        super(bytes(arrayBuffer), KeyDictionary.INSTANCE, 0, lazy);
+    }
+
+    private static byte[] bytes(Object arrayBuffer) {
+        byte[] bytes = new byte[byteLength(arrayBuffer)];
+        copy(arrayBuffer, bytes);
+        return bytes;
+    }
+
+    private static native int byteLength(Object arrayBuffer) /*-{
+        return arrayBuffer.byteLength;
+    }-*/;
+
+    private static native void copy(Object arrayBuffer, byte[] bytes) /*-{
+        var view = new Int8Array(arrayBuffer);
+        for (var i = 0, length = view.length; i < length; i++) {
+            bytes[i] = view[i];
+        }
+    }-*/;
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Data input which decodes a base64 encoded string into a byte array up front. Having all bytes lets {@link
+ * DataInput} read primitives and strings using its fast paths and provides the random access needed to decode model
+ * nodes {@linkplain ModelNode#fromBase64(String, boolean) lazily}. Decoding the bytes one by one as they're read
+ * would rule out both.
+ * <p>
+ * In the browser the string is decoded by the native {@code window.atob()} and its chars are copied into the byte
+ * array. Elsewhere (e.g. in unit tests) a Java decoder is used, which ignores whitespace like {@code atob()}. Any
+ * other character outside the base64 alphabet results in an {@link IOException}.
+ */
+public class Base64DataInput extends DataInput {
+
+    private static final int WHITESPACE = -2;
+    private static final int INVALID = -1;
+    private static final int PADDING = -3;
+    private static final int[] DECODE = new int[128];
+
+    static {
+        for (int i = 0; i < DECODE.length; i++) {
+            DECODE[i] = INVALID;
+        }
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            DECODE[alphabet.charAt(i)] = i;
+        }
+        DECODE[' '] = WHITESPACE;
+        DECODE['\t'] = WHITESPACE;
+        DECODE['\n'] = WHITESPACE;
+        DECODE['\f'] = WHITESPACE;
+        DECODE['\r'] = WHITESPACE;
+        DECODE['='] = PADDING;
+    }
+
+    /** Decodes the complete string into a byte array. */
+    static byte[] decode(String encoded) throws IOException {
+        if (GWT.isScript()) {
+            String decoded = atob(encoded);
+            if (decoded == null) {
+                throw new IOException("Invalid base64 input");
+            }
+            byte[] bytes = new byte[decoded.length()];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) decoded.charAt(i);
+            }
+            return bytes;
+        }
+        return decodeJava(encoded);
+    }
+
+    /** @return the decoded string or {@code null} if the string is not valid base64 */
+    private static native String atob(String encoded) /*-{
+        try {
+            return $wnd.atob(encoded);
+        } catch (e) {
+            return null;
+        }
+    }-*/;
+
+    /** Decodes the complete string into a byte array in one pass. */
+    static byte[] decodeJava(String encoded) throws IOException {
+        int length = encoded.length();
+        byte[] bytes = new byte[length / 4 * 3 + 3];
+        int count = 0;
+        int bits = 0;
+        int chars = 0;
+        for (int i = 0; i < length; i++) {
+            char c = encoded.charAt(i);
+            int value = c < DECODE.length ? DECODE[c] : INVALID;
+            if (value >= 0) {
+                bits = (bits << 6) | value;
+                if (++chars == 4) {
+                    bytes[count++] = (byte) (bits >> 16);
+                    bytes[count++] = (byte) (bits >> 8);
+                    bytes[count++] = (byte) bits;
+                    bits = 0;
+                    chars = 0;
+                }
+            } else if (value == PADDING) {
+                break;
+            } else if (value == INVALID) {
+                throw new IOException("Invalid base64 input: Illegal character '" + c + "' at position " + i);
+            }
+        }
+        switch (chars) {
+            case 1:
+                throw new IOException("Invalid base64 input: Dangling character at the end");
+            case 2:
+                bytes[count++] = (byte) (bits >> 4);
+                break;
+            case 3:
+                bytes[count++] = (byte) (bits >> 10);
+                bytes[count++] = (byte) (bits >> 2);
+                break;
+            default:
+                break;
+        }
+        return count == bytes.length ? bytes : Arrays.copyOf(bytes, count);
+    }
+
+    /**
+     * @throws IOException if the string contains characters outside the base64 alphabet
+     */
+    public Base64DataInput(String encoded) throws IOException {
+        this(encoded, false);
+    }
+
+    /**
+     * @param lazy whether nested objects and lists should be decoded on demand
+     *
+     * @throws IOException if the string contains characters outside the base64 alphabet
+     */
+    public Base64DataInput(String encoded, boolean lazy) throws IOException {
+        super(decode(encoded), KeyDictionary.INSTANCE, 0, lazy);
+    }
+}
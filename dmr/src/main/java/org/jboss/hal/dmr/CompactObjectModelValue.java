@@ -0,0 +1,379 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.io.IOException;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Frozen, compact variant of {@link ObjectModelValue} which is created when an object node is {@linkplain
+ * ModelNode#protect() protected}. Instead of a {@code LinkedHashMap} with one entry object per key, the keys and
+ * values are kept in two arrays sorted by key. Children are looked up using a binary search. An additional index array
+ * keeps the original order of the keys, so iterating over the keys, properties or the formatted string yields the same
+ * order as the mutable object. Leaf children are replaced by shared instances from the {@link LeafNodePool}.
+ * <p>
+ * All read methods behave like the ones of {@link ObjectModelValue}. Accessing a missing child using {@link
+ * #getChild(String)} returns the shared {@link #MISSING} node instead of adding the child. Removing a child or
+ * modifying the missing node fails with an {@link UnsupportedOperationException}. Copies ({@link ModelNode#clone()},
+ * {@link ModelNode#set(ModelNode)}) are regular, mutable objects again.
+ */
+final class CompactObjectModelValue extends ModelValue {
+
+    /** Protected, undefined node which is returned for missing children. */
+    static final ModelNode MISSING = new ModelNode();
+
+    static {
+        MISSING.protect();
+    }
+
+    private final String[] keys;
+    private final ModelNode[] values;
+    private final int[] order; // order[i] is the index of the i-th key in insertion order, null if already sorted
+
+    CompactObjectModelValue(final Map<String, ModelNode> map) {
+        super(ModelType.OBJECT);
+        final int size = map.size();
+        final String[] insertionKeys = new String[size];
+        final ModelNode[] insertionValues = new ModelNode[size];
+        boolean sorted = true;
+        int i = 0;
+        for (final Map.Entry<String, ModelNode> entry : map.entrySet()) {
+            final ModelNode node = entry.getValue();
+            node.protect();
+            insertionKeys[i] = entry.getKey();
+            insertionValues[i] = LeafNodePool.share(node);
+            if (i > 0 && insertionKeys[i - 1].compareTo(insertionKeys[i]) > 0) {
+                sorted = false;
+            }
+            i++;
+        }
+
+        if (sorted) {
+            this.keys = insertionKeys;
+            this.values = insertionValues;
+            this.order = null;
+        } else {
+            final Integer[] indexes = new Integer[size];
+            for (int j = 0; j < size; j++) {
+                indexes[j] = j;
+            }
+            Arrays.sort(indexes, (i1, i2) -> insertionKeys[i1].compareTo(insertionKeys[i2]));
+            this.keys = new String[size];
+            this.values = new ModelNode[size];
+            this.order = new int[size];
+            for (int j = 0; j < size; j++) {
+                final int index = indexes[j];
+                keys[j] = insertionKeys[index];
+                values[j] = insertionValues[index];
+                order[index] = j;
+            }
+        }
+    }
+
+    private int indexOf(final String key) {
+        int low = 0;
+        int high = keys.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = keys[mid].compareTo(key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /** Maps the position in insertion order to the index in the sorted arrays. */
+    private int at(final int position) {
+        return order == null ? position : order[position];
+    }
+
+    @Override
+    void writeExternal(final DataOutput out) throws IOException {
+        out.writeInt(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            final int index = at(i);
+            out.writeUTF(keys[index]);
+            values[index].writeExternal(out);
+        }
+    }
+
+    @Override
+    ModelValue protect() {
+        return this;
+    }
+
+    @Override
+    ModelNode asObject() {
+        return new ModelNode(copy());
+    }
+
+    @Override
+    ModelNode getChild(final String name) {
+        if (name == null) {
+            return null;
+        }
+        final int index = indexOf(name);
+        return index < 0 ? MISSING : values[index];
+    }
+
+    @Override
+    ModelNode removeChild(final String name) {
+        throw new UnsupportedOperationException("Cannot remove child '" + name + "' from a protected node");
+    }
+
+    @Override
+    int asInt() {
+        return keys.length;
+    }
+
+    @Override
+    int asInt(final int defVal) {
+        return asInt();
+    }
+
+    @Override
+    long asLong() {
+        return asInt();
+    }
+
+    @Override
+    long asLong(final long defVal) {
+        return asInt();
+    }
+
+    @Override
+    boolean asBoolean() {
+        return keys.length != 0;
+    }
+
+    @Override
+    boolean asBoolean(final boolean defVal) {
+        return keys.length != 0;
+    }
+
+    @Override
+    Property asProperty() {
+        if (keys.length == 1) {
+            return new Property(keys[0], values[0]);
+        }
+        return super.asProperty();
+    }
+
+    @Override
+    List<Property> asPropertyList() {
+        final List<Property> propertyList = new ArrayList<Property>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            final int index = at(i);
+            propertyList.add(new Property(keys[index], values[index]));
+        }
+        return propertyList;
+    }
+
+    @Override
+    ModelValue copy() {
+        return copy(false);
+    }
+
+    @Override
+    ModelValue resolve() {
+        return copy(true);
+    }
+
+    private ModelValue copy(final boolean resolve) {
+        final LinkedHashMap<String, ModelNode> newMap = new LinkedHashMap<String, ModelNode>();
+        for (int i = 0; i < keys.length; i++) {
+            final int index = at(i);
+            newMap.put(keys[index], resolve ? values[index].resolve() : values[index].clone());
+        }
+        return new ObjectModelValue(newMap);
+    }
+
+    @Override
+    List<ModelNode> asList() {
+        final ArrayList<ModelNode> nodes = new ArrayList<ModelNode>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            final int index = at(i);
+            final ModelNode node = new ModelNode();
+            node.set(keys[index], values[index]);
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    @Override
+    Set<String> getKeys() {
+        return new KeySet();
+    }
+
+    @Override
+    String asString() {
+        final StringBuilder builder = new StringBuilder();
+        format(builder, 0, false);
+        return builder.toString();
+    }
+
+    @Override
+    void format(final StringBuilder builder, final int indent, final boolean multiLineRequested) {
+        builder.append('{');
+        final boolean multiLine = multiLineRequested && keys.length > 1;
+        if (multiLine) {
+            indent(builder.append('\n'), indent + 1);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            final int index = at(i);
+            builder.append(quote(keys[index]));
+            builder.append(" => ");
+            values[index].format(builder, multiLine ? indent + 1 : indent, multiLineRequested);
+            if (i < keys.length - 1) {
+                if (multiLine) {
+                    indent(builder.append(",\n"), indent + 1);
+                } else {
+                    builder.append(',');
+                }
+            }
+        }
+        if (multiLine) {
+            indent(builder.append('\n'), indent);
+        }
+        builder.append('}');
+    }
+
+    @Override
+    void formatAsJSON(final StringBuilder builder, final int indent, final boolean multiLineRequested) {
+        builder.append('{');
+        final boolean multiLine = multiLineRequested && keys.length > 1;
+        if (multiLine) {
+            indent(builder.append('\n'), indent + 1);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            final int index = at(i);
+            builder.append(quote(keys[index]));
+            builder.append(" : ");
+            values[index].formatAsJSON(builder, multiLine ? indent + 1 : indent, multiLineRequested);
+            if (i < keys.length - 1) {
+                if (multiLine) {
+                    indent(builder.append(",\n"), indent + 1);
+                } else {
+                    builder.append(", ");
+                }
+            }
+        }
+        if (multiLine) {
+            indent(builder.append('\n'), indent);
+        }
+        builder.append('}');
+    }
+
+    /**
+     * Determine whether this object is equal to another. A compact object is equal to any other object (mutable or
+     * lazy) with the same keys and values.
+     *
+     * @param other the other object
+     *
+     * @return {@code true} if they are equal, {@code false} otherwise
+     */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ModelValue) || ((ModelValue) other).getType() != ModelType.OBJECT) {
+            return false;
+        }
+        final ModelValue value = (ModelValue) other;
+        if (value.getKeys().size() != keys.length) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (!value.has(keys[i]) || !values[i].equals(value.requireChild(keys[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Same hash code as {@link ObjectModelValue} (and {@link Map#hashCode()}) for the same keys and values. */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < keys.length; i++) {
+            hash += keys[i].hashCode() ^ values[i].hashCode();
+        }
+        return hash;
+    }
+
+    @Override
+    boolean has(final String key) {
+        return key != null && indexOf(key) >= 0;
+    }
+
+    @Override
+    ModelNode requireChild(final String name) throws NoSuchElementException {
+        final int index = name != null ? indexOf(name) : -1;
+        if (index >= 0) {
+            return values[index];
+        }
+        return super.requireChild(name);
+    }
+
+
+    /** Read-only view of the keys in insertion order. */
+    private class KeySet extends AbstractSet<String> {
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int position = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return position < keys.length;
+                }
+
+                @Override
+                public String next() {
+                    if (position >= keys.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return keys[at(position++)];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return o instanceof String && indexOf((String) o) >= 0;
+        }
+    }
+}
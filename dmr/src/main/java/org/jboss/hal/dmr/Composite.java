@@ -110,6 +110,25 @@ public class Composite extends Operation implements Iterable<Operation> {
     @JsProperty(name = "size")
     public int size() {return operations.size();}
 
+    /**
+     * @return whether the response of this composite should be decoded on demand, which is the case if all its
+     * operations are lazy
+     */
+    @Override
+    @JsIgnore
+    public boolean isLazy() {
+        return !operations.isEmpty() && operations.stream().allMatch(Operation::isLazy);
+    }
+
+    /**
+     * @return whether this composite bypasses the response cache, which is the case if one of its operations does
+     */
+    @Override
+    @JsIgnore
+    public boolean isUncached() {
+        return operations.stream().anyMatch(Operation::isUncached);
+    }
+
     @JsIgnore
     public Composite runAs(final Set<String> runAs) {
         List<Operation> runAsOperations = operations.stream()
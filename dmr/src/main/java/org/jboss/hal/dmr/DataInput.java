@@ -38,15 +38,66 @@ package org.jboss.hal.dmr;
 import java.io.IOException;
 
 /**
+ * Reads the binary DMR format. Primitives are assembled directly from the underlying bytes and strings are decoded
+ * into a reusable char buffer, so reading values does not allocate anything but the resulting strings.
+ * <p>
+ * All bytes are available up front (subclasses like {@link Base64DataInput} and {@link ArrayBufferDataInput} decode or
+ * copy their source into a byte array before). This is what makes the fast paths and the random access needed for
+ * {@linkplain LazyModelValue lazy decoding} possible.
+ * <p>
  * see also http://quake2-gwt-port.googlecode.com/hg/src/com/google/gwt/corp/emul/java/io/DataInputStream.java?r=5c7c4b545ff4a8875b4cab5d77492d37e150d46b
  */
 public class DataInput {
 
+    private static final int INITIAL_CHARS = 64;
+
     private final byte[] bytes;
-    private int pos = 0;
+    private final KeyDictionary keyDictionary;
+    private final boolean lazy;
+    private int pos;
+    private char[] chars = new char[INITIAL_CHARS];
 
     public DataInput(byte[] bytes) {
+        this(bytes, KeyDictionary.INSTANCE);
+    }
+
+    DataInput(byte[] bytes, KeyDictionary keyDictionary) {
+        this(bytes, keyDictionary, 0, false);
+    }
+
+    /**
+     * Creates a data input which reads the bytes starting at {@code pos}. If {@code lazy} is {@code true}, nested
+     * objects and lists are not decoded immediately, but kept as {@link LazyModelValue}s.
+     */
+    DataInput(byte[] bytes, KeyDictionary keyDictionary, int pos, boolean lazy) {
         this.bytes = bytes;
+        this.keyDictionary = keyDictionary;
+        this.pos = pos;
+        this.lazy = lazy;
+    }
+
+    /** @return whether nested objects and lists should be decoded on demand */
+    boolean isLazy() {
+        return lazy;
+    }
+
+    /** @return the current position in the underlying bytes */
+    int position() {
+        return pos;
+    }
+
+    /**
+     * @return a new lazy data input which reads the same bytes starting at {@code position}
+     */
+    DataInput at(int position) {
+        return at(position, true);
+    }
+
+    /**
+     * @return a new data input which reads the same bytes starting at {@code position}
+     */
+    DataInput at(int position, boolean lazy) {
+        return new DataInput(bytes, keyDictionary, position, lazy);
     }
 
     public int read() throws IOException {
@@ -60,41 +111,31 @@ public class DataInput {
     }
 
     public byte readByte() throws IOException {
-        int i = read();
-        if (i == -1) {
-            throw new RuntimeException("EOF");
-        }
-        return (byte) i;
+        return (byte) readUnsignedByte();
     }
 
     public char readChar() throws IOException {
-        int a = readUnsignedByte();
-        int b = readUnsignedByte();
-        return (char) ((a << 8) | b);
+        return (char) readUnsignedShort();
     }
 
     public double readDouble() throws IOException {
         // See  https://issues.jboss.org/browse/AS7-4126
-        //return IEEE754.toDouble(bytes[pos++], bytes[pos++], bytes[pos++], bytes[pos++], bytes[pos++], bytes[pos++], bytes[pos++], bytes[pos++]);
-        byte doubleBytes[] = new byte[8];
-        readFully(doubleBytes);
-
-        return IEEE754.toDouble(
-                doubleBytes[0],
-                doubleBytes[1],
-                doubleBytes[2],
-                doubleBytes[3],
-                doubleBytes[4],
-                doubleBytes[5],
-                doubleBytes[6],
-                doubleBytes[7]);
+        return Double.longBitsToDouble(readLong());
     }
 
     public float readFloat() throws IOException {
-        return IEEE754.toFloat(bytes[pos++], bytes[pos++], bytes[pos++], bytes[pos++]);
+        return Float.intBitsToFloat(readInt());
     }
 
     public int readInt() throws IOException {
+        if (pos + 4 <= bytes.length) {
+            int value = (bytes[pos] & 0xFF) << 24 |
+                    (bytes[pos + 1] & 0xFF) << 16 |
+                    (bytes[pos + 2] & 0xFF) << 8 |
+                    bytes[pos + 3] & 0xFF;
+            pos += 4;
+            return value;
+        }
         int a = readUnsignedByte();
         int b = readUnsignedByte();
         int c = readUnsignedByte();
@@ -107,76 +148,114 @@ public class DataInput {
     }
 
     public long readLong() throws IOException {
-        byte longBytes[] = new byte[8];
-        readFully(longBytes);
-
-        //noinspection PointlessBitwiseExpression
-        return (((long) longBytes[0] << 56) +
-                ((long) (longBytes[1] & 255) << 48) +
-                ((long) (longBytes[2] & 255) << 40) +
-                ((long) (longBytes[3] & 255) << 32) +
-                ((long) (longBytes[4] & 255) << 24) +
-                ((longBytes[5] & 255) << 16) +
-                ((longBytes[6] & 255) << 8) +
-                ((longBytes[7] & 255) << 0));
-
+        // assemble the long from two ints: cheaper than eight long shifts (longs are emulated in JavaScript)
+        long high = readInt();
+        long low = readInt() & 0xFFFFFFFFL;
+        return (high << 32) | low;
     }
 
     public short readShort() throws IOException {
-        int a = readUnsignedByte();
-        int b = readUnsignedByte();
-        return (short) ((a << 8) | b);
+        return (short) readUnsignedShort();
     }
 
     public String readUTF() throws IOException {
-        int bytes = readUnsignedShort();
-        StringBuilder sb = new StringBuilder();
+        int count = decodeUTF();
+        return new String(chars, 0, count);
+    }
 
-        while (bytes > 0) {
-            bytes -= readUtfChar(sb);
-        }
+    /**
+     * Reads a string like {@link #readUTF()}, but returns a shared instance from the {@link KeyDictionary} for
+     * strings which were already read before. Used for the keys of objects and the names of properties.
+     */
+    String readKey() throws IOException {
+        int count = decodeUTF();
+        return keyDictionary.intern(chars, count);
+    }
 
-        return sb.toString();
+    /** Skips the next UTF string without decoding it. */
+    void skipUTF() throws IOException {
+        skipBytes(readUnsignedShort());
     }
 
-    private int readUtfChar(StringBuilder sb) throws IOException {
-        int a = readUnsignedByte();
-        if (a < 0x80) {
-            sb.append((char) a);
-            return 1;
-        } else if (a < 0xc0) {
-            sb.append('?');
-            return 1;
-        } else if (a < 0xe0) {
-            int b = readUnsignedByte();
-            if ((b & 0xc0) != 0x80) {
-                sb.append('?');
-                // probably a US-ASCII char after a Latin-1 char
-                sb.append((char) b);
-            } else {
-                sb.append((char) ((a & 0x1F) << 6 | b & 0x3F));
-            }
-            return 2;
-        } else if (a < 0xf0) {
-            int b = readUnsignedByte();
-            if ((b & 0xc0) != 0x80) {
-                sb.append('?');
-                sb.append((char) b);
-                return 2;
+    /** Decodes the next UTF string into {@link #chars} and returns the number of decoded chars. */
+    private int decodeUTF() throws IOException {
+        int length = readUnsignedShort();
+        char[] chars = this.chars;
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            this.chars = chars;
+        }
+
+        int count = 0;
+        int remaining = length;
+
+        // fast path: consume ASCII characters directly from the byte array
+        if (pos + length <= bytes.length) {
+            while (remaining > 0) {
+                byte b = bytes[pos];
+                if (b < 0) {
+                    break;
+                }
+                chars[count++] = (char) b;
+                pos++;
+                remaining--;
             }
-            int c = readUnsignedByte();
-            if ((c & 0xc0) != 0x80) {
-                // probably a US-ASCII char after two Latin-1 chars?
-                sb.append('?').append('?');
-                sb.append((char) c);
+        }
+
+        while (remaining > 0) {
+            int a = readUnsignedByte();
+            if (a < 0x80) {
+                chars[count++] = (char) a;
+                remaining--;
+            } else if (a < 0xc0) {
+                chars[count++] = '?';
+                remaining--;
+            } else if (a < 0xe0) {
+                if (remaining < 2) {
+                    // truncated sequence: don't read beyond the end of the string
+                    chars[count++] = '?';
+                    remaining--;
+                    continue;
+                }
+                int b = readUnsignedByte();
+                if ((b & 0xc0) != 0x80) {
+                    chars[count++] = '?';
+                    // probably a US-ASCII char after a Latin-1 char
+                    chars[count++] = (char) b;
+                } else {
+                    chars[count++] = (char) ((a & 0x1F) << 6 | b & 0x3F);
+                }
+                remaining -= 2;
+            } else if (a < 0xf0) {
+                if (remaining < 3) {
+                    // truncated sequence: the remaining continuation bytes are decoded as '?' one by one
+                    chars[count++] = '?';
+                    remaining--;
+                    continue;
+                }
+                int b = readUnsignedByte();
+                if ((b & 0xc0) != 0x80) {
+                    chars[count++] = '?';
+                    chars[count++] = (char) b;
+                    remaining -= 2;
+                    continue;
+                }
+                int c = readUnsignedByte();
+                if ((c & 0xc0) != 0x80) {
+                    // probably a US-ASCII char after two Latin-1 chars?
+                    chars[count++] = '?';
+                    chars[count++] = '?';
+                    chars[count++] = (char) c;
+                } else {
+                    chars[count++] = (char) ((a & 0x0F) << 12 | (b & 0x3F) << 6 | c & 0x3F);
+                }
+                remaining -= 3;
             } else {
-                sb.append((char) ((a & 0x0F) << 12 | (b & 0x3F) << 6 | c & 0x3F));
+                chars[count++] = '?';
+                remaining--;
             }
-            return 3;
-        } else {
-            sb.append('?');
-            return 1;
         }
+        return count;
     }
 
     public int readUnsignedByte() throws IOException {
@@ -194,14 +273,16 @@ public class DataInput {
     }
 
     public int skipBytes(int n) throws IOException {
-        // note: This is actually a valid implementation of this method, rendering it quite useless...
-        return 0;
+        int skipped = Math.max(0, Math.min(n, bytes.length - pos));
+        pos += skipped;
+        return skipped;
     }
 
-    public void readFully(byte[] b) {
-        for (int i = 0; i < b.length; i++) {
-            b[i] = bytes[pos++];
+    public void readFully(byte[] b) throws IOException {
+        if (pos + b.length > bytes.length) {
+            throw new RuntimeException("EOF");
         }
+        System.arraycopy(bytes, pos, b, 0, b.length);
+        pos += b.length;
     }
-
 }
@@ -35,34 +35,39 @@
 
 package org.jboss.hal.dmr;
 
-import com.google.gwt.core.client.JsArrayInteger;
-
 import java.io.IOException;
+import java.util.Arrays;
 
+/**
+ * Writes the binary DMR format. The buffer is pre-sized and grows by doubling its capacity. Strings are encoded
+ * directly into the buffer w/o intermediate arrays.
+ */
 public class DataOutput {
 
+    private static final int DEFAULT_CAPACITY = 256;
+
     private byte[] bytes;
     private int pos;
 
     public DataOutput() {
-        bytes = new byte[50];
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DataOutput(int capacity) {
+        bytes = new byte[Math.max(capacity, 16)];
     }
 
     public byte[] getBytes() {
-        byte[] array = new byte[pos];
-        for (int i = 0; i < pos; i++) { array[i] = bytes[i]; }
+        return Arrays.copyOf(bytes, pos);
+    }
 
-        return array;
+    public int size() {
+        return pos;
     }
 
     private void growToFit(int size) {
-        if (pos + size >= bytes.length) {
-            byte[] array = new byte[bytes.length + size];
-            for (int i = 0; i < bytes.length; i++) {
-                array[i] = bytes[i];
-            }
-
-            bytes = array;
+        if (pos + size > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, pos + size));
         }
     }
 
@@ -74,20 +79,16 @@ public class DataOutput {
     public void writeByte(int v) throws IOException {
         growToFit(1);
         bytes[pos++] = (byte) v;
-
     }
 
     public void writeShort(int v) throws IOException {
         growToFit(2);
         bytes[pos++] = (byte) (v >>> 8);
         bytes[pos++] = (byte) (v & 0xFF);
-
     }
 
     public void writeChar(int v) throws IOException {
-        growToFit(2);
-        bytes[pos++] = (byte) (v >>> 8);
-        bytes[pos++] = (byte) (v & 0xFF);
+        writeShort(v);
     }
 
     public void writeInt(int v) throws IOException {
@@ -99,64 +100,67 @@ public class DataOutput {
     }
 
     public void writeLong(long v) throws IOException {
-        growToFit(8);
-        bytes[pos++] = (byte) (v >>> 56);
-        bytes[pos++] = (byte) ((v >>> 48) & 0xFF);
-        bytes[pos++] = (byte) ((v >>> 40) & 0xFF);
-        bytes[pos++] = (byte) ((v >>> 32) & 0xFF);
-        bytes[pos++] = (byte) ((v >>> 24) & 0xFF);
-        bytes[pos++] = (byte) ((v >>> 16) & 0xFF);
-        bytes[pos++] = (byte) ((v >>> 8) & 0xFF);
-        bytes[pos++] = (byte) (v & 0xFF);
+        // split the long into two ints: cheaper than eight long shifts (longs are emulated in JavaScript)
+        writeInt((int) (v >>> 32));
+        writeInt((int) v);
     }
 
     public void writeFloat(float v) throws IOException {
-        growToFit(4);
-        JsArrayInteger bytes = IEEE754.fromFloat(v);
-        for (int i = 0; i < 4; i++) {
-            this.bytes[pos++] = (byte) bytes.get(i);
-        }
+        writeInt(Float.floatToIntBits(v));
     }
 
     public void writeDouble(double v) throws IOException {
-        growToFit(8);
-        JsArrayInteger bytes = IEEE754.fromDoubleClosure(v);
-        for (int i = 0; i < 8; i++) {
-            this.bytes[pos++] = (byte) bytes.get(i);
-        }
+        writeLong(Double.doubleToLongBits(v));
     }
 
     public void writeUTF(String s) throws IOException {
         final int length = s.length();
-        final byte[] bytes = new byte[length * 3];
-        int bl = 0;
-        char c;
+        int utfLength = 0;
         for (int i = 0; i < length; i++) {
-            c = s.charAt(i);
+            char c = s.charAt(i);
             if (c > 0 && c <= 0x7f) {
-                bytes[bl++] = (byte) c;
+                utfLength++;
             } else if (c <= 0x07ff) {
-                bytes[bl++] = (byte) (0xc0 | 0x1f & c >> 6);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c);
+                utfLength += 2;
             } else {
-                bytes[bl++] = (byte) (0xe0 | 0x0f & c >> 12);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c >> 6);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c);
+                utfLength += 3;
             }
         }
-        writeShort(bl);
-        write(bytes, 0, bl);
+        writeShort(utfLength);
+        growToFit(utfLength);
+
+        final byte[] bytes = this.bytes;
+        int pos = this.pos;
+        if (utfLength == length) {
+            // ASCII only
+            for (int i = 0; i < length; i++) {
+                bytes[pos++] = (byte) s.charAt(i);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                char c = s.charAt(i);
+                if (c > 0 && c <= 0x7f) {
+                    bytes[pos++] = (byte) c;
+                } else if (c <= 0x07ff) {
+                    bytes[pos++] = (byte) (0xc0 | 0x1f & c >> 6);
+                    bytes[pos++] = (byte) (0x80 | 0x3f & c);
+                } else {
+                    bytes[pos++] = (byte) (0xe0 | 0x0f & c >> 12);
+                    bytes[pos++] = (byte) (0x80 | 0x3f & c >> 6);
+                    bytes[pos++] = (byte) (0x80 | 0x3f & c);
+                }
+            }
+        }
+        this.pos = pos;
     }
 
     public void write(byte[] bits) {
-        growToFit(bits.length);
-        for (int i = 0; i < bits.length; i++) { bytes[pos++] = bits[i]; }
+        write(bits, 0, bits.length);
     }
 
     public void write(byte[] b, int off, int len) {
         growToFit(len);
-        for (int i = 0; i < len; i++) {
-            bytes[pos++] = b[off + i];
-        }
+        System.arraycopy(b, off, bytes, pos, len);
+        pos += len;
     }
 }
@@ -19,6 +19,7 @@ import com.google.gwt.inject.client.AbstractGinModule;
 import com.google.inject.Singleton;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.dmr.dispatch.ProcessStateProcessor;
+import org.jboss.hal.dmr.dispatch.ResponseCache;
 import org.jboss.hal.dmr.dispatch.ResponseHeadersProcessors;
 import org.jboss.hal.dmr.macro.Macros;
 import org.jboss.hal.spi.GinModule;
@@ -29,9 +30,10 @@ public class DmrModule extends AbstractGinModule {
     @Override
     protected void configure() {
         bind(Macros.class).in(Singleton.class);
+        bind(ResponseCache.class).in(Singleton.class);
         bind(ProcessStateProcessor.class).in(Singleton.class);
         bind(ResponseHeadersProcessors.class).in(Singleton.class);
 
-        bind(Dispatcher.class);
+        bind(Dispatcher.class).in(Singleton.class);
     }
 }
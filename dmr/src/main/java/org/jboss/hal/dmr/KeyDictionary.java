@@ -0,0 +1,157 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import jsinterop.annotations.JsIgnore;
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+
+/**
+ * Bounded dictionary for the keys of decoded model nodes. Keys like "type", "description", "access-type" or
+ * "nillable" occur thousands of times in resource descriptions. Interning them while decoding lets all nodes share
+ * one string instance per key.
+ * <p>
+ * The dictionary is a direct mapped cache with a fixed number of slots. A key is looked up by the hash of its decoded
+ * chars, so a hit does not create a new string. On a collision the slot is simply overwritten, which keeps the memory
+ * bounded. Keys longer than {@value #MAX_KEY_LENGTH} chars are not interned.
+ */
+@JsType(namespace = "hal.dmr")
+public class KeyDictionary {
+
+    /** The global dictionary used by {@link DataInput} */
+    @JsIgnore public static final KeyDictionary INSTANCE = new KeyDictionary(4096);
+
+    static final int MAX_KEY_LENGTH = 64;
+
+    private final String[] keys;
+    private final int[] hashes;
+    private final int mask;
+    private int hits;
+    private int misses;
+    private double savedChars; // double rather than long: longs are emulated in JavaScript
+
+    /**
+     * @param slots the number of slots; rounded up to the next power of two
+     */
+    @JsIgnore
+    public KeyDictionary(int slots) {
+        int size = Integer.highestOneBit(Math.max(slots - 1, 1)) << 1;
+        this.keys = new String[size];
+        this.hashes = new int[size];
+        this.mask = size - 1;
+    }
+
+    String intern(char[] chars, int length) {
+        if (length > MAX_KEY_LENGTH) {
+            return new String(chars, 0, length);
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String key = keys[index];
+        if (key != null && hashes[index] == hash && matches(key, chars, length)) {
+            hits++;
+            savedChars += length;
+            return key;
+        }
+        key = new String(chars, 0, length);
+        keys[index] = key;
+        hashes[index] = hash;
+        misses++;
+        return key;
+    }
+
+    private boolean matches(String key, char[] chars, int length) {
+        if (key.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Resets the statistics, but keeps the interned keys. */
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        savedChars = 0;
+    }
+
+    /** Removes all interned keys and resets the statistics. */
+    public void clear() {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = null;
+            hashes[i] = 0;
+        }
+        resetStatistics();
+    }
+
+    /** @return the number of keys which were served from the dictionary */
+    @JsProperty
+    public int getHits() {
+        return hits;
+    }
+
+    /** @return the number of keys which were not yet in the dictionary */
+    @JsProperty
+    public int getMisses() {
+        return misses;
+    }
+
+    /** @return the ratio of hits to all lookups or 0 if there were no lookups yet */
+    @JsProperty
+    public double getHitRate() {
+        int lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /** @return the total number of chars of all keys which were not allocated again thanks to the dictionary */
+    @JsProperty
+    public double getSavedChars() {
+        return savedChars;
+    }
+
+    /** @return the number of keys currently in the dictionary */
+    @JsProperty
+    public int getSize() {
+        int size = 0;
+        for (String key : keys) {
+            if (key != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /** @return the global key dictionary used when decoding DMR responses */
+    @JsMethod(name = "global")
+    public static KeyDictionary jsGlobal() {
+        return INSTANCE;
+    }
+
+    @Override
+    @JsIgnore
+    public String toString() {
+        return "KeyDictionary(hits: " + hits + ", misses: " + misses + ", hit rate: " + //NON-NLS
+                Math.round(getHitRate() * 100) + "%, saved chars: " + (long) savedChars + ")"; //NON-NLS
+    }
+}
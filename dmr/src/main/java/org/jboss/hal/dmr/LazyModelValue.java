@@ -0,0 +1,329 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Placeholder for an object or list which has not been decoded yet. Instead of the decoded value, only the byte range
+ * of the value in the binary DMR payload is kept. The value is decoded the first time it's accessed. When decoded,
+ * the direct children are read, but nested objects and lists are again kept as lazy values. So only the parts of a
+ * large result which are actually used are ever materialized.
+ * <p>
+ * Lazy values are created by {@link ModelNode#readExternal(DataInput)} if the data input {@linkplain
+ * DataInput#isLazy() is lazy}. All methods delegate to the decoded value. The only exceptions are {@link #copy()} and
+ * {@link #writeExternal(DataOutput)} which work on the byte range as long as the value has not been decoded.
+ */
+final class LazyModelValue extends ModelValue {
+
+    /**
+     * Skips the object or list at the current position of {@code in} and returns a lazy value for it. The type byte
+     * must have been read already.
+     */
+    static LazyModelValue defer(final DataInput in, final ModelType type) throws IOException {
+        final int start = in.position();
+        skipBody(in, type);
+        return new LazyModelValue(type, in, start, in.position());
+    }
+
+    /** Skips a complete value including its type byte. */
+    private static void skip(final DataInput in) throws IOException {
+        skipBody(in, ModelType.forChar((char) (in.readByte() & 0xff)));
+    }
+
+    private static void skipBody(final DataInput in, final ModelType type) throws IOException {
+        final int count;
+        switch (type) {
+            case UNDEFINED:
+                break;
+            case BOOLEAN:
+            case TYPE:
+                in.skipBytes(1);
+                break;
+            case INT:
+                in.skipBytes(4);
+                break;
+            case DOUBLE:
+            case LONG:
+                in.skipBytes(8);
+                break;
+            case BIG_DECIMAL:
+            case EXPRESSION:
+            case STRING:
+                in.skipUTF();
+                break;
+            case BIG_INTEGER:
+            case BYTES:
+                in.skipBytes(in.readInt());
+                break;
+            case LIST:
+                count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    skip(in);
+                }
+                break;
+            case OBJECT:
+                count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    in.skipUTF();
+                    skip(in);
+                }
+                break;
+            case PROPERTY:
+                in.skipUTF();
+                skip(in);
+                break;
+            default:
+                throw new IllegalStateException("Invalid type read: " + type);
+        }
+    }
+
+    private final DataInput source;
+    private final int start;
+    private final int end;
+    private ModelValue value;
+
+    private LazyModelValue(final ModelType type, final DataInput source, final int start, final int end) {
+        super(type);
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    /** @return whether the value has been decoded already */
+    boolean isMaterialized() {
+        return value != null;
+    }
+
+    /** @return the number of encoded bytes including the type byte or -1 if the value has been decoded already */
+    int encodedSize() {
+        return value == null ? end - start + 1 : -1;
+    }
+
+    ModelValue materialize() {
+        if (value == null) {
+            try {
+                final DataInput in = source.at(start);
+                value = getType() == ModelType.OBJECT ? new ObjectModelValue(in) : new ListModelValue(in);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Decodes the value including all nested objects and lists, so that the returned value no longer references the
+     * payload. If the value has been decoded already, the decoded value is returned as is: Its children might still
+     * be lazy.
+     */
+    ModelValue decodeAll() {
+        if (value == null) {
+            try {
+                final DataInput in = source.at(start, false);
+                return getType() == ModelType.OBJECT ? new ObjectModelValue(in) : new ListModelValue(in);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    void writeExternal(final DataOutput out) throws IOException {
+        if (value == null) {
+            final byte[] bytes = new byte[end - start];
+            source.at(start).readFully(bytes);
+            out.write(bytes);
+        } else {
+            value.writeExternal(out);
+        }
+    }
+
+    @Override
+    ModelValue copy() {
+        // the byte range is immutable, so an undecoded value can be shared by a new lazy value
+        return value == null ? new LazyModelValue(getType(), source, start, end) : value.copy();
+    }
+
+    @Override
+    ModelValue resolve() {
+        return materialize().resolve();
+    }
+
+    @Override
+    ModelValue protect() {
+        return materialize().protect();
+    }
+
+    @Override
+    long asLong() {
+        return materialize().asLong();
+    }
+
+    @Override
+    long asLong(final long defVal) {
+        return materialize().asLong(defVal);
+    }
+
+    @Override
+    int asInt() {
+        return materialize().asInt();
+    }
+
+    @Override
+    int asInt(final int defVal) {
+        return materialize().asInt(defVal);
+    }
+
+    @Override
+    boolean asBoolean() {
+        return materialize().asBoolean();
+    }
+
+    @Override
+    boolean asBoolean(final boolean defVal) {
+        return materialize().asBoolean(defVal);
+    }
+
+    @Override
+    double asDouble() {
+        return materialize().asDouble();
+    }
+
+    @Override
+    double asDouble(final double defVal) {
+        return materialize().asDouble(defVal);
+    }
+
+    @Override
+    byte[] asBytes() {
+        return materialize().asBytes();
+    }
+
+    @Override
+    BigDecimal asBigDecimal() {
+        return materialize().asBigDecimal();
+    }
+
+    @Override
+    BigInteger asBigInteger() {
+        return materialize().asBigInteger();
+    }
+
+    @Override
+    String asString() {
+        return materialize().asString();
+    }
+
+    @Override
+    Property asProperty() {
+        return materialize().asProperty();
+    }
+
+    @Override
+    List<Property> asPropertyList() {
+        return materialize().asPropertyList();
+    }
+
+    @Override
+    ModelNode asObject() {
+        return materialize().asObject();
+    }
+
+    @Override
+    ModelNode getChild(final String name) {
+        return materialize().getChild(name);
+    }
+
+    @Override
+    ModelNode removeChild(final String name) {
+        return materialize().removeChild(name);
+    }
+
+    @Override
+    ModelNode getChild(final int index) {
+        return materialize().getChild(index);
+    }
+
+    @Override
+    ModelNode addChild() {
+        return materialize().addChild();
+    }
+
+    @Override
+    Set<String> getKeys() {
+        return materialize().getKeys();
+    }
+
+    @Override
+    List<ModelNode> asList() {
+        return materialize().asList();
+    }
+
+    @Override
+    ModelType asType() {
+        return materialize().asType();
+    }
+
+    @Override
+    void format(final StringBuilder builder, final int indent, final boolean multiLine) {
+        materialize().format(builder, indent, multiLine);
+    }
+
+    @Override
+    void formatAsJSON(final StringBuilder builder, final int indent, final boolean multiLine) {
+        materialize().formatAsJSON(builder, indent, multiLine);
+    }
+
+    @Override
+    boolean has(final int index) {
+        return materialize().has(index);
+    }
+
+    @Override
+    boolean has(final String key) {
+        return materialize().has(key);
+    }
+
+    @Override
+    ModelNode requireChild(final String name) throws NoSuchElementException {
+        return materialize().requireChild(name);
+    }
+
+    @Override
+    ModelNode requireChild(final int index) throws NoSuchElementException {
+        return materialize().requireChild(index);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other instanceof LazyModelValue) {
+            return materialize().equals(((LazyModelValue) other).materialize());
+        }
+        return materialize().equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return materialize().hashCode();
+    }
+}
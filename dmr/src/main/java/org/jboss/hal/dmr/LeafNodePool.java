@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+/**
+ * Pool of protected leaf nodes. Resource descriptions repeat the same small set of leaf values over and over again
+ * ({@code true}, {@code false}, {@code STRING}, {@code "read-write"}, {@code "configuration"}, ...). Since protected
+ * nodes cannot be modified, equal leaf nodes can be replaced by one shared instance when a tree is {@linkplain
+ * ModelNode#protect() protected}.
+ * <p>
+ * Like {@link KeyDictionary} the pool is a direct mapped cache with a fixed number of slots. Only undefined, boolean,
+ * numeric and type values and strings up to {@value #MAX_STRING_LENGTH} chars are pooled. Nodes with tags are never
+ * pooled.
+ */
+final class LeafNodePool {
+
+    static final int MAX_STRING_LENGTH = 64;
+
+    private static final int SLOTS = 2048;
+    private static final ModelNode[] nodes = new ModelNode[SLOTS];
+
+    /**
+     * @return a shared node which is equal to {@code node} or {@code node} itself if it cannot be shared
+     */
+    static ModelNode share(final ModelNode node) {
+        if (node.getClass() != ModelNode.class || !node.isProtected() || node.hasTags()) {
+            return node;
+        }
+        final ModelValue value = node.modelValue();
+        if (!shareable(value)) {
+            return node;
+        }
+        final int hash = value.hashCode();
+        final int index = (hash ^ (hash >>> 16)) & (SLOTS - 1);
+        final ModelNode shared = nodes[index];
+        if (shared != null && shared.modelValue().getType() == value.getType() && shared.modelValue().equals(value)) {
+            return shared;
+        }
+        nodes[index] = node;
+        return node;
+    }
+
+    private static boolean shareable(final ModelValue value) {
+        switch (value.getType()) {
+            case UNDEFINED:
+            case BOOLEAN:
+            case INT:
+            case LONG:
+            case DOUBLE:
+            case TYPE:
+                return true;
+            case STRING:
+                return value.asString().length() <= MAX_STRING_LENGTH;
+            default:
+                return false;
+        }
+    }
+
+    private LeafNodePool() {
+    }
+}
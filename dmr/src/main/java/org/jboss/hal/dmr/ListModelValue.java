@@ -37,6 +37,7 @@ package org.jboss.hal.dmr;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -90,10 +91,16 @@ final class ListModelValue extends ModelValue {
     @Override
     ModelValue protect() {
         final List<ModelNode> list = this.list;
-        for (final ModelNode node : list) {
+        if (list.getClass() != ArrayList.class) {
+            return this;
+        }
+        final ModelNode[] nodes = new ModelNode[list.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            final ModelNode node = list.get(i);
             node.protect();
+            nodes[i] = LeafNodePool.share(node);
         }
-        return list.getClass() == ArrayList.class ? new ListModelValue(Collections.unmodifiableList(list)) : this;
+        return new ListModelValue(Collections.unmodifiableList(Arrays.asList(nodes)));
     }
 
     @Override
@@ -274,7 +281,8 @@ final class ListModelValue extends ModelValue {
      */
     @Override
     public boolean equals(final Object other) {
-        return other instanceof ListModelValue && equals((ListModelValue) other);
+        return other instanceof ListModelValue && equals((ListModelValue) other) ||
+                other instanceof LazyModelValue && other.equals(this);
     }
 
     /**
@@ -122,6 +122,7 @@ public interface ModelDescriptionConstants {
     String CACHE_SIZE = "cache-size";
     String CACHE_TYPE = "cache-type";
     String CACHING_REALM = "caching-realm";
+    String CAPABILITIES = "capabilities";
     String CAPABILITY_REFERENCE = "capability-reference";
     String CHAINED_PRINCIPAL_TRANSFORMER = "chained-principal-transformer";
     String CHANGE_MESSAGE_PRIORITY = "change-message-priority";
@@ -261,6 +262,7 @@ public interface ModelDescriptionConstants {
     String EXPLODED = "exploded";
     String EXPRESSION = "expression";
     String EXPRESSIONS_ALLOWED = "expressions-allowed";
+    String EXTENSION = "extension";
     String EXTENSION_POINT = "extension-point";
     String FAILED = "failed";
     String FAILED_OPERATION = "failed-operation";
@@ -620,6 +622,7 @@ public interface ModelDescriptionConstants {
     String ROLES = "roles";
     String ROLLBACK_OPERATION = "rollback";
     String ROLLBACK_TO = "rollback-to";
+    String ROLLED_BACK = "rolled-back";
     String RUNNING_EXECUTIONS = "running-executions";
     String RUNNING_MODE = "running-mode";
     String RUNTIME = "runtime";
@@ -68,7 +68,8 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
 public class ModelNode implements Cloneable {
 
     /**
-     * Creates a new node from a base64 encoded string
+     * Creates a new node from a base64 encoded string. The string is decoded into bytes first, see {@link
+     * Base64DataInput} for details.
      *
      * @param encoded The base64 encoded string.
      *
@@ -76,29 +77,72 @@ public class ModelNode implements Cloneable {
      */
     public static ModelNode fromBase64(String encoded) {
         ModelNode node = new ModelNode();
-        String decoded = atob(encoded);
         try {
-            node.readExternal(new DataInput(toBytes(decoded)));
+            node.readExternal(new Base64DataInput(encoded));
         } catch (IOException e) {
             throw new IllegalArgumentException(e);
         }
         return node;
     }
 
-    private static native String atob(String value) /*-{
-        return $wnd.atob(value);
-    }-*/;
+    /**
+     * Creates a new node from a base64 encoded string. If {@code lazy} is {@code true}, only the top level of the node
+     * is decoded. Nested objects and lists are decoded on demand when they're accessed for the first time. See {@link
+     * LazyModelValue} for details.
+     *
+     * @param encoded The base64 encoded string.
+     * @param lazy    Whether to decode nested objects and lists on demand.
+     *
+     * @return the new model node
+     */
+    @JsIgnore
+    public static ModelNode fromBase64(String encoded, boolean lazy) {
+        if (!lazy) {
+            return fromBase64(encoded);
+        }
+        ModelNode node = new ModelNode();
+        try {
+            node.readExternal(new Base64DataInput(encoded, true), false);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return node;
+    }
 
-    private static native String btoa(String value) /*-{
-        return $wnd.btoa(value);
-    }-*/;
+    /**
+     * Creates a new node from an {@code ArrayBuffer} containing the raw (not base64 encoded) DMR bytes.
+     *
+     * @param arrayBuffer The array buffer.
+     *
+     * @return the new model node
+     */
+    @JsIgnore
+    public static ModelNode fromArrayBuffer(Object arrayBuffer) {
+        return fromArrayBuffer(arrayBuffer, false);
+    }
 
-    private static native byte[] toBytes(String str) /*-{
-        var bytes = [];
-        for (var i = 0; i < str.length; ++i) {
-            bytes.push(str.charCodeAt(i));
+    /**
+     * Creates a new node from an {@code ArrayBuffer} containing the raw (not base64 encoded) DMR bytes. If {@code
+     * lazy} is {@code true}, nested objects and lists are decoded on demand.
+     *
+     * @param arrayBuffer The array buffer.
+     * @param lazy        Whether to decode nested objects and lists on demand.
+     *
+     * @return the new model node
+     */
+    @JsIgnore
+    public static ModelNode fromArrayBuffer(Object arrayBuffer, boolean lazy) {
+        ModelNode node = new ModelNode();
+        try {
+            node.readExternal(new ArrayBufferDataInput(arrayBuffer, lazy), false);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
         }
-        return bytes;
+        return node;
+    }
+
+    private static native String btoa(String value) /*-{
+        return $wnd.btoa(value);
     }-*/;
 
 
@@ -118,6 +162,11 @@ public class ModelNode implements Cloneable {
     /**
      * Prevent further modifications to this node and its sub-nodes. Note that copies
      * of this node made after this method call will not be protected.
+     * <p>
+     * Objects are converted into a compact, read-only representation with sorted keys and equal leaf values are
+     * shared between nodes. This makes protected nodes well suited for metadata which is cached for a long time.
+     * Getting a missing child of a protected node returns a shared, protected and undefined node, so that reading
+     * nested paths works like before. Modifying it fails with an {@link UnsupportedOperationException}.
      */
     @JsIgnore
     public void protect() {
@@ -127,6 +176,60 @@ public class ModelNode implements Cloneable {
         }
     }
 
+    boolean isProtected() {
+        return protect;
+    }
+
+    boolean hasTags() {
+        return tags != null && !tags.isEmpty();
+    }
+
+    ModelValue modelValue() {
+        return value;
+    }
+
+    /**
+     * Returns the number of bytes this node occupies in the binary DMR payload, if it was {@linkplain
+     * #fromBase64(String, boolean) decoded lazily} and has not been accessed yet. This allows to measure parts of a
+     * large response w/o decoding them.
+     *
+     * @return the number of encoded bytes including the type byte or -1 if the size is not known
+     */
+    @JsIgnore
+    public int encodedSize() {
+        return value instanceof LazyModelValue ? ((LazyModelValue) value).encodedSize() : -1;
+    }
+
+    /**
+     * Decodes all parts of this node which have been {@linkplain #fromBase64(String, boolean) decoded lazily} and not
+     * accessed so far. Afterwards the node no longer references the binary DMR payload it was decoded from. Use this
+     * before keeping parts of a large, lazily decoded response for a longer time.
+     *
+     * @return this node
+     */
+    @JsIgnore
+    public ModelNode materialize() {
+        if (value instanceof LazyModelValue) {
+            LazyModelValue lazy = (LazyModelValue) value;
+            boolean decoded = lazy.isMaterialized();
+            value = lazy.decodeAll();
+            if (!decoded) {
+                // decoded completely
+                return this;
+            }
+        }
+        if (value instanceof ObjectModelValue) {
+            for (String key : keys()) {
+                get(key).materialize();
+            }
+        } else if (value instanceof ListModelValue) {
+            for (int i = 0; i < value.asInt(); i++) {
+                get(i).materialize();
+            }
+        }
+        return this;
+    }
+
     /**
      * Get the value of this node as a {@code long}. Collection types will return the size
      * of the collection for this value. Other types may attempt a string conversion.
@@ -888,7 +991,9 @@ public class ModelNode implements Cloneable {
     public ModelNode get(final String name) {
         ModelValue value = this.value;
         if (value == ModelValue.UNDEFINED) {
-            checkProtect();
+            if (protect) {
+                return CompactObjectModelValue.MISSING;
+            }
             this.value = new ObjectModelValue();
             return this.value.getChild(name);
         }
@@ -944,7 +1049,9 @@ public class ModelNode implements Cloneable {
     public ModelNode get(final int index) {
         final ModelValue value = this.value;
         if (value == ModelValue.UNDEFINED) {
-            checkProtect();
+            if (protect) {
+                return CompactObjectModelValue.MISSING;
+            }
             return (this.value = new ListModelValue()).getChild(index);
         }
         return value.getChild(index);
@@ -1411,17 +1518,25 @@ public class ModelNode implements Cloneable {
     }
 
     public String toBase64String() {
+        try {
+            return btoa(new String(toBytes(), "ISO-8859-1"));
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException("Failed to encode string:" + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the raw (not base64 encoded) DMR bytes of this node
+     */
+    @JsIgnore
+    public byte[] toBytes() {
         DataOutput out = new DataOutput();
         try {
             writeExternal(out);
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
-        try {
-            return btoa(new String(out.getBytes(), "ISO-8859-1"));
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException("Failed to encode string:" + e.getMessage());
-        }
+        return out.getBytes();
     }
 
     /**
@@ -1532,6 +1647,13 @@ public class ModelNode implements Cloneable {
      * @throws IOException if an I/O error occurs
      */
     void readExternal(final DataInput in) throws IOException {
+        readExternal(in, in.isLazy());
+    }
+
+    /**
+     * @param defer whether an object or list is kept as {@link LazyModelValue} instead of decoding it immediately
+     */
+    private void readExternal(final DataInput in, final boolean defer) throws IOException {
         checkProtect();
         byte[] b; // used by some of these
         try {
@@ -1554,7 +1676,7 @@ public class ModelNode implements Cloneable {
                 case BYTES:
                     b = new byte[in.readInt()];
                     in.readFully(b);
-                    new BytesModelValue(b);
+                    value = new BytesModelValue(b);
                     return;
                 case DOUBLE:
                     value = new DoubleModelValue(in.readDouble());
@@ -1566,13 +1688,13 @@ public class ModelNode implements Cloneable {
                     value = new IntModelValue(in.readInt());
                     return;
                 case LIST:
-                    value = new ListModelValue(in);
+                    value = defer ? LazyModelValue.defer(in, type) : new ListModelValue(in);
                     return;
                 case LONG:
                     value = new LongModelValue(in.readLong());
                     return;
                 case OBJECT:
-                    value = new ObjectModelValue(in);
+                    value = defer ? LazyModelValue.defer(in, type) : new ObjectModelValue(in);
                     return;
                 case PROPERTY:
                     value = new PropertyModelValue(in);
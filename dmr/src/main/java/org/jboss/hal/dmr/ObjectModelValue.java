@@ -37,7 +37,6 @@ package org.jboss.hal.dmr;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -57,7 +56,7 @@ final class ObjectModelValue extends ModelValue {
         map = new LinkedHashMap<String, ModelNode>();
     }
 
-    private ObjectModelValue(final Map<String, ModelNode> map) {
+    ObjectModelValue(final Map<String, ModelNode> map) {
         super(ModelType.OBJECT);
         this.map = map;
     }
@@ -67,7 +66,7 @@ final class ObjectModelValue extends ModelValue {
         final int count = in.readInt();
         final LinkedHashMap<String, ModelNode> map = new LinkedHashMap<String, ModelNode>();
         for (int i = 0; i < count; i++) {
-            final String key = in.readUTF();
+            final String key = in.readKey();
             final ModelNode value = new ModelNode();
             value.readExternal(in);
             map.put(key, value);
@@ -88,11 +87,7 @@ final class ObjectModelValue extends ModelValue {
 
     @Override
     ModelValue protect() {
-        final Map<String, ModelNode> map = this.map;
-        for (final ModelNode node : map.values()) {
-            node.protect();
-        }
-        return map.getClass() == LinkedHashMap.class ? new ObjectModelValue(Collections.unmodifiableMap(map)) : this;
+        return new CompactObjectModelValue(map);
     }
 
     @Override
@@ -276,7 +271,8 @@ final class ObjectModelValue extends ModelValue {
      */
     @Override
     public boolean equals(final Object other) {
-        return other instanceof ObjectModelValue && equals((ObjectModelValue) other);
+        return other instanceof ObjectModelValue && equals((ObjectModelValue) other) ||
+                (other instanceof CompactObjectModelValue || other instanceof LazyModelValue) && other.equals(this);
     }
 
     /**
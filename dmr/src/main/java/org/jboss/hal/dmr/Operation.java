@@ -48,6 +48,8 @@ public class Operation extends ModelNode {
         private ModelNode parameter;
         private ModelNode header;
         private Set<String> roles;
+        private boolean lazy;
+        private boolean uncached;
 
         @JsIgnore
         public Builder(final ResourceAddress address, final String name) {
@@ -114,6 +116,32 @@ public class Operation extends ModelNode {
             return this;
         }
 
+        /**
+         * Decodes the response of the operation on demand: Nested objects and lists of the result are only decoded
+         * when they're accessed for the first time. Use this for large results like {@code
+         * read-resource(recursive=true)} of which only a few attributes are used.
+         *
+         * @return this builder
+         */
+        @EsReturn("OperationBuilder")
+        public Builder lazy() {
+            this.lazy = true;
+            return this;
+        }
+
+        /**
+         * Bypasses the response cache of the dispatcher: The operation is always sent to the management endpoint and
+         * its response is not cached. Use this for reads which must reflect the latest state, e.g. after pressing a
+         * refresh button.
+         *
+         * @return this builder
+         */
+        @EsReturn("OperationBuilder")
+        public Builder uncached() {
+            this.uncached = true;
+            return this;
+        }
+
         /**
          * Uses the specified payload for the operation.
          *
@@ -131,7 +159,7 @@ public class Operation extends ModelNode {
          * @return builds and returns the operation
          */
         public Operation build() {
-            return new Operation(name, address, parameter, header, roles);
+            return new Operation(name, address, parameter, header, roles, lazy, uncached);
         }
 
 
@@ -186,6 +214,8 @@ public class Operation extends ModelNode {
     private final ModelNode parameter;
     private final ModelNode header;
     private final Set<String> roles;
+    private final boolean lazy;
+    private final boolean uncached;
 
     @JsIgnore
     public Operation(ModelNode modelNode) {
@@ -209,17 +239,31 @@ public class Operation extends ModelNode {
         } else {
             this.roles = new HashSet<>();
         }
+        this.lazy = false;
+        this.uncached = false;
         addRolesAsHeaders();
         set(modelNode.clone());
     }
 
     Operation(final String name, final ResourceAddress address, final ModelNode parameter,
             final ModelNode header, final Set<String> roles) {
+        this(name, address, parameter, header, roles, false);
+    }
+
+    Operation(final String name, final ResourceAddress address, final ModelNode parameter,
+            final ModelNode header, final Set<String> roles, final boolean lazy) {
+        this(name, address, parameter, header, roles, lazy, false);
+    }
+
+    Operation(final String name, final ResourceAddress address, final ModelNode parameter,
+            final ModelNode header, final Set<String> roles, final boolean lazy, final boolean uncached) {
         this.name = name;
         this.address = address;
         this.parameter = parameter == null ? new ModelNode() : parameter;
         this.header = header;
         this.roles = roles;
+        this.lazy = lazy;
+        this.uncached = uncached;
 
         set(this.parameter.clone());
         get(OP).set(name);
@@ -284,9 +328,25 @@ public class Operation extends ModelNode {
         return roles;
     }
 
+    /**
+     * @return whether the response of this operation should be decoded on demand
+     */
+    @JsIgnore
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * @return whether this operation bypasses the response cache of the dispatcher
+     */
+    @JsIgnore
+    public boolean isUncached() {
+        return uncached;
+    }
+
     @JsIgnore
     public Operation runAs(final Set<String> runAs) {
-        return new Operation(name, address, parameter, header, newHashSet(runAs));
+        return new Operation(name, address, parameter, header, newHashSet(runAs), lazy, uncached);
     }
 
     /**
@@ -67,7 +67,7 @@ final class PropertyModelValue extends ModelValue {
     PropertyModelValue(final DataInput in) throws IOException {
         super(ModelType.PROPERTY);
         final ModelNode node = new ModelNode();
-        final String name = in.readUTF();
+        final String name = in.readKey();
         node.readExternal(in);
         property = new Property(name, node);
     }
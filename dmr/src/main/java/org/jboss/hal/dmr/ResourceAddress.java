@@ -31,6 +31,8 @@ import jsinterop.annotations.JsType;
 @JsType
 public class ResourceAddress extends ModelNode {
 
+    private static final String WILDCARD = "*";
+
     /**
      * @return the empty (root) address
      */
@@ -145,6 +147,38 @@ public class ResourceAddress extends ModelNode {
         return size() == 0;
     }
 
+    /**
+     * Checks whether the segments of the specified address are the leading segments of this address. The names of
+     * the segments must be equal. The values must be equal unless one of them is the wildcard {@code *}. The root
+     * address is a prefix of all addresses.
+     *
+     * @param prefix The address to check.
+     *
+     * @return whether this address starts with the specified address
+     */
+    public boolean startsWith(ResourceAddress prefix) {
+        if (prefix.isEmpty()) {
+            return true;
+        } else if (prefix.size() > size()) {
+            return false;
+        }
+        List<Property> segments = asPropertyList();
+        List<Property> prefixSegments = prefix.asPropertyList();
+        for (int i = 0; i < prefixSegments.size(); i++) {
+            Property segment = segments.get(i);
+            Property prefixSegment = prefixSegments.get(i);
+            if (!segment.getName().equals(prefixSegment.getName())) {
+                return false;
+            }
+            String value = segment.getValue().asString();
+            String prefixValue = prefixSegment.getValue().asString();
+            if (!value.equals(prefixValue) && !WILDCARD.equals(value) && !WILDCARD.equals(prefixValue)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Replaces the value in the specified segment
      *
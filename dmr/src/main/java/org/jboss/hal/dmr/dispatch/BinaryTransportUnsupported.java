@@ -0,0 +1,25 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+/** Signals that a management endpoint does not understand {@value Dispatcher#APPLICATION_DMR_BINARY}. */
+class BinaryTransportUnsupported extends Exception {
+
+    BinaryTransportUnsupported(String url, String contentType) {
+        super("Management endpoint at '" + url + "' does not support binary DMR. Content type of response: " +
+                contentType);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.concurrent.TimeUnit;
+
+import jsinterop.annotations.JsIgnore;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import rx.Scheduler;
+import rx.Single;
+
+/**
+ * Circuit breaker shared by all operations sent to one management endpoint. If the endpoint is {@linkplain
+ * DispatchError#isTransient() not reachable} for {@linkplain #getFailureThreshold() a number of} consecutive calls,
+ * the circuit opens and all calls fail immediately w/o sending a request. After the {@linkplain #getOpenTimeout()
+ * open timeout} one probe call is let through. If it succeeds, the circuit closes again, otherwise it stays open for
+ * another period. A probe which doesn't finish within the {@linkplain #getProbeTimeout() probe timeout} counts as
+ * failed. A probe which is unsubscribed before it finishes opens the circuit again w/o counting as trip.
+ * <p>
+ * Responses of the endpoint, including failed operations, count as success: They prove that the endpoint is up.
+ */
+@JsType(namespace = "hal.dmr")
+public class CircuitBreaker {
+
+    @JsIgnore
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+
+    static final int DEFAULT_FAILURE_THRESHOLD = 3;
+    static final int DEFAULT_OPEN_TIMEOUT = 5000;
+    static final int DEFAULT_PROBE_TIMEOUT = 10000;
+
+    private final Scheduler scheduler;
+    private int failureThreshold;
+    private int openTimeout;
+    private int probeTimeout;
+    private State state;
+    private int failures;
+    private long openedAt;
+    private int trips;
+    private int rejected;
+
+    /**
+     * @param scheduler the scheduler which provides the current time
+     */
+    @JsIgnore
+    public CircuitBreaker(Scheduler scheduler) {
+        this.scheduler = scheduler;
+        this.failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+        this.openTimeout = DEFAULT_OPEN_TIMEOUT;
+        this.probeTimeout = DEFAULT_PROBE_TIMEOUT;
+        this.state = State.CLOSED;
+    }
+
+    /**
+     * Returns a single which fails immediately with a {@link DispatchError} (status code 503) if the circuit is
+     * open. Otherwise the single subscribes to {@code request} and records its outcome.
+     */
+    @JsIgnore
+    public Single<ModelNode> protect(Operation operation, Single<ModelNode> request) {
+        return Single.defer(() -> {
+            if (!allowRequest()) {
+                rejected++;
+                return Single.error(new DispatchError(operation,
+                        "Service temporarily unavailable. Is the server still booting?", 503));
+            }
+            if (state == State.HALF_OPEN) {
+                return probe(operation, request);
+            }
+            return request
+                    .doOnSuccess(payload -> onSuccess())
+                    .doOnError(this::onError);
+        });
+    }
+
+    private Single<ModelNode> probe(Operation operation, Single<ModelNode> request) {
+        boolean[] finished = new boolean[1];
+        return request
+                .timeout(probeTimeout, TimeUnit.MILLISECONDS, Single.error(new DispatchError(operation,
+                        "Probe timed out after " + probeTimeout + " ms", 503)), scheduler) //NON-NLS
+                .doOnSuccess(payload -> {
+                    finished[0] = true;
+                    onSuccess();
+                })
+                .doOnError(error -> {
+                    finished[0] = true;
+                    onError(error);
+                })
+                .doOnUnsubscribe(() -> {
+                    if (!finished[0] && state == State.HALF_OPEN) {
+                        // the probe was cancelled: wait for the next probe
+                        state = State.OPEN;
+                        openedAt = scheduler.now();
+                    }
+                });
+    }
+
+    private boolean allowRequest() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (getRemainingOpenTime() == 0) {
+                    state = State.HALF_OPEN; // let one probe through
+                    return true;
+                }
+                return false;
+            case HALF_OPEN:
+            default:
+                return false; // the probe is in flight
+        }
+    }
+
+    private void onSuccess() {
+        failures = 0;
+        state = State.CLOSED;
+    }
+
+    private void onError(Throwable error) {
+        if (DispatchError.isTransient(error)) {
+            failures++;
+            if (state == State.HALF_OPEN || failures >= failureThreshold) {
+                state = State.OPEN;
+                openedAt = scheduler.now();
+                trips++;
+            }
+        } else {
+            onSuccess();
+        }
+    }
+
+    /** Closes the circuit and resets the statistics. */
+    public void reset() {
+        state = State.CLOSED;
+        failures = 0;
+        trips = 0;
+        rejected = 0;
+    }
+
+    @JsIgnore
+    public State getState() {
+        return state;
+    }
+
+    /** @return the state of the circuit: "CLOSED", "OPEN" or "HALF_OPEN" */
+    @JsProperty(name = "state")
+    public String jsState() {
+        return state.name();
+    }
+
+    /** @return the time in milliseconds until the open circuit lets a probe call through or 0 if it's not open */
+    @JsProperty
+    public int getRemainingOpenTime() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return (int) Math.max(0, openedAt + openTimeout - scheduler.now());
+    }
+
+    /** @return the number of consecutive transient failures which open the circuit */
+    @JsProperty
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    @JsProperty
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+    }
+
+    /** @return the time in milliseconds the circuit stays open before a probe call is let through */
+    @JsProperty
+    public int getOpenTimeout() {
+        return openTimeout;
+    }
+
+    @JsProperty
+    public void setOpenTimeout(int openTimeout) {
+        this.openTimeout = Math.max(0, openTimeout);
+    }
+
+    /** @return the time in milliseconds after which a probe call counts as failed */
+    @JsProperty
+    public int getProbeTimeout() {
+        return probeTimeout;
+    }
+
+    @JsProperty
+    public void setProbeTimeout(int probeTimeout) {
+        this.probeTimeout = Math.max(1, probeTimeout);
+    }
+
+    /** @return how often the circuit was opened */
+    @JsProperty
+    public int getTrips() {
+        return trips;
+    }
+
+    /** @return the number of calls which failed immediately because the circuit was open */
+    @JsProperty
+    public int getRejected() {
+        return rejected;
+    }
+
+    @Override
+    @JsIgnore
+    public String toString() {
+        return "CircuitBreaker(" + state + ", failures: " + failures + ", trips: " + trips + //NON-NLS
+                ", rejected: " + rejected + ")"; //NON-NLS
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import jsinterop.annotations.JsIgnore;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+
+/**
+ * Timing and size of a single request to the management endpoint. The phases of the request are recorded as
+ * timestamps in milliseconds (relative to an arbitrary origin):
+ * <ol>
+ * <li>{@linkplain #sent(double) sent}: the request is sent</li>
+ * <li>{@linkplain #headersReceived(double) headers received}: the response headers have arrived</li>
+ * <li>{@linkplain #loaded(double, double) loaded}: the response body has arrived</li>
+ * <li>{@linkplain #decoded(double) decoded}: the DMR payload has been decoded</li>
+ * <li>{@linkplain #finished(double, boolean) finished}: the callbacks have returned</li>
+ * </ol>
+ * The durations between these timestamps are the time to first byte, the transfer time, the decode time and the
+ * callback time. Phases which were not reached (e.g. because the request failed) have a duration of -1.
+ */
+@JsType(namespace = "hal.dmr")
+public class DispatchCall {
+
+    private static final double NOT_REACHED = -1;
+
+    private final String operation;
+    private final String addressTemplate;
+    private final double timestamp;
+    private final double requestSize;
+    private double responseSize;
+    private double sent;
+    private double headersReceived;
+    private double loaded;
+    private double decoded;
+    private double finished;
+    private boolean failed;
+
+    /**
+     * @param operation       the name of the operation
+     * @param addressTemplate the address of the operation with the resource names replaced by {@code *}
+     * @param timestamp       the wall clock time in milliseconds when the call was created
+     * @param requestSize     the size of the request body in bytes
+     */
+    @JsIgnore
+    public DispatchCall(String operation, String addressTemplate, double timestamp, double requestSize) {
+        this.operation = operation;
+        this.addressTemplate = addressTemplate;
+        this.timestamp = timestamp;
+        this.requestSize = requestSize;
+        this.sent = NOT_REACHED;
+        this.headersReceived = NOT_REACHED;
+        this.loaded = NOT_REACHED;
+        this.decoded = NOT_REACHED;
+        this.finished = NOT_REACHED;
+    }
+
+    @JsIgnore
+    public void sent(double now) {
+        sent = now;
+    }
+
+    @JsIgnore
+    public void headersReceived(double now) {
+        if (headersReceived == NOT_REACHED) {
+            headersReceived = now;
+        }
+    }
+
+    @JsIgnore
+    public void loaded(double now, double responseSize) {
+        // some browsers skip the 'headers received' state for small responses
+        headersReceived(now);
+        this.loaded = now;
+        this.responseSize = responseSize;
+    }
+
+    @JsIgnore
+    public void decoded(double now) {
+        decoded = now;
+    }
+
+    @JsIgnore
+    public void finished(double now, boolean failed) {
+        this.finished = now;
+        this.failed = failed;
+    }
+
+    private double duration(double from, double to) {
+        return from != NOT_REACHED && to != NOT_REACHED ? Math.max(0, to - from) : NOT_REACHED;
+    }
+
+    /** @return the name of the operation */
+    @JsProperty
+    public String getOperation() {
+        return operation;
+    }
+
+    /** @return the address of the operation with the resource names replaced by {@code *} */
+    @JsProperty
+    public String getAddressTemplate() {
+        return addressTemplate;
+    }
+
+    /** @return the wall clock time in milliseconds when the call was created */
+    @JsProperty
+    public double getTimestamp() {
+        return timestamp;
+    }
+
+    /** @return the size of the request body in bytes */
+    @JsProperty
+    public double getRequestSize() {
+        return requestSize;
+    }
+
+    /** @return the size of the response body in bytes or 0 if there was no response */
+    @JsProperty
+    public double getResponseSize() {
+        return responseSize;
+    }
+
+    /** @return the time between sending the request and receiving the response headers */
+    @JsProperty
+    public double getTimeToFirstByte() {
+        return duration(sent, headersReceived);
+    }
+
+    /** @return the time between receiving the response headers and receiving the complete response */
+    @JsProperty
+    public double getTransferTime() {
+        return duration(headersReceived, loaded);
+    }
+
+    /** @return the time to decode the DMR payload */
+    @JsProperty
+    public double getDecodeTime() {
+        return duration(loaded, decoded);
+    }
+
+    /** @return the time spent in the callbacks */
+    @JsProperty
+    public double getCallbackTime() {
+        return duration(decoded, finished);
+    }
+
+    /** @return the time between sending the request and returning from the callbacks */
+    @JsProperty
+    public double getTotalTime() {
+        return duration(sent, finished);
+    }
+
+    /** @return whether the call failed */
+    @JsProperty
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    @JsIgnore
+    public String toString() {
+        return "DispatchCall(" + operation + " @ " + addressTemplate + ", total: " + //NON-NLS
+                Math.round(getTotalTime()) + " ms" + (failed ? ", failed" : "") + ")"; //NON-NLS
+    }
+}
@@ -34,4 +34,16 @@ public class DispatchError extends Exception {
     public int getStatusCode() {
         return statusCode;
     }
+
+    /**
+     * @return whether the management endpoint was not reachable or temporarily unavailable (status code 0 or 503),
+     * e.g. while a host controller is reloading
+     */
+    public boolean isTransient() {
+        return statusCode == 0 || statusCode == 503;
+    }
+
+    static boolean isTransient(Throwable throwable) {
+        return throwable instanceof DispatchError && ((DispatchError) throwable).isTransient();
+    }
 }
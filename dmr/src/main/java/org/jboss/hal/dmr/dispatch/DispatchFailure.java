@@ -15,17 +15,29 @@
  */
 package org.jboss.hal.dmr.dispatch;
 
+import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 
 public class DispatchFailure extends Exception {
     private final Operation operation;
+    private final ModelNode payload;
 
     DispatchFailure(Operation operation, String message) {
+        this(operation, message, null);
+    }
+
+    public DispatchFailure(Operation operation, String message, ModelNode payload) {
         super(message);
         this.operation = operation;
+        this.payload = payload;
     }
 
     public Operation getOperation() {
         return operation;
     }
+
+    /** @return the payload of the failed operation or {@code null} if the payload is not available */
+    public ModelNode getPayload() {
+        return payload;
+    }
 }
@@ -29,6 +29,7 @@ import elemental2.dom.XMLHttpRequest;
 import jsinterop.annotations.JsFunction;
 import jsinterop.annotations.JsIgnore;
 import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsProperty;
 import jsinterop.annotations.JsType;
 import org.jboss.hal.config.AccessControlProvider;
 import org.jboss.hal.config.Endpoints;
@@ -59,10 +60,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Single;
 import rx.SingleSubscriber;
+import rx.schedulers.Schedulers;
 
 import static com.google.common.collect.Sets.difference;
 import static elemental2.core.Global.encodeURIComponent;
 import static java.util.stream.Collectors.joining;
+import static org.jboss.hal.config.Settings.BATCH_WINDOW_OFF;
+import static org.jboss.hal.config.Settings.RESPONSE_CACHE_OFF;
+import static org.jboss.hal.config.Settings.Key.BATCH_WINDOW;
+import static org.jboss.hal.config.Settings.Key.BINARY_TRANSPORT;
+import static org.jboss.hal.config.Settings.Key.RESPONSE_CACHE;
 import static org.jboss.hal.config.Settings.Key.RUN_AS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 import static org.jboss.hal.dmr.dispatch.Dispatcher.HttpMethod.GET;
@@ -100,10 +107,12 @@ public class Dispatcher implements RecordingHandler {
     }
 
 
+    static final String APPLICATION_DMR_BINARY = "application/dmr-binary";
     static final String APPLICATION_DMR_ENCODED = "application/dmr-encoded";
     static final String APPLICATION_JSON = "application/json";
 
     private static final String HEADER_MANAGEMENT_CLIENT_VALUE = "HAL";
+    private static final int HEADERS_RECEIVED = 2;
 
     @NonNls private static final Logger logger = LoggerFactory.getLogger(Dispatcher.class);
 
@@ -124,11 +133,18 @@ public class Dispatcher implements RecordingHandler {
     private final Macros macros;
     private final OnFail failedCallback;
     private final OnError exceptionCallback;
+    private final ResponseCache responseCache;
+    private final InFlightRequests inFlightRequests;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryPolicy retryPolicy;
+    private final OperationBatcher operationBatcher;
+    private final DispatcherMetrics metrics;
+    private boolean binaryTransportUnsupported;
 
     @Inject
     @JsIgnore
     public Dispatcher(Environment environment, Endpoints endpoints, Settings settings,
-            EventBus eventBus, ResponseHeadersProcessors responseHeadersProcessors,
+            EventBus eventBus, ResponseHeadersProcessors responseHeadersProcessors, ResponseCache responseCache,
             Macros macros, Resources resources) {
         this.environment = environment;
         this.endpoints = endpoints;
@@ -136,6 +152,13 @@ public class Dispatcher implements RecordingHandler {
         this.eventBus = eventBus;
         this.responseHeadersProcessors = responseHeadersProcessors;
         this.macros = macros;
+        this.responseCache = responseCache;
+        this.inFlightRequests = new InFlightRequests();
+        this.circuitBreaker = new CircuitBreaker(Schedulers.computation());
+        this.retryPolicy = new RetryPolicy(Schedulers.computation());
+        this.operationBatcher = new OperationBatcher(op -> send(op, runAs(op)), this::processStep,
+                Schedulers.computation());
+        this.metrics = new DispatcherMetrics();
 
         this.eventBus.addHandler(RecordingEvent.getType(), this);
         this.failedCallback = (operation, failure) -> {
@@ -244,25 +267,200 @@ public class Dispatcher implements RecordingHandler {
     @JsIgnore
     public Single<ModelNode> dmr(Operation operation) {
         Operation dmrOperation = runAs(operation); // runAs might mutate the operation, so do it synchronously
+        int ttl = settings.get(RESPONSE_CACHE).asInt(RESPONSE_CACHE_OFF);
+        if (ttl != responseCache.getTtl()) {
+            responseCache.setTtl(ttl); // the response cache is opt-in, see Settings.Key#RESPONSE_CACHE
+        }
+        if (readOnlyOperation(dmrOperation)) {
+            int batchWindow = settings.get(BATCH_WINDOW).asInt(BATCH_WINDOW_OFF);
+            Single<ModelNode> request = batchWindow >= 0 && !(operation instanceof Composite)
+                    ? operationBatcher.execute(operation, batchWindow)
+                    : send(operation, dmrOperation);
+            // reads are idempotent: retry them with backoff if the endpoint is temporarily unavailable
+            request = retryPolicy.retry(circuitBreaker.protect(dmrOperation, request), circuitBreaker);
+            // identical read-only operations which are in flight share one request
+            return recorded(responseCache.cache(dmrOperation, inFlightRequests.coalesce(dmrOperation, request)),
+                    () -> recordOperation(operation));
+        }
+        return recorded(responseCache.invalidate(dmrOperation,
+                circuitBreaker.protect(dmrOperation, send(operation, dmrOperation))), () -> recordOperation(operation));
+    }
+
+    /**
+     * Records the operation once per subscription of the returned single. Retries, coalesced or batched requests
+     * subscribe to the inner single only, so they don't record the operation again.
+     */
+    static Single<ModelNode> recorded(Single<ModelNode> request, Runnable record) {
+        return Single.defer(() -> {
+            record.run();
+            return request;
+        });
+    }
+
+    private Single<ModelNode> send(Operation operation, Operation dmrOperation) {
         boolean get = GetOperation.isSupported(dmrOperation.getName());
         String url = get ? operationUrl(dmrOperation) : endpoints.dmr();
         HttpMethod method = get ? GET : POST;
         // ^-- those eager fields are useful if you don't want to evaluate it on each Single subscription
+        if (binaryTransport()) {
+            return binaryDmr(operation, dmrOperation, url, method).onErrorResumeNext(error -> {
+                if (error instanceof BinaryTransportUnsupported) {
+                    logger.warn("{}. Fall back to base64 encoded DMR.", error.getMessage()); //NON-NLS
+                    binaryTransportUnsupported = true;
+                    return base64Dmr(operation, dmrOperation, url, method);
+                }
+                return Single.error(error);
+            });
+        }
+        return base64Dmr(operation, dmrOperation, url, method);
+    }
+
+    /**
+     * @return the metrics about the latency, payload size and decode time of the requests sent by this dispatcher
+     */
+    @JsProperty(name = "metrics")
+    public DispatcherMetrics getMetrics() {
+        return metrics;
+    }
+
+    /** @return the circuit breaker shared by all operations sent to the management endpoint */
+    @JsProperty(name = "circuitBreaker")
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /** @return the policy used to retry read-only operations if the management endpoint is unavailable */
+    @JsProperty(name = "retryPolicy")
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * @return the cache for the responses of read operations (only used if {@link Settings.Key#RESPONSE_CACHE} is
+     * set)
+     */
+    @JsProperty(name = "responseCache")
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * @return the statistics about read-only requests which were coalesced because an identical request was in flight
+     */
+    @JsProperty(name = "inFlightRequests")
+    public InFlightRequests getInFlightRequests() {
+        return inFlightRequests;
+    }
+
+    /**
+     * @return the statistics about read-only operations which were batched into composites (only used if {@link
+     * Settings.Key#BATCH_WINDOW} is set)
+     */
+    @JsProperty(name = "operationBatcher")
+    public OperationBatcher getOperationBatcher() {
+        return operationBatcher;
+    }
+
+    private Single<ModelNode> base64Dmr(Operation operation, Operation dmrOperation, String url, HttpMethod method) {
         return Single.fromEmitter(emitter -> {
             // in general, code inside the RX type should be able to be executed multiple times and always returns
             // the same result, so you should be careful to not mutate anything (like the operation). This is useful
             // for example if you use the retry operator that will try again (subscribe again) if it fails.
-            XMLHttpRequest xhr = newDmrXhr(url, method, dmrOperation, new DmrPayloadProcessor(), emitter::onSuccess,
-                    (op, fail) -> emitter.onError(new DispatchFailure(operation, fail)),
+            String body = method == GET ? null : dmrOperation.toBase64String();
+            DispatchCall call = newCall(dmrOperation, body != null ? body.length() : 0);
+            XMLHttpRequest xhr = newDmrXhr(url, method, dmrOperation, call,
+                    new DmrPayloadProcessor(operation.isLazy()),
+                    payload -> processPayload(payload, dmrOperation, emitter::onSuccess,
+                            (op, fail) -> emitter.onError(new DispatchFailure(operation, fail, payload))),
                     (op, error) -> emitter.onError(error));
             xhr.setRequestHeader(ACCEPT.header(), APPLICATION_DMR_ENCODED);
             xhr.setRequestHeader(CONTENT_TYPE.header(), APPLICATION_DMR_ENCODED);
-            if (get) xhr.send();
-            else xhr.send(dmrOperation.toBase64String());
-            recordOperation(operation);
+            call.sent(now());
+            if (method == GET) xhr.send();
+            else xhr.send(body);
         });
     }
 
+    /**
+     * Exchanges the raw DMR bytes w/o base64 encoding. If the management endpoint does not answer with {@value
+     * #APPLICATION_DMR_BINARY}, the single fails with {@link BinaryTransportUnsupported}, but only if it's safe to send
+     * the request again (see {@link #negotiable(int, boolean)}). Write operations which have been processed are never
+     * sent again: The single fails with a {@link DispatchError} instead.
+     */
+    private Single<ModelNode> binaryDmr(Operation operation, Operation dmrOperation, String url, HttpMethod method) {
+        boolean readOnly = readOnlyOperation(dmrOperation);
+        return Single.fromEmitter(emitter -> {
+            DmrPayloadProcessor payloadProcessor = new DmrPayloadProcessor(operation.isLazy());
+            OnError error = (op, throwable) -> emitter.onError(throwable);
+            byte[] body = method == GET ? null : dmrOperation.toBytes();
+            DispatchCall call = newCall(dmrOperation, body != null ? body.length : 0);
+            XMLHttpRequest xhr = newXhr(url, method, dmrOperation, call, error, x -> {
+                int status = (int) x.status;
+                String contentType = x.getResponseHeader(CONTENT_TYPE.header());
+                boolean binary = contentType != null && contentType.startsWith(APPLICATION_DMR_BINARY);
+
+                if (binary && (status == 200 || status == 500)) {
+                    call.loaded(now(), byteLength(x.response));
+                    ModelNode payload = payloadProcessor.processBinaryPayload(method, x.response);
+                    call.decoded(now());
+                    processPayload(payload, dmrOperation, emitter::onSuccess,
+                            (op, fail) -> emitter.onError(new DispatchFailure(operation, fail, payload)));
+                    finishCall(call, payload.isFailure());
+                } else if (!binary && negotiable(status, readOnly)) {
+                    // the request is sent again using base64, which records its own call
+                    emitter.onError(new BinaryTransportUnsupported(url, contentType));
+                } else if (!binary && (status == 200 || status == 500)) {
+                    // the write operation has been processed: sending it again would execute it twice
+                    finishCall(call, true);
+                    binaryTransportUnsupported = true;
+                    logger.warn("{}. Use base64 encoded DMR for the next operations.", //NON-NLS
+                            new BinaryTransportUnsupported(url, contentType).getMessage());
+                    error.onException(dmrOperation, new DispatchError(dmrOperation,
+                            "The response for '" + dmrOperation.asCli() + "' could not be read. " +
+                                    "The operation has been processed and was not sent again.", status));
+                } else {
+                    finishCall(call, true);
+                    if (!pendingLifecycleAction) {
+                        handleErrorCodes(url, status, dmrOperation, error);
+                    }
+                }
+            });
+            xhr.responseType = "arraybuffer"; //NON-NLS
+            xhr.setRequestHeader(ACCEPT.header(), APPLICATION_DMR_BINARY);
+            call.sent(now());
+            if (method == GET) {
+                xhr.send();
+            } else {
+                xhr.setRequestHeader(CONTENT_TYPE.header(), APPLICATION_DMR_BINARY);
+                sendBytes(xhr, body);
+            }
+        });
+    }
+
+    private boolean binaryTransport() {
+        return !binaryTransportUnsupported && settings.get(BINARY_TRANSPORT).asBoolean();
+    }
+
+    /**
+     * Whether a request which was not answered with binary DMR can be sent again using base64. That's the case if the
+     * endpoint rejected the binary request w/o processing it (400, 415). Read-only operations can also be sent again
+     * if the endpoint processed the request, but answered w/o binary DMR.
+     */
+    private boolean negotiable(int status, boolean readOnly) {
+        if (status == 400 || status == 415) {
+            return true;
+        }
+        return readOnly && status != 0 && status != 401 && status != 403 && status != 404 && status != 503;
+    }
+
+    private native void sendBytes(XMLHttpRequest xhr, byte[] bytes) /*-{
+        xhr.send(new Uint8Array(bytes));
+    }-*/;
+
+    private native double byteLength(Object arrayBuffer) /*-{
+        return arrayBuffer ? arrayBuffer.byteLength : 0;
+    }-*/;
+
 
     // ------------------------------------------------------ upload
 
@@ -317,8 +515,14 @@ public class Dispatcher implements RecordingHandler {
 
     private void uploadFormData(FormData formData, Operation operation, Consumer<ModelNode> success, OnFail fail,
             OnError error) {
-        XMLHttpRequest xhr = newDmrXhr(endpoints.upload(), POST, operation, new UploadPayloadProcessor(),
-                res -> success.accept(res.get(RESULT)), fail, error);
+        responseCache.invalidate(operation);
+        DispatchCall call = newCall(operation, 0); // the size of the form data is not known
+        XMLHttpRequest xhr = newDmrXhr(endpoints.upload(), POST, operation, call, new UploadPayloadProcessor(),
+                payload -> processPayload(payload, operation, res -> {
+                    responseCache.invalidate(operation);
+                    success.accept(res.get(RESULT));
+                }, fail), error);
+        call.sent(now());
         xhr.send(formData);
         // Uploads are not supported in macros!
     }
@@ -330,7 +534,7 @@ public class Dispatcher implements RecordingHandler {
     public void download(Operation operation, Consumer<String> success) {
         Operation downloadOperation = runAs(operation);
         String url = downloadUrl(downloadOperation);
-        XMLHttpRequest request = newXhr(url, GET, downloadOperation, exceptionCallback, xhr -> {
+        XMLHttpRequest request = newXhr(url, GET, downloadOperation, null, exceptionCallback, xhr -> {
             int status = (int) xhr.status;
             String responseText = xhr.responseText;
 
@@ -403,38 +607,21 @@ public class Dispatcher implements RecordingHandler {
 
     // ------------------------------------------------------ xhr
 
-    private XMLHttpRequest newDmrXhr(String url, HttpMethod method, Operation operation,
-            PayloadProcessor payloadProcessor, Consumer<ModelNode> success, OnFail fail, OnError error) {
-        return newXhr(url, method, operation, error, xhr -> {
+    private XMLHttpRequest newDmrXhr(String url, HttpMethod method, Operation operation, DispatchCall call,
+            PayloadProcessor payloadProcessor, Consumer<ModelNode> payloadConsumer, OnError error) {
+        return newXhr(url, method, operation, call, error, xhr -> {
             int status = (int) xhr.status;
             String responseText = xhr.responseText;
             String contentType = xhr.getResponseHeader(CONTENT_TYPE.header());
 
             if (status == 200 || status == 500) {
+                call.loaded(now(), responseText != null ? responseText.length() : 0);
                 ModelNode payload = payloadProcessor.processPayload(method, contentType, responseText);
-                if (!payload.isFailure()) {
-                    if (environment.isStandalone()) {
-                        if (payload.hasDefined(RESPONSE_HEADERS)) {
-                            Header[] headers = new Header[]{new Header(payload.get(RESPONSE_HEADERS))};
-                            for (ResponseHeadersProcessor processor : responseHeadersProcessors.processors()) {
-                                processor.process(headers);
-                            }
-                        }
-                    } else {
-                        if (payload.hasDefined(SERVER_GROUPS)) {
-                            Header[] headers = collectHeaders(payload.get(SERVER_GROUPS));
-                            if (headers.length != 0) {
-                                for (ResponseHeadersProcessor processor : responseHeadersProcessors.processors()) {
-                                    processor.process(headers);
-                                }
-                            }
-                        }
-                    }
-                    success.accept(payload);
-                } else {
-                    fail.onFailed(operation, payload.getFailureDescription());
-                }
+                call.decoded(now());
+                payloadConsumer.accept(payload);
+                finishCall(call, payload.isFailure());
             } else {
+                finishCall(call, true);
                 if (!pendingLifecycleAction) {
                     handleErrorCodes(url, status, operation, error);
                 }
@@ -442,13 +629,61 @@ public class Dispatcher implements RecordingHandler {
         });
     }
 
-    private XMLHttpRequest newXhr(String url, HttpMethod method, Operation operation, OnError error, OnLoad onLoad) {
+    private void processPayload(ModelNode payload, Operation operation, Consumer<ModelNode> success, OnFail fail) {
+        if (!payload.isFailure()) {
+            if (environment.isStandalone()) {
+                if (payload.hasDefined(RESPONSE_HEADERS)) {
+                    Header[] headers = new Header[]{new Header(payload.get(RESPONSE_HEADERS))};
+                    for (ResponseHeadersProcessor processor : responseHeadersProcessors.processors()) {
+                        processor.process(headers);
+                    }
+                }
+            } else {
+                if (payload.hasDefined(SERVER_GROUPS)) {
+                    Header[] headers = collectHeaders(payload.get(SERVER_GROUPS));
+                    if (headers.length != 0) {
+                        for (ResponseHeadersProcessor processor : responseHeadersProcessors.processors()) {
+                            processor.process(headers);
+                        }
+                    }
+                }
+            }
+            success.accept(payload);
+        } else {
+            fail.onFailed(operation, payload.getFailureDescription());
+        }
+    }
+
+    /** Processes a step of a batched composite like the payload of the operation sent on its own. */
+    private Single<ModelNode> processStep(Operation operation, ModelNode step) {
+        return Single.fromEmitter(emitter -> processPayload(step, operation, emitter::onSuccess,
+                (op, fail) -> emitter.onError(new DispatchFailure(operation, fail, step))));
+    }
+
+    /**
+     * @param call the call which records the timing of the request or {@code null} if the request should not be
+     *             recorded
+     */
+    private XMLHttpRequest newXhr(String url, HttpMethod method, Operation operation, DispatchCall call,
+            OnError error, OnLoad onLoad) {
         XMLHttpRequest xhr = new XMLHttpRequest();
 
         // The order of the XHR methods is important! Do not rearrange the code unless you know what you're doing!
         xhr.onload = event -> onLoad.onLoad(xhr);
         xhr.addEventListener("error",  //NON-NLS
-                event -> handleErrorCodes(url, (int) xhr.status, operation, error), false);
+                event -> {
+                    if (call != null) {
+                        finishCall(call, true);
+                    }
+                    handleErrorCodes(url, (int) xhr.status, operation, error);
+                }, false);
+        if (call != null) {
+            xhr.addEventListener("readystatechange", event -> { //NON-NLS
+                if ((int) xhr.readyState == HEADERS_RECEIVED) {
+                    call.headersReceived(now());
+                }
+            }, false);
+        }
         xhr.open(method.name(), url, true);
         xhr.setRequestHeader(X_MANAGEMENT_CLIENT_NAME.header(), HEADER_MANAGEMENT_CLIENT_VALUE);
         xhr.withCredentials = true;
@@ -456,6 +691,21 @@ public class Dispatcher implements RecordingHandler {
         return xhr;
     }
 
+    private DispatchCall newCall(Operation operation, int requestSize) {
+        return new DispatchCall(operation.getName(), DispatcherMetrics.addressTemplate(operation.getAddress()),
+                System.currentTimeMillis(), requestSize);
+    }
+
+    private void finishCall(DispatchCall call, boolean failed) {
+        call.finished(now(), failed);
+        metrics.record(call);
+    }
+
+    /** High resolution time in milliseconds used to measure the phases of a call */
+    private static native double now() /*-{
+        return $wnd.performance.now();
+    }-*/;
+
     private void handleErrorCodes(String url, int status, Operation operation, OnError error) {
         switch (status) {
             case 0:
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jsinterop.annotations.JsIgnore;
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUBSYSTEM;
+
+/**
+ * Collects the {@linkplain DispatchCall calls} of the dispatcher. The calls are aggregated into {@linkplain
+ * OperationMetrics histograms} per operation name and address template. In addition the most recent {@value
+ * #MAX_RECENT} calls are kept in a ring buffer.
+ * <p>
+ * The address template is the address of the operation with all resource names replaced by {@code *} (except the
+ * names of subsystems), so that e.g. all reads of data sources share one entry.
+ */
+@JsType(namespace = "hal.dmr")
+public class DispatcherMetrics {
+
+    static final int MAX_RECENT = 100;
+
+    /**
+     * @return the address with all values except the names of subsystems replaced by {@code *}
+     */
+    @JsMethod
+    public static String addressTemplate(ResourceAddress address) {
+        if (address == null || address.isEmpty()) {
+            return "/";
+        }
+        StringBuilder builder = new StringBuilder();
+        for (Property segment : address.asPropertyList()) {
+            builder.append('/').append(segment.getName()).append('=')
+                    .append(SUBSYSTEM.equals(segment.getName()) ? segment.getValue().asString() : "*");
+        }
+        return builder.toString();
+    }
+
+
+    private final Map<String, OperationMetrics> operations;
+    private final DispatchCall[] recent;
+    private int next;
+    private int calls;
+
+    @JsIgnore
+    public DispatcherMetrics() {
+        this.operations = new LinkedHashMap<>();
+        this.recent = new DispatchCall[MAX_RECENT];
+    }
+
+    @JsIgnore
+    public void record(DispatchCall call) {
+        String key = call.getOperation() + " " + call.getAddressTemplate();
+        OperationMetrics metrics = operations.get(key);
+        if (metrics == null) {
+            metrics = new OperationMetrics(call.getOperation(), call.getAddressTemplate());
+            operations.put(key, metrics);
+        }
+        metrics.record(call);
+        recent[next] = call;
+        next = (next + 1) % recent.length;
+        calls++;
+    }
+
+    /** Removes all metrics and recent calls. */
+    public void reset() {
+        operations.clear();
+        for (int i = 0; i < recent.length; i++) {
+            recent[i] = null;
+        }
+        next = 0;
+        calls = 0;
+    }
+
+    /** @return the metrics per operation name and address template in the order of their first call */
+    @JsProperty
+    public OperationMetrics[] getOperations() {
+        return operations.values().toArray(new OperationMetrics[operations.size()]);
+    }
+
+    /** @return the most recent calls, the latest call first */
+    @JsProperty
+    public DispatchCall[] getRecent() {
+        int size = Math.min(calls, recent.length);
+        DispatchCall[] result = new DispatchCall[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = recent[(next - 1 - i + recent.length) % recent.length];
+        }
+        return result;
+    }
+
+    /** @return the number of calls since the last reset */
+    @JsProperty
+    public int getCalls() {
+        return calls;
+    }
+
+    @Override
+    @JsIgnore
+    public String toString() {
+        return "DispatcherMetrics(calls: " + calls + ", operations: " + operations.size() + ")"; //NON-NLS
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.jboss.hal.dmr.dispatch;
 
+import java.util.function.Supplier;
+
 import org.jboss.hal.dmr.dispatch.Dispatcher.HttpMethod;
 import org.jboss.hal.dmr.ModelNode;
 
@@ -23,31 +25,24 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 
 public class DmrPayloadProcessor implements PayloadProcessor {
 
+    private final boolean lazy;
+
+    public DmrPayloadProcessor() {
+        this(false);
+    }
+
+    /**
+     * @param lazy whether nested objects and lists of the payload are decoded on demand
+     */
+    public DmrPayloadProcessor(final boolean lazy) {
+        this.lazy = lazy;
+    }
+
     @Override
     public ModelNode processPayload(final HttpMethod method, final String contentType, final String payload) {
         ModelNode node;
         if (contentType.startsWith(Dispatcher.APPLICATION_DMR_ENCODED)) {
-            try {
-                node = ModelNode.fromBase64(payload);
-                if (method == GET && !node.isFailure()) {
-                    // For GET request the response is purely the model nodes result. The outcome
-                    // is not send as part of the response but expressed with the HTTP status code.
-                    // In order to not break existing code, we repackage the payload into a
-                    // new model node with an "outcome" and "result" key.
-                    // TODO What about response headers?
-                    ModelNode repackaged = new ModelNode();
-                    repackaged.get(OUTCOME).set(SUCCESS);
-                    repackaged.get(RESULT).set(node);
-                    node = repackaged;
-                }
-            } catch (Throwable e) {
-                ModelNode err = new ModelNode();
-                err.get(OUTCOME).set(FAILED);
-                err.get(FAILURE_DESCRIPTION)
-                        .set("Failed to decode response: " + e.getClass().getName() + ": " + e.getMessage()); //NON-NLS
-                node = err;
-            }
-
+            node = decode(method, () -> ModelNode.fromBase64(payload, lazy));
         } else {
             node = new ModelNode();
             node.get(OUTCOME).set(FAILED);
@@ -55,4 +50,37 @@ public class DmrPayloadProcessor implements PayloadProcessor {
         }
         return node;
     }
+
+    /**
+     * Processes the raw DMR bytes of a response which was received using {@code responseType = "arraybuffer"} and
+     * content type {@value Dispatcher#APPLICATION_DMR_BINARY}.
+     */
+    ModelNode processBinaryPayload(final HttpMethod method, final Object arrayBuffer) {
+        return decode(method, () -> ModelNode.fromArrayBuffer(arrayBuffer, lazy));
+    }
+
+    private ModelNode decode(final HttpMethod method, final Supplier<ModelNode> decoder) {
+        ModelNode node;
+        try {
+            node = decoder.get();
+            if (method == GET && !node.isFailure()) {
+                // For GET request the response is purely the model nodes result. The outcome
+                // is not send as part of the response but expressed with the HTTP status code.
+                // In order to not break existing code, we repackage the payload into a
+                // new model node with an "outcome" and "result" key.
+                // TODO What about response headers?
+                ModelNode repackaged = new ModelNode();
+                repackaged.get(OUTCOME).set(SUCCESS);
+                repackaged.get(RESULT).set(node);
+                node = repackaged;
+            }
+        } catch (Throwable e) {
+            ModelNode err = new ModelNode();
+            err.get(OUTCOME).set(FAILED);
+            err.get(FAILURE_DESCRIPTION)
+                    .set("Failed to decode response: " + e.getClass().getName() + ": " + e.getMessage()); //NON-NLS
+            node = err;
+        }
+        return node;
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import jsinterop.annotations.JsIgnore;
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+
+/**
+ * Histogram with a fixed set of buckets. The memory is constant no matter how many values are recorded. Besides the
+ * bucket counts, the histogram keeps the count, sum, minimum and maximum of all values. Percentiles are estimated by
+ * the upper bound of the bucket which contains the percentile (capped by the maximum).
+ */
+@JsType(namespace = "hal.dmr")
+public class Histogram {
+
+    /** @return a histogram for durations in milliseconds from 1 ms to 1 min */
+    @JsIgnore
+    public static Histogram millis() {
+        return new Histogram(series(1, 60000));
+    }
+
+    /** @return a histogram for sizes in bytes from 100 bytes to 10 MB */
+    @JsIgnore
+    public static Histogram bytes() {
+        return new Histogram(series(100, 10000000));
+    }
+
+    /** @return the 1-2-5 series from {@code first} up to {@code last} */
+    private static double[] series(double first, double last) {
+        int size = 0;
+        for (double bound = first; bound <= last; bound *= 10) {
+            size += bound * 5 <= last ? 3 : bound * 2 <= last ? 2 : 1;
+        }
+        double[] bounds = new double[size];
+        int index = 0;
+        for (double bound = first; bound <= last && index < size; bound *= 10) {
+            bounds[index++] = bound;
+            if (index < size) {
+                bounds[index++] = bound * 2;
+            }
+            if (index < size) {
+                bounds[index++] = bound * 5;
+            }
+        }
+        return bounds;
+    }
+
+
+    private final double[] bounds;
+    private final int[] counts;
+    private int count;
+    private double sum;
+    private double min;
+    private double max;
+
+    /**
+     * @param bounds the ascending upper bounds of the buckets; values greater than the last bound are counted in an
+     *               additional overflow bucket
+     */
+    @JsIgnore
+    public Histogram(double[] bounds) {
+        this.bounds = bounds;
+        this.counts = new int[bounds.length + 1];
+    }
+
+    /** Records the specified value. Negative values are ignored. */
+    @JsIgnore
+    public void record(double value) {
+        if (value < 0) {
+            return;
+        }
+        int bucket = 0;
+        while (bucket < bounds.length && value > bounds[bucket]) {
+            bucket++;
+        }
+        counts[bucket]++;
+        min = count == 0 ? value : Math.min(min, value);
+        max = count == 0 ? value : Math.max(max, value);
+        sum += value;
+        count++;
+    }
+
+    /**
+     * Estimates the specified percentile.
+     *
+     * @param percentile The percentile between 0 and 100.
+     *
+     * @return the upper bound of the bucket which contains the percentile or 0 if there are no values
+     */
+    @JsMethod
+    public double percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        double rank = Math.max(1, Math.ceil(percentile / 100 * count));
+        int cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return i < bounds.length ? Math.min(bounds[i], max) : max;
+            }
+        }
+        return max;
+    }
+
+    /** Removes all values. */
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        count = 0;
+        sum = 0;
+        min = 0;
+        max = 0;
+    }
+
+    /** @return the number of recorded values */
+    @JsProperty
+    public int getCount() {
+        return count;
+    }
+
+    /** @return the sum of all values */
+    @JsProperty
+    public double getSum() {
+        return sum;
+    }
+
+    /** @return the mean of all values or 0 if there are no values */
+    @JsProperty
+    public double getMean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    /** @return the smallest value or 0 if there are no values */
+    @JsProperty
+    public double getMin() {
+        return min;
+    }
+
+    /** @return the largest value or 0 if there are no values */
+    @JsProperty
+    public double getMax() {
+        return max;
+    }
+
+    /** @return the upper bounds of the buckets */
+    @JsProperty
+    public double[] getBounds() {
+        return bounds;
+    }
+
+    /** @return the counts of the buckets; the last element is the number of values greater than the last bound */
+    @JsProperty
+    public int[] getCounts() {
+        return counts;
+    }
+
+    @Override
+    @JsIgnore
+    public String toString() {
+        return "Histogram(count: " + count + ", mean: " + Math.round(getMean()) + //NON-NLS
+                ", p50: " + percentile(50) + ", p95: " + percentile(95) + ", max: " + max + ")"; //NON-NLS
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jsinterop.annotations.JsIgnore;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import rx.Observable;
+import rx.Single;
+
+/**
+ * Coalesces identical read-only operations which are in flight at the same time. The first operation sends the
+ * request, all identical operations which are executed before the response arrives share this request. The response
+ * is fanned out to all subscribers: The subscriber which sent the request gets the original response, all others get
+ * a copy.
+ * <p>
+ * Operations are identical if their {@linkplain #key(Operation) canonical encoding} is equal. The encoding includes
+ * the address, the name, the parameters and the headers (e.g. the roles used by run-as).
+ * <p>
+ * Only read-only operations must be passed to this class. Write operations must never be coalesced.
+ */
+@JsType(namespace = "hal.dmr")
+public class InFlightRequests {
+
+    private final Map<String, Request> requests;
+    private int sent;
+    private int coalesced;
+
+    @JsIgnore
+    public InFlightRequests() {
+        this.requests = new HashMap<>();
+    }
+
+    /**
+     * Returns a single which shares the response of an identical operation in flight. If there's no such operation,
+     * the single subscribes to {@code request} and makes the response available for identical operations until it
+     * arrives.
+     */
+    @JsIgnore
+    public Single<ModelNode> coalesce(Operation operation, Single<ModelNode> request) {
+        String key = key(operation);
+        return Single.defer(() -> {
+            Request inFlight = requests.get(key);
+            if (inFlight != null) {
+                coalesced++;
+                return inFlight.response.toSingle().map(ModelNode::clone);
+            }
+            Request created = new Request();
+            created.response = request.toObservable()
+                    // remove the request before the response is emitted: subscribers which execute the same
+                    // operation in their callback must not join a request which has already been answered
+                    .doOnEach(notification -> remove(key, created))
+                    .doOnUnsubscribe(() -> remove(key, created))
+                    .publish()
+                    .refCount();
+            requests.put(key, created);
+            sent++;
+            return created.response.toSingle();
+        });
+    }
+
+    private void remove(String key, Request request) {
+        if (requests.get(key) == request) {
+            requests.remove(key);
+        }
+    }
+
+    /** Resets the statistics. */
+    public void resetStatistics() {
+        sent = 0;
+        coalesced = 0;
+    }
+
+    /** @return the number of read-only requests which were sent */
+    @JsProperty
+    public int getSent() {
+        return sent;
+    }
+
+    /** @return the number of requests which were saved because an identical request was in flight */
+    @JsProperty
+    public int getCoalesced() {
+        return coalesced;
+    }
+
+    /** @return the number of read-only requests which are currently in flight */
+    @JsProperty
+    public int getInFlight() {
+        return requests.size();
+    }
+
+    @Override
+    @JsIgnore
+    public String toString() {
+        return "InFlightRequests(sent: " + sent + ", coalesced: " + coalesced + ", in flight: " + //NON-NLS
+                requests.size() + ")"; //NON-NLS
+    }
+
+
+    // ------------------------------------------------------ canonical encoding
+
+    /**
+     * Returns the canonical encoding of the operation. The keys of objects are sorted, so the order in which
+     * parameters and headers were added does not matter. The order of list elements and address segments is kept.
+     */
+    static String key(Operation operation) {
+        StringBuilder builder = new StringBuilder();
+        append(builder, operation);
+        return builder.toString();
+    }
+
+    private static void append(StringBuilder builder, ModelNode node) {
+        switch (node.getType()) {
+            case OBJECT:
+                List<String> keys = new ArrayList<>(node.keys());
+                Collections.sort(keys);
+                builder.append('{');
+                for (String key : keys) {
+                    builder.append(key).append('=');
+                    append(builder, node.get(key));
+                    builder.append(',');
+                }
+                builder.append('}');
+                break;
+            case LIST:
+                builder.append('[');
+                for (ModelNode element : node.asList()) {
+                    append(builder, element);
+                    builder.append(',');
+                }
+                builder.append(']');
+                break;
+            case PROPERTY:
+                Property property = node.asProperty();
+                builder.append('(').append(property.getName()).append('=');
+                append(builder, property.getValue());
+                builder.append(')');
+                break;
+            case UNDEFINED:
+                builder.append('~');
+                break;
+            default:
+                String value = node.asString();
+                builder.append(node.getType().name().charAt(0)).append(value.length()).append(':').append(value);
+                break;
+        }
+    }
+
+
+    private static class Request {
+
+        Observable<ModelNode> response;
+    }
+}
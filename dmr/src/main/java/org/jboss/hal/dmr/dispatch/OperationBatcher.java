@@ -0,0 +1,206 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jsinterop.annotations.JsIgnore;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import rx.Scheduler;
+import rx.Single;
+import rx.SingleEmitter;
+import rx.functions.Func1;
+import rx.functions.Func2;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+
+/**
+ * Collects read-only operations which are executed within a short window and sends them as one composite. The first
+ * operation opens the window, all operations executed before the window closes join the batch. A window of 0 ms
+ * collects the operations executed in the current event loop turn.
+ * <p>
+ * The steps of the composite result are passed back to the original subscribers. Each step looks like the payload of
+ * a single operation and is processed like one (e.g. its response headers) before it's passed to the subscriber. If a
+ * step failed, the composite fails as a whole (which is how the management endpoint reports a failed step). The
+ * steps are still taken from the result of the failed composite: Steps with a failure description fail the related
+ * subscriber, successful steps are passed on. Only steps without an own outcome (the management endpoint rolls back
+ * steps which succeeded and reports them as failed w/o failure description) are sent again one by one, so that
+ * operations which would have succeeded on their own are not affected.
+ */
+@JsType(namespace = "hal.dmr")
+public class OperationBatcher {
+
+    /** The maximum number of operations in one batch. A full batch is sent immediately. */
+    static final int MAX_BATCH_SIZE = 50;
+
+    private final Func1<Operation, Single<ModelNode>> sender;
+    private final Func2<Operation, ModelNode, Single<ModelNode>> processor;
+    private final Scheduler.Worker worker;
+    private final List<Pending> pending;
+    private boolean scheduled;
+    private int operations;
+    private int requests;
+    private int fallbacks;
+
+    /**
+     * @param sender    sends an operation or a composite and returns the payload
+     * @param processor processes the successful step of an operation like the payload of the operation sent on its
+     *                  own
+     * @param scheduler used to close the window
+     */
+    @JsIgnore
+    public OperationBatcher(Func1<Operation, Single<ModelNode>> sender,
+            Func2<Operation, ModelNode, Single<ModelNode>> processor, Scheduler scheduler) {
+        this.sender = sender;
+        this.processor = processor;
+        this.worker = scheduler.createWorker();
+        this.pending = new ArrayList<>();
+    }
+
+    /**
+     * Adds the operation to the current batch or opens a new batch. Nothing happens until the returned single is
+     * subscribed.
+     *
+     * @param window the time in ms to wait for more operations if this operation opens a new batch
+     */
+    @JsIgnore
+    public Single<ModelNode> execute(Operation operation, int window) {
+        return Single.fromEmitter(emitter -> {
+            Pending p = new Pending(operation, emitter);
+            pending.add(p);
+            emitter.setCancellation(() -> pending.remove(p));
+            if (pending.size() >= MAX_BATCH_SIZE) {
+                flush();
+            } else if (!scheduled) {
+                scheduled = true;
+                worker.schedule(this::flush, window, MILLISECONDS);
+            }
+        });
+    }
+
+    /** Sends all pending operations. */
+    @JsIgnore
+    public void flush() {
+        scheduled = false;
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Pending> batch = new ArrayList<>(pending);
+        pending.clear();
+        operations += batch.size();
+
+        if (batch.size() == 1) {
+            send(batch.get(0));
+        } else {
+            requests++;
+            Composite composite = new Composite(batch.stream().map(p -> p.operation).collect(toList()));
+            sender.call(composite).subscribe(payload -> demultiplex(batch, payload), error -> {
+                ModelNode payload = error instanceof DispatchFailure ? ((DispatchFailure) error).getPayload() : null;
+                if (payload != null && payload.hasDefined(RESULT)) {
+                    demultiplex(batch, payload);
+                } else if (error instanceof DispatchFailure) {
+                    // no steps to pass on: isolate the failing operations
+                    fallbacks++;
+                    batch.forEach(this::send);
+                } else {
+                    batch.forEach(p -> p.emitter.onError(error));
+                }
+            });
+        }
+    }
+
+    private void demultiplex(List<Pending> batch, ModelNode payload) {
+        CompositeResult result = new CompositeResult(payload.get(RESULT));
+        List<Pending> rolledBack = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Pending p = batch.get(i);
+            ModelNode step = result.step(i);
+            if (!step.isFailure() && step.hasDefined(OUTCOME)) {
+                processor.call(p.operation, step).subscribe(p.emitter::onSuccess, p.emitter::onError);
+            } else if (step.hasDefined(FAILURE_DESCRIPTION)) {
+                p.emitter.onError(new DispatchFailure(p.operation, step.getFailureDescription(), step));
+            } else {
+                rolledBack.add(p);
+            }
+        }
+        if (!rolledBack.isEmpty()) {
+            fallbacks++;
+            rolledBack.forEach(this::send);
+        }
+    }
+
+    private void send(Pending p) {
+        requests++;
+        sender.call(p.operation).subscribe(p.emitter::onSuccess, p.emitter::onError);
+    }
+
+    /** Resets the statistics. */
+    public void resetStatistics() {
+        operations = 0;
+        requests = 0;
+        fallbacks = 0;
+    }
+
+    /** @return the number of operations which went through this batcher */
+    @JsProperty
+    public int getOperations() {
+        return operations;
+    }
+
+    /** @return the number of requests which were sent for these operations */
+    @JsProperty
+    public int getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return the number of batches whose operations (or some of them) were sent again one by one because the
+     * composite failed
+     */
+    @JsProperty
+    public int getFallbacks() {
+        return fallbacks;
+    }
+
+    @Override
+    @JsIgnore
+    public String toString() {
+        return "OperationBatcher(operations: " + operations + ", requests: " + requests + //NON-NLS
+                ", fallbacks: " + fallbacks + ")"; //NON-NLS
+    }
+
+
+    private static class Pending {
+
+        final Operation operation;
+        final SingleEmitter<ModelNode> emitter;
+
+        Pending(Operation operation, SingleEmitter<ModelNode> emitter) {
+            this.operation = operation;
+            this.emitter = emitter;
+        }
+    }
+}
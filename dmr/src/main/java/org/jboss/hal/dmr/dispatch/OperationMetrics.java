@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import jsinterop.annotations.JsIgnore;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+
+/** Histograms about all calls of one operation for one address template. */
+@JsType(namespace = "hal.dmr")
+public class OperationMetrics {
+
+    private final String operation;
+    private final String addressTemplate;
+    private final Histogram requestSize;
+    private final Histogram responseSize;
+    private final Histogram timeToFirstByte;
+    private final Histogram transferTime;
+    private final Histogram decodeTime;
+    private final Histogram callbackTime;
+    private final Histogram totalTime;
+    private int failures;
+
+    @JsIgnore
+    public OperationMetrics(String operation, String addressTemplate) {
+        this.operation = operation;
+        this.addressTemplate = addressTemplate;
+        this.requestSize = Histogram.bytes();
+        this.responseSize = Histogram.bytes();
+        this.timeToFirstByte = Histogram.millis();
+        this.transferTime = Histogram.millis();
+        this.decodeTime = Histogram.millis();
+        this.callbackTime = Histogram.millis();
+        this.totalTime = Histogram.millis();
+    }
+
+    @JsIgnore
+    public void record(DispatchCall call) {
+        requestSize.record(call.getRequestSize());
+        responseSize.record(call.getResponseSize());
+        timeToFirstByte.record(call.getTimeToFirstByte());
+        transferTime.record(call.getTransferTime());
+        decodeTime.record(call.getDecodeTime());
+        callbackTime.record(call.getCallbackTime());
+        totalTime.record(call.getTotalTime());
+        if (call.isFailed()) {
+            failures++;
+        }
+    }
+
+    /** @return the name of the operation */
+    @JsProperty
+    public String getOperation() {
+        return operation;
+    }
+
+    /** @return the address template of the operation */
+    @JsProperty
+    public String getAddressTemplate() {
+        return addressTemplate;
+    }
+
+    /** @return the number of calls */
+    @JsProperty
+    public int getCount() {
+        return requestSize.getCount();
+    }
+
+    /** @return the number of failed calls */
+    @JsProperty
+    public int getFailures() {
+        return failures;
+    }
+
+    @JsProperty
+    public Histogram getRequestSize() {
+        return requestSize;
+    }
+
+    @JsProperty
+    public Histogram getResponseSize() {
+        return responseSize;
+    }
+
+    @JsProperty
+    public Histogram getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    @JsProperty
+    public Histogram getTransferTime() {
+        return transferTime;
+    }
+
+    @JsProperty
+    public Histogram getDecodeTime() {
+        return decodeTime;
+    }
+
+    @JsProperty
+    public Histogram getCallbackTime() {
+        return callbackTime;
+    }
+
+    @JsProperty
+    public Histogram getTotalTime() {
+        return totalTime;
+    }
+
+    @Override
+    @JsIgnore
+    public String toString() {
+        return "OperationMetrics(" + operation + " @ " + addressTemplate + ", count: " + getCount() + //NON-NLS
+                ", failures: " + failures + ", total: " + totalTime + ")"; //NON-NLS
+    }
+}
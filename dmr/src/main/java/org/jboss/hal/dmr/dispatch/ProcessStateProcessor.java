@@ -15,6 +15,8 @@
  */
 package org.jboss.hal.dmr.dispatch;
 
+import java.util.HashSet;
+import java.util.Set;
 import javax.inject.Inject;
 
 import com.google.web.bindery.event.shared.EventBus;
@@ -27,10 +29,14 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.RESTART_REQUIRED;
 public class ProcessStateProcessor implements ResponseHeadersProcessor {
 
     private final EventBus eventBus;
+    private final ResponseCache responseCache;
+    private final Set<ServerState> serverStates;
 
     @Inject
-    public ProcessStateProcessor(final EventBus eventBus) {
+    public ProcessStateProcessor(final EventBus eventBus, final ResponseCache responseCache) {
         this.eventBus = eventBus;
+        this.responseCache = responseCache;
+        this.serverStates = new HashSet<>();
     }
 
     @Override
@@ -50,7 +56,18 @@ public class ProcessStateProcessor implements ResponseHeadersProcessor {
             }
         }
         if (!processState.isEmpty()) {
+            // Once reload or restart is required, all responses contain the process state. Flush the response cache
+            // only if a server reports a new state, otherwise nothing would be cached until the reload / restart.
+            boolean changed = false;
+            for (ServerState serverState : processState) {
+                changed |= serverStates.add(serverState);
+            }
+            if (changed) {
+                responseCache.clear();
+            }
             eventBus.fireEvent(new ProcessStateEvent(processState));
+        } else {
+            serverStates.clear();
         }
     }
 }
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+
+import com.google.web.bindery.event.shared.HandlerRegistration;
+import jsinterop.annotations.JsIgnore;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import rx.Scheduler;
+import rx.Single;
+import rx.schedulers.Schedulers;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDE_RUNTIME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+
+/**
+ * Caches the responses of idempotent read operations for a limited time. Cacheable are {@code read-resource}, {@code
+ * read-children-names} and {@code read-children-resources} unless they include runtime attributes, and composites
+ * which consist only of such operations. Operations built with {@link Operation.Builder#uncached()} bypass the
+ * cache.
+ * <p>
+ * Entries expire after the {@linkplain #getTtl() time to live}. Besides that, each write operation evicts the entries
+ * whose address is a prefix of the address of the write operation (e.g. the children of the parent resource) or which
+ * start with the address of the write operation (e.g. the resource itself and its descendants). Entries of reads
+ * which are in flight while an entry is evicted are not stored.
+ * <p>
+ * The number of entries is limited to {@value #MAX_ENTRIES}. If the limit is exceeded, the least recently used entry
+ * is removed.
+ * <p>
+ * The {@link Dispatcher} sets the time to live from {@link org.jboss.hal.config.Settings.Key#RESPONSE_CACHE}. The
+ * setting is off by default, since views which are refreshed by the user would otherwise show data which is up to
+ * one time to live old, if the data was changed by another client.
+ * <p>
+ * Other client side caches can register an {@linkplain #addInvalidationHandler(Consumer) invalidation handler} to be
+ * notified about write operations.
+ */
+@JsType(namespace = "hal.dmr")
+public class ResponseCache {
+
+    /** The default time to live in milliseconds */
+    @JsIgnore public static final int DEFAULT_TTL = 10000;
+    static final int MAX_ENTRIES = 250;
+
+    private final Scheduler scheduler;
+    private final Map<String, Entry> entries;
+    private final List<Consumer<ResourceAddress>> invalidationHandlers;
+    private int ttl;
+    private int generation;
+    private int hits;
+    private int misses;
+    private int evictions;
+
+    @Inject
+    @JsIgnore
+    public ResponseCache() {
+        this(Schedulers.computation());
+    }
+
+    /**
+     * @param scheduler the scheduler which provides the current time
+     */
+    @JsIgnore
+    public ResponseCache(Scheduler scheduler) {
+        this.scheduler = scheduler;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+        this.invalidationHandlers = new ArrayList<>();
+        this.ttl = DEFAULT_TTL;
+    }
+
+    /**
+     * Returns a single which emits the cached response of the operation if there's a valid entry. Otherwise the
+     * single subscribes to {@code request} and caches the response if it was successful. If the operation is not
+     * {@linkplain #cacheable(Operation) cacheable}, {@code request} is returned as is.
+     */
+    @JsIgnore
+    public Single<ModelNode> cache(Operation operation, Single<ModelNode> request) {
+        if (!cacheable(operation)) {
+            return request;
+        }
+        String key = InFlightRequests.key(operation);
+        return Single.defer(() -> {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (scheduler.now() < entry.expires) {
+                    hits++;
+                    return Single.just(entry.payload.clone());
+                }
+                entries.remove(key);
+            }
+            misses++;
+            int started = generation;
+            return request.doOnSuccess(payload -> {
+                // skip responses which might be outdated by a write operation executed in the meantime
+                if (started == generation) {
+                    entries.put(key, new Entry(addresses(operation), payload.clone(), scheduler.now() + ttl));
+                }
+            });
+        });
+    }
+
+    /**
+     * Returns a single which evicts the entries affected by the write operation when it's subscribed and again when
+     * the response arrives.
+     */
+    @JsIgnore
+    public Single<ModelNode> invalidate(Operation operation, Single<ModelNode> request) {
+        return Single.defer(() -> {
+            invalidate(operation);
+            return request
+                    .doOnSuccess(payload -> invalidate(operation))
+                    .doOnError(error -> invalidate(operation));
+        });
+    }
+
+    /** Evicts the entries affected by the write operation. */
+    @JsIgnore
+    public void invalidate(Operation operation) {
+        addresses(operation).forEach(this::invalidate);
+    }
+
+    /**
+     * Evicts all entries whose address is a prefix of the specified address or which start with the specified
+     * address.
+     *
+     * @param address The address of a modified resource.
+     */
+    public void invalidate(ResourceAddress address) {
+        generation++;
+        for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+            Entry entry = iterator.next();
+            if (entry.affectedBy(address)) {
+                iterator.remove();
+                evictions++;
+            }
+        }
+        notifyInvalidationHandlers(address);
+    }
+
+    /** Removes all entries. */
+    public void clear() {
+        generation++;
+        evictions += entries.size();
+        entries.clear();
+        notifyInvalidationHandlers(ResourceAddress.root());
+    }
+
+    /**
+     * Registers a handler which is called with the address of the modified resource whenever entries are
+     * {@linkplain #invalidate(ResourceAddress) invalidated}. If the cache is {@linkplain #clear() cleared}, the handler
+     * is called with the root address.
+     */
+    @JsIgnore
+    public HandlerRegistration addInvalidationHandler(Consumer<ResourceAddress> handler) {
+        invalidationHandlers.add(handler);
+        return () -> invalidationHandlers.remove(handler);
+    }
+
+    private void notifyInvalidationHandlers(ResourceAddress address) {
+        for (Consumer<ResourceAddress> handler : new ArrayList<>(invalidationHandlers)) {
+            handler.accept(address);
+        }
+    }
+
+    /** Resets the statistics, but keeps the entries. */
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /** @return the number of responses which were served from the cache */
+    @JsProperty
+    public int getHits() {
+        return hits;
+    }
+
+    /** @return the number of cacheable operations which were sent to the management endpoint */
+    @JsProperty
+    public int getMisses() {
+        return misses;
+    }
+
+    /** @return the ratio of hits to all cacheable operations or 0 if there were no cacheable operations yet */
+    @JsProperty
+    public double getHitRate() {
+        int lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /** @return the number of entries which were evicted by write operations or by clearing the cache */
+    @JsProperty
+    public int getEvictions() {
+        return evictions;
+    }
+
+    /** @return the number of entries currently in the cache (including expired entries) */
+    @JsProperty
+    public int getSize() {
+        return entries.size();
+    }
+
+    /** @return the time to live of new entries in milliseconds */
+    @JsProperty
+    public int getTtl() {
+        return ttl;
+    }
+
+    /** @param ttl the time to live of new entries in milliseconds; use 0 to disable the cache */
+    @JsProperty
+    public void setTtl(int ttl) {
+        this.ttl = ttl;
+        if (ttl <= 0) {
+            clear();
+        }
+    }
+
+    @Override
+    @JsIgnore
+    public String toString() {
+        return "ResponseCache(hits: " + hits + ", misses: " + misses + ", hit rate: " + //NON-NLS
+                Math.round(getHitRate() * 100) + "%, evictions: " + evictions + ", size: " + //NON-NLS
+                entries.size() + ")"; //NON-NLS
+    }
+
+
+    // ------------------------------------------------------ helper methods
+
+    /**
+     * @return whether the response of the operation can be cached
+     */
+    boolean cacheable(Operation operation) {
+        if (ttl <= 0 || operation.isUncached()) {
+            return false;
+        }
+        if (operation instanceof Composite) {
+            Composite composite = (Composite) operation;
+            if (composite.isEmpty()) {
+                return false;
+            }
+            for (Operation step : composite) {
+                if (!cacheableRead(step)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return cacheableRead(operation);
+    }
+
+    private boolean cacheableRead(Operation operation) {
+        String name = operation.getName();
+        boolean read = READ_RESOURCE_OPERATION.equals(name) || READ_CHILDREN_NAMES_OPERATION.equals(name) ||
+                READ_CHILDREN_RESOURCES_OPERATION.equals(name);
+        ModelNode parameter = operation.getParameter();
+        return read && !(parameter.hasDefined(INCLUDE_RUNTIME) && parameter.get(INCLUDE_RUNTIME).asBoolean(false));
+    }
+
+    private List<ResourceAddress> addresses(Operation operation) {
+        List<ResourceAddress> addresses = new ArrayList<>();
+        if (operation instanceof Composite) {
+            for (Operation step : (Composite) operation) {
+                addresses.addAll(addresses(step));
+            }
+        } else {
+            addresses.add(operation.getAddress());
+        }
+        return addresses;
+    }
+
+
+    private static class Entry {
+
+        final List<ResourceAddress> addresses;
+        final ModelNode payload;
+        final long expires;
+
+        Entry(List<ResourceAddress> addresses, ModelNode payload, long expires) {
+            this.addresses = addresses;
+            this.payload = payload;
+            this.expires = expires;
+        }
+
+        boolean affectedBy(ResourceAddress address) {
+            for (ResourceAddress entryAddress : addresses) {
+                if (address.startsWith(entryAddress) || entryAddress.startsWith(address)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
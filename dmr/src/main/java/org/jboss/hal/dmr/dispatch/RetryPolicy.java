@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.Random;
+
+import jsinterop.annotations.JsIgnore;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+import org.jboss.hal.dmr.ModelNode;
+import rx.Observable;
+import rx.Scheduler;
+import rx.Single;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Retries idempotent operations which failed because the management endpoint was {@linkplain
+ * DispatchError#isTransient() temporarily unavailable}. The delay between the attempts grows exponentially from
+ * {@linkplain #getInitialDelay() the initial delay} up to {@linkplain #getMaxDelay() the maximum delay}. A random
+ * jitter spreads the retries of many callers over time.
+ * <p>
+ * If the shared {@link CircuitBreaker} is open, the retry waits at least until the circuit lets a probe call through.
+ * So all callers back off together instead of stampeding a booting host controller.
+ * <p>
+ * Only pass idempotent (read-only) operations to this class.
+ */
+@JsType(namespace = "hal.dmr")
+public class RetryPolicy {
+
+    static final int DEFAULT_MAX_RETRIES = 5;
+    static final int DEFAULT_INITIAL_DELAY = 500;
+    static final int DEFAULT_MAX_DELAY = 10000;
+    static final double DEFAULT_JITTER = 0.5;
+
+    private final Scheduler scheduler;
+    private final Random random;
+    private int maxRetries;
+    private int initialDelay;
+    private int maxDelay;
+    private double jitter;
+    private int retries;
+
+    /**
+     * @param scheduler the scheduler used to delay the retries
+     */
+    @JsIgnore
+    public RetryPolicy(Scheduler scheduler) {
+        this(scheduler, new Random());
+    }
+
+    @JsIgnore
+    public RetryPolicy(Scheduler scheduler, Random random) {
+        this.scheduler = scheduler;
+        this.random = random;
+        this.maxRetries = DEFAULT_MAX_RETRIES;
+        this.initialDelay = DEFAULT_INITIAL_DELAY;
+        this.maxDelay = DEFAULT_MAX_DELAY;
+        this.jitter = DEFAULT_JITTER;
+    }
+
+    /**
+     * Returns a single which subscribes to {@code request} again after a delay, if it fails with a transient error.
+     * All other errors and the error of the last attempt are passed on.
+     */
+    @JsIgnore
+    public Single<ModelNode> retry(Single<ModelNode> request, CircuitBreaker circuitBreaker) {
+        return request.toObservable()
+                .retryWhen(errors -> {
+                    int[] attempt = new int[]{0}; // per subscription
+                    return errors.flatMap(error -> {
+                        if (!DispatchError.isTransient(error) || attempt[0] >= maxRetries) {
+                            return Observable.error(error);
+                        }
+                        long delay = Math.max(delay(attempt[0]++), circuitBreaker.getRemainingOpenTime());
+                        retries++;
+                        return Observable.timer(delay, MILLISECONDS, scheduler);
+                    });
+                })
+                .toSingle();
+    }
+
+    /**
+     * @return the delay before the specified (zero based) retry: {@code initialDelay * 2^attempt} capped by {@code
+     * maxDelay} and reduced by a random fraction of up to {@code jitter}
+     */
+    long delay(int attempt) {
+        double exponential = Math.min(maxDelay, initialDelay * Math.pow(2, Math.min(attempt, 30)));
+        return Math.round(exponential * (1 - jitter * random.nextDouble()));
+    }
+
+    /** Resets the statistics. */
+    public void resetStatistics() {
+        retries = 0;
+    }
+
+    /** @return the number of retries since the last reset */
+    @JsProperty
+    public int getRetries() {
+        return retries;
+    }
+
+    /** @return the maximum number of retries per operation; use 0 to disable retries */
+    @JsProperty
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    @JsProperty
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    /** @return the delay in milliseconds before the first retry */
+    @JsProperty
+    public int getInitialDelay() {
+        return initialDelay;
+    }
+
+    @JsProperty
+    public void setInitialDelay(int initialDelay) {
+        this.initialDelay = Math.max(0, initialDelay);
+    }
+
+    /** @return the maximum delay in milliseconds between two retries */
+    @JsProperty
+    public int getMaxDelay() {
+        return maxDelay;
+    }
+
+    @JsProperty
+    public void setMaxDelay(int maxDelay) {
+        this.maxDelay = Math.max(0, maxDelay);
+    }
+
+    /** @return the maximum fraction (between 0 and 1) by which a delay is randomly reduced */
+    @JsProperty
+    public double getJitter() {
+        return jitter;
+    }
+
+    @JsProperty
+    public void setJitter(double jitter) {
+        this.jitter = Math.min(1, Math.max(0, jitter));
+    }
+
+    @Override
+    @JsIgnore
+    public String toString() {
+        return "RetryPolicy(max retries: " + maxRetries + ", initial delay: " + initialDelay + //NON-NLS
+                " ms, max delay: " + maxDelay + " ms, retries: " + retries + ")"; //NON-NLS
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.io.IOException;
+import java.util.Base64;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class Base64DataInputTest {
+
+    @Test
+    public void empty() throws Exception {
+        assertEquals(-1, new Base64DataInput("").read());
+    }
+
+    @Test
+    public void remainders() throws Exception {
+        // cover all three padding variants: no padding, '=' and '=='
+        for (int length = 1; length <= 6; length++) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) (0xF0 + i);
+            }
+            assertBytes(bytes, Base64.getEncoder().encodeToString(bytes));
+            assertBytes(bytes, Base64.getEncoder().withoutPadding().encodeToString(bytes));
+        }
+    }
+
+    @Test
+    public void whitespace() throws Exception {
+        byte[] bytes = "Lorem ipsum dolor sit amet".getBytes("UTF-8");
+        assertBytes(bytes, Base64.getMimeEncoder(8, "\r\n".getBytes()).encodeToString(bytes));
+    }
+
+    @Test(expected = IOException.class)
+    public void illegalCharacter() throws Exception {
+        new Base64DataInput("AB$D").read();
+    }
+
+    @Test(expected = IOException.class)
+    public void danglingCharacter() throws Exception {
+        Base64DataInput in = new Base64DataInput("QUJDR");
+        for (int i = 0; i < 4; i++) {
+            in.read();
+        }
+    }
+
+    @Test
+    public void primitives() throws Exception {
+        ModelNode node = new ModelNode();
+        node.get("int").set(Integer.MIN_VALUE);
+        node.get("long").set(Long.MAX_VALUE);
+        node.get("boolean").set(true);
+        node.get("string").set("Grüße, 世界");
+        node.get("expression").setExpression("${jboss.home.dir}");
+        node.get("type").set(ModelType.OBJECT);
+        node.get("property").set("foo", "bar");
+        node.get("list").add(1).add("two").add(false);
+        node.get("undefined");
+
+        assertEquals(node, ModelNode.fromBase64(Payloads.base64(node)));
+    }
+
+    @Test
+    public void resourceDescription() throws Exception {
+        ModelNode response = Payloads.response(Payloads.resourceDescription(20, 3, 3));
+        byte[] bytes = Payloads.bytes(response);
+
+        ModelNode expected = new ModelNode();
+        expected.readExternal(new DataInput(bytes));
+        assertEquals(expected, ModelNode.fromBase64(Base64.getEncoder().encodeToString(bytes)));
+    }
+
+    @Test
+    public void randomAccess() throws Exception {
+        // the bytes are decoded up front, so the data input supports random access
+        Base64DataInput in = new Base64DataInput(Base64.getEncoder().encodeToString("ABCDEF".getBytes("UTF-8")));
+        in.skipBytes(2);
+        assertEquals(2, in.position());
+        assertEquals('E', in.at(4).read());
+        assertEquals('C', in.read());
+    }
+
+    @Test
+    public void decode() throws Exception {
+        for (int length = 0; length <= 6; length++) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) (0xF0 + i);
+            }
+            assertArrayEquals(bytes, Base64DataInput.decode(Base64.getEncoder().encodeToString(bytes)));
+            assertArrayEquals(bytes, Base64DataInput.decode(Base64.getMimeEncoder(4, "\n".getBytes())
+                    .encodeToString(bytes)));
+        }
+    }
+
+    private void assertBytes(byte[] expected, String encoded) throws IOException {
+        Base64DataInput in = new Base64DataInput(encoded);
+        for (byte b : expected) {
+            assertEquals(b & 0xFF, in.read());
+        }
+        assertEquals(-1, in.read());
+    }
+}
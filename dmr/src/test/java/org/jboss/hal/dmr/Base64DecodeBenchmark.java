@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the one-pass base64 decoder against the former three-copy path which decoded the payload to a string
+ * ({@code atob}), copied the string into a byte array and finally parsed the byte array. The binary benchmark reads
+ * the raw DMR bytes as received by the binary transport.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.mainClass=org.jboss.hal.dmr.Base64DecodeBenchmark
+ * -Dexec.classpathScope=test} or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Base64DecodeBenchmark {
+
+    @Param({"1", "3", "4"}) private int depth;
+    private byte[] bytes;
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        bytes = Payloads.bytes(Payloads.response(Payloads.resourceDescription(25, 4, depth)));
+        encoded = Base64.getEncoder().encodeToString(bytes);
+    }
+
+    @Benchmark
+    public ModelNode threeCopies() throws IOException {
+        String decoded = new String(Base64.getDecoder().decode(encoded), StandardCharsets.ISO_8859_1);
+        byte[] bytes = new byte[decoded.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) decoded.charAt(i);
+        }
+        ModelNode node = new ModelNode();
+        node.readExternal(new DataInput(bytes));
+        return node;
+    }
+
+    @Benchmark
+    public ModelNode onePass() {
+        return ModelNode.fromBase64(encoded);
+    }
+
+    @Benchmark
+    public ModelNode binary() throws IOException {
+        ModelNode node = new ModelNode();
+        node.readExternal(new DataInput(bytes));
+        return node;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(Base64DecodeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.Base64;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the raw DMR bytes used by the binary transport with the base64 encoded payload. Run {@link
+ * Base64DecodeBenchmark} for a comparison of the decode times.
+ */
+@SuppressWarnings("HardCodedStringLiteral")
+public class BinaryTransportTest {
+
+    private ModelNode response;
+    private byte[] binary;
+    private String base64;
+
+    @Before
+    public void setUp() {
+        response = Payloads.response(Payloads.resourceDescription(25, 4, 3));
+        binary = response.toBytes();
+        base64 = Base64.getEncoder().encodeToString(binary);
+    }
+
+    @Test
+    public void payloadSize() {
+        // base64 encodes three bytes as four characters: the binary payload must save ~25%
+        assertEquals((binary.length + 2) / 3 * 4, base64.length());
+        assertTrue(binary.length <= base64.length() * 3 / 4);
+    }
+
+    @Test
+    public void sameModel() throws Exception {
+        ModelNode fromBinary = new ModelNode();
+        fromBinary.readExternal(new DataInput(binary));
+
+        assertEquals(response, fromBinary);
+        assertEquals(response, ModelNode.fromBase64(base64));
+    }
+
+    @Test
+    public void operation() throws Exception {
+        ResourceAddress address = new ResourceAddress().add(SUBSYSTEM, "datasources").add(DATA_SOURCE, "ExampleDS");
+        Operation operation = new Operation.Builder(address, READ_RESOURCE_OPERATION)
+                .param(INCLUDE_RUNTIME, true)
+                .build();
+
+        ModelNode decoded = new ModelNode();
+        decoded.readExternal(new DataInput(operation.toBytes()));
+        assertEquals(operation, new Operation(decoded));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+
+/**
+ * Compares mutable and {@linkplain ModelNode#protect() protected} (compact) resource descriptions: The latency of
+ * {@link ModelNode#get(String)} on attribute descriptions and the time to protect a description. The retained heap
+ * of both representations is measured and printed by {@link #main(String[])} before the benchmarks are run.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.mainClass=org.jboss.hal.dmr.CompactModelNodeBenchmark
+ * -Dexec.classpathScope=test} or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("HardCodedStringLiteral")
+public class CompactModelNodeBenchmark {
+
+    private static final String[] KEYS = {TYPE, DESCRIPTION, NILLABLE, ACCESS_TYPE, STORAGE, DEFAULT, "missing"};
+
+    @Param({"mutable", "compact"}) private String representation;
+    private ModelNode description;
+    private String[] attributes;
+
+    @Setup
+    public void setup() {
+        description = Payloads.resourceDescription(50, 4, 2);
+        if ("compact".equals(representation)) {
+            description.protect();
+        }
+        attributes = new String[50];
+        for (int i = 0; i < attributes.length; i++) {
+            attributes[i] = "attribute-" + i;
+        }
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        ModelNode attributeDescriptions = description.get(ATTRIBUTES);
+        for (String attribute : attributes) {
+            ModelNode attributeDescription = attributeDescriptions.get(attribute);
+            for (String key : KEYS) {
+                blackhole.consume(attributeDescription.hasDefined(key) ? attributeDescription.get(key) : null);
+            }
+        }
+    }
+
+    @Benchmark
+    public ModelNode protect() {
+        ModelNode copy = description.clone();
+        copy.protect();
+        return copy;
+    }
+
+    /** Retained heap in bytes of {@code count} resource descriptions. */
+    private static long footprint(int count, boolean compact) {
+        List<ModelNode> descriptions = new ArrayList<>(count);
+        long before = usedMemory();
+        for (int i = 0; i < count; i++) {
+            ModelNode description = Payloads.resourceDescription(50, 4, 2);
+            if (compact) {
+                description.protect();
+            }
+            descriptions.add(description);
+        }
+        long after = usedMemory();
+        if (descriptions.size() != count) {
+            throw new IllegalStateException();
+        }
+        return after - before;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        int count = 20;
+        long mutable = footprint(count, false);
+        long compact = footprint(count, true);
+        System.out.printf("Footprint of %d descriptions: mutable %,d bytes, compact %,d bytes (%.0f%%)%n", count,
+                mutable, compact, 100.0 * compact / mutable);
+        new Runner(new OptionsBuilder().include(CompactModelNodeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
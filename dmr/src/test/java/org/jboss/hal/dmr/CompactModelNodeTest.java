@@ -0,0 +1,164 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.*;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class CompactModelNodeTest {
+
+    private ModelNode mutable;
+    private ModelNode compact;
+
+    @Before
+    public void setUp() {
+        mutable = Payloads.resourceDescription(10, 2, 1);
+        mutable.get("zzz").set("last");
+        mutable.get("aaa").set("first");
+        compact = mutable.clone();
+        compact.protect();
+    }
+
+    @Test
+    public void compact() {
+        assertTrue(compact.modelValue() instanceof CompactObjectModelValue);
+        assertTrue(compact.get(ATTRIBUTES).modelValue() instanceof CompactObjectModelValue);
+        assertTrue(mutable.modelValue() instanceof ObjectModelValue);
+    }
+
+    @Test
+    public void get() {
+        assertEquals(mutable.get(DESCRIPTION), compact.get(DESCRIPTION));
+        assertEquals(ModelType.INT, compact.get(ATTRIBUTES).get("attribute-0").get(TYPE).asType());
+        assertTrue(compact.get(ATTRIBUTES).get("attribute-0").get(NILLABLE).asBoolean());
+        assertEquals("first", compact.get("aaa").asString());
+        assertEquals("last", compact.get("zzz").asString());
+        assertTrue(compact.has("aaa"));
+        assertFalse(compact.has("bbb"));
+        assertTrue(compact.hasDefined(ATTRIBUTES));
+        assertFalse(compact.hasDefined("bbb"));
+        assertEquals("first", compact.require("aaa").asString());
+    }
+
+    @Test
+    public void order() {
+        assertEquals(new ArrayList<>(mutable.keys()), new ArrayList<>(compact.keys()));
+        assertEquals(names(mutable.get(ATTRIBUTES).asPropertyList()),
+                names(compact.get(ATTRIBUTES).asPropertyList()));
+        assertEquals(mutable.toString(), compact.toString());
+        assertEquals(mutable.toJSONString(false), compact.toJSONString(false));
+    }
+
+    @Test
+    public void equality() {
+        assertEquals(mutable, compact);
+        assertEquals(compact, mutable);
+        assertEquals(mutable.hashCode(), compact.hashCode());
+    }
+
+    @Test
+    public void sharedLeaves() {
+        ModelNode attributes = compact.get(ATTRIBUTES);
+        assertSame(attributes.get("attribute-1").get(NILLABLE), attributes.get("attribute-2").get(NILLABLE));
+        assertSame(attributes.get("attribute-1").get(ACCESS_TYPE), attributes.get("attribute-2").get(ACCESS_TYPE));
+        assertSame(attributes.get("attribute-1").get(TYPE), attributes.get("attribute-2").get(TYPE));
+    }
+
+    @Test
+    public void binary() {
+        ModelNode decoded = ModelNode.fromBase64(Payloads.base64(compact));
+        assertEquals(mutable, decoded);
+        assertEquals(mutable.toString(), decoded.toString());
+    }
+
+    @Test
+    public void copyIsMutable() {
+        ModelNode copy = compact.clone();
+        copy.get("new").set("value");
+        copy.get(ATTRIBUTES).get("attribute-0").get(NILLABLE).set(false);
+        assertFalse(compact.has("new"));
+        assertTrue(compact.get(ATTRIBUTES).get("attribute-0").get(NILLABLE).asBoolean());
+
+        ModelNode node = new ModelNode();
+        node.set(compact);
+        node.get("new").set("value");
+        assertEquals("value", node.get("new").asString());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void set() {
+        compact.get(DESCRIPTION).set("foo");
+    }
+
+    @Test
+    public void getMissing() {
+        assertFalse(compact.get("missing").isDefined());
+        assertFalse(compact.get("missing", "nested", "path").isDefined());
+        assertFalse(compact.has("missing"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void setMissing() {
+        compact.get("missing").set("foo");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void remove() {
+        compact.remove(DESCRIPTION);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addToList() {
+        ModelNode node = new ModelNode();
+        node.get("list").add("foo");
+        node.protect();
+        node.get("list").add("bar");
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void requireMissing() {
+        compact.require("missing");
+    }
+
+    @Test
+    public void sortedInput() {
+        ModelNode node = new ModelNode();
+        for (String key : asList("a", "b", "c")) {
+            node.get(key).set(key);
+        }
+        node.protect();
+        assertEquals(asList("a", "b", "c"), new ArrayList<>(node.keys()));
+        assertEquals("b", node.get("b").asString());
+        assertFalse(node.has("d"));
+    }
+
+    private List<String> names(List<Property> properties) {
+        List<String> names = new ArrayList<>();
+        for (Property property : properties) {
+            names.add(property.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Round-trips realistic management model payloads through {@link DataOutput} and {@link DataInput}: numeric runtime
+ * metrics (longs, doubles) and string heavy resource descriptions.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.mainClass=org.jboss.hal.dmr.DataInputOutputBenchmark
+ * -Dexec.classpathScope=test} or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataInputOutputBenchmark {
+
+    @Param({"metrics", "description"}) private String payload;
+    private ModelNode node;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        node = "metrics".equals(payload)
+                ? Payloads.response(Payloads.metrics(200))
+                : Payloads.response(Payloads.resourceDescription(25, 4, 3));
+        bytes = node.toBytes();
+    }
+
+    @Benchmark
+    public byte[] write() {
+        return node.toBytes();
+    }
+
+    @Benchmark
+    public ModelNode read() throws IOException {
+        ModelNode decoded = new ModelNode();
+        decoded.readExternal(new DataInput(bytes));
+        return decoded;
+    }
+
+    @Benchmark
+    public ModelNode roundTrip() throws IOException {
+        ModelNode decoded = new ModelNode();
+        decoded.readExternal(new DataInput(node.toBytes()));
+        return decoded;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DataInputOutputBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class DataInputOutputTest {
+
+    private static final String[] STRINGS = new String[]{
+            "", "ascii", "äöü ß", "€ 世界", "mixed ascii and ümlauts", "\u0000 nul",
+    };
+
+    @Test
+    public void primitives() throws Exception {
+        DataOutput out = new DataOutput(16);
+        out.writeBoolean(true);
+        out.writeByte(-42);
+        out.writeShort(-4242);
+        out.writeChar('ä');
+        out.writeInt(Integer.MIN_VALUE);
+        out.writeLong(Long.MIN_VALUE);
+        out.writeLong(-1L);
+        out.writeLong(1234567890123456789L);
+        out.writeFloat(3.14f);
+        out.writeDouble(Math.PI);
+        out.writeDouble(Double.NaN);
+        out.writeDouble(Double.NEGATIVE_INFINITY);
+        out.writeDouble(-0.0);
+
+        DataInput in = new DataInput(out.getBytes());
+        assertTrue(in.readBoolean());
+        assertEquals(-42, in.readByte());
+        assertEquals(-4242, in.readShort());
+        assertEquals('ä', in.readChar());
+        assertEquals(Integer.MIN_VALUE, in.readInt());
+        assertEquals(Long.MIN_VALUE, in.readLong());
+        assertEquals(-1L, in.readLong());
+        assertEquals(1234567890123456789L, in.readLong());
+        assertEquals(3.14f, in.readFloat(), 0);
+        assertEquals(Math.PI, in.readDouble(), 0);
+        assertTrue(Double.isNaN(in.readDouble()));
+        assertEquals(Double.NEGATIVE_INFINITY, in.readDouble(), 0);
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(in.readDouble()));
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void utf() throws Exception {
+        DataOutput out = new DataOutput();
+        for (String string : STRINGS) {
+            out.writeUTF(string);
+        }
+        DataInput in = new DataInput(out.getBytes());
+        for (String string : STRINGS) {
+            assertEquals(string, in.readUTF());
+        }
+    }
+
+    @Test
+    public void truncatedSequence() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        // three byte sequence cut after the lead byte and the first continuation byte
+        out.writeShort(3);
+        out.write(new byte[]{'A', (byte) 0xe4, (byte) 0xb8});
+        // two byte sequence cut after the lead byte
+        out.writeShort(1);
+        out.write(0xc3);
+        out.writeUTF("next");
+        out.writeInt(42);
+
+        DataInput in = new DataInput(bytes.toByteArray());
+        assertEquals("A??", in.readUTF());
+        assertEquals("?", in.readUTF());
+        // the following values must not be affected
+        assertEquals("next", in.readUTF());
+        assertEquals(42, in.readInt());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void compatibleWithJdk() throws Exception {
+        // modified UTF-8 and big endian primitives as written by java.io.DataOutputStream (used by the server)
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream jdk = new DataOutputStream(baos);
+        DataOutput out = new DataOutput();
+        for (String string : STRINGS) {
+            jdk.writeUTF(string);
+            out.writeUTF(string);
+        }
+        jdk.writeDouble(Math.E);
+        out.writeDouble(Math.E);
+        jdk.writeLong(Long.MAX_VALUE - 1);
+        out.writeLong(Long.MAX_VALUE - 1);
+        jdk.writeFloat(-1.5f);
+        out.writeFloat(-1.5f);
+        assertArrayEquals(baos.toByteArray(), out.getBytes());
+    }
+
+    @Test
+    public void growBuffer() throws Exception {
+        DataOutput out = new DataOutput(16);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.append("äbc");
+        }
+        String long1 = builder.toString();
+        out.writeUTF(long1);
+        out.writeUTF("tail");
+        assertEquals(2 + 4000 + 2 + 4, out.size());
+
+        DataInput in = new DataInput(out.getBytes());
+        assertEquals(long1, in.readUTF());
+        assertEquals("tail", in.readUTF());
+    }
+
+    @Test
+    public void readFullyAndSkip() throws Exception {
+        DataInput in = new DataInput(new byte[]{1, 2, 3, 4, 5});
+        assertEquals(2, in.skipBytes(2));
+        byte[] b = new byte[2];
+        in.readFully(b);
+        assertArrayEquals(new byte[]{3, 4}, b);
+        assertEquals(1, in.skipBytes(10));
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        ModelNode node = new ModelNode();
+        node.get("metrics").set(Payloads.metrics(10));
+        node.get("description").set(Payloads.resourceDescription(10, 2, 2));
+        node.get("bytes").set(new byte[]{0, -1, 42});
+
+        ModelNode decoded = new ModelNode();
+        decoded.readExternal(new DataInput(node.toBytes()));
+        assertEquals(node, decoded);
+        assertEquals(node, ModelNode.fromBase64(Payloads.base64(node)));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.*;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class KeyDictionaryTest {
+
+    private KeyDictionary dictionary;
+
+    @Before
+    public void setUp() {
+        dictionary = new KeyDictionary(1024);
+    }
+
+    @Test
+    public void sharedKeys() throws Exception {
+        ModelNode description = decode(Payloads.resourceDescription(20, 2, 2));
+        ModelNode attribute0 = description.get(ATTRIBUTES).get("attribute-0");
+        ModelNode attribute1 = description.get(ATTRIBUTES).get("attribute-1");
+
+        assertSame(key(attribute0, ACCESS_TYPE), key(attribute1, ACCESS_TYPE));
+        assertSame(key(attribute0, NILLABLE), key(attribute1, NILLABLE));
+        assertSame(key(attribute0, EXPRESSIONS_ALLOWED), key(attribute1, EXPRESSIONS_ALLOWED));
+    }
+
+    @Test
+    public void hitRate() throws Exception {
+        decode(Payloads.resourceDescription(20, 2, 2));
+        assertTrue(dictionary.getHits() > 0);
+        assertTrue(dictionary.getHitRate() > 0.9);
+
+        dictionary.resetStatistics();
+        decode(Payloads.resourceDescription(20, 2, 2));
+        assertEquals(0, dictionary.getMisses());
+        assertEquals(1.0, dictionary.getHitRate(), 0);
+        assertTrue(dictionary.getSavedChars() > 0);
+    }
+
+    @Test
+    public void collision() {
+        // "Aa" and "BB" have the same hash code
+        KeyDictionary tiny = new KeyDictionary(1);
+        assertEquals("Aa", tiny.intern("Aa".toCharArray(), 2));
+        assertEquals("BB", tiny.intern("BB".toCharArray(), 2));
+        assertEquals("Aa", tiny.intern("Aa".toCharArray(), 2));
+        assertEquals(0, tiny.getHits());
+        assertEquals(3, tiny.getMisses());
+    }
+
+    @Test
+    public void longKeys() {
+        char[] chars = new char[KeyDictionary.MAX_KEY_LENGTH + 1];
+        java.util.Arrays.fill(chars, 'x');
+        String first = dictionary.intern(chars, chars.length);
+        String second = dictionary.intern(chars, chars.length);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(0, dictionary.getSize());
+    }
+
+    @Test
+    public void clear() {
+        dictionary.intern("foo".toCharArray(), 3);
+        assertEquals(1, dictionary.getSize());
+        dictionary.clear();
+        assertEquals(0, dictionary.getSize());
+        assertEquals(0, dictionary.getMisses());
+    }
+
+    private ModelNode decode(ModelNode node) throws IOException {
+        ModelNode decoded = new ModelNode();
+        decoded.readExternal(new DataInput(node.toBytes(), dictionary));
+        assertEquals(node, decoded);
+        return decoded;
+    }
+
+    private String key(ModelNode node, String name) {
+        for (String key : node.keys()) {
+            if (key.equals(name)) {
+                return key;
+            }
+        }
+        fail("No key " + name);
+        return null;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+
+/**
+ * Compares eager and lazy decoding of a large, deeply nested response. {@code firstRender} decodes the response and
+ * reads a handful of attributes, like a presenter which shows the top level attributes of a {@code
+ * read-resource(recursive=true)} result. {@code fullTraversal} visits the complete result and shows the overhead of
+ * lazy decoding in the worst case.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.mainClass=org.jboss.hal.dmr.LazyDecodeBenchmark
+ * -Dexec.classpathScope=test} or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("HardCodedStringLiteral")
+public class LazyDecodeBenchmark {
+
+    @Param({"false", "true"}) private boolean lazy;
+    private String base64;
+
+    @Setup
+    public void setup() {
+        base64 = Payloads.base64(Payloads.response(Payloads.resourceDescription(30, 5, 3)));
+    }
+
+    @Benchmark
+    public String firstRender() {
+        ModelNode result = ModelNode.fromBase64(base64, lazy).get(RESULT);
+        StringBuilder builder = new StringBuilder(result.get(DESCRIPTION).asString());
+        for (String key : result.get(CHILDREN).keys()) {
+            builder.append(key);
+        }
+        return builder.toString();
+    }
+
+    @Benchmark
+    public String fullTraversal() {
+        return ModelNode.fromBase64(base64, lazy).toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LazyDecodeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
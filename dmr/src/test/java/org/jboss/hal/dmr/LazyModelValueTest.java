@@ -0,0 +1,158 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.*;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class LazyModelValueTest {
+
+    private ModelNode eager;
+    private ModelNode lazy;
+
+    @Before
+    public void setUp() {
+        ModelNode result = Payloads.resourceDescription(10, 3, 2);
+        result.get("list").add("foo").add(42).add().get("nested").set(true);
+        String base64 = Payloads.base64(Payloads.response(result));
+        eager = ModelNode.fromBase64(base64);
+        lazy = ModelNode.fromBase64(base64, true);
+    }
+
+    @Test
+    public void topLevelIsDecoded() {
+        assertTrue(lazy.modelValue() instanceof ObjectModelValue);
+        assertEquals(SUCCESS, lazy.get(OUTCOME).asString());
+        assertFalse(lazy.isFailure());
+    }
+
+    @Test
+    public void nestedIsDeferred() {
+        LazyModelValue result = lazyValue(lazy.get(RESULT));
+        assertEquals(ModelType.OBJECT, lazy.get(RESULT).getType());
+        assertFalse(result.isMaterialized());
+
+        lazy.get(RESULT).get(DESCRIPTION);
+        assertTrue(result.isMaterialized());
+        assertFalse(lazyValue(lazy.get(RESULT).get(ATTRIBUTES)).isMaterialized());
+        assertFalse(lazyValue(lazy.get(RESULT).get(CHILDREN)).isMaterialized());
+    }
+
+    @Test
+    public void values() {
+        assertEquals(eager.get(RESULT).get(DESCRIPTION), lazy.get(RESULT).get(DESCRIPTION));
+        assertEquals(ModelType.INT, lazy.get(RESULT, ATTRIBUTES, "attribute-0", TYPE).asType());
+        assertEquals(eager.get(RESULT, CHILDREN, "child-1", MODEL_DESCRIPTION).asPropertyList().size(),
+                lazy.get(RESULT, CHILDREN, "child-1", MODEL_DESCRIPTION).asPropertyList().size());
+
+        List<ModelNode> list = lazy.get(RESULT).get("list").asList();
+        assertEquals(3, list.size());
+        assertEquals("foo", list.get(0).asString());
+        assertEquals(42, list.get(1).asInt());
+        assertTrue(list.get(2).get("nested").asBoolean());
+    }
+
+    @Test
+    public void equality() {
+        assertEquals(eager, lazy);
+        assertEquals(lazy, eager);
+        assertEquals(eager.hashCode(), lazy.hashCode());
+        assertEquals(eager.toString(), lazy.toString());
+    }
+
+    @Test
+    public void writeUndecoded() {
+        assertArrayEquals(eager.toBytes(), lazy.toBytes());
+        assertFalse(lazyValue(lazy.get(RESULT)).isMaterialized());
+    }
+
+    @Test
+    public void encodedSize() {
+        ModelNode result = lazy.get(RESULT);
+        assertEquals(eager.get(RESULT).toBytes().length, result.encodedSize());
+
+        result.get(DESCRIPTION);
+        assertEquals(-1, result.encodedSize());
+        assertEquals(-1, eager.get(RESULT).encodedSize());
+    }
+
+    @Test
+    public void copy() {
+        ModelNode copy = lazy.get(RESULT).clone();
+        copy.get(DESCRIPTION).set("changed");
+        assertEquals("changed", copy.get(DESCRIPTION).asString());
+        assertEquals(eager.get(RESULT).get(DESCRIPTION), lazy.get(RESULT).get(DESCRIPTION));
+    }
+
+    @Test
+    public void modify() {
+        lazy.get(RESULT).get(ATTRIBUTES).get("attribute-0").get(NILLABLE).set(false);
+        lazy.get(RESULT).get("list").add("bar");
+        lazy.get(RESULT).remove(CHILDREN);
+
+        assertFalse(lazy.get(RESULT, ATTRIBUTES, "attribute-0", NILLABLE).asBoolean());
+        assertEquals(4, lazy.get(RESULT).get("list").asList().size());
+        assertFalse(lazy.get(RESULT).has(CHILDREN));
+
+        ModelNode decoded = ModelNode.fromBase64(Payloads.base64(lazy));
+        assertEquals(lazy, decoded);
+    }
+
+    @Test
+    public void protect() {
+        lazy.protect();
+        assertTrue(lazy.get(RESULT).modelValue() instanceof CompactObjectModelValue);
+        assertEquals(eager, lazy);
+    }
+
+    @Test
+    public void materialize() {
+        ModelNode result = lazy.get(RESULT);
+        assertSame(result, result.materialize());
+        assertTrue(result.modelValue() instanceof ObjectModelValue);
+        assertFalse(result.get(ATTRIBUTES).modelValue() instanceof LazyModelValue);
+        assertFalse(result.get(CHILDREN).get("child-1").modelValue() instanceof LazyModelValue);
+        assertEquals(eager.get(RESULT), result);
+    }
+
+    @Test
+    public void materializePartiallyDecoded() {
+        lazy.get(RESULT).get(DESCRIPTION);
+        lazy.materialize();
+        assertFalse(lazy.get(RESULT).get(ATTRIBUTES).modelValue() instanceof LazyModelValue);
+        assertFalse(lazy.get(RESULT).get("list").modelValue() instanceof LazyModelValue);
+        assertEquals(eager, lazy);
+    }
+
+    @Test
+    public void lazyCopyOfLazyInput() throws Exception {
+        // re-decoding a lazy payload lazily must not depend on the original data input
+        ModelNode again = ModelNode.fromBase64(Payloads.base64(lazy), true);
+        assertEquals(eager, again);
+    }
+
+    private LazyModelValue lazyValue(ModelNode node) {
+        ModelValue value = node.modelValue();
+        assertTrue(value instanceof LazyModelValue);
+        return (LazyModelValue) value;
+    }
+}
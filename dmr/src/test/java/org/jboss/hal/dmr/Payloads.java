@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.Base64;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+
+/** Creates synthetic, but realistically shaped management model payloads for tests and benchmarks. */
+@SuppressWarnings({"HardCodedStringLiteral", "DuplicateStringLiteralInspection"})
+public final class Payloads {
+
+    /**
+     * Creates a response of a {@code read-resource-description} operation with the specified number of attributes
+     * and children. Children are nested {@code depth} levels deep.
+     */
+    public static ModelNode resourceDescription(int attributes, int children, int depth) {
+        ModelNode description = new ModelNode();
+        description.get(DESCRIPTION).set("A resource description with " + attributes + " attributes");
+        description.get("capabilities").setEmptyList();
+        for (int i = 0; i < attributes; i++) {
+            ModelNode attribute = new ModelNode();
+            attribute.get(TYPE).set(i % 3 == 0 ? ModelType.INT : ModelType.STRING);
+            attribute.get(DESCRIPTION).set("The description of attribute number " + i + " with some äöü umlauts");
+            attribute.get(EXPRESSIONS_ALLOWED).set(i % 2 == 0);
+            attribute.get(NILLABLE).set(true);
+            attribute.get(ACCESS_TYPE).set(READ_WRITE);
+            attribute.get(STORAGE).set(CONFIGURATION);
+            attribute.get(RESTART_REQUIRED).set("no-services");
+            if (i % 3 == 0) {
+                attribute.get(DEFAULT).set(i * 1000);
+                attribute.get(MIN).set(0L);
+                attribute.get(MAX).set(Long.MAX_VALUE);
+            }
+            description.get(ATTRIBUTES).get("attribute-" + i).set(attribute);
+        }
+        if (depth > 0) {
+            for (int i = 0; i < children; i++) {
+                ModelNode child = new ModelNode();
+                child.get(DESCRIPTION).set("Child resource number " + i);
+                child.get(MODEL_DESCRIPTION).get("child-" + i)
+                        .set(resourceDescription(attributes, children, depth - 1));
+                description.get(CHILDREN).get("child-" + i).set(child);
+            }
+        }
+        return description;
+    }
+
+    /**
+     * Creates a {@code read-resource(include-runtime)} like result with the specified number of resources, each
+     * having numeric runtime attributes such as datasource statistics and JVM memory metrics.
+     */
+    public static ModelNode metrics(int resources) {
+        ModelNode metrics = new ModelNode();
+        for (int i = 0; i < resources; i++) {
+            ModelNode pool = new ModelNode();
+            pool.get("ActiveCount").set(i);
+            pool.get("AvailableCount").set(20 - i % 20);
+            pool.get("AverageBlockingTime").set(i * 13L);
+            pool.get("AverageCreationTime").set(i * 7L);
+            pool.get("AverageGetTime").set(i * 3L);
+            pool.get("BlockingFailureCount").set(0);
+            pool.get("CreatedCount").set(i * 2);
+            pool.get("MaxUsedCount").set(i % 20);
+            pool.get("TotalBlockingTime").set(System.currentTimeMillis() - i);
+            pool.get("TotalCreationTime").set(Long.MAX_VALUE - i);
+            pool.get("statistics-enabled").set(true);
+
+            ModelNode memory = new ModelNode();
+            memory.get("init").set(268435456L);
+            memory.get("used").set(123456789L + i);
+            memory.get("committed").set(268435456L);
+            memory.get("max").set(536870912L);
+            memory.get("load-average").set(i / 7.0);
+            memory.get("utilization").set(0.42 + i / 1000.0);
+
+            ModelNode resource = new ModelNode();
+            resource.get("statistics").get("pool").set(pool);
+            resource.get("memory").set(memory);
+            resource.get("uptime").set(1234567890123L * i);
+            resource.get("name").set("ExampleDS" + i);
+            metrics.get("data-source").get("ExampleDS" + i).set(resource);
+        }
+        return metrics;
+    }
+
+    /** Creates a successful response for the specified result. */
+    public static ModelNode response(ModelNode result) {
+        ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        response.get(RESULT).set(result);
+        return response;
+    }
+
+    public static byte[] bytes(ModelNode node) {
+        return node.toBytes();
+    }
+
+    public static String base64(ModelNode node) {
+        return Base64.getEncoder().encodeToString(bytes(node));
+    }
+
+    private Payloads() {
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.CircuitBreaker.State;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Single;
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class CircuitBreakerTest {
+
+    private static final Operation OPERATION = new Operation.Builder(ResourceAddress.root(), READ_RESOURCE_OPERATION)
+            .build();
+
+    private TestScheduler scheduler;
+    private CircuitBreaker circuitBreaker;
+    private int requests;
+
+    @Before
+    public void setUp() {
+        scheduler = new TestScheduler();
+        circuitBreaker = new CircuitBreaker(scheduler);
+        requests = 0;
+    }
+
+    @Test
+    public void opensAfterThreshold() {
+        for (int i = 0; i < CircuitBreaker.DEFAULT_FAILURE_THRESHOLD; i++) {
+            call(unavailable()).assertError(DispatchError.class);
+        }
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertEquals(1, circuitBreaker.getTrips());
+
+        call(unavailable()).assertError(DispatchError.class);
+        assertEquals(CircuitBreaker.DEFAULT_FAILURE_THRESHOLD, requests);
+        assertEquals(1, circuitBreaker.getRejected());
+    }
+
+    @Test
+    public void failureKeepsClosed() {
+        for (int i = 0; i < CircuitBreaker.DEFAULT_FAILURE_THRESHOLD; i++) {
+            call(Single.defer(() -> {
+                requests++;
+                return Single.error(new DispatchFailure(OPERATION, "failed"));
+            })).assertError(DispatchFailure.class);
+        }
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void successResetsFailures() {
+        for (int i = 0; i < CircuitBreaker.DEFAULT_FAILURE_THRESHOLD - 1; i++) {
+            call(unavailable());
+        }
+        call(available()).assertCompleted();
+        call(unavailable());
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void probeAfterTimeout() {
+        open();
+        scheduler.advanceTimeBy(CircuitBreaker.DEFAULT_OPEN_TIMEOUT - 1, TimeUnit.MILLISECONDS);
+        assertEquals(1, circuitBreaker.getRemainingOpenTime());
+        call(available()).assertError(DispatchError.class);
+
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        call(available()).assertCompleted();
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void failedProbeReopens() {
+        open();
+        scheduler.advanceTimeBy(CircuitBreaker.DEFAULT_OPEN_TIMEOUT, TimeUnit.MILLISECONDS);
+        int before = requests;
+        call(unavailable()).assertError(DispatchError.class);
+        assertEquals(before + 1, requests);
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertEquals(2, circuitBreaker.getTrips());
+        assertEquals(CircuitBreaker.DEFAULT_OPEN_TIMEOUT, circuitBreaker.getRemainingOpenTime());
+    }
+
+    @Test
+    public void unsubscribedProbeReopens() {
+        open();
+        scheduler.advanceTimeBy(CircuitBreaker.DEFAULT_OPEN_TIMEOUT, TimeUnit.MILLISECONDS);
+        TestSubscriber<ModelNode> probe = call(Single.never());
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+
+        probe.unsubscribe();
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertEquals(1, circuitBreaker.getTrips());
+        assertEquals(CircuitBreaker.DEFAULT_OPEN_TIMEOUT, circuitBreaker.getRemainingOpenTime());
+
+        // the next probe is let through after the open timeout
+        scheduler.advanceTimeBy(CircuitBreaker.DEFAULT_OPEN_TIMEOUT, TimeUnit.MILLISECONDS);
+        call(available()).assertCompleted();
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void hangingProbeTimesOut() {
+        open();
+        scheduler.advanceTimeBy(CircuitBreaker.DEFAULT_OPEN_TIMEOUT, TimeUnit.MILLISECONDS);
+        TestSubscriber<ModelNode> probe = call(Single.never());
+        probe.assertNoTerminalEvent();
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+
+        scheduler.advanceTimeBy(CircuitBreaker.DEFAULT_PROBE_TIMEOUT, TimeUnit.MILLISECONDS);
+        probe.assertError(DispatchError.class);
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertEquals(2, circuitBreaker.getTrips());
+
+        scheduler.advanceTimeBy(CircuitBreaker.DEFAULT_OPEN_TIMEOUT, TimeUnit.MILLISECONDS);
+        call(available()).assertCompleted();
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+    }
+
+    private void open() {
+        for (int i = 0; i < CircuitBreaker.DEFAULT_FAILURE_THRESHOLD; i++) {
+            call(unavailable());
+        }
+        assertEquals(State.OPEN, circuitBreaker.getState());
+    }
+
+    private Single<ModelNode> available() {
+        return Single.defer(() -> {
+            requests++;
+            return Single.just(new ModelNode());
+        });
+    }
+
+    private Single<ModelNode> unavailable() {
+        return Single.defer(() -> {
+            requests++;
+            return Single.error(new DispatchError(OPERATION, "Service Unavailable", 503));
+        });
+    }
+
+    private TestSubscriber<ModelNode> call(Single<ModelNode> request) {
+        TestSubscriber<ModelNode> subscriber = new TestSubscriber<>();
+        circuitBreaker.protect(OPERATION, request).subscribe(subscriber);
+        return subscriber;
+    }
+}
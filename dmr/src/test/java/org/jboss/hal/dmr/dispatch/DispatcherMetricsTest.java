@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class DispatcherMetricsTest {
+
+    private DispatcherMetrics metrics;
+
+    @Before
+    public void setUp() {
+        metrics = new DispatcherMetrics();
+    }
+
+    @Test
+    public void addressTemplate() {
+        assertEquals("/", DispatcherMetrics.addressTemplate(ResourceAddress.root()));
+        assertEquals("/subsystem=datasources/data-source=*", DispatcherMetrics.addressTemplate(
+                new ResourceAddress().add(SUBSYSTEM, "datasources").add(DATA_SOURCE, "ExampleDS")));
+        assertEquals("/host=*/server=*/subsystem=undertow", DispatcherMetrics.addressTemplate(
+                new ResourceAddress().add(HOST, "master").add(SERVER, "server-one").add(SUBSYSTEM, "undertow")));
+    }
+
+    @Test
+    public void phases() {
+        DispatchCall call = new DispatchCall(READ_RESOURCE_OPERATION, "/", 0, 42);
+        call.sent(100);
+        call.headersReceived(130);
+        call.headersReceived(135); // only the first state change counts
+        call.loaded(150, 2048);
+        call.decoded(155);
+        call.finished(175, false);
+
+        assertEquals(30, call.getTimeToFirstByte(), 0);
+        assertEquals(20, call.getTransferTime(), 0);
+        assertEquals(5, call.getDecodeTime(), 0);
+        assertEquals(20, call.getCallbackTime(), 0);
+        assertEquals(75, call.getTotalTime(), 0);
+        assertEquals(2048, call.getResponseSize(), 0);
+        assertFalse(call.isFailed());
+    }
+
+    @Test
+    public void phasesNotReached() {
+        DispatchCall call = new DispatchCall(READ_RESOURCE_OPERATION, "/", 0, 42);
+        call.sent(100);
+        call.finished(200, true);
+
+        assertEquals(-1, call.getTimeToFirstByte(), 0);
+        assertEquals(-1, call.getDecodeTime(), 0);
+        assertEquals(100, call.getTotalTime(), 0);
+        assertTrue(call.isFailed());
+    }
+
+    @Test
+    public void aggregate() {
+        metrics.record(call(READ_RESOURCE_OPERATION, "/subsystem=datasources/data-source=*", 10, false));
+        metrics.record(call(READ_RESOURCE_OPERATION, "/subsystem=datasources/data-source=*", 30, true));
+        metrics.record(call(READ_RESOURCE_OPERATION, "/subsystem=logging", 20, false));
+        metrics.record(call(ADD, "/subsystem=datasources/data-source=*", 20, false));
+
+        OperationMetrics[] operations = metrics.getOperations();
+        assertEquals(3, operations.length);
+        assertEquals(READ_RESOURCE_OPERATION, operations[0].getOperation());
+        assertEquals("/subsystem=datasources/data-source=*", operations[0].getAddressTemplate());
+        assertEquals(2, operations[0].getCount());
+        assertEquals(1, operations[0].getFailures());
+        assertEquals(20, operations[0].getTotalTime().getMean(), 0);
+        assertEquals(4, metrics.getCalls());
+    }
+
+    @Test
+    public void recent() {
+        for (int i = 0; i < DispatcherMetrics.MAX_RECENT + 5; i++) {
+            metrics.record(call(READ_RESOURCE_OPERATION, "/", i, false));
+        }
+        DispatchCall[] recent = metrics.getRecent();
+        assertEquals(DispatcherMetrics.MAX_RECENT, recent.length);
+        assertEquals(DispatcherMetrics.MAX_RECENT + 4, recent[0].getTotalTime(), 0);
+        assertEquals(5, recent[recent.length - 1].getTotalTime(), 0);
+    }
+
+    @Test
+    public void recentBeforeWrap() {
+        DispatchCall first = call(READ_RESOURCE_OPERATION, "/", 1, false);
+        DispatchCall second = call(READ_RESOURCE_OPERATION, "/", 2, false);
+        metrics.record(first);
+        metrics.record(second);
+        DispatchCall[] recent = metrics.getRecent();
+        assertEquals(2, recent.length);
+        assertSame(second, recent[0]);
+        assertSame(first, recent[1]);
+    }
+
+    @Test
+    public void reset() {
+        metrics.record(call(READ_RESOURCE_OPERATION, "/", 1, false));
+        metrics.reset();
+        assertEquals(0, metrics.getOperations().length);
+        assertEquals(0, metrics.getRecent().length);
+        assertEquals(0, metrics.getCalls());
+    }
+
+    private DispatchCall call(String operation, String addressTemplate, double total, boolean failed) {
+        DispatchCall call = new DispatchCall(operation, addressTemplate, 0, 100);
+        call.sent(0);
+        call.loaded(total / 2, 1000);
+        call.decoded(total / 2);
+        call.finished(total, failed);
+        return call;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class HistogramTest {
+
+    @Test
+    public void empty() {
+        Histogram histogram = Histogram.millis();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMean(), 0);
+        assertEquals(0, histogram.percentile(50), 0);
+    }
+
+    @Test
+    public void bounds() {
+        assertArrayEquals(new double[]{1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 20000, 50000},
+                Histogram.millis().getBounds(), 0);
+        assertEquals(16, Histogram.millis().getCounts().length);
+    }
+
+    @Test
+    public void record() {
+        Histogram histogram = new Histogram(new double[]{10, 100});
+        histogram.record(5);
+        histogram.record(10);
+        histogram.record(50);
+        histogram.record(500);
+        histogram.record(-1); // ignored
+
+        assertEquals(4, histogram.getCount());
+        assertArrayEquals(new int[]{2, 1, 1}, histogram.getCounts());
+        assertEquals(565, histogram.getSum(), 0);
+        assertEquals(141.25, histogram.getMean(), 0);
+        assertEquals(5, histogram.getMin(), 0);
+        assertEquals(500, histogram.getMax(), 0);
+    }
+
+    @Test
+    public void percentile() {
+        Histogram histogram = Histogram.millis();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1, histogram.percentile(1), 0);
+        assertEquals(50, histogram.percentile(50), 0);
+        assertEquals(100, histogram.percentile(95), 0);
+        assertEquals(100, histogram.percentile(100), 0);
+    }
+
+    @Test
+    public void percentileCappedByMax() {
+        Histogram histogram = Histogram.millis();
+        histogram.record(3);
+        assertEquals(3, histogram.percentile(50), 0);
+
+        histogram.record(70000); // overflow bucket
+        assertEquals(5, histogram.percentile(50), 0);
+        assertEquals(70000, histogram.percentile(99), 0);
+    }
+
+    @Test
+    public void reset() {
+        Histogram histogram = Histogram.bytes();
+        histogram.record(1234);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax(), 0);
+        assertArrayEquals(new int[histogram.getCounts().length], histogram.getCounts());
+    }
+}
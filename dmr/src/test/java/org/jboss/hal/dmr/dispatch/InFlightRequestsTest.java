@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Single;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class InFlightRequestsTest {
+
+    private InFlightRequests inFlightRequests;
+    private PublishSubject<ModelNode> response;
+    private int requests;
+
+    @Before
+    public void setUp() {
+        inFlightRequests = new InFlightRequests();
+        response = PublishSubject.create();
+        requests = 0;
+    }
+
+    @Test
+    public void coalesce() {
+        Operation operation = readChildrenNames(HOST);
+        TestSubscriber<ModelNode> first = subscribe(operation);
+        TestSubscriber<ModelNode> second = subscribe(readChildrenNames(HOST));
+        assertEquals(1, requests);
+        assertEquals(1, inFlightRequests.getInFlight());
+
+        ModelNode result = result("master");
+        respond(result);
+        first.assertValue(result);
+        second.assertValue(result);
+        assertSame(result, first.getOnNextEvents().get(0));
+        assertNotSame(result, second.getOnNextEvents().get(0));
+        assertEquals(1, inFlightRequests.getSent());
+        assertEquals(1, inFlightRequests.getCoalesced());
+        assertEquals(0, inFlightRequests.getInFlight());
+    }
+
+    @Test
+    public void notCoalescedAfterResponse() {
+        TestSubscriber<ModelNode> first = subscribe(readChildrenNames(HOST));
+        respond(result("master"));
+        first.assertCompleted();
+
+        response = PublishSubject.create();
+        TestSubscriber<ModelNode> second = subscribe(readChildrenNames(HOST));
+        assertEquals(2, requests);
+        respond(result("slave"));
+        second.assertValue(result("slave"));
+        assertEquals(0, inFlightRequests.getCoalesced());
+    }
+
+    @Test
+    public void differentOperations() {
+        subscribe(readChildrenNames(HOST));
+        subscribe(readChildrenNames(SERVER_GROUP));
+        assertEquals(2, requests);
+        assertEquals(2, inFlightRequests.getInFlight());
+        assertEquals(0, inFlightRequests.getCoalesced());
+    }
+
+    @Test
+    public void sharedError() {
+        TestSubscriber<ModelNode> first = subscribe(readChildrenNames(HOST));
+        TestSubscriber<ModelNode> second = subscribe(readChildrenNames(HOST));
+        response.onError(new DispatchFailure(readChildrenNames(HOST), "failed"));
+
+        first.assertError(DispatchFailure.class);
+        second.assertError(DispatchFailure.class);
+        assertEquals(1, requests);
+        assertEquals(0, inFlightRequests.getInFlight());
+    }
+
+    @Test
+    public void unsubscribeAll() {
+        TestSubscriber<ModelNode> first = subscribe(readChildrenNames(HOST));
+        TestSubscriber<ModelNode> second = subscribe(readChildrenNames(HOST));
+        first.unsubscribe();
+        second.unsubscribe();
+        assertEquals(0, inFlightRequests.getInFlight());
+    }
+
+    @Test
+    public void keyIgnoresParameterOrder() {
+        Operation op1 = new Operation.Builder(ResourceAddress.root(), READ_RESOURCE_OPERATION)
+                .param(INCLUDE_RUNTIME, true)
+                .param(RECURSIVE_DEPTH, 1)
+                .build();
+        Operation op2 = new Operation.Builder(ResourceAddress.root(), READ_RESOURCE_OPERATION)
+                .param(RECURSIVE_DEPTH, 1)
+                .param(INCLUDE_RUNTIME, true)
+                .build();
+        assertEquals(InFlightRequests.key(op1), InFlightRequests.key(op2));
+    }
+
+    @Test
+    public void keyDistinguishesAddressAndValues() {
+        Operation op1 = new Operation.Builder(new ResourceAddress().add(HOST, "master"), READ_RESOURCE_OPERATION)
+                .build();
+        Operation op2 = new Operation.Builder(new ResourceAddress().add(HOST, "slave"), READ_RESOURCE_OPERATION)
+                .build();
+        Operation op3 = new Operation.Builder(new ResourceAddress().add(HOST, "master"), READ_RESOURCE_OPERATION)
+                .param(INCLUDE_RUNTIME, true)
+                .build();
+        Operation op4 = new Operation.Builder(new ResourceAddress().add(HOST, "master"), READ_RESOURCE_OPERATION)
+                .param(INCLUDE_RUNTIME, "true")
+                .build();
+        assertNotEquals(InFlightRequests.key(op1), InFlightRequests.key(op2));
+        assertNotEquals(InFlightRequests.key(op1), InFlightRequests.key(op3));
+        assertNotEquals(InFlightRequests.key(op3), InFlightRequests.key(op4));
+    }
+
+    private Operation readChildrenNames(String childType) {
+        return new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_NAMES_OPERATION)
+                .param(CHILD_TYPE, childType)
+                .build();
+    }
+
+    private ModelNode result(String value) {
+        ModelNode node = new ModelNode();
+        node.add(value);
+        return node;
+    }
+
+    private TestSubscriber<ModelNode> subscribe(Operation operation) {
+        Single<ModelNode> request = Single.defer(() -> {
+            requests++;
+            return response.toSingle();
+        });
+        TestSubscriber<ModelNode> subscriber = new TestSubscriber<>();
+        inFlightRequests.coalesce(operation, request).subscribe(subscriber);
+        return subscriber;
+    }
+
+    private void respond(ModelNode result) {
+        response.onNext(result);
+        response.onCompleted();
+    }
+}
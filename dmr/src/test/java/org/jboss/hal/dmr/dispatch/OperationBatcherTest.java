@@ -0,0 +1,305 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Single;
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the batcher against a simulated management endpoint which answers each request after {@value #LATENCY} ms.
+ * The endpoint fails operations on {@code /subsystem=missing} and fails a composite as a whole if one of its steps
+ * fails. Like the real endpoint it reports the successful steps of a failed composite as rolled back, unless {@link
+ * #rollback} is turned off.
+ */
+@SuppressWarnings("HardCodedStringLiteral")
+public class OperationBatcherTest {
+
+    private static final int LATENCY = 100;
+
+    private TestScheduler scheduler;
+    private OperationBatcher batcher;
+    private List<Operation> roundTrips;
+    private List<Operation> processed;
+    private boolean rollback;
+
+    @Before
+    public void setUp() {
+        scheduler = new TestScheduler();
+        roundTrips = new ArrayList<>();
+        processed = new ArrayList<>();
+        rollback = true;
+        batcher = new OperationBatcher(this::endpoint, this::process, scheduler);
+    }
+
+    @Test
+    public void unbatched() {
+        // what happens w/o batching: one round-trip per operation
+        List<TestSubscriber<ModelNode>> subscribers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            TestSubscriber<ModelNode> subscriber = new TestSubscriber<>();
+            endpoint(readName("subsystem" + i)).subscribe(subscriber);
+            subscribers.add(subscriber);
+        }
+        scheduler.advanceTimeBy(LATENCY, MILLISECONDS);
+        subscribers.forEach(TestSubscriber::assertCompleted);
+        assertEquals(10, roundTrips.size());
+    }
+
+    @Test
+    public void batch() {
+        List<TestSubscriber<ModelNode>> subscribers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            subscribers.add(execute(readName("subsystem" + i), 0));
+        }
+        assertTrue(roundTrips.isEmpty());
+
+        scheduler.advanceTimeBy(LATENCY, MILLISECONDS);
+        assertEquals(1, roundTrips.size());
+        assertTrue(roundTrips.get(0) instanceof Composite);
+        for (int i = 0; i < 10; i++) {
+            TestSubscriber<ModelNode> subscriber = subscribers.get(i);
+            subscriber.assertCompleted();
+            assertEquals("subsystem" + i, subscriber.getOnNextEvents().get(0).get(RESULT).asString());
+        }
+        assertEquals(10, batcher.getOperations());
+        assertEquals(1, batcher.getRequests());
+    }
+
+    @Test
+    public void stepsProcessed() {
+        Operation logging = readName("logging");
+        Operation mail = readName("mail");
+        TestSubscriber<ModelNode> first = execute(logging, 0);
+        TestSubscriber<ModelNode> second = execute(mail, 0);
+        scheduler.advanceTimeBy(LATENCY, MILLISECONDS);
+
+        // each step is processed for its original operation, not the composite
+        assertEquals(2, processed.size());
+        assertSame(logging, processed.get(0));
+        assertSame(mail, processed.get(1));
+        assertTrue(first.getOnNextEvents().get(0).get(RESPONSE_HEADERS).get(PROCESS_STATE).isDefined());
+        assertTrue(second.getOnNextEvents().get(0).get(RESPONSE_HEADERS).get(PROCESS_STATE).isDefined());
+    }
+
+    @Test
+    public void singleOperation() {
+        TestSubscriber<ModelNode> subscriber = execute(readName("logging"), 0);
+        scheduler.advanceTimeBy(LATENCY, MILLISECONDS);
+
+        subscriber.assertCompleted();
+        assertEquals("logging", subscriber.getOnNextEvents().get(0).get(RESULT).asString());
+        assertEquals(1, roundTrips.size());
+        assertEquals(READ_ATTRIBUTE_OPERATION, roundTrips.get(0).getName());
+    }
+
+    @Test
+    public void window() {
+        TestSubscriber<ModelNode> first = execute(readName("a"), 20);
+        scheduler.advanceTimeBy(10, MILLISECONDS);
+        TestSubscriber<ModelNode> second = execute(readName("b"), 20);
+        scheduler.advanceTimeBy(10, MILLISECONDS);
+        // the window is closed now
+        TestSubscriber<ModelNode> third = execute(readName("c"), 20);
+
+        scheduler.advanceTimeBy(20 + LATENCY, MILLISECONDS);
+        first.assertCompleted();
+        second.assertCompleted();
+        third.assertCompleted();
+        assertEquals(2, roundTrips.size());
+        assertEquals(2, ((Composite) roundTrips.get(0)).size());
+        assertEquals(READ_ATTRIBUTE_OPERATION, roundTrips.get(1).getName());
+    }
+
+    @Test
+    public void maxBatchSize() {
+        for (int i = 0; i < OperationBatcher.MAX_BATCH_SIZE; i++) {
+            execute(readName("subsystem" + i), 1000);
+        }
+        // sent w/o waiting for the window
+        scheduler.advanceTimeBy(LATENCY, MILLISECONDS);
+        assertEquals(1, roundTrips.size());
+        assertEquals(OperationBatcher.MAX_BATCH_SIZE, ((Composite) roundTrips.get(0)).size());
+    }
+
+    @Test
+    public void failureIsolation() {
+        TestSubscriber<ModelNode> good = execute(readName("logging"), 0);
+        TestSubscriber<ModelNode> bad = execute(readName("missing"), 0);
+        TestSubscriber<ModelNode> alsoGood = execute(readName("mail"), 0);
+
+        scheduler.advanceTimeBy(2 * LATENCY, MILLISECONDS);
+        good.assertCompleted();
+        bad.assertError(DispatchFailure.class);
+        assertEquals("Resource not found", bad.getOnErrorEvents().get(0).getMessage());
+        alsoGood.assertCompleted();
+        // one composite which failed and one request for each rolled back operation
+        assertEquals(3, roundTrips.size());
+        assertEquals(1, batcher.getFallbacks());
+    }
+
+    @Test
+    public void failedCompositeWithResults() {
+        rollback = false;
+        TestSubscriber<ModelNode> good = execute(readName("logging"), 0);
+        TestSubscriber<ModelNode> bad = execute(readName("missing"), 0);
+        TestSubscriber<ModelNode> alsoGood = execute(readName("mail"), 0);
+
+        scheduler.advanceTimeBy(LATENCY, MILLISECONDS);
+        good.assertCompleted();
+        assertEquals("logging", good.getOnNextEvents().get(0).get(RESULT).asString());
+        bad.assertError(DispatchFailure.class);
+        alsoGood.assertCompleted();
+        // the steps are taken from the failed composite: nothing is sent again
+        assertEquals(1, roundTrips.size());
+        assertEquals(0, batcher.getFallbacks());
+    }
+
+    @Test
+    public void failedCompositeWithoutPayload() {
+        OperationBatcher opaque = new OperationBatcher(operation -> endpoint(operation)
+                .onErrorResumeNext(error -> Single.error(new DispatchFailure(operation, error.getMessage()))),
+                this::process, scheduler);
+        TestSubscriber<ModelNode> good = new TestSubscriber<>();
+        TestSubscriber<ModelNode> bad = new TestSubscriber<>();
+        opaque.execute(readName("logging"), 0).subscribe(good);
+        opaque.execute(readName("missing"), 0).subscribe(bad);
+
+        scheduler.advanceTimeBy(2 * LATENCY, MILLISECONDS);
+        good.assertCompleted();
+        bad.assertError(DispatchFailure.class);
+        // one composite which failed and one request for each operation
+        assertEquals(3, roundTrips.size());
+        assertEquals(1, opaque.getFallbacks());
+    }
+
+    @Test
+    public void errorForAll() {
+        OperationBatcher broken = new OperationBatcher(
+                operation -> Single.error(new DispatchError(operation, "Service temporarily unavailable", 503)),
+                this::process, scheduler);
+        TestSubscriber<ModelNode> first = new TestSubscriber<>();
+        TestSubscriber<ModelNode> second = new TestSubscriber<>();
+        broken.execute(readName("a"), 0).subscribe(first);
+        broken.execute(readName("b"), 0).subscribe(second);
+
+        scheduler.triggerActions();
+        first.assertError(DispatchError.class);
+        second.assertError(DispatchError.class);
+        assertEquals(0, broken.getFallbacks());
+    }
+
+    @Test
+    public void unsubscribeBeforeFlush() {
+        TestSubscriber<ModelNode> first = execute(readName("a"), 0);
+        TestSubscriber<ModelNode> second = execute(readName("b"), 0);
+        first.unsubscribe();
+
+        scheduler.advanceTimeBy(LATENCY, MILLISECONDS);
+        second.assertCompleted();
+        assertEquals(1, roundTrips.size());
+        assertEquals(READ_ATTRIBUTE_OPERATION, roundTrips.get(0).getName());
+    }
+
+
+    // ------------------------------------------------------ helper methods
+
+    private TestSubscriber<ModelNode> execute(Operation operation, int window) {
+        TestSubscriber<ModelNode> subscriber = new TestSubscriber<>();
+        batcher.execute(operation, window).subscribe(subscriber);
+        return subscriber;
+    }
+
+    private Operation readName(String subsystem) {
+        return new Operation.Builder(new ResourceAddress().add(SUBSYSTEM, subsystem), READ_ATTRIBUTE_OPERATION)
+                .param(NAME, NAME)
+                .build();
+    }
+
+    /** Marks the processed steps, so that the tests can verify the steps have been processed */
+    private Single<ModelNode> process(Operation operation, ModelNode step) {
+        processed.add(operation);
+        ModelNode copy = step.clone();
+        copy.get(RESPONSE_HEADERS).get(PROCESS_STATE).set("processed");
+        return Single.just(copy);
+    }
+
+    /** The simulated management endpoint: returns the name of the subsystem as result */
+    private Single<ModelNode> endpoint(Operation operation) {
+        roundTrips.add(operation);
+        ModelNode payload;
+        if (operation instanceof Composite) {
+            payload = new ModelNode();
+            boolean failed = false;
+            int index = 1;
+            for (Operation step : (Composite) operation) {
+                ModelNode stepPayload = payload(step);
+                failed = failed || stepPayload.isFailure();
+                payload.get(RESULT).get("step-" + index++).set(stepPayload);
+            }
+            payload.get(OUTCOME).set(failed ? FAILED : SUCCESS);
+            if (failed) {
+                payload.get(FAILURE_DESCRIPTION).set("Composite operation failed and was rolled back.");
+                if (rollback) {
+                    for (Property step : payload.get(RESULT).asPropertyList()) {
+                        if (!step.getValue().isFailure()) {
+                            ModelNode rolledBack = new ModelNode();
+                            rolledBack.get(OUTCOME).set(FAILED);
+                            rolledBack.get(ROLLED_BACK).set(true);
+                            payload.get(RESULT).get(step.getName()).set(rolledBack);
+                        }
+                    }
+                }
+            }
+        } else {
+            payload = payload(operation);
+        }
+        return Single.just(payload)
+                .delay(LATENCY, MILLISECONDS, scheduler)
+                .flatMap(p -> p.isFailure()
+                        ? Single.error(new DispatchFailure(operation, p.getFailureDescription(), p))
+                        : Single.just(p));
+    }
+
+    private ModelNode payload(Operation operation) {
+        ModelNode payload = new ModelNode();
+        String subsystem = operation.getAddress().lastValue();
+        if ("missing".equals(subsystem)) {
+            payload.get(OUTCOME).set(FAILED);
+            payload.get(FAILURE_DESCRIPTION).set("Resource not found");
+        } else {
+            payload.get(OUTCOME).set(SUCCESS);
+            payload.get(RESULT).set(subsystem);
+        }
+        return payload;
+    }
+}
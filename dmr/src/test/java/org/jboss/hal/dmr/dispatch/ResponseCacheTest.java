@@ -0,0 +1,266 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.web.bindery.event.shared.HandlerRegistration;
+import com.google.web.bindery.event.shared.SimpleEventBus;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.ResponseHeadersProcessor.Header;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Single;
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class ResponseCacheTest {
+
+    private static final ResourceAddress DATASOURCES = new ResourceAddress()
+            .add(SUBSYSTEM, "datasources");
+    private static final ResourceAddress EXAMPLE_DS = new ResourceAddress()
+            .add(SUBSYSTEM, "datasources")
+            .add(DATA_SOURCE, "ExampleDS");
+
+    private TestScheduler scheduler;
+    private ResponseCache responseCache;
+    private int requests;
+
+    @Before
+    public void setUp() {
+        scheduler = new TestScheduler();
+        responseCache = new ResponseCache(scheduler);
+        requests = 0;
+    }
+
+    @Test
+    public void hit() {
+        ModelNode first = read(readChildrenNames(DATASOURCES));
+        ModelNode second = read(readChildrenNames(DATASOURCES));
+        assertEquals(1, requests);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(1, responseCache.getHits());
+        assertEquals(1, responseCache.getMisses());
+        assertEquals(0.5, responseCache.getHitRate(), 0.001);
+    }
+
+    @Test
+    public void expired() {
+        read(readChildrenNames(DATASOURCES));
+        scheduler.advanceTimeBy(ResponseCache.DEFAULT_TTL - 1, TimeUnit.MILLISECONDS);
+        read(readChildrenNames(DATASOURCES));
+        assertEquals(1, requests);
+
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        read(readChildrenNames(DATASOURCES));
+        assertEquals(2, requests);
+    }
+
+    @Test
+    public void uncached() {
+        read(readChildrenNames(DATASOURCES));
+        read(new Operation.Builder(DATASOURCES, READ_CHILDREN_NAMES_OPERATION)
+                .param(CHILD_TYPE, DATA_SOURCE)
+                .uncached()
+                .build());
+        assertEquals(2, requests);
+        assertEquals(0, responseCache.getHits());
+    }
+
+    @Test
+    public void notCacheable() {
+        assertTrue(responseCache.cacheable(readResource(EXAMPLE_DS)));
+        assertTrue(responseCache.cacheable(new Composite(readResource(EXAMPLE_DS), readChildrenNames(DATASOURCES))));
+        assertFalse(responseCache.cacheable(new Operation.Builder(EXAMPLE_DS, READ_RESOURCE_OPERATION)
+                .param(INCLUDE_RUNTIME, true)
+                .build()));
+        assertFalse(responseCache.cacheable(new Operation.Builder(EXAMPLE_DS, READ_ATTRIBUTE_OPERATION)
+                .param(NAME, "jndi-name")
+                .build()));
+        assertFalse(responseCache.cacheable(new Composite(readResource(EXAMPLE_DS),
+                new Operation.Builder(EXAMPLE_DS, READ_RESOURCE_DESCRIPTION_OPERATION).build())));
+        assertFalse(responseCache.cacheable(new Composite()));
+
+        responseCache.setTtl(0);
+        assertFalse(responseCache.cacheable(readResource(EXAMPLE_DS)));
+    }
+
+    @Test
+    public void failureNotCached() {
+        Operation operation = readResource(EXAMPLE_DS);
+        TestSubscriber<ModelNode> subscriber = new TestSubscriber<>();
+        responseCache.cache(operation, Single.error(new DispatchFailure(operation, "failed"))).subscribe(subscriber);
+        subscriber.assertError(DispatchFailure.class);
+        assertEquals(0, responseCache.getSize());
+    }
+
+    @Test
+    public void writeEvictsParentAndDescendants() {
+        ResourceAddress connectionProperty = new ResourceAddress()
+                .add(SUBSYSTEM, "datasources")
+                .add(DATA_SOURCE, "ExampleDS")
+                .add("connection-properties", "foo");
+        ResourceAddress otherDs = new ResourceAddress()
+                .add(SUBSYSTEM, "datasources")
+                .add(DATA_SOURCE, "OtherDS");
+        read(readChildrenNames(DATASOURCES));
+        read(readResource(EXAMPLE_DS));
+        read(readResource(connectionProperty));
+        read(readResource(otherDs));
+        assertEquals(4, responseCache.getSize());
+
+        write(new Operation.Builder(EXAMPLE_DS, WRITE_ATTRIBUTE_OPERATION)
+                .param(NAME, "jndi-name")
+                .param(VALUE, "java:/foo")
+                .build());
+        assertEquals(1, responseCache.getSize());
+        assertEquals(3, responseCache.getEvictions());
+
+        read(readResource(otherDs));
+        assertEquals(1, responseCache.getHits());
+    }
+
+    @Test
+    public void wildcardWrite() {
+        read(readResource(EXAMPLE_DS));
+        responseCache.invalidate(new ResourceAddress().add(SUBSYSTEM, "datasources").add(DATA_SOURCE, "*"));
+        assertEquals(0, responseCache.getSize());
+    }
+
+    @Test
+    public void compositeWrite() {
+        ResourceAddress logging = new ResourceAddress().add(SUBSYSTEM, "logging");
+        read(readResource(EXAMPLE_DS));
+        read(readResource(logging));
+        write(new Composite(new Operation.Builder(logging, WRITE_ATTRIBUTE_OPERATION)
+                .param(NAME, "add-logging-api-dependencies")
+                .param(VALUE, false)
+                .build()));
+        assertEquals(1, responseCache.getSize());
+    }
+
+    @Test
+    public void readDuringWrite() {
+        PublishSubject<ModelNode> response = PublishSubject.create();
+        Operation operation = readResource(EXAMPLE_DS);
+        responseCache.cache(operation, response.toSingle()).subscribe(new TestSubscriber<>());
+        responseCache.invalidate(EXAMPLE_DS);
+        response.onNext(result("outdated"));
+        response.onCompleted();
+        assertEquals(0, responseCache.getSize());
+    }
+
+    @Test
+    public void clear() {
+        read(readResource(EXAMPLE_DS));
+        read(readChildrenNames(DATASOURCES));
+        responseCache.clear();
+        assertEquals(0, responseCache.getSize());
+        assertEquals(2, responseCache.getEvictions());
+    }
+
+    @Test
+    public void invalidationHandler() {
+        List<ResourceAddress> invalidated = new ArrayList<>();
+        HandlerRegistration registration = responseCache.addInvalidationHandler(invalidated::add);
+        write(new Operation.Builder(EXAMPLE_DS, WRITE_ATTRIBUTE_OPERATION)
+                .param(NAME, "jndi-name")
+                .param(VALUE, "java:/foo")
+                .build());
+        assertEquals(2, invalidated.size());
+        assertEquals(EXAMPLE_DS, invalidated.get(0));
+
+        responseCache.clear();
+        assertEquals(3, invalidated.size());
+        assertEquals(ResourceAddress.root(), invalidated.get(2));
+
+        registration.removeHandler();
+        responseCache.invalidate(EXAMPLE_DS);
+        assertEquals(3, invalidated.size());
+    }
+
+    @Test
+    public void bounded() {
+        for (int i = 0; i < ResponseCache.MAX_ENTRIES + 10; i++) {
+            read(readResource(new ResourceAddress().add(SUBSYSTEM, "datasources").add(DATA_SOURCE, "ds" + i)));
+        }
+        assertEquals(ResponseCache.MAX_ENTRIES, responseCache.getSize());
+    }
+
+    @Test
+    public void processStateFlushesOnce() {
+        ProcessStateProcessor processor = new ProcessStateProcessor(new SimpleEventBus(), responseCache);
+        ModelNode header = new ModelNode();
+        header.get(PROCESS_STATE).set(RELOAD_REQUIRED);
+        Header[] reloadRequired = new Header[]{new Header(header)};
+
+        read(readResource(EXAMPLE_DS));
+        processor.process(reloadRequired);
+        assertEquals(0, responseCache.getSize());
+
+        read(readResource(EXAMPLE_DS));
+        processor.process(reloadRequired);
+        assertEquals(1, responseCache.getSize());
+    }
+
+    private Operation readResource(ResourceAddress address) {
+        return new Operation.Builder(address, READ_RESOURCE_OPERATION).build();
+    }
+
+    private Operation readChildrenNames(ResourceAddress address) {
+        return new Operation.Builder(address, READ_CHILDREN_NAMES_OPERATION)
+                .param(CHILD_TYPE, DATA_SOURCE)
+                .build();
+    }
+
+    private ModelNode result(String value) {
+        ModelNode payload = new ModelNode();
+        payload.get(OUTCOME).set(SUCCESS);
+        payload.get(RESULT).set(value);
+        return payload;
+    }
+
+    private ModelNode read(Operation operation) {
+        Single<ModelNode> request = Single.defer(() -> {
+            requests++;
+            return Single.just(result("response " + requests));
+        });
+        TestSubscriber<ModelNode> subscriber = new TestSubscriber<>();
+        responseCache.cache(operation, request).subscribe(subscriber);
+        subscriber.assertCompleted();
+        return subscriber.getOnNextEvents().get(0);
+    }
+
+    private void write(Operation operation) {
+        TestSubscriber<ModelNode> subscriber = new TestSubscriber<>();
+        responseCache.invalidate(operation, Single.just(result("written"))).subscribe(subscriber);
+        subscriber.assertCompleted();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Single;
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class RetryPolicyTest {
+
+    private static final Operation OPERATION = new Operation.Builder(ResourceAddress.root(), READ_RESOURCE_OPERATION)
+            .build();
+
+    private TestScheduler scheduler;
+    private CircuitBreaker circuitBreaker;
+    private RetryPolicy retryPolicy;
+    private int requests;
+
+    @Before
+    public void setUp() {
+        scheduler = new TestScheduler();
+        circuitBreaker = new CircuitBreaker(scheduler);
+        circuitBreaker.setFailureThreshold(Integer.MAX_VALUE);
+        retryPolicy = new RetryPolicy(scheduler);
+        retryPolicy.setJitter(0);
+        requests = 0;
+    }
+
+    @Test
+    public void exponentialDelay() {
+        assertEquals(500, retryPolicy.delay(0));
+        assertEquals(1000, retryPolicy.delay(1));
+        assertEquals(2000, retryPolicy.delay(2));
+        assertEquals(RetryPolicy.DEFAULT_MAX_DELAY, retryPolicy.delay(10));
+        assertEquals(RetryPolicy.DEFAULT_MAX_DELAY, retryPolicy.delay(100));
+    }
+
+    @Test
+    public void jitter() {
+        RetryPolicy jittered = new RetryPolicy(scheduler, new Random() {
+            @Override
+            public double nextDouble() {
+                return 1;
+            }
+        });
+        assertEquals(250, jittered.delay(0));
+    }
+
+    @Test
+    public void recovers() {
+        TestSubscriber<ModelNode> subscriber = call(failing(2));
+        assertEquals(1, requests);
+
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        assertEquals(2, requests);
+        scheduler.advanceTimeBy(999, TimeUnit.MILLISECONDS);
+        assertEquals(2, requests);
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(3, requests);
+
+        subscriber.assertCompleted();
+        assertEquals(2, retryPolicy.getRetries());
+    }
+
+    @Test
+    public void givesUp() {
+        TestSubscriber<ModelNode> subscriber = call(failing(Integer.MAX_VALUE));
+        scheduler.advanceTimeBy(1, TimeUnit.MINUTES);
+        subscriber.assertError(DispatchError.class);
+        assertEquals(RetryPolicy.DEFAULT_MAX_RETRIES + 1, requests);
+    }
+
+    @Test
+    public void noRetryOnFailure() {
+        TestSubscriber<ModelNode> subscriber = call(Single.defer(() -> {
+            requests++;
+            return Single.error(new DispatchFailure(OPERATION, "failed"));
+        }));
+        subscriber.assertError(DispatchFailure.class);
+        assertEquals(1, requests);
+    }
+
+    @Test
+    public void waitsForOpenCircuit() {
+        circuitBreaker.setFailureThreshold(1);
+        TestSubscriber<ModelNode> subscriber = call(failing(1));
+        assertEquals(1, requests);
+        assertTrue(circuitBreaker.getRemainingOpenTime() > retryPolicy.delay(0));
+
+        scheduler.advanceTimeBy(CircuitBreaker.DEFAULT_OPEN_TIMEOUT - 1, TimeUnit.MILLISECONDS);
+        assertEquals(1, requests);
+        assertEquals(0, circuitBreaker.getRejected());
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        subscriber.assertCompleted();
+        assertEquals(2, requests);
+    }
+
+    @Test
+    public void recordedOnce() {
+        int[] recorded = new int[1];
+        TestSubscriber<ModelNode> subscriber = new TestSubscriber<>();
+        Dispatcher.recorded(retryPolicy.retry(circuitBreaker.protect(OPERATION, failing(2)), circuitBreaker),
+                () -> recorded[0]++).subscribe(subscriber);
+        scheduler.advanceTimeBy(1, TimeUnit.MINUTES);
+
+        subscriber.assertCompleted();
+        assertEquals(3, requests);
+        assertEquals(1, recorded[0]);
+    }
+
+    private Single<ModelNode> failing(int failures) {
+        return Single.defer(() -> {
+            requests++;
+            return requests <= failures
+                    ? Single.error(new DispatchError(OPERATION, "Service Unavailable", 503))
+                    : Single.just(new ModelNode());
+        });
+    }
+
+    private TestSubscriber<ModelNode> call(Single<ModelNode> request) {
+        TestSubscriber<ModelNode> subscriber = new TestSubscriber<>();
+        retryPolicy.retry(circuitBreaker.protect(OPERATION, request), circuitBreaker).subscribe(subscriber);
+        return subscriber;
+    }
+}
@@ -15,18 +15,27 @@
  */
 package org.jboss.hal.flow;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import rx.Completable;
 import rx.Observable;
+import rx.Scheduler;
 import rx.Single;
+import rx.exceptions.CompositeException;
 import rx.functions.Func1;
+import rx.schedulers.Schedulers;
 
 import static java.util.Arrays.asList;
 
 /**
- * Collection of static methods to execute async operations in order or until a condition is met. Uses RxGWT to
- * orchestrate the async operations.
+ * Collection of static methods to execute async operations in order, in parallel or until a condition is met. Uses
+ * RxGWT to orchestrate the async operations.
+ * <p>
+ * All flows share the same {@link FlowContext} between the tasks. Please note that tasks which run in parallel
+ * should not rely on the order of the values on the context stack.
  */
 public interface Flow {
 
@@ -45,4 +54,109 @@ public interface Flow {
                 .doOnTerminate(context.progress::finish)
                 .lastOrDefault(context).toSingle();
     }
+
+    /**
+     * Executes multiple tasks in parallel, but runs at most {@code maxConcurrency} tasks at the same time. The tasks
+     * are started in order. The flow fails as soon as one task fails.
+     */
+    static Single<FlowContext> parallel(FlowContext context, int maxConcurrency,
+            Collection<? extends Func1<FlowContext, Completable>> task) {
+        return Observable.from(task)
+                .flatMapSingle(f -> f.call(context).toSingleDefault(context), false, maxConcurrency)
+                .doOnSubscribe(() -> context.progress.reset(task.size()))
+                .doOnNext(n -> context.progress.tick())
+                .doOnTerminate(context.progress::finish)
+                .lastOrDefault(context).toSingle();
+    }
+
+    /**
+     * Executes multiple tasks in parallel, but runs at most {@code maxConcurrency} tasks at the same time. The tasks
+     * are started in order. Other than {@link #parallel(FlowContext, int, Collection)}, all tasks are executed even if
+     * some of them fail.
+     * <p>
+     * Failures are reported after all tasks have been finished: A single failure is passed as is, multiple failures
+     * are combined into a {@link CompositeException}. The failures are always listed in the order of the tasks, not in
+     * the order they occurred.
+     */
+    static Single<FlowContext> parallelDelayErrors(FlowContext context, int maxConcurrency,
+            Collection<? extends Func1<FlowContext, Completable>> task) {
+        return Single.defer(() -> {
+            List<Func1<FlowContext, Completable>> tasks = new ArrayList<>(task);
+            Throwable[] errors = new Throwable[tasks.size()];
+            return Observable.range(0, tasks.size())
+                    .flatMapSingle(index -> tasks.get(index).call(context)
+                            .doOnError(error -> errors[index] = error)
+                            .onErrorComplete()
+                            .toSingleDefault(context), false, maxConcurrency)
+                    .doOnSubscribe(() -> context.progress.reset(tasks.size()))
+                    .doOnNext(n -> context.progress.tick())
+                    .doOnTerminate(context.progress::finish)
+                    .lastOrDefault(context).toSingle()
+                    .flatMap(c -> {
+                        List<Throwable> failures = new ArrayList<>();
+                        for (Throwable error : errors) {
+                            if (error != null) {
+                                failures.add(error);
+                            }
+                        }
+                        if (failures.isEmpty()) {
+                            return Single.just(c);
+                        } else if (failures.size() == 1) {
+                            return Single.error(failures.get(0));
+                        } else {
+                            return Single.error(new CompositeException(failures));
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Executes multiple tasks at the same time and finishes as soon as the first task finishes. The other tasks are
+     * unsubscribed and their results are ignored. If the first task which finishes fails, the flow fails.
+     */
+    static Single<FlowContext> race(FlowContext context, Collection<? extends Func1<FlowContext, Completable>> task) {
+        if (task.isEmpty()) {
+            return Single.just(context);
+        }
+        List<Completable> completables = new ArrayList<>();
+        for (Func1<FlowContext, Completable> f : task) {
+            completables.add(Completable.defer(() -> f.call(context)));
+        }
+        return Completable.amb(completables)
+                .doOnSubscribe(subscription -> context.progress.reset(1))
+                .doOnCompleted(context.progress::tick)
+                .doOnTerminate(context.progress::finish)
+                .toSingleDefault(context);
+    }
+
+    /**
+     * Decorates a task, so that it fails with a {@link FlowException} if it doesn't finish within the specified time.
+     * The decorated task can be used in all flows.
+     */
+    static Func1<FlowContext, Completable> timeout(long timeout, TimeUnit unit, Func1<FlowContext, Completable> task) {
+        return timeout(timeout, unit, Schedulers.computation(), task);
+    }
+
+    /**
+     * Decorates a task, so that it fails with a {@link FlowException} if it doesn't finish within the specified time
+     * as measured by the specified scheduler.
+     */
+    static Func1<FlowContext, Completable> timeout(long timeout, TimeUnit unit, Scheduler scheduler,
+            Func1<FlowContext, Completable> task) {
+        return context -> task.call(context).timeout(timeout, unit, scheduler, Completable.defer(
+                () -> Completable.error(new FlowException("Timeout after " + unit.toMillis(timeout) + " ms",
+                        context))));
+    }
+
+    /**
+     * Makes a flow cancellable: As soon as {@code cancel} completes, no more tasks are started, the results of
+     * running tasks are ignored and the flow fails with a {@link FlowException}.
+     */
+    static Single<FlowContext> cancellable(FlowContext context, Single<FlowContext> flow, Completable cancel) {
+        Observable<FlowContext> cancelled = cancel
+                .andThen(Completable.defer(() -> Completable.error(new FlowException("Flow cancelled", context))))
+                .doOnError(error -> context.progress.finish())
+                .toObservable();
+        return Observable.amb(flow.toObservable(), cancelled).toSingle();
+    }
 }
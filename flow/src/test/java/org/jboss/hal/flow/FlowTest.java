@@ -0,0 +1,303 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import rx.Completable;
+import rx.Single;
+import rx.exceptions.CompositeException;
+import rx.functions.Func1;
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class FlowTest {
+
+    private TestScheduler scheduler;
+    private RecordingProgress progress;
+    private FlowContext context;
+    private List<String> started;
+    private List<String> finished;
+    private List<String> terminated;
+    private List<String> unsubscribed;
+    private int inFlight;
+    private int maxInFlight;
+
+    @Before
+    public void setUp() {
+        scheduler = new TestScheduler();
+        progress = new RecordingProgress();
+        context = new FlowContext(progress);
+        started = new ArrayList<>();
+        finished = new ArrayList<>();
+        terminated = new ArrayList<>();
+        unsubscribed = new ArrayList<>();
+        inFlight = 0;
+        maxInFlight = 0;
+    }
+
+
+    // ------------------------------------------------------ series / parallel
+
+    @Test
+    public void series() {
+        TestSubscriber<FlowContext> subscriber = subscribe(
+                Flow.series(context, asList(task("a", 100), task("b", 100), task("c", 100))));
+
+        advance(299);
+        subscriber.assertNoTerminalEvent();
+        advance(1);
+        subscriber.assertValue(context);
+        assertEquals(asList("a", "b", "c"), finished);
+        assertEquals(1, maxInFlight);
+        assertEquals(3, progress.ticks);
+        assertTrue(progress.finished);
+    }
+
+    @Test
+    public void parallel() {
+        TestSubscriber<FlowContext> subscriber = subscribe(Flow.parallel(context, 2,
+                asList(task("a", 100), task("b", 100), task("c", 100), task("d", 100))));
+
+        advance(199);
+        subscriber.assertNoTerminalEvent();
+        advance(1);
+        subscriber.assertValue(context);
+        assertEquals(asList("a", "b", "c", "d"), started);
+        assertEquals(2, maxInFlight);
+        assertEquals(4, progress.ticks);
+        assertTrue(progress.finished);
+    }
+
+    @Test
+    public void parallelFailFast() {
+        TestSubscriber<FlowContext> subscriber = subscribe(Flow.parallel(context, 3,
+                asList(task("a", 100), failingTask("b", 50), task("c", 100))));
+
+        advance(50);
+        subscriber.assertError(FlowException.class);
+        assertEquals(2, unsubscribed.size());
+        assertTrue(unsubscribed.containsAll(asList("a", "c")));
+    }
+
+    @Test
+    public void parallelDelayErrors() {
+        TestSubscriber<FlowContext> subscriber = subscribe(Flow.parallelDelayErrors(context, 3,
+                asList(task("a", 100), failingTask("b", 80), failingTask("c", 40), task("d", 100))));
+
+        // c fails after 40 ms, so d runs from 40 to 140 ms
+        advance(139);
+        subscriber.assertNoTerminalEvent();
+        advance(1);
+        subscriber.assertError(CompositeException.class);
+        assertEquals(asList("a", "b", "c", "d"), started);
+        assertEquals(asList("a", "d"), finished);
+
+        // failures are listed in the order of the tasks, not in the order they occurred
+        List<Throwable> errors = ((CompositeException) subscriber.getOnErrorEvents().get(0)).getExceptions();
+        assertEquals(2, errors.size());
+        assertEquals("b", errors.get(0).getMessage());
+        assertEquals("c", errors.get(1).getMessage());
+        assertEquals(4, progress.ticks);
+        assertTrue(progress.finished);
+    }
+
+    @Test
+    public void parallelDelayErrorsSingleFailure() {
+        TestSubscriber<FlowContext> subscriber = subscribe(Flow.parallelDelayErrors(context, 2,
+                asList(task("a", 100), failingTask("b", 10))));
+
+        advance(100);
+        subscriber.assertError(FlowException.class);
+        assertEquals("b", subscriber.getOnErrorEvents().get(0).getMessage());
+    }
+
+    @Test
+    public void parallelDelayErrorsSuccess() {
+        TestSubscriber<FlowContext> subscriber = subscribe(Flow.parallelDelayErrors(context, 2,
+                asList(task("a", 100), task("b", 100))));
+
+        advance(100);
+        subscriber.assertValue(context);
+    }
+
+
+    // ------------------------------------------------------ race
+
+    @Test
+    public void race() {
+        TestSubscriber<FlowContext> subscriber = subscribe(
+                Flow.race(context, asList(task("a", 300), task("b", 100), task("c", 200))));
+
+        advance(100);
+        subscriber.assertValue(context);
+        assertEquals(asList("b"), finished);
+        assertTrue(unsubscribed.containsAll(asList("a", "c")));
+        assertTrue(progress.finished);
+    }
+
+    @Test
+    public void raceFailure() {
+        TestSubscriber<FlowContext> subscriber = subscribe(
+                Flow.race(context, asList(task("a", 100), failingTask("b", 50))));
+
+        advance(50);
+        subscriber.assertError(FlowException.class);
+        assertEquals(asList("a"), unsubscribed);
+    }
+
+    @Test
+    public void raceEmpty() {
+        TestSubscriber<FlowContext> subscriber = subscribe(Flow.race(context, new ArrayList<Task<FlowContext>>()));
+        subscriber.assertValue(context);
+    }
+
+
+    // ------------------------------------------------------ timeout
+
+    @Test
+    public void timeout() {
+        TestSubscriber<FlowContext> subscriber = subscribe(Flow.series(context, asList(
+                Flow.timeout(150, MILLISECONDS, scheduler, task("a", 100)),
+                Flow.timeout(150, MILLISECONDS, scheduler, task("b", 200)),
+                task("c", 100))));
+
+        advance(249);
+        subscriber.assertNoTerminalEvent();
+        advance(1);
+        subscriber.assertError(FlowException.class);
+        assertEquals(asList("a"), finished);
+        assertEquals(asList("b"), unsubscribed);
+        assertFalse(started.contains("c"));
+    }
+
+
+    // ------------------------------------------------------ cancellable
+
+    @Test
+    public void cancel() {
+        PublishSubject<Void> cancel = PublishSubject.create();
+        TestSubscriber<FlowContext> subscriber = subscribe(Flow.cancellable(context,
+                Flow.series(context, asList(task("a", 100), task("b", 100), task("c", 100))),
+                cancel.toCompletable()));
+
+        advance(150);
+        cancel.onCompleted();
+        subscriber.assertError(FlowException.class);
+        assertEquals(asList("a"), finished);
+        assertEquals(asList("b"), unsubscribed);
+        assertTrue(progress.finished);
+
+        advance(500);
+        assertEquals(asList("a", "b"), started);
+    }
+
+    @Test
+    public void cancelAfterFinish() {
+        PublishSubject<Void> cancel = PublishSubject.create();
+        TestSubscriber<FlowContext> subscriber = subscribe(Flow.cancellable(context,
+                Flow.series(context, asList(task("a", 100), task("b", 100))), cancel.toCompletable()));
+
+        advance(200);
+        cancel.onCompleted();
+        subscriber.assertValue(context);
+        assertFalse(cancel.hasObservers());
+    }
+
+
+    // ------------------------------------------------------ helper methods
+
+    private TestSubscriber<FlowContext> subscribe(Single<FlowContext> flow) {
+        TestSubscriber<FlowContext> subscriber = new TestSubscriber<>();
+        flow.subscribe(subscriber);
+        return subscriber;
+    }
+
+    private void advance(long millis) {
+        scheduler.advanceTimeBy(millis, TimeUnit.MILLISECONDS);
+    }
+
+    private Func1<FlowContext, Completable> task(String name, long millis) {
+        return task(name, millis, false);
+    }
+
+    private Func1<FlowContext, Completable> failingTask(String name, long millis) {
+        return task(name, millis, true);
+    }
+
+    /** A task which takes the specified time on the test scheduler and records its lifecycle. */
+    private Func1<FlowContext, Completable> task(String name, long millis, boolean fail) {
+        return ctx -> Completable.timer(millis, MILLISECONDS, scheduler)
+                .andThen(fail
+                        ? Completable.error(new FlowException(name, ctx))
+                        : Completable.complete())
+                .doOnSubscribe(subscription -> {
+                    started.add(name);
+                    inFlight++;
+                    maxInFlight = Math.max(maxInFlight, inFlight);
+                })
+                .doOnCompleted(() -> finished.add(name))
+                .doOnTerminate(() -> {
+                    terminated.add(name);
+                    inFlight--;
+                })
+                .doOnUnsubscribe(() -> {
+                    if (!terminated.contains(name)) {
+                        unsubscribed.add(name);
+                    }
+                });
+    }
+
+
+    private static class RecordingProgress implements Progress {
+
+        int ticks;
+        boolean finished;
+
+        @Override
+        public void reset() {
+            ticks = 0;
+            finished = false;
+        }
+
+        @Override
+        public void reset(int max, String label) {
+            reset();
+        }
+
+        @Override
+        public void tick(String label) {
+            ticks++;
+        }
+
+        @Override
+        public void finish() {
+            finished = true;
+        }
+    }
+}
@@ -15,17 +15,44 @@
  */
 package org.jboss.hal.meta;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jboss.hal.dmr.Property;
 import org.jboss.hal.dmr.ResourceAddress;
 
-/** Abstract registry which uses the specified statement context to resolve the address template. */
+/**
+ * Abstract registry which uses the specified statement context to resolve the address template.
+ * <p>
+ * The metadata is kept in a {@link LruCache} which is bounded by the estimated weight of the metadata. Metadata which
+ * is {@linkplain #pin(AddressTemplate) pinned} (including the metadata of all nested resources) is never evicted.
+ * <p>
+ * Metadata which is not in the registry can be provided by a {@linkplain #setFallback(Function) fallback}. This is
+ * used to restore metadata from the metadata cache on demand.
+ */
 public abstract class AbstractRegistry<T> implements Registry<T> {
 
     private final StatementContext statementContext;
     private final String type;
+    private final LruCache<ResourceAddress, T> registry;
+    private final List<List<Property>> pinned;
+    private Function<ResourceAddress, T> fallback;
 
     protected AbstractRegistry(final StatementContext statementContext, final String type) {
+        this(statementContext, type, LruCache.UNBOUNDED, value -> 0);
+    }
+
+    /**
+     * @param maxWeight the maximum weight of all metadata, use {@link LruCache#UNBOUNDED} for no limit
+     * @param weigher   estimates the weight of the metadata
+     */
+    protected AbstractRegistry(final StatementContext statementContext, final String type, final double maxWeight,
+            final Weigher<? super T> weigher) {
         this.statementContext = statementContext;
         this.type = type;
+        this.registry = new LruCache<>(maxWeight, weigher, this::isPinned);
+        this.pinned = new ArrayList<>();
     }
 
     @Override
@@ -44,9 +71,109 @@ public abstract class AbstractRegistry<T> implements Registry<T> {
         return lookupAddress(address) != null;
     }
 
+    @Override
+    public void add(final ResourceAddress address, final T metadata) {
+        registry.put(address, metadata);
+    }
+
+    /**
+     * Resolves the template against the statement context of this registry. The returned address is memoized by the
+     * template and must not be modified.
+     */
     protected ResourceAddress resolveTemplate(final AddressTemplate template) {
-        return template.resolve(statementContext);
+        return template.resolveMemoized(statementContext);
+    }
+
+    protected T lookupAddress(final ResourceAddress address) {
+        T metadata = registry.get(address);
+        if (metadata == null && fallback != null) {
+            metadata = fallback.apply(address);
+            if (metadata != null) {
+                add(address, metadata);
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * Sets a function which provides the metadata for addresses which are not in the registry. The function returns
+     * {@code null} if it doesn't know the address. Provided metadata is added to the registry.
+     */
+    public void setFallback(final Function<ResourceAddress, T> fallback) {
+        this.fallback = fallback;
+    }
+
+
+    // ------------------------------------------------------ pinning
+
+    /** Prevents the metadata of the template and of all nested resources from being evicted. */
+    public void pin(final AddressTemplate template) {
+        pinned.add(resolveTemplate(template).asPropertyList());
+    }
+
+    /** Releases all pinned templates and evicts metadata if the maximum weight is exceeded. */
+    public void unpinAll() {
+        pinned.clear();
+        registry.evict();
+    }
+
+    private boolean isPinned(final ResourceAddress address) {
+        if (!pinned.isEmpty()) {
+            List<Property> segments = address.asPropertyList();
+            for (List<Property> prefix : pinned) {
+                if (startsWith(segments, prefix)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean startsWith(final List<Property> segments, final List<Property> prefix) {
+        if (prefix.size() > segments.size()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.size(); i++) {
+            Property segment = segments.get(i);
+            Property other = prefix.get(i);
+            if (!segment.getName().equals(other.getName()) ||
+                    !segment.getValue().asString().equals(other.getValue().asString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    // ------------------------------------------------------ statistics
+
+    /** @return the number of metadata entries in this registry */
+    public int size() {
+        return registry.size();
     }
 
-    protected abstract T lookupAddress(final ResourceAddress address);
+    /** @return the estimated weight of all metadata in this registry */
+    public double getWeight() {
+        return registry.weight();
+    }
+
+    public double getMaxWeight() {
+        return registry.maxWeight();
+    }
+
+    /** Sets the maximum weight and evicts metadata if necessary. */
+    public void setMaxWeight(final double maxWeight) {
+        registry.setMaxWeight(maxWeight);
+    }
+
+    /** @return the number of metadata entries which were evicted so far */
+    public int getEvictions() {
+        return registry.evictions();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(size: " + size() + ", weight: " + (long) getWeight() + //NON-NLS
+                ", evictions: " + getEvictions() + ")"; //NON-NLS
+    }
 }
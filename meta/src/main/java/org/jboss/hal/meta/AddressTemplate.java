@@ -24,7 +24,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 
-import com.google.common.collect.Lists;
 import jsinterop.annotations.JsIgnore;
 import jsinterop.annotations.JsMethod;
 import jsinterop.annotations.JsProperty;
@@ -423,6 +422,13 @@ public final class AddressTemplate implements Iterable<String> {
 
     // ------------------------------------------------------ resolve
 
+    private static final int MEMO_SLOTS = 4;
+
+    // compiled on first use and shared by all resolutions of this template
+    private Plan plan;
+    private final Memo[] memos = new Memo[MEMO_SLOTS];
+    private int nextMemo;
+
     /**
      * Resolve this address template against the specified statement context.
      *
@@ -433,77 +439,250 @@ public final class AddressTemplate implements Iterable<String> {
      * @return a fully qualified resource address which might be empty, but which does not contain any tokens
      */
     public ResourceAddress resolve(StatementContext context, @EsParam("...string") String... wildcards) {
-        if (isEmpty()) {
-            return ResourceAddress.root();
+        if (wildcards == null || wildcards.length == 0) {
+            // callers are free to modify the returned address, so hand out a copy of the memoized one
+            return new ResourceAddress(resolveMemoized(context));
+        }
+        Plan plan = plan();
+        return plan.resolve(plan.values(context), wildcards);
+    }
+
+    /**
+     * Resolves this address template w/o wildcards and memoizes the result per statement context. The memoized address
+     * is reused as long as the values of the variables used in this template don't change.
+     * <p>
+     * The returned address is shared and must not be modified!
+     */
+    ResourceAddress resolveMemoized(StatementContext context) {
+        Plan plan = plan();
+        String[] values = plan.values(context);
+        Memo memo = null;
+        for (Memo m : memos) {
+            if (m != null && m.context == context) {
+                memo = m;
+                break;
+            }
+        }
+        if (memo != null) {
+            if (!Arrays.equals(memo.values, values)) {
+                memo.values = values;
+                memo.address = plan.resolve(values, null);
+            }
+        } else {
+            memo = new Memo(context, values, plan.resolve(values, null));
+            memos[nextMemo] = memo;
+            nextMemo = (nextMemo + 1) % MEMO_SLOTS;
+        }
+        return memo.address;
+    }
+
+    private Plan plan() {
+        if (plan == null) {
+            plan = new Plan(tokens);
         }
+        return plan;
+    }
 
-        int wildcardCount = 0;
-        ModelNode model = new ModelNode();
-        Memory<String[]> tupleMemory = new Memory<>();
-        Memory<String> valueMemory = new Memory<>();
 
-        for (Token token : tokens) {
-            if (!token.hasKey()) {
-                // a single token or token expression
-                String tokenRef = token.getValue();
-                String[] resolvedValue;
-
-                if (tokenRef.startsWith("{")) {
-                    tokenRef = tokenRef.substring(1, tokenRef.length() - 1);
-                    if (!tupleMemory.contains(tokenRef)) {
-                        if (context.resolveTuple(tokenRef) != null) {
-                            tupleMemory.memorize(tokenRef,
-                                    Lists.<String[]>newArrayList(context.resolveTuple(tokenRef)));
+    /**
+     * The compiled form of the tokens: Constant segments are decoded once and the variables are collected, so that a
+     * resolution only needs to look up the variables and to assemble the address.
+     * <p>
+     * Each variable is resolved only once per resolution. If a variable is used more than once, all further
+     * occurrences resolve to {@code null}: Tuples are skipped and values are replaced by {@value #BLANK}.
+     */
+    private static class Plan {
+
+        private static final int CONSTANT = 0;
+        private static final int TUPLE = 1;
+        private static final int VALUE = 2;
+        private static final int UNRESOLVED = -1;
+
+        private final List<Variable> variables;
+        private final Step[] steps;
+        private final int slots;
+
+        Plan(List<Token> tokens) {
+            Map<String, Variable> tuples = new HashMap<>();
+            Map<String, Variable> values = new HashMap<>();
+            this.variables = new ArrayList<>();
+            this.steps = new Step[tokens.size()];
+
+            int slot = 0;
+            int index = 0;
+            for (Token token : tokens) {
+                Step step;
+                if (!token.hasKey()) {
+                    String tokenRef = token.getValue();
+                    if (tokenRef.startsWith("{")) {
+                        // a tuple like {selected.host}
+                        String name = variableName(tokenRef);
+                        int tupleSlot = UNRESOLVED;
+                        if (!tuples.containsKey(name)) {
+                            Variable variable = new Variable(name, true, slot);
+                            tuples.put(name, variable);
+                            variables.add(variable);
+                            tupleSlot = slot;
+                            slot += 2;
                         }
+                        step = new Step(TUPLE, null, tupleSlot, null, UNRESOLVED);
+                    } else {
+                        // a token expression
+                        assert tokenRef.contains("=") : "Invalid token expression " + tokenRef;
+                        String[] split = tokenRef.split("=");
+                        step = new Step(CONSTANT, split[0], UNRESOLVED, ModelNodeHelper.decodeValue(split[1]),
+                                UNRESOLVED);
                     }
-                    resolvedValue = tupleMemory.next(tokenRef);
                 } else {
-                    assert tokenRef.contains("=") : "Invalid token expression " + tokenRef;
-                    resolvedValue = tokenRef.split("=");
+                    // a value expression: key and value might be variables
+                    String key = token.getKey();
+                    String value = token.getValue();
+                    int keySlot = UNRESOLVED;
+                    int valueSlot = UNRESOLVED;
+                    if (key.startsWith("{")) {
+                        Variable variable = values.get(variableName(key));
+                        if (variable == null) {
+                            variable = new Variable(variableName(key), false, slot++);
+                            values.put(variable.name, variable);
+                            variables.add(variable);
+                            keySlot = variable.slot;
+                        }
+                        key = null;
+                    }
+                    if (value.startsWith("{")) {
+                        Variable variable = values.get(variableName(value));
+                        if (variable == null) {
+                            variable = new Variable(variableName(value), false, slot++);
+                            values.put(variable.name, variable);
+                            variables.add(variable);
+                            valueSlot = variable.slot;
+                        }
+                        value = null;
+                    }
+                    step = keySlot == UNRESOLVED && valueSlot == UNRESOLVED && key != null && value != null
+                            && !"*".equals(value)
+                            ? new Step(CONSTANT, key, UNRESOLVED, ModelNodeHelper.decodeValue(value), UNRESOLVED)
+                            : new Step(VALUE, key, keySlot, value, valueSlot);
                 }
+                steps[index++] = step;
+            }
+            this.slots = slot;
+        }
 
-                if (resolvedValue != null) {
-                    model.add(resolvedValue[0], ModelNodeHelper.decodeValue(resolvedValue[1]));
-                }
+        private static String variableName(String ref) {
+            return ref.substring(1, ref.length() - 1);
+        }
 
-            } else {
-                // a value expression. key and value of the expression might be resolved
-                String keyRef = token.getKey();
-                String valueRef = token.getValue();
-
-                String resolvedKey = resolveSome(context, valueMemory, keyRef);
-                String resolvedValue = resolveSome(context, valueMemory, valueRef);
-
-                if (resolvedKey == null) { resolvedKey = BLANK; }
-                if (resolvedValue == null) { resolvedValue = BLANK; }
-
-                // wildcards
-                String addressValue = resolvedValue;
-                if ("*".equals(
-                        resolvedValue) && wildcards != null && wildcards.length > 0 && wildcardCount < wildcards.length) {
-                    addressValue = wildcards[wildcardCount];
-                    wildcardCount++;
+        /** Looks up the current values of all variables used in this plan. */
+        String[] values(StatementContext context) {
+            String[] values = new String[slots];
+            for (Variable variable : variables) {
+                if (variable.tuple) {
+                    String[] tuple = context.resolveTuple(variable.name);
+                    if (tuple != null) {
+                        values[variable.slot] = tuple[0];
+                        values[variable.slot + 1] = tuple[1];
+                    }
+                } else {
+                    values[variable.slot] = context.resolve(variable.name);
                 }
-                model.add(resolvedKey, ModelNodeHelper.decodeValue(addressValue));
             }
+            return values;
         }
-        return new ResourceAddress(model);
-    }
 
-    private String resolveSome(StatementContext context, Memory<String> memory, String input) {
-        String resolved;
-        if (input.startsWith("{")) {
-            input = input.substring(1, input.length() - 1);
-            if (!memory.contains(input)) {
-                if (context.resolve(input) != null) {
-                    memory.memorize(input, Lists.newArrayList(context.resolve(input)));
+        ResourceAddress resolve(String[] values, String[] wildcards) {
+            if (steps.length == 0) {
+                return ResourceAddress.root();
+            }
+
+            // starts undefined and becomes a list with the first segment (the address stays undefined if all
+            // segments resolve to null)
+            ResourceAddress address = new ResourceAddress(new ModelNode());
+            int wildcardCount = 0;
+            for (Step step : steps) {
+                switch (step.type) {
+                    case CONSTANT:
+                        address.add(step.key, step.value);
+                        break;
+
+                    case TUPLE:
+                        if (step.keySlot != UNRESOLVED && values[step.keySlot] != null) {
+                            address.add(values[step.keySlot],
+                                    ModelNodeHelper.decodeValue(values[step.keySlot + 1]));
+                        }
+                        break;
+
+                    case VALUE:
+                        String resolvedKey = step.key != null ? step.key : slot(values, step.keySlot);
+                        String resolvedValue = step.value != null ? step.value : slot(values, step.valueSlot);
+                        if (resolvedKey == null) { resolvedKey = BLANK; }
+                        if (resolvedValue == null) { resolvedValue = BLANK; }
+
+                        // wildcards
+                        String addressValue = resolvedValue;
+                        if ("*".equals(resolvedValue) && wildcards != null && wildcardCount < wildcards.length) {
+                            addressValue = wildcards[wildcardCount];
+                            wildcardCount++;
+                        }
+                        address.add(resolvedKey, ModelNodeHelper.decodeValue(addressValue));
+                        break;
+
+                    default:
+                        break;
                 }
             }
-            resolved = memory.next(input);
-        } else {
-            resolved = input;
+            return address;
+        }
+
+        private String slot(String[] values, int slot) {
+            return slot == UNRESOLVED ? null : values[slot];
+        }
+    }
+
+
+    private static class Variable {
+
+        final String name;
+        final boolean tuple;
+        final int slot;
+
+        Variable(String name, boolean tuple, int slot) {
+            this.name = name;
+            this.tuple = tuple;
+            this.slot = slot;
+        }
+    }
+
+
+    private static class Step {
+
+        final int type;
+        final String key;
+        final int keySlot;
+        final String value;
+        final int valueSlot;
+
+        Step(int type, String key, int keySlot, String value, int valueSlot) {
+            this.type = type;
+            this.key = key;
+            this.keySlot = keySlot;
+            this.value = value;
+            this.valueSlot = valueSlot;
+        }
+    }
+
+
+    private static class Memo {
+
+        final StatementContext context;
+        String[] values;
+        ResourceAddress address;
+
+        Memo(StatementContext context, String[] values, ResourceAddress address) {
+            this.context = context;
+            this.values = values;
+            this.address = address;
         }
-        return resolved;
     }
 
 
@@ -592,38 +771,6 @@ public final class AddressTemplate implements Iterable<String> {
     }
 
 
-    private static class Memory<T> {
-
-        final Map<String, List<T>> values = new HashMap<>();
-        final Map<String, Integer> indexes = new HashMap<>();
-
-        boolean contains(String key) {
-            return values.containsKey(key);
-        }
-
-        void memorize(String key, List<T> resolved) {
-            int startIdx = resolved.isEmpty() ? 0 : resolved.size() - 1;
-            values.put(key, resolved);
-            indexes.put(key, startIdx);
-        }
-
-        T next(String key) {
-            T result = null;
-
-            if (values.containsKey(key) && indexes.containsKey(key)) {
-                List<T> items = values.get(key);
-                Integer idx = indexes.get(key);
-
-                if (!items.isEmpty() && idx >= 0) {
-                    result = items.get(idx);
-                    indexes.put(key, --idx);
-                }
-            }
-            return result;
-        }
-    }
-
-
     // ------------------------------------------------------ JS methods
 
     /**
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Map which is bounded by the total weight of its values. If the maximum weight is exceeded, the least recently used
+ * entries are evicted. Entries can be pinned using a predicate: Pinned entries are never evicted, even if this means
+ * that the maximum weight is exceeded.
+ */
+public class LruCache<K, V> {
+
+    public static final double UNBOUNDED = Double.MAX_VALUE;
+
+    private final Map<K, Entry<V>> entries;
+    private final Weigher<? super V> weigher;
+    private final Predicate<? super K> pinned;
+    private double maxWeight;
+    private double weight;
+    private int evictions;
+
+    /**
+     * @param maxWeight the maximum weight of all values
+     * @param weigher   calculates the weight of a value
+     * @param pinned    decides whether a key must not be evicted
+     */
+    public LruCache(final double maxWeight, final Weigher<? super V> weigher, final Predicate<? super K> pinned) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true); // access order
+        this.weigher = weigher;
+        this.pinned = pinned;
+        this.maxWeight = maxWeight;
+    }
+
+    /** Returns the value for the key and marks it as recently used. */
+    public V get(final K key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    public void put(final K key, final V value) {
+        Entry<V> entry = new Entry<>(value, weigher.weigh(value));
+        Entry<V> previous = entries.put(key, entry);
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entry.weight;
+        evict();
+    }
+
+    public V remove(final K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry != null) {
+            weight -= entry.weight;
+            return entry.value;
+        }
+        return null;
+    }
+
+    public void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /** Evicts the least recently used entries which are not pinned until the weight is below the maximum weight. */
+    public void evict() {
+        if (weight > maxWeight) {
+            for (Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+                    iterator.hasNext() && weight > maxWeight; ) {
+                Map.Entry<K, Entry<V>> entry = iterator.next();
+                if (!pinned.test(entry.getKey())) {
+                    iterator.remove();
+                    weight -= entry.getValue().weight;
+                    evictions++;
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /** @return the total weight of all values */
+    public double weight() {
+        return weight;
+    }
+
+    public double maxWeight() {
+        return maxWeight;
+    }
+
+    /** Sets the maximum weight and evicts entries if necessary. */
+    public void setMaxWeight(final double maxWeight) {
+        this.maxWeight = maxWeight;
+        evict();
+    }
+
+    /** @return the number of entries which were evicted so far */
+    public int evictions() {
+        return evictions;
+    }
+
+
+    private static class Entry<V> {
+
+        final V value;
+        final double weight;
+
+        Entry(final V value, final double weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
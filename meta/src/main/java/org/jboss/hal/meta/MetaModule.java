@@ -17,9 +17,13 @@ package org.jboss.hal.meta;
 
 import com.google.gwt.inject.client.AbstractGinModule;
 import com.google.inject.Singleton;
+import org.jboss.hal.meta.cache.LocalStorageMetadataStore;
+import org.jboss.hal.meta.cache.MetadataCache;
+import org.jboss.hal.meta.cache.MetadataStore;
 import org.jboss.hal.meta.capabilitiy.Capabilities;
 import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
 import org.jboss.hal.meta.processing.MetadataProcessor;
+import org.jboss.hal.meta.search.ModelIndex;
 import org.jboss.hal.meta.security.SecurityContextRegistry;
 import org.jboss.hal.spi.GinModule;
 
@@ -29,8 +33,11 @@ public class MetaModule extends AbstractGinModule {
     @Override
     protected void configure() {
         bind(Capabilities.class).in(Singleton.class);
+        bind(MetadataCache.class).in(Singleton.class);
+        bind(MetadataStore.class).to(LocalStorageMetadataStore.class).in(Singleton.class);
         bind(MetadataProcessor.class).in(Singleton.class);
         bind(MetadataRegistry.class).in(Singleton.class);
+        bind(ModelIndex.class).in(Singleton.class);
         bind(ResourceDescriptionRegistry.class).in(Singleton.class);
         bind(SecurityContextRegistry.class).in(Singleton.class);
     }
@@ -72,7 +72,22 @@ public class Metadata {
         this.capabilities = capabilities;
     }
 
-    /** Copies attributes from this description to the specified metadata */
+    /**
+     * Returns a copy of this metadata with a modifiable copy of the resource description and the security context.
+     * The metadata from the {@link MetadataRegistry} is shared and its resource description might be protected: Use a
+     * copy if you need to modify the metadata.
+     */
+    @JsIgnore
+    public Metadata copy() {
+        ResourceDescription descriptionCopy = new ResourceDescription(description);
+        SecurityContext securityContextCopy = new SecurityContext(getSecurityContext());
+        return new Metadata(template, () -> securityContextCopy, descriptionCopy, capabilities);
+    }
+
+    /**
+     * Copies attributes from this description to the specified metadata. Modifies the destination: Don't use metadata
+     * from the {@link MetadataRegistry} as destination, but a {@linkplain #copy() copy}.
+     */
     @JsIgnore
     public void copyAttribute(String attribute, Metadata destination) {
         Property p = getDescription().findAttribute(ATTRIBUTES, attribute);
@@ -129,7 +144,7 @@ public class Metadata {
                 // The nested name is *always* just the nested property name,
                 // since it's used when building the DMR operations
                 String nestedName = nestedProperty.getName();
-                ModelNode nestedDescription = nestedProperty.getValue();
+                ModelNode nestedDescription = nestedProperty.getValue().clone();
                 // The name which is used for the label can be prefixed with the complex attribute name.
                 // If prefixComplexAttribute == true), it is stored as an artificial attribute and picked
                 // up by LabelBuilder.label(Property)
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Property;
+
+/**
+ * Estimates the number of bytes a model node occupies in memory. The numbers are rough, but good enough to compare
+ * nodes of different sizes. Keys are counted as references only since they're interned while decoding. Nodes which
+ * have not been decoded yet are weighed by their {@linkplain ModelNode#encodedSize() encoded size} w/o decoding them.
+ */
+public class ModelNodeWeigher implements Weigher<ModelNode> {
+
+    static final int NODE = 16;
+    static final int VALUE = 16;
+    static final int REFERENCE = 4;
+    static final int STRING = 24;
+
+    @Override
+    public double weigh(final ModelNode node) {
+        return estimate(node);
+    }
+
+    static double estimate(final ModelNode node) {
+        int encodedSize = node.encodedSize();
+        if (encodedSize >= 0) {
+            return NODE + encodedSize;
+        }
+        double size = NODE + VALUE;
+        switch (node.getType()) {
+            case OBJECT:
+                for (String key : node.keys()) {
+                    size += 2 * REFERENCE + estimate(node.get(key));
+                }
+                break;
+            case LIST:
+                for (ModelNode element : node.asList()) {
+                    size += REFERENCE + estimate(element);
+                }
+                break;
+            case PROPERTY:
+                Property property = node.asProperty();
+                size += REFERENCE + string(property.getName()) + estimate(property.getValue());
+                break;
+            case STRING:
+            case EXPRESSION:
+            case BIG_DECIMAL:
+            case BIG_INTEGER:
+                size += string(node.asString());
+                break;
+            case BYTES:
+                size += node.asBytes().length;
+                break;
+            default:
+                break;
+        }
+        return size;
+    }
+
+    private static int string(final String value) {
+        return STRING + 2 * value.length();
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import rx.Completable;
+import rx.Single;
+
+/** Metadata store which keeps the entries in memory only. */
+public class InMemoryMetadataStore implements MetadataStore {
+
+    private final Map<String, String> entries;
+
+    public InMemoryMetadataStore() {
+        this.entries = new HashMap<>();
+    }
+
+    @Override
+    public Single<Map<String, String>> read() {
+        return Single.fromCallable(() -> new HashMap<>(entries));
+    }
+
+    @Override
+    public Completable write(Map<String, String> entries) {
+        return Completable.fromAction(() -> this.entries.putAll(entries));
+    }
+
+    @Override
+    public Completable clear() {
+        return Completable.fromAction(entries::clear);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import elemental2.webstorage.Storage;
+import elemental2.webstorage.WebStorageWindow;
+import org.jboss.hal.resources.Ids;
+import rx.Completable;
+import rx.Single;
+
+import static elemental2.dom.DomGlobal.window;
+
+/**
+ * Metadata store which uses the local storage of the browser. Each entry is stored as a separate item using {@value
+ * Ids#METADATA_STORAGE} as prefix. Writing fails if the quota of the local storage is exceeded.
+ */
+public class LocalStorageMetadataStore implements MetadataStore {
+
+    private static final String PREFIX = Ids.METADATA_STORAGE + ":";
+
+    private final Storage storage;
+
+    public LocalStorageMetadataStore() {
+        this.storage = WebStorageWindow.of(window).localStorage;
+    }
+
+    @Override
+    public Single<Map<String, String>> read() {
+        return Single.fromCallable(() -> {
+            Map<String, String> entries = new HashMap<>();
+            if (storage != null) {
+                for (String key : keys()) {
+                    entries.put(key.substring(PREFIX.length()), storage.getItem(key));
+                }
+            }
+            return entries;
+        });
+    }
+
+    @Override
+    public Completable write(Map<String, String> entries) {
+        return Completable.fromAction(() -> {
+            if (storage != null) {
+                entries.forEach((key, value) -> storage.setItem(PREFIX + key, value));
+            }
+        });
+    }
+
+    @Override
+    public Completable clear() {
+        return Completable.fromAction(() -> {
+            if (storage != null) {
+                keys().forEach(storage::removeItem);
+            }
+        });
+    }
+
+    private List<String> keys() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < storage.getLength(); i++) {
+            String key = storage.key(i);
+            if (key != null && key.startsWith(PREFIX)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
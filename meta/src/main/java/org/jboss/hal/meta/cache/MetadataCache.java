@@ -0,0 +1,332 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import javax.inject.Inject;
+
+import jsinterop.annotations.JsIgnore;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.meta.description.ResourceDescription;
+import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
+import org.jboss.hal.meta.search.IndexedResource;
+import org.jboss.hal.meta.search.ModelIndex;
+import org.jboss.hal.meta.security.SecurityContext;
+import org.jboss.hal.meta.security.SecurityContextRegistry;
+import org.jetbrains.annotations.NonNls;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Completable;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
+
+import static java.util.Collections.singletonMap;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ADDRESS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.TIMESTAMP;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.VALUE;
+
+/**
+ * Persistent cache for resource descriptions, security contexts and the {@linkplain ModelIndex search index}. Reading
+ * the metadata using r-r-d operations is the biggest part of the startup costs. The cache keeps the metadata in a
+ * {@link MetadataStore} across page loads.
+ * <p>
+ * The entries are only valid for a specific fingerprint. The fingerprint is made of the format of the entries, the
+ * management model version, the product version, the installed extensions and the roles of the user (see {@link
+ * #fingerprint(String, String, Collection, Collection)}). If the fingerprint has changed, the store is cleared when the
+ * cache is {@linkplain #load(String) loaded}. New metadata read from the management model is {@linkplain #store(Map,
+ * Map) stored} afterwards.
+ * <p>
+ * Loading the cache only reads the entries. They're decoded on demand: The cache is the {@linkplain
+ * org.jboss.hal.meta.AbstractRegistry#setFallback(Function) fallback} of the registries and restores an entry when
+ * its address is looked up for the first time.
+ * <p>
+ * Security contexts depend on the RBAC constraints, which can change without changing the fingerprint. That's why
+ * cached security contexts are only restored for {@value #SECURITY_CONTEXT_TTL} ms after they've been read. Older
+ * security contexts are read again from the management model.
+ * <p>
+ * For each resource description the cache also stores its {@linkplain ModelIndex#serialize(IndexedResource)
+ * serialized index documents}. They're restored before the descriptions, so restoring doesn't need to tokenize the
+ * descriptions again. Since tokenizing is not needed to show the console, the index documents are written after the
+ * metadata on a background scheduler.
+ * <p>
+ * The cache is inactive until it's loaded. If the store fails, the cache deactivates itself for the rest of the
+ * session.
+ */
+@JsType(namespace = "hal.meta")
+public class MetadataCache {
+
+    static final String FINGERPRINT = "fingerprint";
+    static final String RESOURCE_DESCRIPTION = "rd:";
+    static final String SECURITY_CONTEXT = "sc:";
+    static final String SEARCH_INDEX = "si:";
+    /** Version of the cached entries. Increase to clear the stores which contain entries of an older format. */
+    static final int FORMAT = 3;
+    /** Time to live of cached security contexts in ms */
+    static final long SECURITY_CONTEXT_TTL = 5 * 60 * 1000;
+
+    @NonNls private static final Logger logger = LoggerFactory.getLogger(MetadataCache.class);
+
+    private final MetadataStore store;
+    private final ModelIndex modelIndex;
+    private final LongSupplier clock;
+    private final Scheduler scheduler;
+    private final Map<String, String> entries;
+    private String fingerprint;
+    private int hits;
+    private int misses;
+    private int invalidations;
+    private int expirations;
+
+    @Inject
+    @JsIgnore
+    public MetadataCache(MetadataStore store, ResourceDescriptionRegistry resourceDescriptionRegistry,
+            SecurityContextRegistry securityContextRegistry, ModelIndex modelIndex) {
+        this(store, resourceDescriptionRegistry, securityContextRegistry, modelIndex, System::currentTimeMillis,
+                Schedulers.computation());
+    }
+
+    MetadataCache(MetadataStore store, ResourceDescriptionRegistry resourceDescriptionRegistry,
+            SecurityContextRegistry securityContextRegistry, ModelIndex modelIndex, LongSupplier clock,
+            Scheduler scheduler) {
+        this.store = store;
+        this.modelIndex = modelIndex;
+        this.clock = clock;
+        this.scheduler = scheduler;
+        this.entries = new HashMap<>();
+        resourceDescriptionRegistry.setFallback(this::resourceDescription);
+        securityContextRegistry.setFallback(this::securityContext);
+    }
+
+    /**
+     * Builds the fingerprint for the cached entries. The order of the extensions and roles doesn't matter.
+     */
+    @JsIgnore
+    public static String fingerprint(String managementVersion, String productVersion, Collection<String> extensions,
+            Collection<String> roles) {
+        return "format=" + FORMAT + //NON-NLS
+                ";management-version=" + managementVersion + //NON-NLS
+                ";product-version=" + productVersion + //NON-NLS
+                ";extensions=" + String.join(",", new TreeSet<>(extensions)) + //NON-NLS
+                ";roles=" + String.join(",", new TreeSet<>(roles)); //NON-NLS
+    }
+
+
+    // ------------------------------------------------------ load & store
+
+    /**
+     * Reads the entries from the store, if they belong to the given fingerprint. Otherwise the store is cleared.
+     * Activates the cache for the given fingerprint. Errors of the store are logged, but never passed to the caller.
+     */
+    @JsIgnore
+    public Completable load(String fingerprint) {
+        return store.read()
+                .flatMapCompletable(entries -> {
+                    if (fingerprint.equals(entries.get(FINGERPRINT))) {
+                        restore(entries);
+                        this.fingerprint = fingerprint;
+                        return Completable.complete();
+                    } else {
+                        if (!entries.isEmpty()) {
+                            logger.info("Metadata cache is outdated. Clear {} entries.", entries.size());
+                            invalidations++;
+                        }
+                        return store.clear()
+                                .andThen(store.write(singletonMap(FINGERPRINT, fingerprint)))
+                                .doOnCompleted(() -> this.fingerprint = fingerprint);
+                    }
+                })
+                .doOnError(this::deactivate)
+                .onErrorComplete();
+    }
+
+    private void restore(Map<String, String> entries) {
+        // the index documents are plain text and cheap to restore, the metadata is decoded on demand
+        this.entries.clear();
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            String key = entry.getKey();
+            if (key.startsWith(SEARCH_INDEX)) {
+                try {
+                    modelIndex.deserialize(entry.getValue());
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Ignore invalid metadata cache entry {}: {}", key, e.getMessage());
+                }
+            } else if (key.startsWith(RESOURCE_DESCRIPTION) || key.startsWith(SECURITY_CONTEXT)) {
+                this.entries.put(key, entry.getValue());
+            }
+        }
+        logger.debug("Read {} entries from the metadata cache", this.entries.size());
+    }
+
+    /**
+     * @return the cached resource description for the given address or {@code null} if there's no such entry. Each
+     * entry is restored only once: Afterwards it's part of the registry.
+     */
+    @JsIgnore
+    public ResourceDescription resourceDescription(ResourceAddress address) {
+        ModelNode value = restore(RESOURCE_DESCRIPTION + address);
+        return value != null ? new ResourceDescription(value) : null;
+    }
+
+    /**
+     * @return the cached security context for the given address or {@code null} if there's no such entry or if the
+     * entry is older than {@value #SECURITY_CONTEXT_TTL} ms.
+     */
+    @JsIgnore
+    public SecurityContext securityContext(ResourceAddress address) {
+        ModelNode value = restore(SECURITY_CONTEXT + address);
+        return value != null ? new SecurityContext(value) : null;
+    }
+
+    private ModelNode restore(String key) {
+        String entry = entries.remove(key);
+        if (entry != null) {
+            try {
+                ModelNode node = ModelNode.fromBase64(entry);
+                if (node.hasDefined(TIMESTAMP) &&
+                        clock.getAsLong() - node.get(TIMESTAMP).asLong() > SECURITY_CONTEXT_TTL) {
+                    expirations++;
+                    return null;
+                }
+                hits++;
+                return node.get(VALUE);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignore invalid metadata cache entry {}: {}", key, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes metadata which has been read from the management model to the store. Security contexts are stored
+     * together with the current time. The index documents of the resource descriptions are written later on. Does
+     * nothing if the cache is not active.
+     */
+    @JsIgnore
+    public void store(Map<ResourceAddress, ResourceDescription> resourceDescriptions,
+            Map<ResourceAddress, SecurityContext> securityContexts) {
+        if (isActive() && !(resourceDescriptions.isEmpty() && securityContexts.isEmpty())) {
+            Map<String, String> entries = new HashMap<>();
+            resourceDescriptions.forEach((address, resourceDescription) ->
+                    entries.put(RESOURCE_DESCRIPTION + address, entry(address, resourceDescription, null)));
+            long now = clock.getAsLong();
+            securityContexts.forEach((address, securityContext) ->
+                    entries.put(SECURITY_CONTEXT + address, entry(address, securityContext, now)));
+            misses += resourceDescriptions.size() + securityContexts.size();
+            store.write(entries)
+                    .andThen(Completable.defer(() -> storeIndex(resourceDescriptions)).subscribeOn(scheduler))
+                    .subscribe(() -> {}, this::deactivate);
+        }
+    }
+
+    private Completable storeIndex(Map<ResourceAddress, ResourceDescription> resourceDescriptions) {
+        if (!isActive()) {
+            return Completable.complete();
+        }
+        // the registry has queued the descriptions in the index: serializing indexes them and tokenizes them only once
+        Map<String, String> entries = new HashMap<>();
+        resourceDescriptions.forEach((address, resourceDescription) -> {
+            String serialized = modelIndex.serialize(address.toString());
+            if (serialized == null) {
+                serialized = ModelIndex.serialize(IndexedResource.from(address, resourceDescription));
+            }
+            entries.put(SEARCH_INDEX + address, serialized);
+        });
+        return store.write(entries);
+    }
+
+    private String entry(ResourceAddress address, ModelNode value, Long timestamp) {
+        ModelNode node = new ModelNode();
+        node.get(ADDRESS).set(address);
+        node.get(VALUE).set(value);
+        if (timestamp != null) {
+            node.get(TIMESTAMP).set(timestamp);
+        }
+        return node.toBase64String();
+    }
+
+    /**
+     * Removes all entries from the store. The cache stays active. Used when the metadata cache is disabled and before
+     * the console is reloaded because of changed settings.
+     */
+    @JsIgnore
+    public Completable clear() {
+        entries.clear();
+        if (!isActive()) {
+            return store.clear();
+        }
+        return store.clear().andThen(store.write(singletonMap(FINGERPRINT, fingerprint)));
+    }
+
+    private void deactivate(Throwable error) {
+        logger.error("Metadata cache failed and is deactivated: {}", error.getMessage());
+        fingerprint = null;
+    }
+
+
+    // ------------------------------------------------------ properties & statistics
+
+    /** @return whether the cache has been loaded and stores new metadata */
+    @JsProperty
+    public boolean isActive() {
+        return fingerprint != null;
+    }
+
+    /** @return the fingerprint of the cached entries or {@code null} if the cache is not active */
+    @JsProperty
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /** @return the number of entries which were restored from the store */
+    @JsProperty
+    public int getHits() {
+        return hits;
+    }
+
+    /** @return the number of entries which were not in the store, but had to be read from the management model */
+    @JsProperty
+    public int getMisses() {
+        return misses;
+    }
+
+    /** @return the number of times the store has been cleared because the fingerprint has changed */
+    @JsProperty
+    public int getInvalidations() {
+        return invalidations;
+    }
+
+    /** @return the number of security contexts which were not restored because they were too old */
+    @JsProperty
+    public int getExpirations() {
+        return expirations;
+    }
+
+    @Override
+    @JsIgnore
+    public String toString() {
+        return "MetadataCache(" + (isActive() ? "active" : "inactive") + ", hits: " + hits + //NON-NLS
+                ", misses: " + misses + ", invalidations: " + invalidations + //NON-NLS
+                ", expirations: " + expirations + ")"; //NON-NLS
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.cache;
+
+import java.util.Map;
+
+import rx.Completable;
+import rx.Single;
+
+/**
+ * Pluggable store used by the {@link MetadataCache} to keep resource descriptions and the search index across
+ * page loads. Keys and values are strings. All methods are asynchronous, so that stores like IndexedDB
+ * can be plugged in.
+ */
+public interface MetadataStore {
+
+    /** Reads all entries. */
+    Single<Map<String, String>> read();
+
+    /** Adds the entries. Existing entries with the same keys are replaced. */
+    Completable write(Map<String, String> entries);
+
+    /** Removes all entries. */
+    Completable clear();
+}
@@ -15,39 +15,64 @@
  */
 package org.jboss.hal.meta.description;
 
-import java.util.HashMap;
-import java.util.Map;
 import javax.inject.Inject;
 
 import org.jboss.hal.config.Environment;
+import org.jboss.hal.config.Settings;
+import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.AbstractRegistry;
 import org.jboss.hal.meta.AddressTemplate;
+import org.jboss.hal.meta.ModelNodeWeigher;
 import org.jboss.hal.meta.StatementContext;
+import org.jboss.hal.meta.search.IndexedResource;
+import org.jboss.hal.meta.search.ModelIndex;
 
-/** A registry for resource descriptions. */
+import static org.jboss.hal.config.Settings.Key.COMPACT_METADATA;
+
+/**
+ * A registry for resource descriptions.
+ * <p>
+ * Unless {@link Settings.Key#COMPACT_METADATA} is disabled, the descriptions are {@linkplain ModelNode#protect()
+ * protected} when they're added. Protected descriptions use a compact, read-only representation which needs
+ * considerably less memory. Code which wants to modify a description has to work on a {@linkplain ModelNode#clone()
+ * copy} (see {@link org.jboss.hal.meta.Metadata#copy()}).
+ * <p>
+ * The registry keeps at most {@value #MAX_WEIGHT} estimated bytes of resource descriptions. Beyond that the least
+ * recently used descriptions are evicted unless they're pinned.
+ * <p>
+ * New descriptions are queued in the {@link ModelIndex}, which indexes them when it's queried for the first time.
+ * Evicted descriptions stay in the index, since the index only keeps the weighted terms and the descriptions can be
+ * read again.
+ */
 public class ResourceDescriptionRegistry extends AbstractRegistry<ResourceDescription> {
 
     private static final String RESOURCE_DESCRIPTION_TYPE = "resource description";
+    static final double MAX_WEIGHT = 32 * 1024 * 1024;
 
-    private final Map<ResourceAddress, ResourceDescription> registry;
     private final ResourceDescriptionTemplateProcessor templateProcessor;
+    private final Settings settings;
+    private final ModelIndex modelIndex;
 
     @Inject
-    public ResourceDescriptionRegistry(final StatementContext statementContext, final Environment environment) {
-        super(new ResourceDescriptionStatementContext(statementContext, environment), RESOURCE_DESCRIPTION_TYPE);
-        this.registry = new HashMap<>();
+    public ResourceDescriptionRegistry(final StatementContext statementContext, final Environment environment,
+            final Settings settings, final ModelIndex modelIndex) {
+        super(new ResourceDescriptionStatementContext(statementContext, environment), RESOURCE_DESCRIPTION_TYPE,
+                MAX_WEIGHT, new ModelNodeWeigher());
+        this.settings = settings;
+        this.modelIndex = modelIndex;
         this.templateProcessor = new ResourceDescriptionTemplateProcessor();
     }
 
-    @Override
-    protected ResourceDescription lookupAddress(final ResourceAddress address) {
-        return registry.get(address);
-    }
-
     @Override
     public void add(final ResourceAddress address, final ResourceDescription description) {
-        registry.put(address, description);
+        if (settings.get(COMPACT_METADATA).asBoolean()) {
+            description.protect();
+        }
+        super.add(address, description);
+        if (!modelIndex.contains(address.toString())) {
+            modelIndex.add(address.toString(), () -> IndexedResource.from(address, description));
+        }
     }
 
     @Override
@@ -15,14 +15,12 @@
  */
 package org.jboss.hal.meta.description;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 
-import com.google.common.base.Splitter;
 import org.jboss.hal.meta.AddressTemplate;
-
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.StreamSupport.stream;
+import org.jboss.hal.meta.LruCache;
 
 /**
  * Function which takes an address template and replaces specific values with "*". Applied to templates when they're
@@ -43,35 +41,60 @@ import static java.util.stream.StreamSupport.stream;
  * /server-group=main-server-group &rarr; /server-group=&#42;
  * /subsystem=mail/mail-session=foo/server=bar &rarr; /subsystem=mail/mail-session=foo/server=bar
  * </pre>
+ * <p>
+ * The processed templates are memoized, so that applying the function to the same template returns the same
+ * instance. This way the compiled and memoized resolution of the processed template can be reused.
  */
 public class ResourceDescriptionTemplateProcessor implements Function<AddressTemplate, AddressTemplate> {
 
+    static final int MAX_TEMPLATES = 1000;
+
+    private final LruCache<AddressTemplate, AddressTemplate> processed;
+
+    public ResourceDescriptionTemplateProcessor() {
+        processed = new LruCache<>(MAX_TEMPLATES, template -> 1, template -> false);
+    }
+
     @Override
     public AddressTemplate apply(final AddressTemplate template) {
         if (template != null && !AddressTemplate.ROOT.equals(template)) {
-            List<String[]> segments = stream(template.spliterator(), false)
-                    .map(segment -> {
-                        if (segment.contains("=")) {
-                            return Splitter.on('=')
-                                    .omitEmptyStrings()
-                                    .trimResults()
-                                    .limit(2)
-                                    .splitToList(segment)
-                                    .toArray(new String[2]);
-                        }
-                        return new String[]{segment, null};
-                    })
-                    .collect(toList());
-
-            StringBuilder builder = new StringBuilder();
-            SegmentProcessor.process(segments, segment -> {
-                builder.append("/").append(segment[0]);
-                if (segment[1] != null) {
-                    builder.append("=").append(segment[1]);
-                }
-            });
-            return AddressTemplate.of(builder.toString());
+            AddressTemplate result = processed.get(template);
+            if (result == null) {
+                result = process(template);
+                processed.put(template, result);
+            }
+            return result;
         }
         return AddressTemplate.ROOT;
     }
+
+    private AddressTemplate process(final AddressTemplate template) {
+        List<String[]> segments = new ArrayList<>(template.size());
+        for (String segment : template) {
+            segments.add(split(segment));
+        }
+
+        StringBuilder builder = new StringBuilder();
+        SegmentProcessor.process(segments, segment -> {
+            builder.append("/").append(segment[0]);
+            if (segment[1] != null) {
+                builder.append("=").append(segment[1]);
+            }
+        });
+        return AddressTemplate.of(builder.toString());
+    }
+
+    /** Splits the segment at the first '=' into a trimmed name and value. Empty parts are omitted. */
+    private String[] split(final String segment) {
+        int index = segment.indexOf('=');
+        if (index == -1) {
+            return new String[]{segment, null};
+        }
+        String name = segment.substring(0, index).trim();
+        String value = segment.substring(index + 1).trim();
+        if (name.isEmpty()) {
+            return new String[]{value.isEmpty() ? null : value, null};
+        }
+        return new String[]{name, value.isEmpty() ? null : value};
+    }
 }
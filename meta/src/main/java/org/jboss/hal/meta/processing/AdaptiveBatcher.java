@@ -0,0 +1,357 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.processing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jsinterop.annotations.JsIgnore;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.spi.EsReturn;
+
+import static java.util.Arrays.asList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+
+/**
+ * Partitions r-r-d operations into composites based on the response sizes and decode times observed so far.
+ * <p>
+ * The statistics are kept per address template family (the first significant segment of the address like {@code
+ * subsystem=undertow}, see {@link #family(Operation)}). For each family an exponentially weighted moving average of
+ * the encoded bytes and the decode time per operation is maintained. When partitioning, operations are added to a
+ * composite as long as the estimated payload stays below the {@linkplain #getTargetPayloadSize() target payload size}
+ * and the estimated decode time stays below the {@linkplain #getTargetDecodeTime() target decode time}. Operations of
+ * unknown families are estimated so that {@value #DEFAULT_BATCH_SIZE} of them fill a composite.
+ * <p>
+ * The byte sizes are taken from the lazily decoded step results (see {@link org.jboss.hal.dmr.ModelNode#encodedSize()})
+ * and refer to the binary DMR encoding. The last {@value #MAX_BATCHES} batches are kept for diagnostics.
+ */
+@JsType(namespace = "hal.meta")
+public class AdaptiveBatcher {
+
+    /** Number of r-r-d operations per composite as long as nothing is known about the operations. */
+    static final int DEFAULT_BATCH_SIZE = 3;
+    static final int MAX_BATCH_SIZE = 32;
+    static final double DEFAULT_TARGET_PAYLOAD_SIZE = 256 * 1024;
+    static final double DEFAULT_TARGET_DECODE_TIME = 100;
+    static final int MAX_BATCHES = 50;
+
+    /** Weight of a new sample in the moving averages */
+    private static final double WEIGHT = 0.3;
+
+    /** Tolerance for rounding errors when summing up the costs */
+    private static final double EPSILON = 1e-6;
+
+    /** Leading address segments which are skipped when determining the family */
+    private static final List<String> PREFIXES = asList(HOST, PROFILE, SERVER, SERVER_CONFIG, SERVER_GROUP);
+
+    private final Map<String, Family> families;
+    private final Deque<Batch> batches;
+    private double targetPayloadSize;
+    private double targetDecodeTime;
+
+    @JsIgnore
+    public AdaptiveBatcher() {
+        this.families = new HashMap<>();
+        this.batches = new ArrayDeque<>();
+        this.targetPayloadSize = DEFAULT_TARGET_PAYLOAD_SIZE;
+        this.targetDecodeTime = DEFAULT_TARGET_DECODE_TIME;
+    }
+
+
+    // ------------------------------------------------------ partition & record
+
+    /** Partitions the operations (in order) into composites. */
+    @JsIgnore
+    public List<Composite> partition(List<Operation> operations) {
+        List<Composite> composites = new ArrayList<>();
+        List<Operation> pile = new ArrayList<>();
+        double load = 0;
+        for (Operation operation : operations) {
+            double cost = cost(operation);
+            if (!pile.isEmpty() && (load + cost > 1 + EPSILON || pile.size() >= MAX_BATCH_SIZE)) {
+                composites.add(new Composite(pile));
+                pile = new ArrayList<>();
+                load = 0;
+            }
+            pile.add(operation);
+            load += cost;
+        }
+        if (!pile.isEmpty()) {
+            composites.add(new Composite(pile));
+        }
+        return composites;
+    }
+
+    /** @return the estimated share of a composite which is filled by the operation */
+    private double cost(Operation operation) {
+        Family family = families.get(family(operation));
+        if (family == null) {
+            return 1.0 / DEFAULT_BATCH_SIZE;
+        }
+        double bytes = family.bytes < 0 ? targetPayloadSize / DEFAULT_BATCH_SIZE : family.bytes;
+        return Math.max(bytes / targetPayloadSize, family.decodeTime / targetDecodeTime);
+    }
+
+    /**
+     * Returns the encoded size of each step result. Must be called before the step results are accessed, since
+     * accessing a lazy node decodes it.
+     */
+    @JsIgnore
+    public static int[] encodedSizes(Composite composite, CompositeResult result) {
+        int[] sizes = new int[composite.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = result.step(i).encodedSize();
+        }
+        return sizes;
+    }
+
+    /**
+     * Records the outcome of an executed composite.
+     *
+     * @param composite  the composite
+     * @param sizes      the encoded size of each step result or -1 if unknown
+     * @param roundTrip  the time in ms between sending the composite and receiving the response
+     * @param decodeTime the time in ms which was needed to decode and process the response
+     */
+    @JsIgnore
+    public void record(Composite composite, int[] sizes, double roundTrip, double decodeTime) {
+        int knownBytes = 0;
+        int knownSizes = 0;
+        for (int size : sizes) {
+            if (size >= 0) {
+                knownBytes += size;
+                knownSizes++;
+            }
+        }
+
+        int index = 0;
+        for (Operation operation : composite) {
+            int size = index < sizes.length ? sizes[index] : -1;
+            // attribute the decode time according to the share of bytes or evenly if the sizes are unknown
+            double share = knownSizes == sizes.length && knownBytes > 0
+                    ? (double) size / knownBytes
+                    : 1.0 / composite.size();
+            String name = family(operation);
+            Family family = families.get(name);
+            if (family == null) {
+                family = new Family(name);
+                families.put(name, family);
+            }
+            family.update(size, decodeTime * share);
+            index++;
+        }
+
+        if (batches.size() >= MAX_BATCHES) {
+            batches.removeFirst();
+        }
+        batches.addLast(new Batch(composite.size(), knownSizes == sizes.length ? knownBytes : -1, roundTrip,
+                decodeTime));
+    }
+
+    /**
+     * Returns the family of a r-r-d operation: The first segment of the address which is not one of {@code host},
+     * {@code profile}, {@code server}, {@code server-config} or {@code server-group}. Recursive operations form a
+     * family of their own.
+     */
+    static String family(Operation operation) {
+        String family = family(operation.getAddress());
+        return operation.getParameter().hasDefined(RECURSIVE_DEPTH) ? family + " (recursive)" : family; //NON-NLS
+    }
+
+    static String family(ResourceAddress address) {
+        String family = "/";
+        for (Property segment : address.asPropertyList()) {
+            family = segment.getName() + "=" + segment.getValue().asString();
+            if (!PREFIXES.contains(segment.getName())) {
+                return family;
+            }
+            family = segment.getName() + "=*";
+        }
+        return family;
+    }
+
+
+    // ------------------------------------------------------ diagnostics
+
+    /** Forgets all learned parameters and recorded batches. */
+    public void reset() {
+        families.clear();
+        batches.clear();
+    }
+
+    /** @return the number of bytes a composite response should have (binary DMR encoding) */
+    @JsProperty
+    public double getTargetPayloadSize() {
+        return targetPayloadSize;
+    }
+
+    @JsProperty
+    public void setTargetPayloadSize(double targetPayloadSize) {
+        this.targetPayloadSize = Math.max(1, targetPayloadSize);
+    }
+
+    /** @return the time in ms it should take to decode and process a composite response */
+    @JsProperty
+    public double getTargetDecodeTime() {
+        return targetDecodeTime;
+    }
+
+    @JsProperty
+    public void setTargetDecodeTime(double targetDecodeTime) {
+        this.targetDecodeTime = Math.max(1, targetDecodeTime);
+    }
+
+    /** @return the learned parameters of all families */
+    @JsProperty
+    @EsReturn("Family[]")
+    public Family[] getFamilies() {
+        return families.values().toArray(new Family[families.size()]);
+    }
+
+    /** @return the learned parameters of the given family or {@code null} if nothing is known about the family */
+    public Family getFamily(String name) {
+        return families.get(name);
+    }
+
+    /** @return the timings of the most recent batches, oldest first */
+    @JsProperty
+    @EsReturn("Batch[]")
+    public Batch[] getBatches() {
+        return batches.toArray(new Batch[batches.size()]);
+    }
+
+    @Override
+    @JsIgnore
+    public String toString() {
+        return "AdaptiveBatcher(target payload size: " + (long) targetPayloadSize + //NON-NLS
+                " bytes, target decode time: " + (long) targetDecodeTime + " ms, families: " + //NON-NLS
+                families.size() + ", batches: " + batches.size() + ")"; //NON-NLS
+    }
+
+
+    /** Learned parameters of one address template family. */
+    @JsType(namespace = "hal.meta")
+    public static class Family {
+
+        private final String name;
+        private int samples;
+        private double bytes;
+        private double decodeTime;
+
+        Family(String name) {
+            this.name = name;
+            this.bytes = -1;
+        }
+
+        void update(int size, double time) {
+            if (size >= 0) {
+                bytes = bytes < 0 ? size : bytes + WEIGHT * (size - bytes);
+            }
+            decodeTime = samples == 0 ? time : decodeTime + WEIGHT * (time - decodeTime);
+            samples++;
+        }
+
+        /** @return the name of the family */
+        @JsProperty
+        public String getName() {
+            return name;
+        }
+
+        /** @return the number of recorded operations */
+        @JsProperty
+        public int getSamples() {
+            return samples;
+        }
+
+        /** @return the average number of encoded bytes per operation or -1 if unknown */
+        @JsProperty
+        public double getBytes() {
+            return bytes;
+        }
+
+        /** @return the average decode time in ms per operation */
+        @JsProperty
+        public double getDecodeTime() {
+            return decodeTime;
+        }
+
+        @Override
+        @JsIgnore
+        public String toString() {
+            return name + "(samples: " + samples + ", bytes: " + (long) bytes + ", decode time: " + //NON-NLS
+                    Math.round(decodeTime * 100) / 100.0 + " ms)"; //NON-NLS
+        }
+    }
+
+
+    /** Timings of one executed composite. */
+    @JsType(namespace = "hal.meta")
+    public static class Batch {
+
+        private final int operations;
+        private final int bytes;
+        private final double roundTrip;
+        private final double decodeTime;
+
+        Batch(int operations, int bytes, double roundTrip, double decodeTime) {
+            this.operations = operations;
+            this.bytes = bytes;
+            this.roundTrip = roundTrip;
+            this.decodeTime = decodeTime;
+        }
+
+        /** @return the number of operations in the composite */
+        @JsProperty
+        public int getOperations() {
+            return operations;
+        }
+
+        /** @return the encoded size of all step results or -1 if unknown */
+        @JsProperty
+        public int getBytes() {
+            return bytes;
+        }
+
+        /** @return the time in ms between sending the composite and receiving the response */
+        @JsProperty
+        public double getRoundTrip() {
+            return roundTrip;
+        }
+
+        /** @return the time in ms which was needed to decode and process the response */
+        @JsProperty
+        public double getDecodeTime() {
+            return decodeTime;
+        }
+
+        @Override
+        @JsIgnore
+        public String toString() {
+            return "Batch(operations: " + operations + ", bytes: " + bytes + ", round trip: " + //NON-NLS
+                    (long) roundTrip + " ms, decode time: " + (long) decodeTime + " ms)"; //NON-NLS
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.jboss.hal.dmr.ModelType;
 import org.jboss.hal.dmr.Property;
 import org.jboss.hal.dmr.Composite;
 import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jetbrains.annotations.NonNls;
 import org.slf4j.Logger;
@@ -39,16 +40,27 @@ class CompositeRrdParser {
         this.composite = composite;
     }
 
+    /**
+     * Parses the composite result. Each step result is correlated with its operation using the step name ("step-n")
+     * and never depends on the order of the steps in the result.
+     */
     public RrdResult parse(CompositeResult compositeResult) throws ParserException {
         int index = 0;
         RrdResult rrdResult = new RrdResult();
 
-        for (ModelNode step : compositeResult) {
+        for (Operation operation : composite) {
+            String stepName = "step-" + (index + 1);
+            ModelNode step = compositeResult.step(stepName);
+            if (!step.isDefined()) {
+                throw new ParserException("Missing step '" + stepName + "' in composite rrd result for " +
+                        operation.asCli());
+            }
             if (step.isFailure()) {
-                throw new ParserException("Failed step 'step-" + (index + 1) + "' in composite rrd result: " + step
+                throw new ParserException("Failed step '" + stepName + "' in composite rrd result: " + step
                         .getFailureDescription());
             }
 
+            ResourceAddress operationAddress = operation.getAddress();
             ModelNode stepResult = step.get(RESULT);
 
             if (stepResult.getType() == ModelType.LIST) {
@@ -56,7 +68,6 @@ class CompositeRrdParser {
                 for (ModelNode modelNode : stepResult.asList()) {
                     ModelNode result = modelNode.get(RESULT);
                     if (result.isDefined()) {
-                        ResourceAddress operationAddress = operationAddress(index);
                         ResourceAddress resultAddress = new ResourceAddress(modelNode.get(ADDRESS));
                         ResourceAddress resolvedAddress = adjustAddress(operationAddress, resultAddress);
 
@@ -66,8 +77,7 @@ class CompositeRrdParser {
 
             } else {
                 // a single rrd result
-                ResourceAddress address = operationAddress(index);
-                new SingleRrdParser(rrdResult).parse(address, stepResult);
+                new SingleRrdParser(rrdResult).parse(operationAddress, stepResult);
             }
             index++;
         }
@@ -75,15 +85,6 @@ class CompositeRrdParser {
         return rrdResult;
     }
 
-    private ResourceAddress operationAddress(int index) {
-        List<ModelNode> steps = composite.get(STEPS).asList();
-        if (index >= steps.size()) {
-            throw new ParserException("Cannot get operation at index " + index + " from composite " + composite);
-        }
-        ModelNode operation = steps.get(index);
-        return new ResourceAddress(operation.get(ADDRESS));
-    }
-
     @SuppressWarnings("DuplicateStringLiteralInspection")
     private ResourceAddress adjustAddress(ResourceAddress operationAddress, ResourceAddress resultAddress) {
         ResourceAddress resolved = resultAddress;
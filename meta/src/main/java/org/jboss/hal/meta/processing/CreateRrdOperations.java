@@ -72,6 +72,8 @@ class CreateRrdOperations {
                         }
 
                         if (builder != null) {
+                            // reveals the size of each step result (the results are materialized in RrdTask)
+                            builder.lazy();
                             if (lookupResult.recursive()) {
                                 builder.param(RECURSIVE_DEPTH, RRD_DEPTH);
                             }
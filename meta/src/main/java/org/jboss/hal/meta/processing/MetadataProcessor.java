@@ -16,15 +16,16 @@
 package org.jboss.hal.meta.processing;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import javax.inject.Inject;
 
-import com.google.common.collect.Lists;
 import com.google.gwt.user.client.rpc.AsyncCallback;
 import jsinterop.annotations.JsFunction;
 import jsinterop.annotations.JsIgnore;
 import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsProperty;
 import jsinterop.annotations.JsType;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.dmr.Composite;
@@ -37,6 +38,7 @@ import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.Metadata;
 import org.jboss.hal.meta.MetadataRegistry;
 import org.jboss.hal.meta.StatementContext;
+import org.jboss.hal.meta.cache.MetadataCache;
 import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
 import org.jboss.hal.meta.resource.RequiredResources;
 import org.jboss.hal.meta.security.SecurityContextRegistry;
@@ -44,10 +46,12 @@ import org.jboss.hal.spi.EsParam;
 import org.jetbrains.annotations.NonNls;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import rx.Single;
 
 import static java.util.Collections.singleton;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
+import static org.jboss.hal.flow.Flow.parallel;
 import static org.jboss.hal.flow.Flow.series;
 
 /**
@@ -71,9 +75,10 @@ public class MetadataProcessor {
     static final int RRD_DEPTH = 3;
 
     /**
-     * Number of r-r-d operations part of one composite operation.
+     * Default number of r-r-d composites which are executed at the same time. Browsers limit the number of parallel
+     * connections per host to six, so leave some room for other requests.
      */
-    private final static int BATCH_SIZE = 3;
+    static final int MAX_CONCURRENCY = 3;
 
     @NonNls private static final Logger logger = LoggerFactory.getLogger(MetadataProcessor.class);
 
@@ -84,6 +89,10 @@ public class MetadataProcessor {
     private final SecurityContextRegistry securityContextRegistry;
     private final Lookup lookup;
     private final CreateRrdOperations rrdOps;
+    private final MetadataCache cache;
+    private final AdaptiveBatcher batcher;
+    private final Set<String> pinned;
+    private int maxConcurrency;
 
     @Inject
     @JsIgnore
@@ -93,14 +102,60 @@ public class MetadataProcessor {
             RequiredResources requiredResources,
             MetadataRegistry metadataRegistry,
             SecurityContextRegistry securityContextRegistry,
-            ResourceDescriptionRegistry resourceDescriptionRegistry) {
+            ResourceDescriptionRegistry resourceDescriptionRegistry,
+            MetadataCache cache) {
         this.dispatcher = dispatcher;
         this.metadataRegistry = metadataRegistry;
         this.requiredResources = requiredResources;
         this.securityContextRegistry = securityContextRegistry;
         this.resourceDescriptionRegistry = resourceDescriptionRegistry;
+        this.cache = cache;
         this.lookup = new Lookup(securityContextRegistry, resourceDescriptionRegistry);
         this.rrdOps = new CreateRrdOperations(statementContext, environment);
+        this.batcher = new AdaptiveBatcher();
+        this.pinned = new LinkedHashSet<>();
+        this.maxConcurrency = MAX_CONCURRENCY;
+    }
+
+    /**
+     * Sets the number of r-r-d composites which are executed at the same time. Use 1 to execute them one after the
+     * other.
+     */
+    @JsIgnore
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    /**
+     * Pins the metadata of the required resources of the specified id (a place or a finder column), so that it won't
+     * be evicted from the registries until the id is {@linkplain #unpin(String) unpinned}. Pin the id as long as the
+     * place or column is alive, since it might look up its metadata from the {@link MetadataRegistry} at any time.
+     */
+    @JsIgnore
+    public void pin(String id) {
+        if (!requiredResources.getResources(id).isEmpty() && pinned.add(id)) {
+            repin();
+        }
+    }
+
+    /** Releases the metadata which was pinned for the specified id. */
+    @JsIgnore
+    public void unpin(String id) {
+        if (pinned.remove(id)) {
+            repin();
+        }
+    }
+
+    private void repin() {
+        resourceDescriptionRegistry.unpinAll();
+        securityContextRegistry.unpinAll();
+        for (String id : pinned) {
+            for (String resource : requiredResources.getResources(id)) {
+                AddressTemplate template = AddressTemplate.of(resource);
+                resourceDescriptionRegistry.pin(template);
+                securityContextRegistry.pin(template);
+            }
+        }
     }
 
     @JsIgnore
@@ -145,11 +200,10 @@ public class MetadataProcessor {
 
             // create and partition non-optional operations
             List<Operation> operations = rrdOps.create(lookupResult, false);
-            List<List<Operation>> piles = Lists.partition(operations, BATCH_SIZE);
-            List<Composite> composites = piles.stream().map(Composite::new).collect(toList());
+            List<Composite> composites = batcher.partition(operations);
             List<RrdTask> tasks = composites.stream()
                     .map(composite -> new RrdTask(securityContextRegistry, resourceDescriptionRegistry,
-                            dispatcher, composite, false))
+                            dispatcher, batcher, cache, composite, false))
                     .collect(toList());
 
             // create optional operations w/o partitioning!
@@ -161,7 +215,7 @@ public class MetadataProcessor {
             optionalOperations.forEach(operation -> optionalComposites.add(new Composite(operation)));
             List<RrdTask> optionalTasks = optionalComposites.stream()
                     .map(composite -> new RrdTask(securityContextRegistry, resourceDescriptionRegistry,
-                            dispatcher, composite, true))
+                            dispatcher, batcher, cache, composite, true))
                     .collect(toList());
 
             logger.debug("About to execute {} composite operations", composites.size() + optionalComposites.size());
@@ -182,13 +236,29 @@ public class MetadataProcessor {
             List<RrdTask> allTasks = new ArrayList<>();
             allTasks.addAll(tasks);
             allTasks.addAll(optionalTasks);
-            // Unfortunately we cannot use Async.parallel() here unless someone finds a way
-            // to unambiguously map parallel r-r-d operations to their results (multiple "step-1" results)
-            //noinspection SuspiciousToArrayCall
-            series(new FlowContext(progress), allTasks).subscribe(outcome);
+            execute(new FlowContext(progress), allTasks, maxConcurrency).subscribe(outcome);
         }
     }
 
+    /**
+     * Executes the r-r-d tasks with at most {@code maxConcurrency} tasks at the same time. Each task parses the result
+     * of its own composite and correlates the steps by name, so the order in which the responses arrive doesn't
+     * matter.
+     */
+    static Single<FlowContext> execute(FlowContext context, List<RrdTask> tasks, int maxConcurrency) {
+        return maxConcurrency > 1 ? parallel(context, maxConcurrency, tasks) : series(context, tasks);
+    }
+
+
+    /**
+     * @return the batcher which partitions the r-r-d operations into composites. Use it to inspect the learned
+     * parameters and the timings of the recent batches.
+     */
+    @JsProperty
+    public AdaptiveBatcher getBatcher() {
+        return batcher;
+    }
+
 
     // ------------------------------------------------------ JS methods
 
@@ -17,10 +17,12 @@ package org.jboss.hal.meta.processing;
 
 import org.jboss.hal.dmr.Composite;
 import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.flow.Control;
 import org.jboss.hal.flow.FlowContext;
 import org.jboss.hal.flow.Task;
+import org.jboss.hal.meta.cache.MetadataCache;
 import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
 import org.jboss.hal.meta.security.SecurityContextRegistry;
 import org.jetbrains.annotations.NonNls;
@@ -34,27 +36,40 @@ class RrdTask implements Task<FlowContext> {
     private final SecurityContextRegistry securityContextRegistry;
     private final ResourceDescriptionRegistry resourceDescriptionRegistry;
     private final Dispatcher dispatcher;
+    private final AdaptiveBatcher batcher;
+    private final MetadataCache cache;
     private final Composite composite;
     private final boolean optional;
 
     RrdTask(SecurityContextRegistry securityContextRegistry,
             ResourceDescriptionRegistry resourceDescriptionRegistry,
             Dispatcher dispatcher,
+            AdaptiveBatcher batcher,
+            MetadataCache cache,
             Composite composite,
             boolean optional) {
         this.securityContextRegistry = securityContextRegistry;
         this.resourceDescriptionRegistry = resourceDescriptionRegistry;
         this.dispatcher = dispatcher;
+        this.batcher = batcher;
+        this.cache = cache;
         this.composite = composite;
         this.optional = optional;
     }
 
     @Override
     public void execute(FlowContext context, Control control) {
+        double sent = System.currentTimeMillis();
         dispatcher.executeInFlow(control, composite,
                 (CompositeResult compositeResult) -> {
+                    double received = System.currentTimeMillis();
+                    int[] sizes = AdaptiveBatcher.encodedSizes(composite, compositeResult);
+                    // the registries must neither keep the payload nor estimate the weight of undecoded nodes
+                    compositeResult.forEach(ModelNode::materialize);
                     try {
                         RrdResult rrdResult = new CompositeRrdParser(composite).parse(compositeResult);
+                        // only the decoding counts: adding to the registries and the cache is not part of it
+                        batcher.record(composite, sizes, received - sent, System.currentTimeMillis() - received);
                         rrdResult.securityContexts.forEach((address, securityContext) -> {
                             logger.debug("Add security context for {}", address);
                             securityContextRegistry.add(address, securityContext);
@@ -63,6 +78,7 @@ class RrdTask implements Task<FlowContext> {
                             logger.debug("Add resource description for {}", address);
                             resourceDescriptionRegistry.add(address, resourceDescription);
                         });
+                        cache.store(rrdResult.resourceDescriptions, rrdResult.securityContexts);
                         control.proceed();
                     } catch (ParserException e) {
                         control.abort(e.getMessage());
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.meta.description.ResourceDescription;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+
+/**
+ * The searchable parts of a resource description: The name and description of the resource, its capabilities and
+ * the names, descriptions and capability references of its attributes. Use {@link #from(ResourceAddress,
+ * ResourceDescription)} to extract them from a resource description.
+ */
+public class IndexedResource {
+
+    /**
+     * Extracts the searchable parts of the specified resource description. The name of the resource is the value of
+     * the last address segment or the key if the value is a wildcard.
+     */
+    public static IndexedResource from(ResourceAddress address, ResourceDescription description) {
+        String name = null;
+        if (!address.isEmpty()) {
+            name = "*".equals(address.lastValue()) ? address.lastName() : address.lastValue();
+        }
+        IndexedResource resource = new IndexedResource(address.toString(), name,
+                description.hasDefined(DESCRIPTION) ? description.getDescription() : null);
+        if (description.hasDefined(CAPABILITIES)) {
+            for (ModelNode capability : description.get(CAPABILITIES).asList()) {
+                if (capability.hasDefined(NAME)) {
+                    resource.capability(capability.get(NAME).asString());
+                }
+            }
+        }
+        for (Property property : description.getAttributes(ATTRIBUTES)) {
+            ModelNode attribute = property.getValue();
+            resource.attribute(property.getName(),
+                    attribute.hasDefined(DESCRIPTION) ? attribute.get(DESCRIPTION).asString() : null,
+                    attribute.hasDefined(CAPABILITY_REFERENCE) ? attribute.get(CAPABILITY_REFERENCE).asString() : null);
+        }
+        return resource;
+    }
+
+
+    final String address;
+    final String name;
+    final String description;
+    final List<String> capabilities;
+    final List<Attribute> attributes;
+
+    public IndexedResource(String address, String name, String description) {
+        this.address = address;
+        this.name = name;
+        this.description = description;
+        this.capabilities = new ArrayList<>();
+        this.attributes = new ArrayList<>();
+    }
+
+    public IndexedResource capability(String capability) {
+        capabilities.add(capability);
+        return this;
+    }
+
+    public IndexedResource attribute(String name, String description, String capabilityReference) {
+        attributes.add(new Attribute(name, description, capabilityReference));
+        return this;
+    }
+
+
+    static class Attribute {
+
+        final String name;
+        final String description;
+        final String capabilityReference;
+
+        Attribute(String name, String description, String capabilityReference) {
+            this.name = name;
+            this.description = description;
+            this.capabilityReference = capabilityReference;
+        }
+    }
+}
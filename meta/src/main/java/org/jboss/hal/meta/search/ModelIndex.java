@@ -0,0 +1,418 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import jsinterop.annotations.JsIgnore;
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsType;
+import org.jboss.hal.spi.EsReturn;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Inverted index over the names, descriptions and capabilities of the resources in the management model. Used to
+ * answer questions like "which resource configures max-pool-size" without browsing the model.
+ * <p>
+ * Each {@linkplain IndexedResource resource} is split into documents: One for the resource itself and one per
+ * attribute. The text of a document is {@linkplain Tokenizer tokenized} and each term is weighted by the field it
+ * appears in: Names weigh {@value #NAME_WEIGHT}, capabilities {@value #CAPABILITY_WEIGHT} and descriptions {@value
+ * #DESCRIPTION_WEIGHT}. The index is built incrementally: Resources can be added at any time and replace the previous
+ * documents of the same address.
+ * <p>
+ * Adding a resource only queues it. The resources are tokenized and indexed when the index is queried for the first
+ * time afterwards. That keeps the index off the critical path: Adding resource descriptions to the registry while the
+ * console starts costs next to nothing, the costs are paid by the first search.
+ * <p>
+ * {@linkplain #search(String, int) Queries} return the documents which contain all terms of the query. The last term
+ * also matches as prefix, so that the index can be queried while typing. The documents are ranked by the sum of the
+ * saturated term weights multiplied with the inverse document frequency of the terms (a simplified BM25 without
+ * length normalization). Documents whose name matches the whole query get an additional boost.
+ * <p>
+ * The documents of a resource can be {@linkplain #serialize(IndexedResource) serialized} to a compact string and
+ * {@linkplain #deserialize(String) added} again without tokenizing the descriptions. The {@link
+ * org.jboss.hal.meta.cache.MetadataCache} uses this to persist the index alongside the resource descriptions.
+ * <p>
+ * Removed documents are only marked as removed. The posting lists are not touched.
+ */
+@JsType(namespace = "hal.meta")
+public class ModelIndex {
+
+    static final int NAME_WEIGHT = 8;
+    static final int CAPABILITY_WEIGHT = 4;
+    static final int DESCRIPTION_WEIGHT = 1;
+    static final double PREFIX_FACTOR = 0.5;
+    static final double NAME_BOOST = 2.0;
+    static final int MAX_EXPANSIONS = 64;
+    private static final double SATURATION = 1.2;
+
+    private final List<String> addresses;
+    private final List<String> attributes;
+    private final List<String> keys;
+    private final Map<String, int[]> resources;
+    private final NavigableMap<String, Postings> postings;
+    private final BitSet present;
+    private final Map<String, Supplier<List<Document>>> pending;
+
+    @JsIgnore
+    public ModelIndex() {
+        this.addresses = new ArrayList<>();
+        this.attributes = new ArrayList<>();
+        this.keys = new ArrayList<>();
+        this.resources = new HashMap<>();
+        this.postings = new TreeMap<>();
+        this.present = new BitSet();
+        this.pending = new LinkedHashMap<>();
+    }
+
+
+    // ------------------------------------------------------ add & remove
+
+    /** Adds the documents of the specified resource. Replaces the documents of a resource with the same address. */
+    @JsIgnore
+    public void add(IndexedResource resource) {
+        add(resource.address, () -> resource);
+    }
+
+    /**
+     * Queues the resource with the specified address. The supplier is called when the index is queried the next time
+     * or when the resource is {@linkplain #serialize(String) serialized}. Replaces the documents of a resource with
+     * the same address.
+     */
+    @JsIgnore
+    public void add(String address, Supplier<IndexedResource> resource) {
+        remove(address);
+        pending.put(address, () -> documents(resource.get()));
+    }
+
+    /**
+     * Adds the documents of a resource which has been {@linkplain #serialize(IndexedResource) serialized} before.
+     * The documents are parsed right away, but indexed along with the other queued resources.
+     *
+     * @throws IllegalArgumentException if the serialized form is invalid
+     */
+    @JsIgnore
+    public void deserialize(String serialized) {
+        String[] lines = serialized.split("\n");
+        List<Document> documents = new ArrayList<>();
+        for (int i = 1; i < lines.length; i++) {
+            String[] parts = lines[i].split("\t", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid document in line " + (i + 1)); //NON-NLS
+            }
+            Document document = new Document(parts[0].isEmpty() ? null : parts[0], parts[1]);
+            if (!parts[2].isEmpty()) {
+                for (String term : parts[2].split(" ")) {
+                    int colon = term.lastIndexOf(':');
+                    if (colon <= 0) {
+                        throw new IllegalArgumentException("Invalid term " + term); //NON-NLS
+                    }
+                    document.terms.put(term.substring(0, colon), Integer.parseInt(term.substring(colon + 1)));
+                }
+            }
+            documents.add(document);
+        }
+        if (lines[0].isEmpty() || documents.isEmpty()) {
+            throw new IllegalArgumentException("No address or documents"); //NON-NLS
+        }
+        remove(lines[0]);
+        pending.put(lines[0], () -> documents);
+    }
+
+    private void flush() {
+        if (!pending.isEmpty()) {
+            List<Map.Entry<String, Supplier<List<Document>>>> entries = new ArrayList<>(pending.entrySet());
+            pending.clear();
+            for (Map.Entry<String, Supplier<List<Document>>> entry : entries) {
+                index(entry.getKey(), entry.getValue().get());
+            }
+        }
+    }
+
+    private void index(String address, List<Document> documents) {
+        remove(address);
+        int first = addresses.size();
+        for (Document document : documents) {
+            int id = addresses.size();
+            addresses.add(address);
+            attributes.add(document.attribute);
+            keys.add(document.key);
+            present.set(id);
+            document.terms.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new Postings()).add(id, weight));
+        }
+        resources.put(address, new int[]{first, addresses.size()});
+    }
+
+    /** Removes the documents of the resource with the specified address. */
+    @JsIgnore
+    public void remove(String address) {
+        pending.remove(address);
+        int[] range = resources.remove(address);
+        if (range != null) {
+            present.clear(range[0], range[1]);
+        }
+    }
+
+    /** @return whether the resource with the specified address has been added, no matter if it's indexed already */
+    public boolean contains(String address) {
+        return pending.containsKey(address) || resources.containsKey(address);
+    }
+
+    /** @return the number of indexed resources */
+    public int size() {
+        flush();
+        return resources.size();
+    }
+
+    /** @return the number of indexed resources and attributes */
+    public int documents() {
+        flush();
+        return present.cardinality();
+    }
+
+    /** @return the number of distinct terms */
+    public int terms() {
+        flush();
+        return postings.size();
+    }
+
+
+    // ------------------------------------------------------ search
+
+    /**
+     * Returns the best matching resources and attributes for the specified query.
+     *
+     * @param query free text
+     * @param limit the maximum number of hits
+     *
+     * @return the hits ordered by descending score or an empty list if the query contains no searchable terms
+     */
+    @JsIgnore
+    public List<SearchHit> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return emptyList();
+        }
+        flush();
+
+        int size = addresses.size();
+        int live = present.cardinality();
+        double[] scores = new double[size];
+        int[] matches = new int[size];
+        double[] best = new double[size];
+        BitSet touched = new BitSet(size);
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            Postings exact = postings.get(term);
+            if (exact != null) {
+                collect(exact, 1.0, live, best, touched);
+            }
+            if (i == terms.size() - 1) {
+                int expansions = 0;
+                for (Postings prefixed : postings.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+                    if (expansions++ == MAX_EXPANSIONS) {
+                        break;
+                    }
+                    collect(prefixed, PREFIX_FACTOR, live, best, touched);
+                }
+            }
+            for (int doc = touched.nextSetBit(0); doc >= 0; doc = touched.nextSetBit(doc + 1)) {
+                scores[doc] += best[doc];
+                matches[doc]++;
+                best[doc] = 0;
+            }
+            touched.clear();
+        }
+
+        String key = String.join("-", terms);
+        Comparator<SearchHit> ranking = Comparator.comparingDouble(SearchHit::getScore).reversed()
+                .thenComparing(SearchHit::getAddress)
+                .thenComparing(hit -> hit.getAttribute() != null ? hit.getAttribute() : "");
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (int doc = present.nextSetBit(0); doc >= 0; doc = present.nextSetBit(doc + 1)) {
+            if (matches[doc] == terms.size()) {
+                double score = key.equals(keys.get(doc)) ? scores[doc] * NAME_BOOST : scores[doc];
+                if (top.size() < limit || score >= top.peek().getScore()) {
+                    top.add(new SearchHit(addresses.get(doc), attributes.get(doc), score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(top);
+        hits.sort(ranking);
+        return hits;
+    }
+
+    /**
+     * Returns the best matching resources and attributes for the specified query.
+     *
+     * @param query free text
+     * @param limit the maximum number of hits
+     *
+     * @return the hits ordered by descending score
+     */
+    @JsMethod(name = "search")
+    @EsReturn("SearchHit[]")
+    public SearchHit[] jsSearch(String query, int limit) {
+        List<SearchHit> hits = search(query, limit);
+        return hits.toArray(new SearchHit[hits.size()]);
+    }
+
+    private void collect(Postings postings, double factor, int live, double[] best, BitSet touched) {
+        double df = Math.min(postings.size, live);
+        double idf = Math.log(1 + (live - df + 0.5) / (df + 0.5));
+        for (int i = 0; i < postings.size; i++) {
+            int doc = postings.docs[i];
+            int weight = postings.weights[i];
+            double score = factor * idf * weight * (SATURATION + 1) / (weight + SATURATION);
+            if (score > best[doc]) {
+                best[doc] = score;
+            }
+            touched.set(doc);
+        }
+    }
+
+
+    // ------------------------------------------------------ documents
+
+    /**
+     * Tokenizes the specified resource and returns the weighted terms of its documents in a compact form. The first
+     * line is the address. Each other line is a document: The attribute name (empty for the resource itself), the
+     * normalized name and the terms with their weights, separated by tabs.
+     */
+    @JsIgnore
+    public static String serialize(IndexedResource resource) {
+        return serialize(resource.address, documents(resource));
+    }
+
+    /**
+     * Indexes the queued resource with the specified address and returns its documents in the same form as {@link
+     * #serialize(IndexedResource)}. The resource is tokenized only once, no matter if it's serialized or queried
+     * first.
+     *
+     * @return the serialized documents or {@code null} if no resource with this address is queued
+     */
+    @JsIgnore
+    public String serialize(String address) {
+        Supplier<List<Document>> supplier = pending.remove(address);
+        if (supplier == null) {
+            return null;
+        }
+        List<Document> documents = supplier.get();
+        index(address, documents);
+        return serialize(address, documents);
+    }
+
+    private static String serialize(String address, List<Document> documents) {
+        StringBuilder builder = new StringBuilder(address);
+        for (Document document : documents) {
+            builder.append('\n')
+                    .append(document.attribute != null ? document.attribute : "")
+                    .append('\t').append(document.key).append('\t');
+            boolean first = true;
+            for (Map.Entry<String, Integer> entry : document.terms.entrySet()) {
+                if (!first) {
+                    builder.append(' ');
+                }
+                builder.append(entry.getKey()).append(':').append(entry.getValue());
+                first = false;
+            }
+        }
+        return builder.toString();
+    }
+
+    private static List<Document> documents(IndexedResource resource) {
+        List<Document> documents = new ArrayList<>();
+        Document document = new Document(null, key(resource.name));
+        document.add(resource.name, NAME_WEIGHT);
+        document.add(resource.description, DESCRIPTION_WEIGHT);
+        for (String capability : resource.capabilities) {
+            document.add(capability, CAPABILITY_WEIGHT);
+        }
+        documents.add(document);
+
+        for (IndexedResource.Attribute attribute : resource.attributes) {
+            document = new Document(attribute.name, key(attribute.name));
+            document.add(attribute.name, NAME_WEIGHT);
+            document.add(attribute.description, DESCRIPTION_WEIGHT);
+            document.add(attribute.capabilityReference, CAPABILITY_WEIGHT);
+            documents.add(document);
+        }
+        return documents;
+    }
+
+    private static String key(String name) {
+        return String.join("-", Tokenizer.tokenize(name));
+    }
+
+
+    private static class Document {
+
+        final String attribute;
+        final String key;
+        final Map<String, Integer> terms;
+
+        Document(String attribute, String key) {
+            this.attribute = attribute;
+            this.key = key;
+            this.terms = new LinkedHashMap<>();
+        }
+
+        void add(String text, int weight) {
+            for (String term : Tokenizer.tokenize(text)) {
+                terms.merge(term, weight, Integer::sum);
+            }
+        }
+    }
+
+
+    /** Postings of one term: Ascending document ids and the weight of the term in the document. */
+    private static class Postings {
+
+        private int[] docs = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                int[] docsCopy = new int[size * 2];
+                int[] weightsCopy = new int[size * 2];
+                System.arraycopy(docs, 0, docsCopy, 0, size);
+                System.arraycopy(weights, 0, weightsCopy, 0, size);
+                docs = docsCopy;
+                weights = weightsCopy;
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+    }
+}
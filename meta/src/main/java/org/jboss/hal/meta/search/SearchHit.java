@@ -0,0 +1,58 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.search;
+
+import jsinterop.annotations.JsIgnore;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+
+/** A ranked result of a {@link ModelIndex} query: Either a resource or an attribute of a resource. */
+@JsType(namespace = "hal.meta")
+public class SearchHit {
+
+    private final String address;
+    private final String attribute;
+    private final double score;
+
+    SearchHit(String address, String attribute, double score) {
+        this.address = address;
+        this.attribute = attribute;
+        this.score = score;
+    }
+
+    /** @return the address of the resource as used in the resource description registry */
+    @JsProperty
+    public String getAddress() {
+        return address;
+    }
+
+    /** @return the name of the matching attribute or {@code null} if the resource itself matches */
+    @JsProperty
+    public String getAttribute() {
+        return attribute;
+    }
+
+    @JsProperty
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    @JsIgnore
+    public String toString() {
+        return address + (attribute != null ? "@" + attribute : "") + " (" + score + ")";
+    }
+}
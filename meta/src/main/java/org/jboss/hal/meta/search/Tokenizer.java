@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits text into lower case terms. Everything which is not a letter or digit is a separator, so attribute names
+ * like {@code max-pool-size} and capability names like {@code org.wildfly.data-source} are split into their parts.
+ * Terms shorter than {@value #MIN_LENGTH} characters and common English stop words are dropped.
+ */
+final class Tokenizer {
+
+    static final int MIN_LENGTH = 2;
+
+    @SuppressWarnings("HardCodedStringLiteral")
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "an", "and", "are", "as", "at", "be", "by", "can", "for", "from", "has", "if", "in", "is", "it", "its",
+            "may", "not", "of", "on", "or", "that", "the", "this", "to", "was", "when", "which", "will", "with"));
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text != null) {
+            int start = -1;
+            for (int i = 0; i <= text.length(); i++) {
+                boolean separator = i == text.length() || !Character.isLetterOrDigit(text.charAt(i));
+                if (separator && start >= 0) {
+                    add(text.substring(start, i).toLowerCase(), terms);
+                    start = -1;
+                } else if (!separator && start < 0) {
+                    start = i;
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static void add(String term, List<String> terms) {
+        if (term.length() >= MIN_LENGTH && !STOP_WORDS.contains(term)) {
+            terms.add(term);
+        }
+    }
+
+    private Tokenizer() {
+    }
+}
@@ -15,34 +15,25 @@
  */
 package org.jboss.hal.meta.security;
 
-import java.util.HashMap;
-import java.util.Map;
 import javax.inject.Inject;
 
 import org.jboss.hal.config.Environment;
-import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.AbstractRegistry;
+import org.jboss.hal.meta.ModelNodeWeigher;
 import org.jboss.hal.meta.StatementContext;
 
+/**
+ * A registry for security contexts. The registry keeps at most {@value #MAX_WEIGHT} estimated bytes of security
+ * contexts. Beyond that the least recently used security contexts are evicted unless they're pinned.
+ */
 public class SecurityContextRegistry extends AbstractRegistry<SecurityContext> {
 
     private static final String SECURITY_CONTEXT_TYPE = "security context";
-
-    private final Map<ResourceAddress, SecurityContext> registry;
+    static final double MAX_WEIGHT = 8 * 1024 * 1024;
 
     @Inject
     public SecurityContextRegistry(final StatementContext statementContext, final Environment environment) {
-        super(new SecurityContextStatementContext(statementContext, environment), SECURITY_CONTEXT_TYPE);
-        this.registry = new HashMap<>();
-    }
-
-    @Override
-    protected SecurityContext lookupAddress(final ResourceAddress address) {
-        return registry.get(address);
-    }
-
-    @Override
-    public void add(final ResourceAddress address, final SecurityContext securityContext) {
-        registry.put(address, securityContext);
+        super(new SecurityContextStatementContext(statementContext, environment), SECURITY_CONTEXT_TYPE,
+                MAX_WEIGHT, new ModelNodeWeigher());
     }
 }
@@ -0,0 +1,113 @@
+package org.jboss.hal.meta;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.meta.description.ResourceDescriptionTemplateProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.PROFILE;
+
+/**
+ * Measures the resolve heavy paths of address templates. {@code resolve} is the public API which returns a copy of
+ * the memoized address, {@code registryLookup} is what the registries do for each form, table and finder column and
+ * {@code descriptionLookup} adds the template processing of the resource description registry.
+ * <p>
+ * If {@code switching} is true, the selected profile changes before each invocation, so every resolution has to
+ * invalidate the memoized address.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.mainClass=org.jboss.hal.meta.AddressTemplateBenchmark
+ * -Dexec.classpathScope=test} or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("HardCodedStringLiteral")
+public class AddressTemplateBenchmark {
+
+    @Param({"false", "true"}) private boolean switching;
+
+    private AddressTemplate[] templates;
+    private SwitchingStatementContext context;
+    private ResourceDescriptionTemplateProcessor processor;
+
+    @Setup
+    public void setup() {
+        templates = new AddressTemplate[]{
+                AddressTemplate.of("{selected.profile}/subsystem=datasources/data-source=*"),
+                AddressTemplate.of("{selected.profile}/subsystem=undertow/server=*/http-listener=*"),
+                AddressTemplate.of("{selected.host}/{selected.server}/subsystem=messaging-activemq/server=*"),
+                AddressTemplate.of("{domain.controller}/server-config=*"),
+                AddressTemplate.of("{selected.group}/deployment=*"),
+                AddressTemplate.of("/subsystem=logging/periodic-rotating-file-handler=FILE"),
+        };
+        context = new SwitchingStatementContext();
+        processor = new ResourceDescriptionTemplateProcessor();
+    }
+
+    @Benchmark
+    public void resolve(Blackhole blackhole) {
+        switchProfile();
+        for (AddressTemplate template : templates) {
+            blackhole.consume(template.resolve(context));
+        }
+    }
+
+    @Benchmark
+    public void registryLookup(Blackhole blackhole) {
+        switchProfile();
+        for (AddressTemplate template : templates) {
+            blackhole.consume(template.resolveMemoized(context));
+        }
+    }
+
+    @Benchmark
+    public void descriptionLookup(Blackhole blackhole) {
+        switchProfile();
+        for (AddressTemplate template : templates) {
+            ResourceAddress address = processor.apply(template).resolveMemoized(context);
+            blackhole.consume(address);
+        }
+    }
+
+    private void switchProfile() {
+        if (switching) {
+            context.profile = "full".equals(context.profile) ? "full-ha" : "full";
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AddressTemplateBenchmark.class.getSimpleName()).build()).run();
+    }
+
+
+    private static class SwitchingStatementContext extends TestableStatementContext {
+
+        String profile = "full";
+
+        @Override
+        public String[] resolveTuple(String placeholder) {
+            if ("selected.profile".equals(placeholder)) {
+                return new String[]{PROFILE, profile};
+            }
+            return super.resolveTuple(placeholder);
+        }
+    }
+}
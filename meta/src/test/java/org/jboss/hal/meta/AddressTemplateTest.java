@@ -1,7 +1,9 @@
 package org.jboss.hal.meta;
 
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.hal.dmr.ModelNodeHelper;
 import org.jboss.hal.dmr.Property;
@@ -10,7 +12,9 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 @SuppressWarnings("HardCodedStringLiteral")
@@ -242,6 +246,74 @@ public class AddressTemplateTest {
         assertResolved(new String[][]{{"a", "b"}, {"c", "d"}}, resolved);
     }
 
+    @Test
+    public void resolveTuples() {
+        StatementContext context = new TestableStatementContext();
+        AddressTemplate at = AddressTemplate.of("{selected.host}/{selected.server}/subsystem=mail");
+        assertResolved(new String[][]{{"host", "master"}, {"server", "server-one"}, {"subsystem", "mail"}},
+                at.resolve(context));
+    }
+
+    @Test
+    public void resolveRepeatedVariables() {
+        // variables are resolved only once per resolution
+        StatementContext context = new TestableStatementContext();
+        AddressTemplate at = AddressTemplate.of("{selected.host}/{selected.host}/a={selection}/b={selection}");
+        assertResolved(new String[][]{{"host", "master"}, {"a", "selection"}, {"b", "_blank"}},
+                at.resolve(context));
+    }
+
+    @Test
+    public void resolveUnknownTuple() {
+        AddressTemplate at = AddressTemplate.of("{selected.host}");
+        ResourceAddress resolved = at.resolve(new MutableStatementContext());
+        assertFalse(resolved.isDefined());
+    }
+
+    @Test
+    public void resolveMemoized() {
+        MutableStatementContext context = new MutableStatementContext();
+        context.tuple("selected.profile", "profile", "full");
+        context.value("name", "foo");
+        AddressTemplate at = AddressTemplate.of("{selected.profile}/subsystem=mail/mail-session={name}");
+
+        ResourceAddress first = at.resolveMemoized(context);
+        assertResolved(new String[][]{{"profile", "full"}, {"subsystem", "mail"}, {"mail-session", "foo"}}, first);
+        assertSame(first, at.resolveMemoized(context));
+
+        // memoized per statement context
+        StatementContext other = new TestableStatementContext();
+        ResourceAddress otherAddress = at.resolveMemoized(other);
+        assertNotSame(first, otherAddress);
+        assertSame(first, at.resolveMemoized(context));
+        assertSame(otherAddress, at.resolveMemoized(other));
+    }
+
+    @Test
+    public void resolveMemoizedInvalidation() {
+        MutableStatementContext context = new MutableStatementContext();
+        context.tuple("selected.profile", "profile", "full");
+        AddressTemplate at = AddressTemplate.of("{selected.profile}/subsystem=mail");
+        ResourceAddress first = at.resolveMemoized(context);
+
+        context.tuple("selected.profile", "profile", "ha");
+        ResourceAddress second = at.resolveMemoized(context);
+        assertNotSame(first, second);
+        assertResolved(new String[][]{{"profile", "full"}, {"subsystem", "mail"}}, first);
+        assertResolved(new String[][]{{"profile", "ha"}, {"subsystem", "mail"}}, second);
+    }
+
+    @Test
+    public void resolveReturnsCopy() {
+        StatementContext context = new TestableStatementContext();
+        AddressTemplate at = AddressTemplate.of("{selected.profile}/subsystem=mail");
+        ResourceAddress resolved = at.resolve(context);
+        resolved.add("mail-session", "foo");
+
+        assertResolved(new String[][]{{"profile", "full"}, {"subsystem", "mail"}}, at.resolve(context));
+        assertResolved(new String[][]{{"profile", "full"}, {"subsystem", "mail"}}, at.resolveMemoized(context));
+    }
+
     @Test
     public void slashes() {
         AddressTemplate at = AddressTemplate.of("a=b/" + ModelNodeHelper.encodeValue("c=/") + "/d=e");
@@ -253,6 +325,60 @@ public class AddressTemplateTest {
         assertEquals("a=b/c=%2F/d=e", at.getTemplate());
     }
 
+    private static class MutableStatementContext implements StatementContext {
+
+        private final Map<String, String> values = new HashMap<>();
+        private final Map<String, String[]> tuples = new HashMap<>();
+
+        void value(String placeholder, String value) {
+            values.put(placeholder, value);
+        }
+
+        void tuple(String placeholder, String resource, String value) {
+            tuples.put(placeholder, new String[]{resource, value});
+        }
+
+        @Override
+        public String resolve(String placeholder) {
+            return values.get(placeholder);
+        }
+
+        @Override
+        public String[] resolveTuple(String placeholder) {
+            return tuples.get(placeholder);
+        }
+
+        @Override
+        public String domainController() {
+            return null;
+        }
+
+        @Override
+        public String selectedProfile() {
+            return null;
+        }
+
+        @Override
+        public String selectedServerGroup() {
+            return null;
+        }
+
+        @Override
+        public String selectedHost() {
+            return null;
+        }
+
+        @Override
+        public String selectedServerConfig() {
+            return null;
+        }
+
+        @Override
+        public String selectedServer() {
+            return null;
+        }
+    }
+
     private void assertResolved(String[][] tuples, ResourceAddress resourceAddress) {
         List<Property> properties = resourceAddress.asPropertyList();
         assertEquals(tuples.length, properties.size());
@@ -0,0 +1,122 @@
+package org.jboss.hal.meta;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class LruCacheTest {
+
+    private LruCache<String, String> cache;
+
+    @Before
+    public void setUp() {
+        // the weight of a value is its length, keys starting with "pinned" are never evicted
+        cache = new LruCache<>(10, String::length, key -> key.startsWith("pinned"));
+    }
+
+    @Test
+    public void put() {
+        cache.put("a", "123");
+        cache.put("b", "4567");
+        assertEquals(2, cache.size());
+        assertEquals(7, cache.weight(), 0);
+        assertEquals("123", cache.get("a"));
+        assertEquals(0, cache.evictions());
+    }
+
+    @Test
+    public void replace() {
+        cache.put("a", "123");
+        cache.put("a", "12");
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.weight(), 0);
+        assertEquals("12", cache.get("a"));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        cache.put("a", "1234");
+        cache.put("b", "1234");
+        cache.get("a");
+        cache.put("c", "1234");
+
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertEquals(8, cache.weight(), 0);
+        assertEquals(1, cache.evictions());
+    }
+
+    @Test
+    public void pinned() {
+        cache.put("pinned-a", "1234");
+        cache.put("b", "1234");
+        cache.put("c", "1234");
+        cache.put("d", "1234");
+
+        assertNotNull(cache.get("pinned-a"));
+        assertNotNull(cache.get("d"));
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.evictions());
+    }
+
+    @Test
+    public void pinnedExceedsMaxWeight() {
+        cache.put("pinned-a", "123456");
+        cache.put("pinned-b", "123456");
+        assertEquals(2, cache.size());
+        assertEquals(12, cache.weight(), 0);
+        assertEquals(0, cache.evictions());
+    }
+
+    @Test
+    public void setMaxWeight() {
+        cache.put("a", "1234");
+        cache.put("b", "1234");
+        cache.setMaxWeight(5);
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.size());
+        assertEquals(4, cache.weight(), 0);
+    }
+
+    @Test
+    public void remove() {
+        cache.put("a", "1234");
+        assertEquals("1234", cache.remove("a"));
+        assertNull(cache.remove("a"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight(), 0);
+    }
+
+    @Test
+    public void unbounded() {
+        LruCache<String, String> unbounded = new LruCache<>(LruCache.UNBOUNDED, String::length, key -> false);
+        for (int i = 0; i < 1000; i++) {
+            unbounded.put("key-" + i, "value-" + i);
+        }
+        assertEquals(1000, unbounded.size());
+        assertEquals(0, unbounded.evictions());
+    }
+
+    @Test
+    public void weighModelNodes() {
+        ModelNode small = new ModelNode();
+        small.get("name").set("foo");
+
+        ModelNode large = new ModelNode();
+        for (int i = 0; i < 10; i++) {
+            large.get("attribute-" + i).get("description").set("A description of attribute " + i);
+        }
+
+        double smallWeight = ModelNodeWeigher.estimate(small);
+        double largeWeight = ModelNodeWeigher.estimate(large);
+        assertTrue(smallWeight > 0);
+        assertTrue(largeWeight > 10 * smallWeight);
+    }
+}
@@ -0,0 +1,222 @@
+package org.jboss.hal.meta.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.meta.description.ResourceDescription;
+import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
+import org.jboss.hal.meta.search.ModelIndex;
+import org.jboss.hal.meta.security.SecurityContext;
+import org.jboss.hal.meta.security.SecurityContextRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Completable;
+import rx.Single;
+import rx.schedulers.Schedulers;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class MetadataCacheTest {
+
+    private static final String FINGERPRINT = MetadataCache.fingerprint("5.0.0", "11.0.0.Final",
+            asList("org.jboss.as.logging", "org.wildfly.extension.undertow"), asList("SuperUser"));
+
+    private static final ResourceAddress UNDERTOW = new ResourceAddress().add(SUBSYSTEM, "undertow");
+    private static final ResourceAddress LOGGING = new ResourceAddress().add(SUBSYSTEM, "logging");
+
+    private InMemoryMetadataStore store;
+    private ResourceDescriptionRegistry resourceDescriptionRegistry;
+    private SecurityContextRegistry securityContextRegistry;
+    private long now;
+    private MetadataCache cache;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryMetadataStore();
+        resourceDescriptionRegistry = mock(ResourceDescriptionRegistry.class);
+        securityContextRegistry = mock(SecurityContextRegistry.class);
+        now = 1_000_000;
+        cache = newCache(new ModelIndex());
+    }
+
+    @Test
+    public void fingerprint() {
+        assertEquals(FINGERPRINT, MetadataCache.fingerprint("5.0.0", "11.0.0.Final",
+                asList("org.wildfly.extension.undertow", "org.jboss.as.logging"), asList("SuperUser")));
+        assertFalse(FINGERPRINT.equals(MetadataCache.fingerprint("5.0.0", "11.0.0.Final",
+                asList("org.wildfly.extension.undertow"), asList("SuperUser"))));
+        assertFalse(FINGERPRINT.equals(MetadataCache.fingerprint("5.0.0", "11.0.0.Final",
+                asList("org.jboss.as.logging", "org.wildfly.extension.undertow"), asList("Monitor"))));
+        assertFalse(FINGERPRINT.equals(MetadataCache.fingerprint("6.0.0", "11.0.0.Final",
+                asList("org.jboss.as.logging", "org.wildfly.extension.undertow"), asList("SuperUser"))));
+    }
+
+    @Test
+    public void inactive() {
+        assertFalse(cache.isActive());
+        cache.store(singletonMap(UNDERTOW, description("undertow")), emptyMap());
+        assertEquals(0, store.size());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void emptyStore() {
+        cache.load(FINGERPRINT).await();
+
+        assertTrue(cache.isActive());
+        assertEquals(FINGERPRINT, cache.getFingerprint());
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getInvalidations());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void storeAndRestore() {
+        cache.load(FINGERPRINT).await();
+        Map<ResourceAddress, ResourceDescription> descriptions = new HashMap<>();
+        descriptions.put(UNDERTOW, description("undertow"));
+        descriptions.put(LOGGING, description("logging"));
+        cache.store(descriptions, singletonMap(UNDERTOW, securityContext()));
+        assertEquals(3, cache.getMisses());
+        assertEquals(6, store.size());
+
+        // next page load
+        ModelIndex modelIndex = new ModelIndex();
+        MetadataCache next = newCache(modelIndex);
+        next.load(FINGERPRINT).await();
+
+        // the index is restored, the metadata on demand
+        assertEquals(0, next.getHits());
+        assertTrue(modelIndex.contains(UNDERTOW.toString()));
+        assertTrue(modelIndex.contains(LOGGING.toString()));
+        assertEquals(UNDERTOW.toString(), modelIndex.search("undertow", 1).get(0).getAddress());
+
+        assertEquals(description("undertow"), next.resourceDescription(UNDERTOW));
+        assertEquals(description("logging"), next.resourceDescription(LOGGING));
+        assertEquals(securityContext(), next.securityContext(UNDERTOW));
+        assertNull(next.securityContext(LOGGING));
+        assertEquals(3, next.getHits());
+        assertEquals(0, next.getMisses());
+
+        // restored entries are part of the registries from now on
+        assertNull(next.resourceDescription(UNDERTOW));
+        assertEquals(3, next.getHits());
+    }
+
+    @Test
+    public void expiredSecurityContext() {
+        cache.load(FINGERPRINT).await();
+        cache.store(emptyMap(), singletonMap(UNDERTOW, securityContext()));
+
+        now += MetadataCache.SECURITY_CONTEXT_TTL + 1;
+        MetadataCache next = newCache(new ModelIndex());
+        next.load(FINGERPRINT).await();
+
+        assertNull(next.securityContext(UNDERTOW));
+        assertEquals(0, next.getHits());
+        assertEquals(1, next.getExpirations());
+    }
+
+    @Test
+    public void invalidate() {
+        cache.load(FINGERPRINT).await();
+        cache.store(singletonMap(UNDERTOW, description("undertow")), emptyMap());
+
+        String changed = MetadataCache.fingerprint("5.0.0", "11.0.0.Final", asList("org.jboss.as.logging"),
+                asList("SuperUser"));
+        MetadataCache next = newCache(new ModelIndex());
+        next.load(changed).await();
+
+        assertTrue(next.isActive());
+        assertEquals(changed, next.getFingerprint());
+        assertEquals(0, next.getHits());
+        assertEquals(1, next.getInvalidations());
+        assertEquals(1, store.size()); // only the fingerprint
+        assertNull(next.resourceDescription(UNDERTOW));
+    }
+
+    @Test
+    public void olderFormat() {
+        // stores written before security contexts were stored with a timestamp
+        Map<String, String> entries = new HashMap<>();
+        entries.put(MetadataCache.FINGERPRINT, "format=2;management-version=5.0.0;product-version=11.0.0.Final;" +
+                "extensions=org.jboss.as.logging,org.wildfly.extension.undertow;roles=SuperUser");
+        entries.put("sc:" + UNDERTOW, "base64");
+        store.write(entries).await();
+
+        cache.load(FINGERPRINT).await();
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void invalidEntry() {
+        Map<String, String> entries = new HashMap<>();
+        entries.put(MetadataCache.FINGERPRINT, FINGERPRINT);
+        entries.put(MetadataCache.RESOURCE_DESCRIPTION + "/subsystem=foo", "no base64!");
+        entries.put(MetadataCache.SEARCH_INDEX + "/subsystem=foo", "/subsystem=foo\nno documents");
+        store.write(entries).await();
+
+        cache.load(FINGERPRINT).await();
+        assertTrue(cache.isActive());
+        assertNull(cache.resourceDescription(new ResourceAddress().add(SUBSYSTEM, "foo")));
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void failingStore() {
+        MetadataStore failing = new MetadataStore() {
+            @Override
+            public Single<Map<String, String>> read() {
+                return Single.error(new IllegalStateException("quota exceeded"));
+            }
+
+            @Override
+            public Completable write(Map<String, String> entries) {
+                return Completable.error(new IllegalStateException("quota exceeded"));
+            }
+
+            @Override
+            public Completable clear() {
+                return Completable.complete();
+            }
+        };
+        MetadataCache failingCache = new MetadataCache(failing, resourceDescriptionRegistry, securityContextRegistry,
+                new ModelIndex());
+
+        // errors must not be passed to the caller
+        assertNull(failingCache.load(FINGERPRINT).get());
+        assertFalse(failingCache.isActive());
+    }
+
+    private MetadataCache newCache(ModelIndex modelIndex) {
+        return new MetadataCache(store, resourceDescriptionRegistry, securityContextRegistry, modelIndex, () -> now,
+                Schedulers.immediate());
+    }
+
+    private SecurityContext securityContext() {
+        ModelNode node = new ModelNode();
+        node.get(READ).set(true);
+        node.get(WRITE).set(false);
+        return new SecurityContext(node);
+    }
+
+    private ResourceDescription description(String name) {
+        ModelNode node = new ModelNode();
+        node.get(DESCRIPTION).set(name);
+        node.get(ATTRIBUTES).get("name").get(TYPE).set("STRING");
+        return new ResourceDescription(node);
+    }
+}
@@ -0,0 +1,176 @@
+package org.jboss.hal.meta.processing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.jboss.hal.meta.processing.AdaptiveBatcher.DEFAULT_BATCH_SIZE;
+import static org.jboss.hal.meta.processing.AdaptiveBatcher.MAX_BATCHES;
+import static org.jboss.hal.meta.processing.AdaptiveBatcher.MAX_BATCH_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class AdaptiveBatcherTest {
+
+    private AdaptiveBatcher batcher;
+
+    @Before
+    public void setUp() {
+        batcher = new AdaptiveBatcher();
+        batcher.setTargetPayloadSize(100_000);
+        batcher.setTargetDecodeTime(100);
+    }
+
+    @Test
+    public void family() {
+        assertEquals("/", AdaptiveBatcher.family(ResourceAddress.root()));
+        assertEquals("subsystem=undertow", AdaptiveBatcher.family(address("subsystem=undertow/server=*")));
+        assertEquals("subsystem=undertow", AdaptiveBatcher.family(address("profile=full/subsystem=undertow")));
+        assertEquals("subsystem=jmx",
+                AdaptiveBatcher.family(address("host=master/server=server-one/subsystem=jmx")));
+        assertEquals("host=*", AdaptiveBatcher.family(address("host=master")));
+        assertEquals("server-group=*", AdaptiveBatcher.family(address("server-group=main-server-group")));
+
+        assertEquals("subsystem=undertow (recursive)", AdaptiveBatcher.family(new Operation.Builder(
+                address("subsystem=undertow"), READ_RESOURCE_DESCRIPTION_OPERATION).param(RECURSIVE_DEPTH, 3)
+                .build()));
+    }
+
+    @Test
+    public void unknownFamilies() {
+        List<Composite> composites = batcher.partition(operations("subsystem=foo", 10));
+        assertEquals(4, composites.size());
+        assertEquals(DEFAULT_BATCH_SIZE, composites.get(0).size());
+        assertEquals(1, composites.get(3).size());
+    }
+
+    @Test
+    public void smallResponses() {
+        record("subsystem=foo", 1_000, 1);
+        List<Composite> composites = batcher.partition(operations("subsystem=foo", 100));
+        assertEquals(MAX_BATCH_SIZE, composites.get(0).size());
+    }
+
+    @Test
+    public void largeResponses() {
+        record("subsystem=foo", 80_000, 10);
+        List<Composite> composites = batcher.partition(operations("subsystem=foo", 3));
+        assertEquals(3, composites.size());
+    }
+
+    @Test
+    public void slowDecoding() {
+        record("subsystem=foo", 1_000, 60);
+        List<Composite> composites = batcher.partition(operations("subsystem=foo", 3));
+        assertEquals(3, composites.size());
+    }
+
+    @Test
+    public void mixedFamilies() {
+        record("subsystem=small", 10_000, 1);
+        record("subsystem=large", 60_000, 1);
+        List<Operation> operations = new ArrayList<>();
+        operations.addAll(operations("subsystem=small", 4));
+        operations.addAll(operations("subsystem=large", 1));
+        operations.addAll(operations("subsystem=small", 4));
+
+        // 4 x 10k + 60k | 4 x 10k
+        List<Composite> composites = batcher.partition(operations);
+        assertEquals(2, composites.size());
+        assertEquals(5, composites.get(0).size());
+        assertEquals(4, composites.get(1).size());
+    }
+
+    @Test
+    public void converge() {
+        // the real size is about 20k per operation: the composites should converge to the target size of 100k
+        List<Operation> operations = operations("subsystem=foo", 50);
+        for (int round = 0; round < 10; round++) {
+            for (Composite composite : batcher.partition(operations)) {
+                batcher.record(composite, sizes(composite.size()), 50, composite.size());
+            }
+        }
+        AdaptiveBatcher.Family family = batcher.getFamily("subsystem=foo");
+        assertEquals(20_000, family.getBytes(), 1_000);
+        assertEquals(1, family.getDecodeTime(), 0.1);
+
+        for (Composite composite : batcher.partition(operations)) {
+            int bytes = 0;
+            for (int size : sizes(composite.size())) {
+                bytes += size;
+            }
+            assertTrue(composite.size() >= 4 && composite.size() <= 5);
+            assertTrue(bytes <= 110_000);
+        }
+    }
+
+    private int[] sizes(int count) {
+        int[] sizes = new int[count];
+        for (int i = 0; i < count; i++) {
+            sizes[i] = i % 2 == 0 ? 21_000 : 19_000;
+        }
+        return sizes;
+    }
+
+    @Test
+    public void unknownSizes() {
+        Composite composite = new Composite(operations("subsystem=foo", 2));
+        batcher.record(composite, new int[]{-1, -1}, 10, 100);
+
+        AdaptiveBatcher.Family family = batcher.getFamily("subsystem=foo");
+        assertEquals(-1, family.getBytes(), 0);
+        assertEquals(50, family.getDecodeTime(), 0);
+        assertEquals(-1, batcher.getBatches()[0].getBytes());
+
+        // the decode time of 50 ms per operation is still taken into account
+        assertEquals(10, batcher.partition(operations("subsystem=foo", 20)).size());
+    }
+
+    @Test
+    public void diagnostics() {
+        for (int i = 0; i < MAX_BATCHES + 5; i++) {
+            batcher.record(new Composite(operations("subsystem=foo", 1)), new int[]{i}, i, 1);
+        }
+        AdaptiveBatcher.Batch[] batches = batcher.getBatches();
+        assertEquals(MAX_BATCHES, batches.length);
+        assertEquals(5, batches[0].getBytes());
+        assertEquals(MAX_BATCHES + 4, batches[MAX_BATCHES - 1].getRoundTrip(), 0);
+        assertEquals(1, batcher.getFamilies().length);
+        assertEquals(MAX_BATCHES + 5, batcher.getFamily("subsystem=foo").getSamples());
+
+        batcher.reset();
+        assertEquals(0, batcher.getBatches().length);
+        assertNull(batcher.getFamily("subsystem=foo"));
+        assertEquals(1, batcher.partition(operations("subsystem=foo", 3)).size());
+    }
+
+    private void record(String family, int size, double decodeTime) {
+        Composite composite = new Composite(operations(family, 1));
+        batcher.record(composite, new int[]{size}, 10, decodeTime);
+    }
+
+    private List<Operation> operations(String address, int count) {
+        List<Operation> operations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            operations.add(new Operation.Builder(address(address), READ_RESOURCE_DESCRIPTION_OPERATION).build());
+        }
+        return operations;
+    }
+
+    private ResourceAddress address(String address) {
+        ResourceAddress resourceAddress = new ResourceAddress();
+        for (String segment : address.split("/")) {
+            String[] parts = segment.split("=");
+            resourceAddress.add(parts[0], parts[1]);
+        }
+        return resourceAddress;
+    }
+}
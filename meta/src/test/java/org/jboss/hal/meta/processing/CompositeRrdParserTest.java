@@ -9,14 +9,15 @@ import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Composite;
 import org.jboss.hal.dmr.CompositeResult;
 import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.StatementContext;
 import org.junit.Test;
 
 import static java.util.stream.Collectors.toList;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
-import static org.jboss.hal.dmr.ModelDescriptionConstants.RECURSIVE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 import static org.jboss.hal.meta.processing.RrdParserTestHelper.assertResourceDescriptions;
+import static org.junit.Assert.assertEquals;
 
 @SuppressWarnings({"HardCodedStringLiteral", "DuplicateStringLiteralInspection"})
 public class CompositeRrdParserTest {
@@ -97,4 +98,44 @@ public class CompositeRrdParserTest {
         // There must be no duplicates!
         assertResourceDescriptions(rrdResult, 36, RECURSIVE_TEMPLATES);
     }
+
+    @Test
+    public void stepsOutOfOrder() {
+        Composite composite = new Composite(
+                new Operation.Builder(new ResourceAddress().add(SUBSYSTEM, "foo"), READ_RESOURCE_DESCRIPTION_OPERATION)
+                        .build(),
+                new Operation.Builder(new ResourceAddress().add(SUBSYSTEM, "bar"), READ_RESOURCE_DESCRIPTION_OPERATION)
+                        .build());
+
+        ModelNode modelNode = new ModelNode();
+        modelNode.get("step-2").set(step("bar"));
+        modelNode.get("step-1").set(step("foo"));
+        RrdResult rrdResult = new CompositeRrdParser(composite).parse(new CompositeResult(modelNode));
+
+        assertResourceDescriptions(rrdResult, 2, "/subsystem=foo", "/subsystem=bar");
+        assertEquals("foo", rrdResult.resourceDescriptions.get(new ResourceAddress().add(SUBSYSTEM, "foo"))
+                .getDescription());
+        assertEquals("bar", rrdResult.resourceDescriptions.get(new ResourceAddress().add(SUBSYSTEM, "bar"))
+                .getDescription());
+    }
+
+    @Test(expected = ParserException.class)
+    public void missingStep() {
+        Composite composite = new Composite(
+                new Operation.Builder(new ResourceAddress().add(SUBSYSTEM, "foo"), READ_RESOURCE_DESCRIPTION_OPERATION)
+                        .build(),
+                new Operation.Builder(new ResourceAddress().add(SUBSYSTEM, "bar"), READ_RESOURCE_DESCRIPTION_OPERATION)
+                        .build());
+
+        ModelNode modelNode = new ModelNode();
+        modelNode.get("step-2").set(step("bar"));
+        new CompositeRrdParser(composite).parse(new CompositeResult(modelNode));
+    }
+
+    private ModelNode step(String description) {
+        ModelNode step = new ModelNode();
+        step.get(OUTCOME).set(SUCCESS);
+        step.get(RESULT).get(DESCRIPTION).set(description);
+        return step;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package org.jboss.hal.meta.processing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.flow.Control;
+import org.jboss.hal.flow.FlowContext;
+import org.jboss.hal.meta.cache.InMemoryMetadataStore;
+import org.jboss.hal.meta.cache.MetadataCache;
+import org.jboss.hal.meta.description.ResourceDescription;
+import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
+import org.jboss.hal.meta.search.ModelIndex;
+import org.jboss.hal.meta.security.SecurityContextRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Scheduler;
+import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/** Executes r-r-d tasks against a dispatcher which answers with a simulated latency in virtual time. */
+@SuppressWarnings({"HardCodedStringLiteral", "unchecked"})
+public class MetadataProcessorTest {
+
+    private static final int LATENCY = 100; // ms
+    private static final int COMPOSITES = 6;
+    private static final int BATCH_SIZE = 3;
+
+    private TestScheduler scheduler;
+    private Dispatcher dispatcher;
+    private ResourceDescriptionRegistry resourceDescriptionRegistry;
+    private SecurityContextRegistry securityContextRegistry;
+    private MetadataCache cache;
+    private int inFlight;
+    private int maxInFlight;
+
+    @Before
+    public void setUp() {
+        scheduler = new TestScheduler();
+        Scheduler.Worker network = scheduler.createWorker();
+        dispatcher = mock(Dispatcher.class);
+        resourceDescriptionRegistry = mock(ResourceDescriptionRegistry.class);
+        securityContextRegistry = mock(SecurityContextRegistry.class);
+        cache = new MetadataCache(new InMemoryMetadataStore(), resourceDescriptionRegistry, securityContextRegistry,
+                new ModelIndex());
+        inFlight = 0;
+        maxInFlight = 0;
+
+        doAnswer(invocation -> {
+            Composite composite = invocation.getArgument(1);
+            Consumer<CompositeResult> success = invocation.getArgument(2);
+            maxInFlight = Math.max(maxInFlight, ++inFlight);
+            // answer in reverse order to make sure the steps are correlated by name
+            ModelNode steps = new ModelNode();
+            for (int i = composite.size() - 1; i >= 0; i--) {
+                steps.get("step-" + (i + 1)).set(step(composite.get(STEPS).get(i)));
+            }
+            network.schedule(() -> {
+                inFlight--;
+                success.accept(new CompositeResult(steps));
+            }, LATENCY, MILLISECONDS);
+            return null;
+        }).when(dispatcher).executeInFlow(any(Control.class), any(Composite.class),
+                any(Consumer.class), any(Dispatcher.OnFail.class));
+    }
+
+    @Test
+    public void series() {
+        assertFinishedAfter(execute(1), COMPOSITES * LATENCY);
+        assertEquals(1, maxInFlight);
+        verifyRegistry();
+    }
+
+    @Test
+    public void parallel() {
+        int rounds = (COMPOSITES + MetadataProcessor.MAX_CONCURRENCY - 1) / MetadataProcessor.MAX_CONCURRENCY;
+        assertFinishedAfter(execute(MetadataProcessor.MAX_CONCURRENCY), rounds * LATENCY);
+        assertEquals(MetadataProcessor.MAX_CONCURRENCY, maxInFlight);
+        verifyRegistry();
+    }
+
+    @Test
+    public void unbounded() {
+        assertFinishedAfter(execute(COMPOSITES), LATENCY);
+        assertEquals(COMPOSITES, maxInFlight);
+        verifyRegistry();
+    }
+
+    private TestSubscriber<FlowContext> execute(int maxConcurrency) {
+        List<RrdTask> tasks = new ArrayList<>();
+        for (int i = 0; i < COMPOSITES; i++) {
+            List<Operation> operations = new ArrayList<>();
+            for (int j = 0; j < BATCH_SIZE; j++) {
+                ResourceAddress address = new ResourceAddress().add(SUBSYSTEM, "subsystem-" + i + "-" + j);
+                operations.add(new Operation.Builder(address, READ_RESOURCE_DESCRIPTION_OPERATION).build());
+            }
+            tasks.add(new RrdTask(securityContextRegistry, resourceDescriptionRegistry, dispatcher,
+                    new AdaptiveBatcher(), cache, new Composite(operations), false));
+        }
+
+        TestSubscriber<FlowContext> subscriber = new TestSubscriber<>();
+        MetadataProcessor.execute(new FlowContext(), tasks, maxConcurrency).subscribe(subscriber);
+        return subscriber;
+    }
+
+    private void assertFinishedAfter(TestSubscriber<FlowContext> subscriber, long millis) {
+        scheduler.advanceTimeBy(millis - 1, MILLISECONDS);
+        subscriber.assertNoTerminalEvent();
+        scheduler.advanceTimeBy(1, MILLISECONDS);
+        subscriber.assertCompleted();
+    }
+
+    private void verifyRegistry() {
+        verify(resourceDescriptionRegistry, times(COMPOSITES * BATCH_SIZE))
+                .add(any(ResourceAddress.class), any(ResourceDescription.class));
+        for (int i = 0; i < COMPOSITES; i++) {
+            for (int j = 0; j < BATCH_SIZE; j++) {
+                String name = "subsystem-" + i + "-" + j;
+                verify(resourceDescriptionRegistry).add(eq(new ResourceAddress().add(SUBSYSTEM, name)),
+                        argThat(description -> name.equals(description.getDescription())));
+            }
+        }
+    }
+
+    private ModelNode step(ModelNode operation) {
+        ModelNode step = new ModelNode();
+        step.get(OUTCOME).set(SUCCESS);
+        step.get(RESULT).set(description(operation.get(ADDRESS).get(0).get(SUBSYSTEM).asString()));
+        return step;
+    }
+
+    private ModelNode description(String name) {
+        ModelNode description = new ModelNode();
+        description.get(DESCRIPTION).set(name);
+        return description;
+    }
+}
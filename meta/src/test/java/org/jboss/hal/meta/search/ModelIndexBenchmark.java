@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.search;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures building and querying a {@link ModelIndex} of the size of the full management model (2000 resources with
+ * 12 attributes each). The descriptions use a small vocabulary, so most terms have long posting lists, which is the
+ * worst case for queries.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.mainClass=org.jboss.hal.meta.search.ModelIndexBenchmark
+ * -Dexec.classpathScope=test} or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("HardCodedStringLiteral")
+public class ModelIndexBenchmark {
+
+    private static final int RESOURCES = 2000;
+    private static final int ATTRIBUTES = 12;
+    private static final String[] WORDS = ("connection pool size timeout max min default name jndi host server " +
+            "queue topic cache thread socket binding security realm domain handler logger level file path interval " +
+            "enabled statistics transaction recovery node cluster channel stack protocol buffer session listener")
+            .split(" ");
+
+    @Param({"max-pool-size", "pool", "connection timeout", "sec", "cluster channel st"}) private String query;
+
+    private IndexedResource[] resources;
+    private ModelIndex index;
+
+    @Setup
+    public void setup() {
+        resources = new IndexedResource[RESOURCES];
+        for (int r = 0; r < RESOURCES; r++) {
+            resources[r] = new IndexedResource("/subsystem=s" + (r % 60) + "/resource-" + r + "=*",
+                    "resource-" + r, sentence(r, 12));
+            for (int a = 0; a < ATTRIBUTES; a++) {
+                int seed = r * ATTRIBUTES + a;
+                resources[r].attribute(WORDS[seed % WORDS.length] + "-" + WORDS[(seed / 7) % WORDS.length],
+                        sentence(seed, 20), null);
+            }
+        }
+        index = build();
+    }
+
+    @Benchmark
+    public ModelIndex build() {
+        ModelIndex index = new ModelIndex();
+        for (IndexedResource resource : resources) {
+            index.add(resource);
+        }
+        return index;
+    }
+
+    @Benchmark
+    public Object search() {
+        return index.search(query, 20);
+    }
+
+    private String sentence(int seed, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append(WORDS[(seed * 31 + i * 17) % WORDS.length]).append(' ');
+        }
+        return builder.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ModelIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.search;
+
+import java.util.List;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.meta.description.ResourceDescription;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class ModelIndexTest {
+
+    private static final String DATA_SOURCE = "/subsystem=datasources/data-source=*";
+    private static final String XA_DATA_SOURCE = "/subsystem=datasources/xa-data-source=*";
+    private static final String EJB3 = "/subsystem=ejb3/strict-max-bean-instance-pool=*";
+
+    private ModelIndex index;
+
+    @Before
+    public void setUp() {
+        index = new ModelIndex();
+        index.add(new IndexedResource(DATA_SOURCE, "data-source", "A JDBC data-source configuration")
+                .capability("org.wildfly.data-source")
+                .attribute("max-pool-size", "The max-pool-size element specifies the maximum number of connections " +
+                        "for a pool.", null)
+                .attribute("min-pool-size", "The min-pool-size element specifies the minimum number of connections " +
+                        "for a pool.", null)
+                .attribute("jndi-name", "Specifies the JNDI name for the datasource", null));
+        index.add(new IndexedResource(XA_DATA_SOURCE, "xa-data-source", "A JDBC XA data-source configuration")
+                .capability("org.wildfly.data-source")
+                .attribute("max-pool-size", "The max-pool-size element specifies the maximum number of connections " +
+                        "for a pool.", null)
+                .attribute("xa-resource-timeout", "The value is passed to XAResource.setTransactionTimeout().", null));
+        index.add(new IndexedResource(EJB3, "strict-max-bean-instance-pool", "A bean instance pool with a strict " +
+                "upper limit")
+                .attribute("max-pool-size", "The maximum number of bean instances that the pool can hold at a " +
+                        "given point in time", null)
+                .attribute("derive-size", "Specifies if and what the max pool size should be derived from", null));
+    }
+
+    @Test
+    public void tokenize() {
+        assertEquals(asList("max", "pool", "size"), Tokenizer.tokenize("max-pool-size"));
+        assertEquals(asList("org", "wildfly", "data", "source"), Tokenizer.tokenize("org.wildfly.data-source"));
+        assertEquals(asList("maximum", "number", "connections", "pool"),
+                Tokenizer.tokenize("The maximum number of connections for a pool."));
+        assertTrue(Tokenizer.tokenize(null).isEmpty());
+        assertTrue(Tokenizer.tokenize(" - . x ").isEmpty());
+    }
+
+    @Test
+    public void attributeName() {
+        List<SearchHit> hits = index.search("max-pool-size", 10);
+        assertTrue(hits.size() >= 3);
+        for (SearchHit hit : hits.subList(0, 3)) {
+            assertEquals("max-pool-size", hit.getAttribute());
+        }
+        assertEquals(asList(DATA_SOURCE, XA_DATA_SOURCE, EJB3),
+                hits.subList(0, 3).stream().map(SearchHit::getAddress).sorted().collect(toList()));
+
+        // words instead of the attribute name
+        assertEquals("max-pool-size", index.search("max pool size", 1).get(0).getAttribute());
+    }
+
+    @Test
+    public void ranking() {
+        List<SearchHit> hits = index.search("pool", 10);
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).getScore() >= hits.get(i).getScore());
+        }
+        // names weigh more than descriptions
+        SearchHit name = find(hits, EJB3, null);
+        SearchHit description = find(hits, EJB3, "derive-size");
+        assertTrue(name.getScore() > description.getScore());
+    }
+
+    @Test
+    public void allTerms() {
+        List<SearchHit> hits = index.search("xa timeout", 10);
+        assertEquals(1, hits.size());
+        assertEquals("xa-resource-timeout", hits.get(0).getAttribute());
+        assertTrue(index.search("xa unknown", 10).isEmpty());
+    }
+
+    @Test
+    public void prefix() {
+        List<SearchHit> hits = index.search("jnd", 10);
+        assertEquals(1, hits.size());
+        assertEquals("jndi-name", hits.get(0).getAttribute());
+
+        // only the last term is a prefix
+        assertTrue(index.search("jnd name", 10).isEmpty());
+        assertFalse(index.search("jndi nam", 10).isEmpty());
+    }
+
+    @Test
+    public void capability() {
+        List<SearchHit> hits = index.search("org.wildfly.data-source", 10);
+        assertEquals(2, hits.size());
+        for (SearchHit hit : hits) {
+            assertNull(hit.getAttribute());
+        }
+    }
+
+    @Test
+    public void noTerms() {
+        assertTrue(index.search("", 10).isEmpty());
+        assertTrue(index.search("the of", 10).isEmpty());
+        assertTrue(index.search("pool", 0).isEmpty());
+    }
+
+    @Test
+    public void limit() {
+        List<SearchHit> all = index.search("pool", 100);
+        List<SearchHit> top = index.search("pool", 2);
+        assertEquals(2, top.size());
+        assertEquals(all.get(0).toString(), top.get(0).toString());
+        assertEquals(all.get(1).toString(), top.get(1).toString());
+    }
+
+    @Test
+    public void replaceAndRemove() {
+        index.add(new IndexedResource(XA_DATA_SOURCE, "xa-data-source", "Replaced"));
+        assertEquals(3, index.size());
+        assertTrue(index.search("xa timeout", 10).isEmpty());
+        assertEquals(1, index.search("replaced", 10).size());
+
+        index.remove(EJB3);
+        assertFalse(index.contains(EJB3));
+        assertNull(find(index.search("pool", 10), EJB3, "max-pool-size"));
+    }
+
+    @Test
+    public void serialize() {
+        IndexedResource resource = new IndexedResource("/subsystem=undertow/server=*", "server", "An Undertow server")
+                .attribute("default-host", "The default virtual host", "org.wildfly.undertow.host");
+        String serialized = ModelIndex.serialize(resource);
+
+        ModelIndex restored = new ModelIndex();
+        restored.deserialize(serialized);
+        ModelIndex tokenized = new ModelIndex();
+        tokenized.add(resource);
+
+        assertTrue(restored.contains("/subsystem=undertow/server=*"));
+        assertEquals(2, restored.documents());
+        for (String query : asList("server", "undertow host", "default-host", "virt")) {
+            assertEquals(query, tokenized.search(query, 10).toString(), restored.search(query, 10).toString());
+        }
+    }
+
+    @Test
+    public void lazy() {
+        int[] calls = new int[1];
+        ModelIndex lazy = new ModelIndex();
+        lazy.add("/subsystem=undertow", () -> {
+            calls[0]++;
+            return new IndexedResource("/subsystem=undertow", "undertow", "The Undertow subsystem");
+        });
+
+        assertEquals(0, calls[0]);
+        assertTrue(lazy.contains("/subsystem=undertow"));
+        assertEquals("/subsystem=undertow", lazy.search("undertow", 1).get(0).getAddress());
+        assertEquals(1, lazy.search("undertow", 1).size());
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    public void serializeQueued() {
+        int[] calls = new int[1];
+        IndexedResource resource = new IndexedResource("/subsystem=undertow/server=*", "server", "An Undertow server")
+                .attribute("default-host", "The default virtual host", "org.wildfly.undertow.host");
+        ModelIndex queued = new ModelIndex();
+        queued.add(resource.address, () -> {
+            calls[0]++;
+            return resource;
+        });
+
+        assertEquals(ModelIndex.serialize(resource), queued.serialize(resource.address));
+        assertEquals(1, calls[0]);
+        assertNull(queued.serialize(resource.address));
+        assertEquals(2, queued.documents());
+        assertEquals(1, queued.search("default host", 10).size());
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    public void jsSearch() {
+        assertEquals(index.search("pool", 2).toString(), asList(index.jsSearch("pool", 2)).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSerialization() {
+        index.deserialize("/subsystem=foo\nfoo\tfoo\tfoo:bar");
+    }
+
+    @Test
+    public void fromResourceDescription() {
+        ModelNode node = new ModelNode();
+        node.get(DESCRIPTION).set("The configuration of the logging subsystem.");
+        node.get(CAPABILITIES).add().get(NAME).set("org.wildfly.logging");
+        node.get(ATTRIBUTES).get("use-deployment-logging-config").get(DESCRIPTION)
+                .set("Indicates whether or not deployments should use a logging configuration file found in the " +
+                        "deployment to configure the log manager.");
+        node.get(ATTRIBUTES).get("add-logging-api-dependencies").get(CAPABILITY_REFERENCE)
+                .set("org.wildfly.logging.api");
+        ResourceAddress address = new ResourceAddress().add(SUBSYSTEM, "logging");
+        index.add(IndexedResource.from(address, new ResourceDescription(node)));
+
+        assertEquals("/subsystem=logging", index.search("logging", 1).get(0).getAddress());
+        assertNull(index.search("logging", 1).get(0).getAttribute());
+        assertEquals("use-deployment-logging-config", index.search("deployment config", 1).get(0).getAttribute());
+        assertEquals("add-logging-api-dependencies", index.search("api", 1).get(0).getAttribute());
+    }
+
+    private SearchHit find(List<SearchHit> hits, String address, String attribute) {
+        for (SearchHit hit : hits) {
+            if (hit.getAddress().equals(address) &&
+                    (attribute == null ? hit.getAttribute() == null : attribute.equals(hit.getAttribute()))) {
+                return hit;
+            }
+        }
+        return null;
+    }
+}
@@ -200,6 +200,7 @@ public interface CSS {
     String listHalIconSuccess = "list-hal-icon-success";
     String listHalMainContent = "list-hal-main-content";
     String listHalSelected = "list-hal-selected";
+    String listHalVirtual = "list-hal-virtual";
     String listInline = "list-inline";
     String listPf = "list-pf";
     String listPfActions = "list-pf-actions";
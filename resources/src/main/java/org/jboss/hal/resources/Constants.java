@@ -120,6 +120,7 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
     String deployments();
     String description();
     String details();
+    String diagnostics();
     String directory();
     String disable();
     String disableConfigurationChanges();
@@ -396,6 +397,7 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
 
     String queue();
 
+    String recentCalls();
     String recovery();
     String rejected();
     String references();
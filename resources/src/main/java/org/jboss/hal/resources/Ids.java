@@ -529,6 +529,7 @@ public interface Ids {
     String MESSAGING_SERVER_LARGE_MESSAGES_DIRECTORY = build(MESSAGING_SERVER, "large-messages-directory");
     String MESSAGING_SERVER_LARGE_MESSAGES_DIRECTORY_FORM = build(MESSAGING_SERVER, "large-messages-directory",
             FORM_SUFFIX);
+    String METADATA_STORAGE = build(STORAGE_PREFIX, "metadata");
     String MODEL_BROWSER = "model-browser";
     String MODEL_BROWSER_CREATE_SINGLETON_FORM = build(MODEL_BROWSER, "create-singleton", FORM_SUFFIX);
     String MODEL_BROWSER_ROOT = build(MODEL_BROWSER, "root");
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.standalone;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+
+/**
+ * Local stand-in for a management endpoint which understands {@value #APPLICATION_DMR_BINARY}. Requests are
+ * forwarded to the real management endpoint. Binary DMR is translated to {@value #APPLICATION_DMR_ENCODED} and back
+ * again. All other requests and responses (including the authentication handshake) are passed through unchanged.
+ * <p>
+ * Since the path of the proxy and the path of the management endpoint are the same, digest authentication works
+ * across the proxy.
+ */
+@SuppressWarnings("HardCodedStringLiteral")
+class BinaryDmrProxy implements HttpHandler {
+
+    static final String APPLICATION_DMR_BINARY = "application/dmr-binary";
+    static final String APPLICATION_DMR_ENCODED = "application/dmr-encoded";
+
+    private static final Logger logger = Logger.getLogger("HAL");
+
+    private final String managementEndpoint;
+
+    BinaryDmrProxy(String managementEndpoint) {
+        this.managementEndpoint = managementEndpoint;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        if (exchange.isInIoThread()) {
+            exchange.dispatch(this);
+            return;
+        }
+        exchange.startBlocking();
+
+        HeaderMap requestHeaders = exchange.getRequestHeaders();
+        boolean binaryRequest = APPLICATION_DMR_BINARY.equals(requestHeaders.getFirst(Headers.CONTENT_TYPE));
+        boolean binaryResponse = APPLICATION_DMR_BINARY.equals(requestHeaders.getFirst(Headers.ACCEPT));
+
+        String query = exchange.getQueryString();
+        URL url = new URL(managementEndpoint + exchange.getRequestURI() + (query.isEmpty() ? "" : "?" + query));
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(exchange.getRequestMethod().toString());
+        connection.setInstanceFollowRedirects(false);
+        for (HeaderValues header : requestHeaders) {
+            if (!header.getHeaderName().equals(Headers.HOST) &&
+                    !header.getHeaderName().equals(Headers.CONTENT_LENGTH) &&
+                    !header.getHeaderName().equals(Headers.CONTENT_TYPE) &&
+                    !header.getHeaderName().equals(Headers.ACCEPT)) {
+                for (String value : header) {
+                    connection.addRequestProperty(header.getHeaderName().toString(), value);
+                }
+            }
+        }
+        String accept = binaryResponse ? APPLICATION_DMR_ENCODED : requestHeaders.getFirst(Headers.ACCEPT);
+        if (accept != null) {
+            connection.setRequestProperty(Headers.ACCEPT_STRING, accept);
+        }
+
+        byte[] body = read(exchange.getInputStream());
+        if (body.length != 0) {
+            String requestContentType = binaryRequest
+                    ? APPLICATION_DMR_ENCODED
+                    : requestHeaders.getFirst(Headers.CONTENT_TYPE);
+            connection.setDoOutput(true);
+            if (requestContentType != null) {
+                connection.setRequestProperty(Headers.CONTENT_TYPE_STRING, requestContentType);
+            }
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(binaryRequest ? Base64.getEncoder().encode(body) : body);
+            }
+        }
+
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        byte[] response = in != null ? read(in) : new byte[0];
+        String contentType = connection.getContentType();
+
+        exchange.setStatusCode(status);
+        for (Map.Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+            String name = header.getKey();
+            if (name != null && !name.equalsIgnoreCase(Headers.CONTENT_LENGTH_STRING) &&
+                    !name.equalsIgnoreCase(Headers.CONTENT_TYPE_STRING) &&
+                    !name.equalsIgnoreCase(Headers.TRANSFER_ENCODING_STRING)) {
+                exchange.getResponseHeaders().addAll(new HttpString(name), header.getValue());
+            }
+        }
+        if (binaryResponse && contentType != null && contentType.startsWith(APPLICATION_DMR_ENCODED)) {
+            byte[] decoded = Base64.getMimeDecoder().decode(response);
+            logger.fine(() -> String.format("%s %s: %d bytes base64, %d bytes binary", exchange.getRequestMethod(),
+                    exchange.getRequestURI(), response.length, decoded.length));
+            exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, APPLICATION_DMR_BINARY);
+            exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, decoded.length);
+            exchange.getOutputStream().write(decoded);
+        } else {
+            if (contentType != null) {
+                exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, contentType);
+            }
+            exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, response.length);
+            exchange.getOutputStream().write(response);
+        }
+        exchange.endExchange();
+    }
+
+    private byte[] read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -17,7 +17,9 @@ package org.jboss.hal.standalone;
 
 import java.util.logging.Logger;
 
+import io.undertow.Handlers;
 import io.undertow.Undertow;
+import io.undertow.server.HttpHandler;
 import io.undertow.server.handlers.resource.ClassPathResourceManager;
 import io.undertow.server.handlers.resource.ResourceHandler;
 
@@ -27,9 +29,15 @@ import static io.undertow.predicate.Predicates.suffixes;
 /**
  * Start a web server for the console at <a href="http://localhost:9090">http://localhost:9090</a>. Please make sure to
  * add {@code http://localhost:9090} as allowed origin in WildFly.
+ * <p>
+ * If the system property {@value #MANAGEMENT_ENDPOINT} is set (e.g. to {@code http://localhost:9990}), the server
+ * additionally acts as a stand-in management endpoint at <a href="http://localhost:9090/management">
+ * http://localhost:9090/management</a> which supports binary DMR. See {@link BinaryDmrProxy} for details.
  */
 public class Main {
 
+    private static final String MANAGEMENT_ENDPOINT = "hal.management.endpoint";
+
     @SuppressWarnings("HardCodedStringLiteral")
     public static void main(String[] args) {
 
@@ -39,11 +47,22 @@ public class Main {
                 .setDirectoryListingEnabled(false)
                 .setCachable(not(suffixes(".nocache.js", "index.html")));
 
+        HttpHandler rootHandler = handler;
+        String managementEndpoint = System.getProperty(MANAGEMENT_ENDPOINT);
+        if (managementEndpoint != null) {
+            rootHandler = Handlers.path(handler)
+                    .addPrefixPath("/management", new BinaryDmrProxy(managementEndpoint));
+        }
+
         Undertow server = Undertow.builder()
                 .addHttpListener(9090, "localhost")
-                .setHandler(handler)
+                .setHandler(rootHandler)
                 .build();
         server.start();
         Logger.getLogger("HAL").info("Serving console from http://localhost:9090");
+        if (managementEndpoint != null) {
+            Logger.getLogger("HAL").info("Proxying binary DMR from http://localhost:9090/management to " +
+                    managementEndpoint + "/management");
+        }
     }
 }